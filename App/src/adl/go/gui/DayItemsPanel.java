@@ -0,0 +1,592 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.gui;
+
+import adl.go.types.Assignment;
+import adl.go.types.Event;
+import adl.go.types.ItemView;
+import adl.go.types.ListItem;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.dnd.DnDConstants;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Map;
+import javax.swing.Icon;
+import javax.swing.JCheckBox;
+import javax.swing.JComponent;
+import javax.swing.JMenuItem;
+import javax.swing.JPopupMenu;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+
+/**
+ * The area of a day panel in Calendar View that shows the assignments and
+ * events of that day. Rather than holding a component for each item, the
+ * panel keeps a lightweight chip for each and paints them itself, one row
+ * each, painting only the rows within the clip. The panel does its own
+ * hit-testing to find which item a click or drag starts on, and when there
+ * are more items than rows, the last row instead reads "+N more" and lists
+ * the hidden items when clicked.
+ *
+ * @author Alex Laird
+ */
+public class DayItemsPanel extends JComponent
+{
+    /**
+     * The serialization version of this class.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * The space between a check box and the text beside it.
+     */
+    private static final int CHECK_BOX_GAP = 2;
+    /**
+     * The check box the check box icon of each assignment is painted with.
+     * It is never shown itself, so it is shared by every panel.
+     */
+    private static final JCheckBox CHECK_BOX_RENDERER = new JCheckBox ();
+    /**
+     * A reference to the view panel.
+     */
+    private ViewPanel viewPanel;
+    /**
+     * The chips shown in this panel, in the order they are shown.
+     */
+    private ArrayList<Chip> chips = new ArrayList<Chip> ();
+
+    /**
+     * Constructs an empty panel for a day panel in Calendar View, with its
+     * mouse and drag listeners attached.
+     *
+     * @param viewPanel A reference to the view panel.
+     */
+    public DayItemsPanel(ViewPanel viewPanel)
+    {
+        this.viewPanel = viewPanel;
+
+        setOpaque (false);
+        addMouseListener (new MouseAdapter ()
+        {
+            @Override
+            public void mouseReleased(MouseEvent evt)
+            {
+                itemsMouseReleased (evt);
+            }
+        });
+        viewPanel.DRAG_SOURCE.createDefaultDragGestureRecognizer (this, DnDConstants.ACTION_MOVE, viewPanel.DND_LISTENER);
+    }
+
+    /**
+     * Adds the given chip to the end of this panel. If the chip is already
+     * shown in a panel, including this one, it is moved rather than copied.
+     *
+     * @param chip The chip to add.
+     */
+    public void addChip(Chip chip)
+    {
+        if (chip.panel != null)
+        {
+            chip.panel.removeChip (chip);
+        }
+        chip.panel = this;
+        chips.add (chip);
+        repaint ();
+    }
+
+    /**
+     * Removes the given chip from this panel.
+     *
+     * @param chip The chip to remove.
+     */
+    public void removeChip(Chip chip)
+    {
+        if (chip.panel == this)
+        {
+            chips.remove (chip);
+            chip.panel = null;
+            repaint ();
+        }
+    }
+
+    /**
+     * Retrieves the number of items in this panel, whether or not there is
+     * room for all of them to be shown.
+     *
+     * @return The number of items.
+     */
+    public int getItemCount()
+    {
+        return chips.size ();
+    }
+
+    /**
+     * Retrieves the item at the given position in this panel.
+     *
+     * @param index The position of the item.
+     * @return The assignment or event.
+     */
+    public ListItem getItem(int index)
+    {
+        return chips.get (index).getItem ();
+    }
+
+    /**
+     * Retrieves the item whose row is at the given point.
+     *
+     * @param point The point, relative to this panel.
+     * @return The assignment or event, or null if no item is shown there.
+     */
+    public ListItem getItemAt(Point point)
+    {
+        int row = getRowAt (point);
+        if (row == -1 || row >= getShownCount ())
+        {
+            return null;
+        }
+        return chips.get (row).getItem ();
+    }
+
+    /**
+     * Retrieves the height of each row, which fits both the text and the
+     * check box of an assignment.
+     *
+     * @return The row height.
+     */
+    public int getRowHeight()
+    {
+        FontMetrics metrics = getFontMetrics (viewPanel.domain.utility.currentTheme.fontPlain11);
+        return Math.max (metrics.getHeight (), getCheckBoxIcon ().getIconHeight ()) + 2;
+    }
+
+    /**
+     * Retrieves the preferred size of the panel, which is a single row, since
+     * the day panel decides the space the rows have and any that do not fit
+     * are counted in the last row rather than scrolled to.
+     *
+     * @return The preferred size.
+     */
+    @Override
+    public Dimension getPreferredSize()
+    {
+        if (isPreferredSizeSet ())
+        {
+            return super.getPreferredSize ();
+        }
+        return new Dimension (0, getRowHeight ());
+    }
+
+    /**
+     * Paints the rows that fall within the clip.
+     *
+     * @param g The graphics object.
+     */
+    @Override
+    protected void paintComponent(Graphics g)
+    {
+        if (chips.isEmpty ())
+        {
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g.create ();
+        Map<?, ?> hints = (Map<?, ?>) Toolkit.getDefaultToolkit ().getDesktopProperty ("awt.font.desktophints");
+        if (hints != null)
+        {
+            g2.addRenderingHints (hints);
+        }
+        else
+        {
+            g2.setRenderingHint (RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        }
+
+        Rectangle clip = g2.getClipBounds ();
+        if (clip == null)
+        {
+            clip = new Rectangle (0, 0, getWidth (), getHeight ());
+        }
+        int rowHeight = getRowHeight ();
+        int shownCount = getShownCount ();
+        int firstRow = Math.max (0, clip.y / rowHeight);
+        int lastRow = Math.min (shownCount, (clip.y + clip.height - 1) / rowHeight);
+        for (int i = firstRow; i <= lastRow; ++i)
+        {
+            if (i < shownCount)
+            {
+                paintChip (g2, chips.get (i), i * rowHeight, rowHeight);
+            }
+            else if (shownCount < chips.size ())
+            {
+                paintMore (g2, chips.size () - shownCount, i * rowHeight, rowHeight);
+            }
+        }
+
+        g2.dispose ();
+    }
+
+    /**
+     * Paints the row of the given chip.
+     *
+     * @param g2 The graphics object.
+     * @param chip The chip to paint.
+     * @param y The top of the row.
+     * @param rowHeight The height of the row.
+     */
+    private void paintChip(Graphics2D g2, Chip chip, int y, int rowHeight)
+    {
+        ListItem item = chip.getItem ();
+        int x = 0;
+        Font font = viewPanel.domain.utility.currentTheme.fontPlain11;
+        boolean strike = false;
+        if (item instanceof Assignment)
+        {
+            Assignment assignment = (Assignment) item;
+            Icon icon = getCheckBoxIcon ();
+            CHECK_BOX_RENDERER.setSelected (assignment.isDone ());
+            icon.paintIcon (CHECK_BOX_RENDERER, g2, x, y + (rowHeight - icon.getIconHeight ()) / 2);
+            x += icon.getIconWidth () + CHECK_BOX_GAP;
+
+            if (assignment.isCalendarEmphasized ())
+            {
+                font = viewPanel.domain.utility.currentTheme.fontItalic11;
+            }
+            strike = assignment.isDone ();
+        }
+
+        g2.setFont (font);
+        g2.setColor (item.getCalendarColor ());
+        FontMetrics metrics = g2.getFontMetrics ();
+        String text = clipText (metrics, item.getCalendarText (), getWidth () - x);
+        int baseline = y + (rowHeight - metrics.getHeight ()) / 2 + metrics.getAscent ();
+        g2.drawString (text, x, baseline);
+        if (strike)
+        {
+            int strikeY = baseline - metrics.getAscent () / 3;
+            g2.drawLine (x, strikeY, x + metrics.stringWidth (text), strikeY);
+        }
+
+        if (chip.selected)
+        {
+            g2.setColor (Color.DARK_GRAY);
+            g2.drawLine (0, y, getWidth () - 1, y);
+            g2.drawLine (0, y + rowHeight - 1, getWidth () - 1, y + rowHeight - 1);
+        }
+    }
+
+    /**
+     * Paints the row that counts the items there was no room for.
+     *
+     * @param g2 The graphics object.
+     * @param count The number of hidden items.
+     * @param y The top of the row.
+     * @param rowHeight The height of the row.
+     */
+    private void paintMore(Graphics2D g2, int count, int y, int rowHeight)
+    {
+        g2.setFont (viewPanel.domain.utility.currentTheme.fontItalic11);
+        g2.setColor (viewPanel.domain.utility.currentTheme.colorDayInMonthText);
+        FontMetrics metrics = g2.getFontMetrics ();
+        String text = clipText (metrics, getMoreText (count), getWidth ());
+        g2.drawString (text, 0, y + (rowHeight - metrics.getHeight ()) / 2 + metrics.getAscent ());
+    }
+
+    /**
+     * Shortens the given text with an ellipsis if it is wider than the given
+     * width.
+     *
+     * @param metrics The metrics of the font the text is painted in.
+     * @param text The text.
+     * @param width The width available.
+     * @return The text that fits.
+     */
+    private String clipText(FontMetrics metrics, String text, int width)
+    {
+        if (metrics.stringWidth (text) <= width)
+        {
+            return text;
+        }
+        return SwingUtilities.layoutCompoundLabel (this, metrics, text, null,
+                                                   SwingConstants.CENTER, SwingConstants.LEADING,
+                                                   SwingConstants.CENTER, SwingConstants.TRAILING,
+                                                   new Rectangle (0, 0, Math.max (0, width), Short.MAX_VALUE),
+                                                   new Rectangle (), new Rectangle (), 0);
+    }
+
+    /**
+     * Retrieves the text of the row that counts the hidden items.
+     *
+     * @param count The number of hidden items.
+     * @return The text, such as "+3 more".
+     */
+    private String getMoreText(int count)
+    {
+        return "+" + count + " " + viewPanel.domain.language.getString ("more");
+    }
+
+    /**
+     * Retrieves the icon an assignment's check box is painted with.
+     *
+     * @return The check box icon of the look and feel.
+     */
+    private static Icon getCheckBoxIcon()
+    {
+        return UIManager.getIcon ("CheckBox.icon");
+    }
+
+    /**
+     * Retrieves the number of items there is room to show. If not every item
+     * fits, the last row is left for the count of those that do not.
+     *
+     * @return The number of items shown.
+     */
+    private int getShownCount()
+    {
+        int rows = getHeight () / getRowHeight ();
+        if (chips.size () <= rows)
+        {
+            return chips.size ();
+        }
+        return Math.max (0, rows - 1);
+    }
+
+    /**
+     * Retrieves the row at the given point.
+     *
+     * @param point The point, relative to this panel.
+     * @return The row, or -1 if nothing is shown there.
+     */
+    private int getRowAt(Point point)
+    {
+        if (point.y < 0 || point.x < 0 || point.x >= getWidth ())
+        {
+            return -1;
+        }
+        int row = point.y / getRowHeight ();
+        int shownCount = getShownCount ();
+        if (row < shownCount || (row == shownCount && shownCount < chips.size ()))
+        {
+            return row;
+        }
+        return -1;
+    }
+
+    /**
+     * Repaints the row of the given chip, if it is shown.
+     *
+     * @param chip The chip to repaint.
+     */
+    private void repaintChip(Chip chip)
+    {
+        int row = chips.indexOf (chip);
+        if (row != -1 && row < getShownCount ())
+        {
+            int rowHeight = getRowHeight ();
+            repaint (0, row * rowHeight, getWidth (), rowHeight);
+        }
+    }
+
+    /**
+     * Acts on a click within this panel: a click on an assignment's check box
+     * marks it done or not done, a click on an item selects it, a click on the
+     * count of hidden items lists them, and any other click selects the day.
+     *
+     * @param evt The mouse event.
+     */
+    private void itemsMouseReleased(final MouseEvent evt)
+    {
+        int row = getRowAt (evt.getPoint ());
+        int shownCount = getShownCount ();
+        if (row == -1)
+        {
+            viewPanel.dayItemsMouseReleased (evt);
+        }
+        else if (row < shownCount)
+        {
+            ListItem item = chips.get (row).getItem ();
+            if (item instanceof Assignment
+                && SwingUtilities.isLeftMouseButton (evt)
+                && evt.getX () < getCheckBoxIcon ().getIconWidth () + CHECK_BOX_GAP)
+            {
+                viewPanel.assignmentCheckBoxClicked ((Assignment) item);
+            }
+            else
+            {
+                itemClicked (item, evt);
+            }
+        }
+        else
+        {
+            JPopupMenu menu = new JPopupMenu ();
+            for (int i = shownCount; i < chips.size (); ++i)
+            {
+                final ListItem item = chips.get (i).getItem ();
+                JMenuItem menuItem = new JMenuItem (item.getCalendarText ());
+                menuItem.setFont (viewPanel.domain.utility.currentTheme.fontPlain11);
+                menuItem.setForeground (item.getCalendarColor ());
+                menuItem.addActionListener (new ActionListener ()
+                {
+                    @Override
+                    public void actionPerformed(ActionEvent e)
+                    {
+                        itemClicked (item, evt);
+                    }
+                });
+                menu.add (menuItem);
+            }
+            menu.show (this, evt.getX (), evt.getY ());
+        }
+    }
+
+    /**
+     * Selects the given item as if it had been clicked in Calendar View.
+     *
+     * @param item The assignment or event.
+     * @param evt The mouse event that chose the item.
+     */
+    private void itemClicked(ListItem item, MouseEvent evt)
+    {
+        if (item instanceof Assignment)
+        {
+            viewPanel.assignmentMousePressed ((Assignment) item, evt);
+        }
+        else
+        {
+            viewPanel.eventMouseReleased ((Event) item, evt);
+        }
+    }
+
+    /**
+     * The view of an assignment or event while it is shown in a day panel in
+     * Calendar View. A chip holds no components; the day panel it is in
+     * paints it, so telling it the item has changed only repaints its row.
+     *
+     * A chip is not tied to any one item; it is bound to an item while that
+     * item is on screen and may be reused for another once it is unbound.
+     *
+     * @author Alex Laird
+     */
+    public static final class Chip implements ItemView
+    {
+        /**
+         * The item this chip is bound to, or null if it is not bound.
+         */
+        private ListItem item;
+        /**
+         * The panel this chip is in, or null if it is not shown.
+         */
+        private DayItemsPanel panel;
+        /**
+         * True if the item is shown as selected, false otherwise.
+         */
+        private boolean selected = false;
+
+        /**
+         * Retrieves the item this chip is bound to.
+         *
+         * @return The bound item, or null if the chip is not bound.
+         */
+        @Override
+        public ListItem getItem()
+        {
+            return item;
+        }
+
+        /**
+         * Retrieves the panel this chip is in.
+         *
+         * @return The panel, or null if the chip is not shown.
+         */
+        public DayItemsPanel getPanel()
+        {
+            return panel;
+        }
+
+        /**
+         * Binds this chip to the given item, unbinding it from any it was
+         * showing before.
+         *
+         * @param item The item to show.
+         */
+        public void bind(ListItem item)
+        {
+            unbind ();
+
+            this.item = item;
+            item.setView (this);
+            selected = item.isShownAsSelected ();
+            refresh ();
+        }
+
+        /**
+         * Unbinds this chip from its item, if it has one, and removes it from
+         * the panel it is in, so the chip may be reused.
+         */
+        public void unbind()
+        {
+            if (panel != null)
+            {
+                panel.removeChip (this);
+            }
+            if (item != null)
+            {
+                item.setView (null);
+                item = null;
+            }
+            selected = false;
+        }
+
+        /**
+         * Repaints the row of this chip from the current state of its item.
+         */
+        @Override
+        public void refresh()
+        {
+            if (panel != null)
+            {
+                panel.repaintChip (this);
+            }
+        }
+
+        /**
+         * Sets the viewable selected state of the chip.
+         *
+         * @param state True shows the item as selected, false does not.
+         */
+        @Override
+        public void showAsSelected(boolean state)
+        {
+            selected = state;
+            refresh ();
+        }
+    }
+}
@@ -20,8 +20,12 @@
 
 package adl.go.gui;
 
+import adl.go.resource.AsyncLogger;
+import adl.go.resource.DateFormatter;
+import adl.go.resource.DateUtility;
+import adl.go.resource.KeyedSort;
 import adl.go.resource.LocalUtility;
-import adl.go.resource.WorkerThread;
+import adl.go.resource.SaveScheduler;
 import adl.go.types.Assignment;
 import adl.go.types.AssignmentType;
 import adl.go.types.Category;
@@ -30,22 +34,24 @@ import adl.go.types.Event;
 import adl.go.types.EventYear;
 import adl.go.types.Instructor;
 import adl.go.types.ListItem;
+import adl.go.types.Repeating;
 import adl.go.types.Term;
 import adl.go.types.Textbook;
 import java.awt.Desktop;
-import java.awt.dnd.DnDConstants;
-import java.awt.event.ItemEvent;
-import java.awt.event.ItemListener;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
 import java.io.File;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.Stack;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -105,35 +111,39 @@ public class Domain
     /**
      * The hour formatter.
      */
-    public static final SimpleDateFormat HR_FORMAT = new SimpleDateFormat ("h");
+    public static final DateFormatter HR_FORMAT = new DateFormatter ("h");
     /**
      * The minute formatter.
      */
-    public static final SimpleDateFormat MIN_FORMAT = new SimpleDateFormat ("mm");
+    public static final DateFormatter MIN_FORMAT = new DateFormatter ("mm");
     /**
      * The meridian formatter.
      */
-    public static final SimpleDateFormat M_FORMAT = new SimpleDateFormat ("a");
+    public static final DateFormatter M_FORMAT = new DateFormatter ("a");
     /**
      * The time formatter.
      */
-    public static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat ("h:mm a");
+    public static final DateFormatter TIME_FORMAT = new DateFormatter ("h:mm a");
     /**
      * The date formatter.
      */
-    public static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat ("MM/dd/yyyy");
+    public static final DateFormatter DATE_FORMAT = new DateFormatter ("MM/dd/yyyy");
     /**
      * The date formatter excluding day.
      */
-    public static final SimpleDateFormat MONTH_YEAR_FORMAT = new SimpleDateFormat ("MM/yyyy");
+    public static final DateFormatter MONTH_YEAR_FORMAT = new DateFormatter ("MM/yyyy");
     /**
      * The date and time formatter.
      */
-    public static final SimpleDateFormat DATE_AND_TIME_FORMAT = new SimpleDateFormat ("MM/dd/yyyy h:mm a");
+    public static final DateFormatter DATE_AND_TIME_FORMAT = new DateFormatter ("MM/dd/yyyy h:mm a");
     /**
      * The full time format for debug output.
      */
-    public static final SimpleDateFormat DATE_AND_FULL_TIME_FORMAT = new SimpleDateFormat ("MM/dd/yyyy h:mm:ss a");
+    public static final DateFormatter DATE_AND_FULL_TIME_FORMAT = new DateFormatter ("MM/dd/yyyy h:mm:ss a", 0);
+    /**
+     * The most log events that may wait to be written before more are dropped.
+     */
+    public static final int LOGGER_CAPACITY = 1024;
     /**
      * The number formatted for grade percentages.
      */
@@ -155,19 +165,18 @@ public class Domain
      */
     public File logFile;
     /**
-     * The logger captures all errors and saves their messages away for possible
-     * bug submission or storage in a file.
+     * The logger captures all errors and writes them to the log file in the
+     * background, holding at most LOGGER_CAPACITY waiting to be written.
      */
-    public static ArrayList<Object> LOGGER = new ArrayList<Object> ();
+    public static final AsyncLogger LOGGER = new AsyncLogger (LOGGER_CAPACITY);
     /**
      * A reference to the desktop model (if supported) for launching files and application.
      */
     public static Desktop desktop;
     /**
-     * The load/save thread that is continually running unless explicitly paused
-     * or stopped.
+     * The scheduler that coalesces changes and writes them to the data files.
      */
-    public WorkerThread workerThread;
+    public SaveScheduler saveScheduler;
     /**
      * True if type details are being loaded/unloaded.
      */
@@ -274,8 +283,49 @@ public class Domain
             desktop = Desktop.getDesktop ();
         }
 
-        // instantiate the save thread
-        workerThread = new WorkerThread (viewPanel, this);
+        // instantiate the save scheduler
+        saveScheduler = new SaveScheduler (viewPanel, this);
+    }
+
+    /**
+     * Queue the given target to be written by the save scheduler.
+     *
+     * @param target The course or event year whose data file needs writing, or
+     * one of the targets defined in SaveScheduler.
+     */
+    public void scheduleSave(Object target)
+    {
+        if (saveScheduler != null)
+        {
+            saveScheduler.scheduleSave (target);
+        }
+    }
+
+    /**
+     * Mark the preferences as changed and queue them to be saved.
+     */
+    public void markPreferencesChanged()
+    {
+        needsPreferencesSave = true;
+        scheduleSave (SaveScheduler.PREFERENCES);
+    }
+
+    /**
+     * Mark the user details as changed and queue them to be saved.
+     */
+    public void markUserDetailsChanged()
+    {
+        needsUserDetailsSave = true;
+        scheduleSave (SaveScheduler.USER_DETAILS);
+    }
+
+    /**
+     * Mark the courses and terms as changed and queue them to be saved.
+     */
+    public void markCoursesAndTermsChanged()
+    {
+        needsCoursesAndTermsSave = true;
+        scheduleSave (SaveScheduler.COURSES_AND_TERMS);
     }
 
     /**
@@ -368,8 +418,9 @@ public class Domain
      */
     public synchronized void saveEvents(EventYear eventYear)
     {
+        long changeCount = eventYear.getChangeCount ();
         utility.saveEvents (eventYear);
-        eventYear.saved ();
+        eventYear.saved (changeCount);
     }
 
     /**
@@ -438,7 +489,7 @@ public class Domain
         viewPanel.enableCourseButtons ();
         viewPanel.termsAndCoursesDialog.showTermDetails ();
 
-        needsCoursesAndTermsSave = true;
+        markCoursesAndTermsChanged ();
 
         termLoading.pop ();
     }
@@ -514,7 +565,7 @@ public class Domain
         currentTypeIndex = -1;
         currentTextbookIndex = -1;
         currentInstructorIndex = -1;
-        needsCoursesAndTermsSave = true;
+        markCoursesAndTermsChanged ();
 
         courseLoading.pop ();
     }
@@ -592,7 +643,7 @@ public class Domain
         viewPanel.termsAndCoursesDialog.settingsTextbooksTable.scrollRectToVisible (viewPanel.termsAndCoursesDialog.settingsTextbooksTable.getCellRect (viewPanel.termsAndCoursesDialog.textbookTableModel.getRowCount () - 1, 0, false));
         viewPanel.termsAndCoursesDialog.courseTabbedPane.setSelectedIndex (3);
         viewPanel.termsAndCoursesDialog.removeTextbookButton.setEnabled (true);
-        needsCoursesAndTermsSave = true;
+        markCoursesAndTermsChanged ();
 
         viewPanel.termsAndCoursesDialog.showTextbookDetails ();
 
@@ -651,7 +702,7 @@ public class Domain
         viewPanel.termsAndCoursesDialog.settingsTypesTable.scrollRectToVisible (viewPanel.termsAndCoursesDialog.settingsTypesTable.getCellRect (viewPanel.termsAndCoursesDialog.typeTableModel.getRowCount () - 1, 0, false));
         viewPanel.termsAndCoursesDialog.removeTypeButton.setEnabled (true);
         viewPanel.termsAndCoursesDialog.courseTabbedPane.setSelectedIndex (2);
-        needsCoursesAndTermsSave = true;
+        markCoursesAndTermsChanged ();
 
         viewPanel.termsAndCoursesDialog.showTypeDetails ();
 
@@ -707,7 +758,7 @@ public class Domain
         viewPanel.termsAndCoursesDialog.settingsInstructorsTable.scrollRectToVisible (viewPanel.termsAndCoursesDialog.settingsInstructorsTable.getCellRect (viewPanel.termsAndCoursesDialog.instructorTableModel.getRowCount () - 1, 0, false));
         viewPanel.termsAndCoursesDialog.removeInstructorButton.setEnabled (true);
         viewPanel.termsAndCoursesDialog.courseTabbedPane.setSelectedIndex (1);
-        needsCoursesAndTermsSave = true;
+        markCoursesAndTermsChanged ();
 
         viewPanel.termsAndCoursesDialog.showInstructorDetails ();
 
@@ -772,22 +823,10 @@ public class Domain
         {
             if (utility.preferences.filter1Index != 1)
             {
-                viewPanel.daysAssignmentsAndEvents[Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1].add (event);
+                viewPanel.daysAssignmentsAndEvents[DateUtility.getDayOfMonth (event.getDueDay ()) - 1].addChip (viewPanel.VIEW_POOL.acquire (event));
                 viewPanel.shownEvents.add (event);
             }
 
-            if (!silent)
-            {
-                event.getLabel ().addMouseListener (new MouseAdapter ()
-                {
-                    @Override
-                    public void mouseReleased(MouseEvent evt)
-                    {
-                        viewPanel.eventMouseReleased (evt);
-                    }
-                });
-            }
-            viewPanel.DRAG_SOURCE.createDefaultDragGestureRecognizer (event.getLabel (), DnDConstants.ACTION_MOVE, viewPanel.DND_LISTENER);
             event.refreshText ();
 
             if (utility.preferences.filter1Index != 1)
@@ -797,11 +836,11 @@ public class Domain
                 {
                     viewPanel.selectedDayPanel.setBorder (viewPanel.UNSELECTED_DAY_BORDER);
                 }
-                viewPanel.selectedDayPanel = viewPanel.days[Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1];
+                viewPanel.selectedDayPanel = viewPanel.days[DateUtility.getDayOfMonth (event.getDueDay ()) - 1];
                 viewPanel.selectedDayPanel.setBorder (viewPanel.SELECTED_DAY_BORDER);
             }
 
-            viewPanel.refreshDayInCalendar (Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1);
+            viewPanel.refreshDayInCalendar (DateUtility.getDayOfMonth (event.getDueDay ()) - 1);
         }
         viewPanel.refreshBusyDays ();
 
@@ -839,21 +878,14 @@ public class Domain
             for (int i = 0; i < utility.courses.size (); ++i)
             {
                 Course course = utility.courses.get (i);
-                Date date = viewPanel.miniCalendar.getDate ();
+                long day = DateUtility.toEpochDay (viewPanel.miniCalendar.getCalendar ());
 
-                try
+                if (day >= course.getStartDay ()
+                    && day < course.getEndDay ())
                 {
-                    if (date.after (Domain.DATE_FORMAT.parse (course.getStartDate ()))
-                        && date.before (Domain.DATE_FORMAT.parse (course.getEndDate ())))
-                    {
-                        absolute = true;
-                        courseIndex = i;
-                        break;
-                    }
-                }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
+                    absolute = true;
+                    courseIndex = i;
+                    break;
                 }
             }
         }
@@ -909,27 +941,10 @@ public class Domain
         {
             if (utility.preferences.filter1Index != 2)
             {
-                viewPanel.daysAssignmentsAndEvents[Integer.parseInt (assignment.getDueDate ().split ("/")[1]) - 1].add (assignment);
+                viewPanel.daysAssignmentsAndEvents[DateUtility.getDayOfMonth (assignment.getDueDay ()) - 1].addChip (viewPanel.VIEW_POOL.acquire (assignment));
                 viewPanel.shownAssignments.add (assignment);
             }
 
-            assignment.getLabel ().addMouseListener (new MouseAdapter ()
-            {
-                @Override
-                public void mouseReleased(MouseEvent evt)
-                {
-                    viewPanel.assignmentMousePressed (evt);
-                }
-            });
-            assignment.getCheckBox ().addItemListener (new ItemListener ()
-            {
-                @Override
-                public void itemStateChanged(ItemEvent evt)
-                {
-                    viewPanel.assignmentItemStateChanged (evt);
-                }
-            });
-            viewPanel.DRAG_SOURCE.createDefaultDragGestureRecognizer (assignment.getLabel (), DnDConstants.ACTION_MOVE, viewPanel.DND_LISTENER);
             assignment.refreshText ();
 
             if (utility.preferences.filter1Index != 2)
@@ -939,11 +954,11 @@ public class Domain
                 {
                     viewPanel.selectedDayPanel.setBorder (viewPanel.UNSELECTED_DAY_BORDER);
                 }
-                viewPanel.selectedDayPanel = viewPanel.days[Integer.parseInt (assignment.getDueDate ().split ("/")[1]) - 1];
+                viewPanel.selectedDayPanel = viewPanel.days[DateUtility.getDayOfMonth (assignment.getDueDay ()) - 1];
                 viewPanel.selectedDayPanel.setBorder (viewPanel.SELECTED_DAY_BORDER);
             }
 
-            viewPanel.refreshDayInCalendar (Integer.parseInt (assignment.getDueDate ().split ("/")[1]) - 1);
+            viewPanel.refreshDayInCalendar (DateUtility.getDayOfMonth (assignment.getDueDay ()) - 1);
         }
         viewPanel.refreshBusyDays ();
 
@@ -962,13 +977,13 @@ public class Domain
      *
      * @param toClone The event to clone.
      * @param utility A reference to the applications utility.
-     * @param date The date for the newly cloned event.
+     * @param day The epoch day of the date for the newly cloned event.
      * @param effectYearAndCat True if the event should be added to the
      * year/category upon creation, false if the event should just be created
      * and returned
      * @return The cloned object.
      */
-    protected Event createCloneObject(Event toClone, LocalUtility utility, Date date, boolean effectYearAndCat)
+    protected Event createCloneObject(Event toClone, LocalUtility utility, long day, boolean effectYearAndCat)
     {
         long uniqueID = System.currentTimeMillis ();
         while (utility.getByID (uniqueID) != null)
@@ -983,7 +998,7 @@ public class Domain
             event.getEventYear ().markChanged ();
         }
         event.setCategory (toClone.getCategory ());
-        event.setDate (Domain.DATE_FORMAT.format (date), utility);
+        event.setDay (day, utility);
         event.setDescription (toClone.getDescription ());
         event.setStartTime (0, toClone.getStartTime (0));
         event.setStartTime (1, toClone.getStartTime (1));
@@ -999,6 +1014,310 @@ public class Domain
         return event;
     }
 
+    /**
+     * Produces the occurrences of every repeating series that fall within the
+     * given range of days and are not in memory yet. Each series' occurrences
+     * are produced from the rule held by its earliest saved instance, and are
+     * not saved themselves. A series whose saved instance is not loaded has
+     * its occurrences produced once it is.
+     *
+     * @param firstDay The first epoch day of the range, inclusive.
+     * @param lastDay The last epoch day of the range, inclusive.
+     * @return True if any occurrences were produced, false otherwise.
+     */
+    protected boolean expandRepeatingEvents(long firstDay, long lastDay)
+    {
+        LinkedHashMap<Long, ArrayList<Event>> series = new LinkedHashMap<Long, ArrayList<Event>> ();
+        for (int i = 0; i < utility.repeatingEvents.size (); ++i)
+        {
+            Event event = utility.repeatingEvents.get (i);
+            ArrayList<Event> instances = series.get (event.getRepeating ().getID ());
+            if (instances == null)
+            {
+                instances = new ArrayList<Event> ();
+                series.put (event.getRepeating ().getID (), instances);
+            }
+            instances.add (event);
+        }
+
+        boolean expanded = false;
+        Iterator<ArrayList<Event>> iterator = series.values ().iterator ();
+        while (iterator.hasNext ())
+        {
+            ArrayList<Event> instances = iterator.next ();
+            Event template = null;
+            HashSet<Long> occupied = new HashSet<Long> ();
+            for (int i = 0; i < instances.size (); ++i)
+            {
+                Event event = instances.get (i);
+                occupied.add (event.getDueDay ());
+                if (!event.isGenerated () && (template == null || event.getDueDay () < template.getDueDay ()))
+                {
+                    template = event;
+                }
+            }
+            if (template == null || template.getRepeating ().isSavedInFull ())
+            {
+                continue;
+            }
+
+            ArrayList<Long> occurrences = template.getRepeating ().getOccurrences (firstDay, lastDay);
+            for (int i = 0; i < occurrences.size (); ++i)
+            {
+                if (!occupied.contains (occurrences.get (i)))
+                {
+                    createOccurrence (template, occurrences.get (i));
+                    expanded = true;
+                }
+            }
+        }
+
+        return expanded;
+    }
+
+    /**
+     * Produces the occurrence of the given event's repeating series on the
+     * given day, and adds it to the assignments and events list, the repeating
+     * events list, and its category. It is not added to its event year, so it
+     * is not saved.
+     *
+     * @param template An instance of the series to produce the occurrence
+     * from.
+     * @param day The epoch day of the occurrence.
+     * @return The occurrence.
+     */
+    private Event createOccurrence(Event template, long day)
+    {
+        Event event = createCloneObject (template, utility, day, false);
+        event.setGenerated (true);
+        event.getCategory ().addEvent (event);
+        utility.assignmentsAndEvents.add (event);
+        utility.repeatingEvents.add (event);
+
+        return event;
+    }
+
+    /**
+     * If the given event is an occurrence produced from its series' rule, it
+     * is added to its event year, so it is saved from now on. This must be
+     * done once an occurrence is changed on its own or holds the rule of a
+     * series.
+     *
+     * @param event The event to keep.
+     */
+    protected void keepOccurrence(Event event)
+    {
+        if (event.isGenerated ())
+        {
+            event.setGenerated (false);
+            event.getEventYear ().addEvent (event);
+            event.getEventYear ().markChanged ();
+        }
+    }
+
+    /**
+     * Adds the day of the given instance of a repeating series to the
+     * series' exceptions, so the series does not produce an occurrence there
+     * once the instance is removed or taken out of the series. If no saved
+     * instance would be left to hold the series' rule, the next occurrence is
+     * kept to hold it.
+     *
+     * @param instance The instance, which must still carry the ID of its
+     * series.
+     */
+    protected void excludeFromSeries(Event instance)
+    {
+        Repeating repeating = instance.getRepeating ();
+        long day = instance.getDueDay ();
+        repeating.addException (day);
+
+        ArrayList<Event> series = utility.getRepeatingSeries (repeating.getID ());
+        series.remove (instance);
+        boolean held = false;
+        for (int i = 0; i < series.size (); ++i)
+        {
+            Event event = series.get (i);
+            event.getRepeating ().addException (day);
+            if (!event.isGenerated ())
+            {
+                event.getEventYear ().markChanged ();
+                held = true;
+            }
+        }
+        if (held || repeating.isSavedInFull ())
+        {
+            return;
+        }
+
+        long next = repeating.getNextOccurrence (day);
+        if (next != Repeating.NO_OCCURRENCE)
+        {
+            Event holder = null;
+            for (int i = 0; i < series.size () && holder == null; ++i)
+            {
+                if (series.get (i).getDueDay () == next)
+                {
+                    holder = series.get (i);
+                }
+            }
+            if (holder == null)
+            {
+                holder = createOccurrence (instance, next);
+            }
+            keepOccurrence (holder);
+        }
+    }
+
+    /**
+     * Removes the day of the given instance of a repeating series from the
+     * series' exceptions, once the instance has been put back in the series.
+     *
+     * @param instance The instance, which carries the ID of its series.
+     */
+    protected void includeInSeries(Event instance)
+    {
+        long day = instance.getDueDay ();
+        instance.getRepeating ().removeException (day);
+
+        ArrayList<Event> series = utility.getRepeatingSeries (instance.getRepeating ().getID ());
+        for (int i = 0; i < series.size (); ++i)
+        {
+            Event event = series.get (i);
+            event.getRepeating ().removeException (day);
+            if (!event.isGenerated ())
+            {
+                event.getEventYear ().markChanged ();
+            }
+        }
+    }
+
+    /**
+     * Ends the given repeating series on the given date, so no occurrences are
+     * produced for it after that date.
+     *
+     * @param id The unique ID of the repeating series.
+     * @param endDay The epoch day of the new end date of the series.
+     */
+    protected void setRepeatingEndDay(long id, long endDay)
+    {
+        ArrayList<Event> series = utility.getRepeatingSeries (id);
+        for (int i = 0; i < series.size (); ++i)
+        {
+            series.get (i).getRepeating ().setEndDay (endDay);
+            series.get (i).getEventYear ().markChanged ();
+        }
+    }
+
+    /**
+     * Removes the given events from the assignments and events list, the
+     * repeating events list, the assignments table, the calendar, and their
+     * categories and event years. Each of those is rebuilt in a single pass,
+     * and the table is notified once, rather than removing the events one at
+     * a time.
+     *
+     * @param events The events to remove.
+     */
+    protected void removeEvents(Collection<Event> events)
+    {
+        Set<Event> removed = Collections.newSetFromMap (new IdentityHashMap<Event, Boolean> ());
+        removed.addAll (events);
+        if (removed.isEmpty ())
+        {
+            return;
+        }
+
+        Set<EventYear> eventYears = Collections.newSetFromMap (new IdentityHashMap<EventYear, Boolean> ());
+        Iterator<Event> iterator = removed.iterator ();
+        while (iterator.hasNext ())
+        {
+            eventYears.add (iterator.next ().getEventYear ());
+        }
+        detachEvents (removed);
+        Iterator<EventYear> eventYearIterator = eventYears.iterator ();
+        while (eventYearIterator.hasNext ())
+        {
+            EventYear eventYear = eventYearIterator.next ();
+            eventYear.removeEvents (removed);
+            eventYear.markChanged ();
+        }
+    }
+
+    /**
+     * Drops the events of the given event year from memory without changing
+     * its data file, so the year can be loaded again when it is next needed.
+     * The currently selected assignment or event stays selected.
+     *
+     * @param eventYear The event year to unload, which must not have unsaved
+     * changes.
+     */
+    public void unloadEventYear(EventYear eventYear)
+    {
+        Set<Event> removed = Collections.newSetFromMap (new IdentityHashMap<Event, Boolean> ());
+        for (int i = 0; i < eventYear.getEventCount (); ++i)
+        {
+            removed.add (eventYear.getEvent (i));
+        }
+        // occurrences produced from a series' rule are not in their event
+        // year, but are dropped with it and produced again when needed
+        for (int i = 0; i < utility.repeatingEvents.size (); ++i)
+        {
+            Event event = utility.repeatingEvents.get (i);
+            if (event.isGenerated () && event.getEventYear () == eventYear)
+            {
+                removed.add (event);
+            }
+        }
+
+        ListItem selected = null;
+        if (currentIndexFromVector != -1)
+        {
+            selected = utility.assignmentsAndEvents.get (currentIndexFromVector);
+        }
+        detachEvents (removed);
+        eventYear.unload ();
+        if (selected != null)
+        {
+            currentIndexFromVector = utility.assignmentsAndEvents.indexOf (selected);
+        }
+    }
+
+    /**
+     * Removes the given events from the assignments and events list, the
+     * repeating events list, the assignments table, the calendar, and their
+     * categories, but not from their event years.
+     *
+     * @param removed The events to remove, as a set so each lookup is fast.
+     */
+    private void detachEvents(Set<Event> removed)
+    {
+        if (removed.isEmpty ())
+        {
+            return;
+        }
+
+        Set<Category> categories = Collections.newSetFromMap (new IdentityHashMap<Category, Boolean> ());
+        ArrayList<Long> ids = new ArrayList<Long> (removed.size ());
+        Iterator<Event> iterator = removed.iterator ();
+        while (iterator.hasNext ())
+        {
+            Event event = iterator.next ();
+            categories.add (event.getCategory ());
+            ids.add (event.getUniqueID ());
+
+            viewPanel.VIEW_POOL.release (event);
+        }
+
+        viewPanel.assignmentsTableModel.removeRowsByID (ids);
+        utility.assignmentsAndEvents.removeAll (removed);
+        utility.repeatingEvents.removeAll (removed);
+        viewPanel.shownEvents.removeAll (removed);
+        Iterator<Category> categoryIterator = categories.iterator ();
+        while (categoryIterator.hasNext ())
+        {
+            categoryIterator.next ().removeEvents (removed);
+        }
+    }
+
     /**
      * Duplicates the selected event, making a second (yet unique) instance of
      * it in the events list and in the assignmentsAndEvents table.
@@ -1015,47 +1334,31 @@ public class Domain
         assignmentOrEventLoading.push (true);
 
         Event toClone = (Event) utility.assignmentsAndEvents.get (currentIndexFromVector);
-        try
+        Event event = createCloneObject (toClone, utility, toClone.getDueDay (), true);
+        event.getRepeating ().setID (-1);
+
+        if (utility.preferences.filter1Index != 1)
         {
-            Event event = createCloneObject (toClone, utility, Domain.DATE_FORMAT.parse (toClone.getDueDate ()), true);
-            event.getRepeating ().setID (-1);
+            viewPanel.assignmentsTableModel.addRow (event.getRowObject ());
+        }
+        utility.assignmentsAndEvents.add (event);
+
+        viewPanel.assignmentsTable.setSelectedRow (viewPanel.assignmentsTableModel.getRowCount () - 1);
+        viewPanel.filter (true);
 
+        if (viewPanel.middleTabbedPane.getSelectedIndex () == 1)
+        {
             if (utility.preferences.filter1Index != 1)
             {
-                viewPanel.assignmentsTableModel.addRow (event.getRowObject ());
+                viewPanel.daysAssignmentsAndEvents[DateUtility.getDayOfMonth (event.getDueDay ()) - 1].addChip (viewPanel.VIEW_POOL.acquire (event));
+                viewPanel.shownEvents.add (event);
             }
-            utility.assignmentsAndEvents.add (event);
-
-            viewPanel.assignmentsTable.setSelectedRow (viewPanel.assignmentsTableModel.getRowCount () - 1);
-            viewPanel.filter (true);
-
-            if (viewPanel.middleTabbedPane.getSelectedIndex () == 1)
-            {
-                if (utility.preferences.filter1Index != 1)
-                {
-                    viewPanel.daysAssignmentsAndEvents[Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1].add (event);
-                    viewPanel.shownEvents.add (event);
-                }
 
-                event.getLabel ().addMouseListener (new MouseAdapter ()
-                {
-                    @Override
-                    public void mouseReleased(MouseEvent evt)
-                    {
-                        viewPanel.eventMouseReleased (evt);
-                    }
-                });
-                viewPanel.DRAG_SOURCE.createDefaultDragGestureRecognizer (event.getLabel (), DnDConstants.ACTION_MOVE, viewPanel.DND_LISTENER);
-                event.refreshText ();
+            event.refreshText ();
 
-                viewPanel.refreshDayInCalendar (Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1);
-            }
-            viewPanel.refreshBusyDays ();
-        }
-        catch (ParseException ex)
-        {
-            Domain.LOGGER.add (ex);
+            viewPanel.refreshDayInCalendar (DateUtility.getDayOfMonth (event.getDueDay ()) - 1);
         }
+        viewPanel.refreshBusyDays ();
 
         assignmentOrEventLoading.pop ();
     }
@@ -1077,7 +1380,7 @@ public class Domain
         Assignment toClone = (Assignment) utility.assignmentsAndEvents.get (currentIndexFromVector);
         Assignment assignment = new Assignment (toClone.getItemName (), System.currentTimeMillis (), toClone.getCourse (), utility);
         toClone.getCourse ().addAssignment (assignment);
-        assignment.setDueDate (toClone.getDueDate ());
+        assignment.setDueDay (toClone.getDueDay ());
         assignment.setDueTime (0, toClone.getDueTime (0));
         assignment.setDueTime (1, toClone.getDueTime (1));
         assignment.setDueTime (2, toClone.getDueTime (2));
@@ -1101,30 +1404,13 @@ public class Domain
         {
             if (utility.preferences.filter1Index != 1)
             {
-                viewPanel.daysAssignmentsAndEvents[Integer.parseInt (assignment.getDueDate ().split ("/")[1]) - 1].add (assignment);
+                viewPanel.daysAssignmentsAndEvents[DateUtility.getDayOfMonth (assignment.getDueDay ()) - 1].addChip (viewPanel.VIEW_POOL.acquire (assignment));
                 viewPanel.shownAssignments.add (assignment);
             }
 
-            assignment.getLabel ().addMouseListener (new MouseAdapter ()
-            {
-                @Override
-                public void mouseReleased(MouseEvent evt)
-                {
-                    viewPanel.assignmentMousePressed (evt);
-                }
-            });
-            assignment.getCheckBox ().addItemListener (new ItemListener ()
-            {
-                @Override
-                public void itemStateChanged(ItemEvent evt)
-                {
-                    viewPanel.assignmentItemStateChanged (evt);
-                }
-            });
-            viewPanel.DRAG_SOURCE.createDefaultDragGestureRecognizer (assignment.getLabel (), DnDConstants.ACTION_MOVE, viewPanel.DND_LISTENER);
             assignment.refreshText ();
 
-            viewPanel.refreshDayInCalendar (Integer.parseInt (assignment.getDueDate ().split ("/")[1]) - 1);
+            viewPanel.refreshDayInCalendar (DateUtility.getDayOfMonth (assignment.getDueDay ()) - 1);
         }
         viewPanel.refreshBusyDays ();
 
@@ -2035,7 +2321,7 @@ public class Domain
             Course course = utility.courses.get (index);
             String time = Domain.HR_FORMAT.format (viewPanel.termsAndCoursesDialog.labStartHrChooser.getValue ());
             course.setLabStartTime (0, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2067,7 +2353,7 @@ public class Domain
             Course course = utility.courses.get (index);
             String time = Domain.MIN_FORMAT.format (viewPanel.termsAndCoursesDialog.labStartMinChooser.getValue ());
             course.setLabStartTime (1, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2099,7 +2385,7 @@ public class Domain
             Course course = utility.courses.get (index);
             String time = Domain.M_FORMAT.format (viewPanel.termsAndCoursesDialog.labStartMChooser.getValue ());
             course.setLabStartTime (2, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2131,7 +2417,7 @@ public class Domain
             Course course = utility.courses.get (viewPanel.termsAndCoursesDialog.settingsCoursesTable.getSelectedRow ());
             String time = Domain.HR_FORMAT.format (viewPanel.termsAndCoursesDialog.labEndHrChooser.getValue ());
             course.setLabEndTime (0, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2163,7 +2449,7 @@ public class Domain
             Course course = utility.courses.get (viewPanel.termsAndCoursesDialog.settingsCoursesTable.getSelectedRow ());
             String time = Domain.MIN_FORMAT.format (viewPanel.termsAndCoursesDialog.labEndMinChooser.getValue ());
             course.setLabEndTime (1, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2195,7 +2481,7 @@ public class Domain
             Course course = utility.courses.get (viewPanel.termsAndCoursesDialog.settingsCoursesTable.getSelectedRow ());
             String time = Domain.M_FORMAT.format (viewPanel.termsAndCoursesDialog.labEndMChooser.getValue ());
             course.setLabEndTime (2, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2227,7 +2513,7 @@ public class Domain
             Course course = utility.courses.get (index);
             String time = Domain.HR_FORMAT.format (viewPanel.termsAndCoursesDialog.startHrChooser.getValue ());
             course.setStartTime (0, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2260,7 +2546,7 @@ public class Domain
             Course course = utility.courses.get (index);
             String time = Domain.MIN_FORMAT.format (viewPanel.termsAndCoursesDialog.startMinChooser.getValue ());
             course.setStartTime (1, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2293,7 +2579,7 @@ public class Domain
             Course course = utility.courses.get (index);
             String time = Domain.M_FORMAT.format (viewPanel.termsAndCoursesDialog.startMChooser.getValue ());
             course.setStartTime (2, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2326,7 +2612,7 @@ public class Domain
             Course course = utility.courses.get (viewPanel.termsAndCoursesDialog.settingsCoursesTable.getSelectedRow ());
             String time = Domain.HR_FORMAT.format (viewPanel.termsAndCoursesDialog.endHrChooser.getValue ());
             course.setEndTime (0, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2359,7 +2645,7 @@ public class Domain
             Course course = utility.courses.get (viewPanel.termsAndCoursesDialog.settingsCoursesTable.getSelectedRow ());
             String time = Domain.MIN_FORMAT.format (viewPanel.termsAndCoursesDialog.endMinChooser.getValue ());
             course.setEndTime (1, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2392,7 +2678,7 @@ public class Domain
             Course course = utility.courses.get (viewPanel.termsAndCoursesDialog.settingsCoursesTable.getSelectedRow ());
             String time = Domain.M_FORMAT.format (viewPanel.termsAndCoursesDialog.endMChooser.getValue ());
             course.setEndTime (2, time);
-            needsCoursesAndTermsSave = true;
+            markCoursesAndTermsChanged ();
         }
     }
 
@@ -2663,11 +2949,10 @@ public class Domain
     }
 
     /**
-     * This method sorts the assignmentsAndEvents list through bubbling every
-     * assignment up in the model, synchronizing the model with the
-     * assignmentsAndEvents vector, and saving the data. Since the models
-     * bubbling methods are called, the assignmentsAndEvents will sort by
-     * whatever column was last selected for sorting.
+     * This method sorts the assignmentsAndEvents list by a key computed once
+     * for each assignment or event, then applies the same ordering to the
+     * model so the two stay synchronized. The assignmentsAndEvents will sort
+     * by whatever column was last selected for sorting.
      */
     protected void sortAssignmentsList()
     {
@@ -2687,310 +2972,159 @@ public class Domain
         }
 
         boolean sortAscending = viewPanel.assignmentsTableModel.isSortAscending ();
-        boolean swapped = true;
+        int size = utility.assignmentsAndEvents.size ();
+        int[] order = null;
         switch (viewPanel.assignmentsTableModel.getColumnSorting ())
         {
             // sort by "done" state
             case 0:
             {
-                while (swapped)
+                long[] keys = new long[size];
+                for (int i = 0; i < size; ++i)
                 {
-                    swapped = false;
-                    for (int i = 0; i < utility.assignmentsAndEvents.size () - 1; ++i)
+                    ListItem item = utility.assignmentsAndEvents.get (i);
+                    if (item.isAssignment ())
                     {
-                        ListItem firstItem = utility.assignmentsAndEvents.get (i);
-                        ListItem secondItem = utility.assignmentsAndEvents.get (i + 1);
-                        int first = -1;
-                        int second = -1;
-                        if (firstItem.isAssignment ())
+                        if (((Assignment) item).isDone ())
                         {
-                            if (((Assignment) firstItem).isDone ())
-                            {
-                                first = 0;
-                            }
-                            else
-                            {
-                                first = 1;
-                            }
-                        }
-                        else
-                        {
-                            first = 2;
-                        }
-                        if (secondItem.isAssignment ())
-                        {
-                            if (((Assignment) secondItem).isDone ())
-                            {
-                                second = 0;
-                            }
-                            else
-                            {
-                                second = 1;
-                            }
+                            keys[i] = 0;
                         }
                         else
                         {
-                            second = 2;
-                        }
-
-                        if ((sortAscending && first < second)
-                            || (!sortAscending && first > second))
-                        {
-                            swap (i, i + 1);
-                            viewPanel.assignmentsTableModel.swap (i, i + 1);
-                            swapped = true;
+                            keys[i] = 1;
                         }
                     }
+                    else
+                    {
+                        keys[i] = 2;
+                    }
                 }
+                // events first, then unfinished, then finished assignments
+                order = KeyedSort.order (keys, !sortAscending);
                 break;
             }
             // sort by task name
             case 1:
             {
-                while (swapped)
+                String[] keys = new String[size];
+                for (int i = 0; i < size; ++i)
                 {
-                    swapped = false;
-                    for (int i = 0; i < utility.assignmentsAndEvents.size () - 1; ++i)
+                    String name = utility.assignmentsAndEvents.get (i).getItemName ();
+                    if (name == null)
                     {
-                        String first = utility.assignmentsAndEvents.get (i).getItemName ();
-                        if (first == null)
-                        {
-                            first = "";
-                        }
-                        String second = utility.assignmentsAndEvents.get (i + 1).getItemName ();
-                        if (second == null)
-                        {
-                            second = "";
-                        }
-                        if ((sortAscending && second.toLowerCase ().compareTo (first.toLowerCase ()) < 0) || (!sortAscending && second.toLowerCase ().compareTo (first.toLowerCase ()) > 0))
-                        {
-                            swap (i, i + 1);
-                            viewPanel.assignmentsTableModel.swap (i, i + 1);
-                            swapped = true;
-                        }
+                        name = "";
                     }
+                    keys[i] = name.toLowerCase ();
                 }
+                order = KeyedSort.order (keys, sortAscending);
                 break;
             }
             // sort by type name
             case 2:
             {
-                while (swapped)
+                String[] keys = new String[size];
+                for (int i = 0; i < size; ++i)
                 {
-                    swapped = false;
-                    for (int i = 0; i < utility.assignmentsAndEvents.size () - 1; ++i)
+                    String name = "";
+                    try
                     {
-                        String first = "";
-                        String second = "";
-                        try
+                        ListItem item = utility.assignmentsAndEvents.get (i);
+                        if (item.isAssignment ())
                         {
-                            ListItem item = utility.assignmentsAndEvents.get (i);
-                            if (item.isAssignment ())
+                            if (((Assignment) item).getType () != null)
                             {
-                                if (((Assignment) item).getType () != null)
-                                {
-                                    first = ((Assignment) item).getType ().getTypeName ();
-                                }
+                                name = ((Assignment) item).getType ().getTypeName ();
                             }
-                            else
-                            {
-                                first = ((Event) item).getRowObject ()[2].toString ();
-                            }
-                        }
-                        catch (NullPointerException ex)
-                        {
-                            Domain.LOGGER.add (ex);
-                        }
-                        try
-                        {
-                            ListItem item = utility.assignmentsAndEvents.get (i + 1);
-                            if (item.isAssignment ())
-                            {
-                                if (((Assignment) item).getType () != null)
-                                {
-                                    second = ((Assignment) item).getType ().getTypeName ();
-                                }
-                            }
-                            else
-                            {
-                                second = ((Event) item).getRowObject ()[2].toString ();
-                            }
-                        }
-                        catch (NullPointerException ex)
-                        {
-                            Domain.LOGGER.add (ex);
                         }
-                        if ((sortAscending && second.toLowerCase ().compareTo (first.toLowerCase ()) < 0) || (!sortAscending && second.toLowerCase ().compareTo (first.toLowerCase ()) > 0))
+                        else
                         {
-                            swap (i, i + 1);
-                            viewPanel.assignmentsTableModel.swap (i, i + 1);
-                            swapped = true;
+                            name = ((Event) item).getRowObject ()[2].toString ();
                         }
                     }
+                    catch (NullPointerException ex)
+                    {
+                        Domain.LOGGER.add (ex);
+                    }
+                    keys[i] = name.toLowerCase ();
                 }
+                order = KeyedSort.order (keys, sortAscending);
                 break;
             }
             // sort by course name
             case 3:
             {
-                while (swapped)
+                String[] keys = new String[size];
+                for (int i = 0; i < size; ++i)
                 {
-                    swapped = false;
-                    for (int i = 0; i < utility.assignmentsAndEvents.size () - 1; ++i)
+                    String name = "";
+                    try
                     {
-                        String first = "";
-                        String second = "";
-                        try
-                        {
-                            ListItem item = utility.assignmentsAndEvents.get (i);
-                            if (item.isAssignment ())
-                            {
-                                first = ((Assignment) item).getCourse ().getTypeName ();
-                            }
-                        }
-                        catch (NullPointerException ex)
-                        {
-                            Domain.LOGGER.add (ex);
-                        }
-                        try
+                        ListItem item = utility.assignmentsAndEvents.get (i);
+                        if (item.isAssignment ())
                         {
-                            ListItem item = utility.assignmentsAndEvents.get (i + 1);
-                            if (item.isAssignment ())
-                            {
-                                second = ((Assignment) item).getCourse ().getTypeName ();
-                            }
-                        }
-                        catch (NullPointerException ex)
-                        {
-                            Domain.LOGGER.add (ex);
-                        }
-                        if ((sortAscending && second.toLowerCase ().compareTo (first.toLowerCase ()) < 0) || (!sortAscending && second.toLowerCase ().compareTo (first.toLowerCase ()) > 0))
-                        {
-                            swap (i, i + 1);
-                            viewPanel.assignmentsTableModel.swap (i, i + 1);
-                            swapped = true;
+                            name = ((Assignment) item).getCourse ().getTypeName ();
                         }
                     }
+                    catch (NullPointerException ex)
+                    {
+                        Domain.LOGGER.add (ex);
+                    }
+                    keys[i] = name.toLowerCase ();
                 }
+                order = KeyedSort.order (keys, sortAscending);
                 break;
             }
             // sort by due date
             case 4:
             {
-                while (swapped)
+                long[] keys = new long[size];
+                for (int i = 0; i < size; ++i)
                 {
-                    swapped = false;
-                    for (int i = 0; i < utility.assignmentsAndEvents.size () - 1; ++i)
-                    {
-                        try
-                        {
-                            ListItem first = utility.assignmentsAndEvents.get (i);
-                            ListItem second = utility.assignmentsAndEvents.get (i + 1);
-                            Date firstDate = null;
-                            Date secondDate = null;
-                            if (first.isAssignment ())
-                            {
-                                firstDate = Domain.DATE_AND_TIME_FORMAT.parse (first.getDueDate () + " " + ((Assignment) first).getDueTime ());
-                            }
-                            else
-                            {
-                                String startTime = "12:00 AM";
-                                if (!((Event) first).isAllDay ())
-                                {
-                                    startTime = ((Event) first).getStartTime (0) + ":" + ((Event) first).getStartTime (1) + " " + ((Event) first).getStartTime (2);
-                                }
-                                firstDate = Domain.DATE_AND_TIME_FORMAT.parse (first.getDueDate () + " " + startTime);
-                            }
-                            if (second.isAssignment ())
-                            {
-                                secondDate = Domain.DATE_AND_TIME_FORMAT.parse (second.getDueDate () + " " + ((Assignment) second).getDueTime ());
-                            }
-                            else
-                            {
-                                String startTime = "12:00 AM";
-                                if (!((Event) second).isAllDay ())
-                                {
-                                    startTime = ((Event) second).getStartTime (0) + ":" + ((Event) second).getStartTime (1) + " " + ((Event) second).getStartTime (2);
-                                }
-                                secondDate = Domain.DATE_AND_TIME_FORMAT.parse (second.getDueDate () + " " + startTime);
-                            }
-
-                            if ((sortAscending && firstDate.after (secondDate)) || (!sortAscending && firstDate.before (secondDate))
-                                || (firstDate.compareTo (secondDate) == 0 && sortAscending && first.isAssignment () && !second.isAssignment ())
-                                || (firstDate.compareTo (secondDate) == 0 && !sortAscending && !first.isAssignment () && second.isAssignment ()))
-                            {
-                                swap (i, i + 1);
-                                viewPanel.assignmentsTableModel.swap (i, i + 1);
-                                swapped = true;
-                            }
-                        }
-                        catch (ParseException ex)
-                        {
-                            Domain.LOGGER.add (ex);
-                        }
-                    }
+                    ListItem item = utility.assignmentsAndEvents.get (i);
+                    // events sort ahead of assignments due at the same time
+                    keys[i] = (item.getDueDay () * DateUtility.MINUTES_PER_DAY + item.getDueMinute ()) * 2 + (item.isAssignment () ? 1 : 0);
                 }
+                order = KeyedSort.order (keys, sortAscending);
                 break;
             }
             // sort by grade
             case 5:
             {
-                while (swapped)
+                double[] keys = new double[size];
+                for (int i = 0; i < size; ++i)
                 {
-                    swapped = false;
-                    for (int i = 0; i < utility.assignmentsAndEvents.size () - 1; ++i)
+                    keys[i] = -1;
+                    try
                     {
-                        double first = -1;
-                        double second = -1;
-                        try
+                        ListItem item = utility.assignmentsAndEvents.get (i);
+                        if (item.isAssignment ())
                         {
-                            ListItem item = utility.assignmentsAndEvents.get (i);
-                            if (item.isAssignment ())
+                            if (!((Assignment) item).getGrade ().equals (""))
                             {
-                                if (!((Assignment) item).getGrade ().equals (""))
-                                {
-                                    first = Double.parseDouble (((Assignment) item).getGrade ().replaceAll ("%", ""));
-                                }
+                                keys[i] = Double.parseDouble (((Assignment) item).getGrade ().replaceAll ("%", ""));
                             }
-                            else
-                            {
-                                first = -2;
-                            }
-                        }
-                        catch (NumberFormatException ex)
-                        {
-                            Domain.LOGGER.add (ex);
                         }
-                        try
-                        {
-                            ListItem item = utility.assignmentsAndEvents.get (i + 1);
-                            if (item.isAssignment ())
-                            {
-                                if (!((Assignment) item).getGrade ().equals (""))
-                                {
-                                    second = Double.parseDouble (((Assignment) item).getGrade ().replaceAll ("%", ""));
-                                }
-                            }
-                            else
-                            {
-                                second = -2;
-                            }
-                        }
-                        catch (NumberFormatException ex)
-                        {
-                            Domain.LOGGER.add (ex);
-                        }
-                        if ((sortAscending && first > second) || (!sortAscending && first < second))
+                        else
                         {
-                            swap (i, i + 1);
-                            viewPanel.assignmentsTableModel.swap (i, i + 1);
-                            swapped = true;
+                            keys[i] = -2;
                         }
                     }
+                    catch (NumberFormatException ex)
+                    {
+                        Domain.LOGGER.add (ex);
+                    }
                 }
+                order = KeyedSort.order (keys, sortAscending);
                 break;
             }
         }
+        if (order != null)
+        {
+            // the list and the table model are kept index-aligned, so apply the
+            // same ordering to both and redraw the table once
+            utility.assignmentsAndEvents.reorder (order);
+            viewPanel.assignmentsTableModel.reorderRows (order);
+        }
         viewPanel.assignmentsTable.refreshTable ();
         if (selectedID != -1)
         {
@@ -3002,19 +3136,6 @@ public class Domain
         assignmentOrEventLoading.pop ();
     }
 
-    /**
-     * Swaps to locations in the assignmentsAndEvents vector.
-     *
-     * @param first The first swap index.
-     * @param second The second swap index.
-     */
-    private void swap(int first, int second)
-    {
-        ListItem temp = utility.assignmentsAndEvents.get (second);
-        utility.assignmentsAndEvents.set (second, utility.assignmentsAndEvents.get (first));
-        utility.assignmentsAndEvents.set (first, temp);
-    }
-
     /**
      * Refreshes all displayed information in the assignmentsAndEvents list.
      */
@@ -3105,14 +3226,7 @@ public class Domain
                     if (assignment.getType () != null && !assignment.getType ().getWeight ().replaceAll (" ", "").equals (""))
                     {
                         assignment.getType ().addGrade (Double.parseDouble (assignment.getGrade ().replaceAll ("%", "")));
-                        try
-                        {
-                            course.addGrade (Double.parseDouble (assignment.getGrade ().replaceAll ("%", "")), assignment.getType (), Domain.DATE_AND_TIME_FORMAT.parse (assignment.getDueDate () + " " + assignment.getDueTime (0) + ":" + assignment.getDueTime (1) + " " + assignment.getDueTime (2)).getTime ());
-                        }
-                        catch (ParseException ex)
-                        {
-                            Domain.LOGGER.add (ex);
-                        }
+                        course.addGrade (Double.parseDouble (assignment.getGrade ().replaceAll ("%", "")), assignment.getType (), assignment.getDueDay () * DateUtility.MINUTES_PER_DAY + assignment.getDueMinute ());
                     }
                 }
             }
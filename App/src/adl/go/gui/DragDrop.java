@@ -20,6 +20,7 @@
 
 package adl.go.gui;
 
+import adl.go.resource.DateUtility;
 import adl.go.types.Event;
 import adl.go.types.ListItem;
 import java.awt.datatransfer.DataFlavor;
@@ -27,7 +28,6 @@ import java.awt.datatransfer.Transferable;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.awt.dnd.DragGestureEvent;
 import java.awt.dnd.DragGestureListener;
-import java.awt.dnd.DragSourceContext;
 import java.awt.dnd.DragSourceDragEvent;
 import java.awt.dnd.DragSourceDropEvent;
 import java.awt.dnd.DragSourceEvent;
@@ -41,8 +41,6 @@ import java.io.IOException;
 import java.util.Calendar;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
-import javax.swing.JScrollPane;
-import javax.swing.JViewport;
 
 /**
  * The drag and drop class handles the construction and destruction of drag/drop
@@ -78,9 +76,9 @@ public class DragDrop implements DragGestureListener, DragSourceListener, DropTa
         }
     }
     /**
-     * The object being dragged.
+     * The assignment or event being dragged.
      */
-    private Object object;
+    private ListItem object;
     private int response1 = -1;
     private int response2 = -1;
     private boolean repeat = false;
@@ -124,6 +122,13 @@ public class DragDrop implements DragGestureListener, DragSourceListener, DropTa
     @Override
     public void dragGestureRecognized(DragGestureEvent ev)
     {
+        // the day panel finds which of the items it paints the drag began on
+        object = ((DayItemsPanel) ev.getComponent ()).getItemAt (ev.getDragOrigin ());
+        if (object == null)
+        {
+            return;
+        }
+
         try
         {
             response1 = viewPanel.checkAssignmentOrEventChanges (viewPanel.domain.currentIndexFromVector);
@@ -158,7 +163,6 @@ public class DragDrop implements DragGestureListener, DragSourceListener, DropTa
     @Override
     public void dragOver(DragSourceDragEvent ev)
     {
-        object = ev.getSource ();
     }
 
     @Override
@@ -204,22 +208,19 @@ public class DragDrop implements DragGestureListener, DragSourceListener, DropTa
                 if (!repeat)
                 {
                     JPanel panel = (JPanel) ((DropTarget) ev.getSource ()).getComponent ();
-                    JPanel targetPanel = (JPanel) ((JViewport) ((JScrollPane) panel.getComponent (1)).getComponent (0)).getComponent (0);
-                    Object source = ev.getTransferable ().getTransferData (supportedFlavors[0]);
-
-                    ListItem item = (ListItem) ((DragSourceContext) source).getComponent ().getParent ();
+                    ListItem item = (ListItem) ev.getTransferable ().getTransferData (supportedFlavors[0]);
 
                     Calendar shownCal = viewPanel.miniCalendar.getCalendar ();
                     int shownMonth = shownCal.get (Calendar.MONTH);
 
-                    int dayIndex = viewPanel.getIndexFromDaysArray ((JPanel) ((JScrollPane) ((JViewport) targetPanel.getParent ()).getParent ()).getParent ());
+                    int dayIndex = viewPanel.getIndexFromDaysArray (panel);
                     viewPanel.assignmentsTable.setSelectedRowFromVectorIndex (viewPanel.domain.utility.getAssignmentOrEventIndexByID (item.getUniqueID ()));
 
                     if (item instanceof Event)
                     {
                         Calendar cal = viewPanel.eventDateChooser.getCalendar ();
 
-                        int dueMonth = Integer.parseInt (item.getDueDate ().split ("/")[0]);
+                        int dueMonth = DateUtility.getMonth (item.getDueDay ());
                         if ((dueMonth == shownMonth - 1 && dueMonth - 1 != shownMonth)
                             || (dueMonth == shownMonth + 11 && dueMonth - 1 != shownMonth))
                         {
@@ -274,7 +275,7 @@ public class DragDrop implements DragGestureListener, DragSourceListener, DropTa
                     {
                         Calendar cal = viewPanel.dueDateChooser.getCalendar ();
 
-                        int dueMonth = Integer.parseInt (item.getDueDate ().split ("/")[0]);
+                        int dueMonth = DateUtility.getMonth (item.getDueDay ());
                         if ((dueMonth == shownMonth - 1 && dueMonth - 1 != shownMonth)
                             || (dueMonth == shownMonth + 11 && dueMonth - 1 != shownMonth))
                         {
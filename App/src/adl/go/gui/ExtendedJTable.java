@@ -89,15 +89,7 @@ public class ExtendedJTable extends JTable
         int newIndex = -1;
         if (index != -1)
         {
-            long uniqueID = utility.assignmentsAndEvents.get (index).getUniqueID ();
-            for (int i = 0; i < getRowCount (); ++i)
-            {
-                if (Long.parseLong (getModel ().getValueAt (i, 6).toString ()) == uniqueID)
-                {
-                    newIndex = i;
-                    break;
-                }
-            }
+            newIndex = utility.getTableIndexByID (utility.assignmentsAndEvents.get (index).getUniqueID ());
         }
 
         return newIndex;
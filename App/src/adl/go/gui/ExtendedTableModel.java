@@ -20,7 +20,15 @@
 
 package adl.go.gui;
 
+import adl.go.resource.IndexedList;
 import adl.go.resource.Utility;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import javax.swing.table.AbstractTableModel;
 
 /**
@@ -45,10 +53,31 @@ public class ExtendedTableModel extends AbstractTableModel
         "Grade"
     };
     /**
-     * The data array keeps track of rows in this table.
+     * The unique ID column of each row.
      */
-    private Object[][] data =
+    private static final int ID_COLUMN = 6;
+    /**
+     * The data list keeps track of rows in this table, indexed by the unique ID
+     * of the assignment or event in each row.
+     */
+    private IndexedList<Object[]> data = new IndexedList<Object[]> ()
     {
+        @Override
+        protected boolean isIndexable(Object object)
+        {
+            return object instanceof Object[];
+        }
+
+        @Override
+        protected long getID(Object object)
+        {
+            Object id = ((Object[]) object)[ID_COLUMN];
+            if (id instanceof Long)
+            {
+                return (Long) id;
+            }
+            return Long.parseLong (id.toString ());
+        }
     };
     /**
      * The reference to the utility.
@@ -153,23 +182,48 @@ public class ExtendedTableModel extends AbstractTableModel
      */
     public void addRow(Object[] row)
     {
-        // create a new data array with one more row and fill it with the old data
-        Object[][] newData = new Object[data.length + 1][columnNames.length + 1];
-        for (int i = 0; i < data.length; ++i)
+        data.add (copyRow (row));
+        fireTableRowsInserted (data.size () - 1, data.size () - 1);
+    }
+
+    /**
+     * Adds the given rows to the end of the table, notifying listeners once.
+     *
+     * @param rows The rows to be placed in the table.
+     */
+    public void addRows(List<Object[]> rows)
+    {
+        if (rows.isEmpty ())
         {
-            for (int j = 0; j < columnNames.length + 1; ++j)
-            {
-                newData[i][j] = data[i][j];
-            }
+            return;
         }
 
-        // fill the new row
-        for (int i = 0; i < columnNames.length + 1; ++i)
+        int first = data.size ();
+        ArrayList<Object[]> copies = new ArrayList<Object[]> (rows.size ());
+        for (int i = 0; i < rows.size (); ++i)
         {
-            newData[newData.length - 1][i] = row[i];
+            copies.add (copyRow (rows.get (i)));
         }
-        data = newData;
-        fireTableRowsUpdated (data.length, data.length);
+        data.addAll (copies);
+        fireTableRowsInserted (first, data.size () - 1);
+    }
+
+    /**
+     * Replaces the contents of the table with the given rows, notifying
+     * listeners once.
+     *
+     * @param rows The rows to be placed in the table.
+     */
+    public void replaceAll(List<Object[]> rows)
+    {
+        ArrayList<Object[]> copies = new ArrayList<Object[]> (rows.size ());
+        for (int i = 0; i < rows.size (); ++i)
+        {
+            copies.add (copyRow (rows.get (i)));
+        }
+        data.clear ();
+        data.addAll (copies);
+        fireTableDataChanged ();
     }
 
     /**
@@ -179,23 +233,66 @@ public class ExtendedTableModel extends AbstractTableModel
      */
     public void removeRow(int index)
     {
-        // create a new data array with one more row and fill it with the old data
-        Object[][] newData = new Object[data.length - 1][columnNames.length + 1];
-        for (int i = 0; i < newData.length; ++i)
+        data.remove (index);
+        fireTableRowsDeleted (index, index);
+    }
+
+    /**
+     * Removes the rows holding the assignments or events with the given unique
+     * IDs, notifying listeners once.
+     *
+     * @param ids The unique IDs of the rows to be removed.
+     */
+    public void removeRowsByID(Collection<Long> ids)
+    {
+        Set<Object[]> rows = Collections.newSetFromMap (new IdentityHashMap<Object[], Boolean> ());
+        Iterator<Long> iterator = ids.iterator ();
+        while (iterator.hasNext ())
         {
-            for (int j = 0; j < columnNames.length + 1; ++j)
+            Object[] row = data.getByID (iterator.next ());
+            if (row != null)
             {
-                int refIndex = i;
-                if (i >= index)
+                rows.add (row);
+            }
+        }
+
+        if (data.removeAll (rows))
+        {
+            fireTableDataChanged ();
+        }
+    }
+
+    /**
+     * Replaces the contents of the rows holding the same unique IDs as the
+     * given rows, notifying listeners once. Rows that are not in the table are
+     * ignored.
+     *
+     * @param rows The new contents of the rows.
+     */
+    public void updateRows(List<Object[]> rows)
+    {
+        int first = data.size ();
+        int last = -1;
+        for (int i = 0; i < rows.size (); ++i)
+        {
+            Object[] row = rows.get (i);
+            int index = data.indexOfID (Long.parseLong (row[ID_COLUMN].toString ()));
+            if (index != -1)
+            {
+                Object[] existing = data.get (index);
+                for (int j = 0; j < columnNames.length; ++j)
                 {
-                    refIndex += 1;
+                    existing[j] = row[j];
                 }
-                newData[i][j] = data[refIndex][j];
+                first = Math.min (first, index);
+                last = Math.max (last, index);
             }
         }
 
-        data = newData;
-        fireTableRowsUpdated (data.length, data.length);
+        if (last != -1)
+        {
+            fireTableRowsUpdated (first, last);
+        }
     }
 
     /**
@@ -203,9 +300,40 @@ public class ExtendedTableModel extends AbstractTableModel
      */
     public void removeAllRows()
     {
-        data = new Object[][]
+        int count = data.size ();
+        data.clear ();
+        if (count > 0)
+        {
+            fireTableRowsDeleted (0, count - 1);
+        }
+    }
+
+    /**
+     * Retrieves the index of the row holding the assignment or event with the
+     * given unique ID.
+     *
+     * @param id The unique ID to look for.
+     * @return The index of the row, or -1 if it is not in the table.
+     */
+    public int getRowIndexByID(long id)
+    {
+        return data.indexOfID (id);
+    }
+
+    /**
+     * Copies the given row into a new array the width of the table's data.
+     *
+     * @param row The row to copy.
+     * @return The copied row.
+     */
+    private Object[] copyRow(Object[] row)
+    {
+        Object[] copy = new Object[columnNames.length + 1];
+        for (int i = 0; i < copy.length; ++i)
         {
-        };
+            copy[i] = row[i];
+        }
+        return copy;
     }
 
     /**
@@ -227,7 +355,7 @@ public class ExtendedTableModel extends AbstractTableModel
     @Override
     public int getRowCount()
     {
-        return data.length;
+        return data.size ();
     }
 
     /**
@@ -255,9 +383,9 @@ public class ExtendedTableModel extends AbstractTableModel
     {
         try
         {
-            return data[row][col];
+            return data.get (row)[col];
         }
-        catch (ArrayIndexOutOfBoundsException ex)
+        catch (IndexOutOfBoundsException ex)
         {
             return null;
         }
@@ -294,7 +422,11 @@ public class ExtendedTableModel extends AbstractTableModel
     @Override
     public void setValueAt(Object value, int row, int col)
     {
-        data[row][col] = value;
+        data.get (row)[col] = value;
+        if (col == ID_COLUMN)
+        {
+            data.reindex ();
+        }
         fireTableCellUpdated (row, col);
     }
 
@@ -306,7 +438,18 @@ public class ExtendedTableModel extends AbstractTableModel
      */
     public void setRow(Object[] rowObject, int row)
     {
-        data[row] = rowObject;
+        data.set (row, rowObject);
+    }
+
+    /**
+     * Rearranges the rows into the given order and notifies listeners once.
+     *
+     * @param order The original index of each row, in the new order.
+     */
+    public void reorderRows(int[] order)
+    {
+        data.reorder (order);
+        fireTableDataChanged ();
     }
 
     /**
@@ -317,9 +460,9 @@ public class ExtendedTableModel extends AbstractTableModel
      */
     public void swap(int first, int second)
     {
-        Object[] temp = data[second];
-        data[second] = data[first];
-        data[first] = temp;
+        Object[] temp = data.get (second);
+        data.set (second, data.get (first));
+        data.set (first, temp);
         fireTableRowsUpdated (first, first);
         fireTableRowsUpdated (second, second);
     }
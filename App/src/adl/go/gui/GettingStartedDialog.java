@@ -576,7 +576,7 @@ public class GettingStartedDialog extends EscapeDialog
     private void dontShowCheckBoxActionPerformed(java.awt.event.ActionEvent evt)//GEN-FIRST:event_dontShowCheckBoxActionPerformed
     {//GEN-HEADEREND:event_dontShowCheckBoxActionPerformed
         viewPanel.domain.utility.preferences.dontShowGettingStarted = dontShowCheckBox.isSelected ();
-        viewPanel.domain.needsPreferencesSave = true;
+        viewPanel.domain.markPreferencesChanged ();
 }//GEN-LAST:event_dontShowCheckBoxActionPerformed
 
     private void hyperlinkLabel1MouseReleased(java.awt.event.MouseEvent evt)//GEN-FIRST:event_hyperlinkLabel1MouseReleased
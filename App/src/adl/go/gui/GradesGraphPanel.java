@@ -32,7 +32,6 @@ import java.awt.font.FontRenderContext;
 import java.awt.font.LineMetrics;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Line2D;
-import java.text.ParseException;
 import java.util.ArrayList;
 import javax.swing.JPanel;
 
@@ -126,30 +125,15 @@ public class GradesGraphPanel extends JPanel
                 for (int j = 0; j < course.getGradedAssignmentCount (); ++j)
                 {
                     int index = j;
-                    try
+                    while (index + 1 < course.getGradedAssignmentCount ()
+                           && course.getDayNumAtPoint (index) == course.getDayNumAtPoint (index + 1))
                     {
-                        while (index + 1 < course.getGradedAssignmentCount ()
-                               && course.getDayNumAtPoint (index) == course.getDayNumAtPoint (index + 1))
-                        {
-                            ++index;
-                        }
-                    }
-                    catch (ParseException ex)
-                    {
-                        Domain.LOGGER.add (ex);
+                        ++index;
                     }
 
                     plotPoints.add (course.calculateGradeAtPoint (index));
 
-                    try
-                    {
-                        dayNum.add (course.getDayNumAtPoint (index));
-                    }
-                    catch (ParseException ex)
-                    {
-                        dayNum.add ((long) index);
-                        Domain.LOGGER.add (ex);
-                    }
+                    dayNum.add (course.getDayNumAtPoint (index));
                 }
                 courses.add (new Object[]
                         {
@@ -233,16 +217,7 @@ public class GradesGraphPanel extends JPanel
                 ArrayList<Double> plotPoints = (ArrayList<Double>) courses.get (i)[0];
                 ArrayList<Long> dayNum = (ArrayList<Long>) courses.get (i)[1];
 
-                double xInc;
-                try
-                {
-                    xInc = (double) (getWidth () - 3 * RIGHT_PAD) / currentTerm.getDayCount ();
-                }
-                catch (ParseException ex)
-                {
-                    xInc = (double) (getWidth () - 3 * RIGHT_PAD) / (plotPoints.size () - 1);
-                    Domain.LOGGER.add (ex);
-                }
+                double xInc = (double) (getWidth () - 3 * RIGHT_PAD) / currentTerm.getDayCount ();
                 double scale = (double) (getHeight () - (UPPER_PAD + LOWER_PAD));
                 g2.setPaint (currentTerm.getCourse (i).getColor ());
                 // draw graph lines to each assignment point
@@ -244,7 +244,7 @@ public class HeliumDialog extends EscapeDialog
     private void dontShowCheckBoxActionPerformed(java.awt.event.ActionEvent evt)//GEN-FIRST:event_dontShowCheckBoxActionPerformed
     {//GEN-HEADEREND:event_dontShowCheckBoxActionPerformed
         viewPanel.domain.utility.preferences.dontShowHelium = dontShowCheckBox.isSelected ();
-        viewPanel.domain.needsPreferencesSave = true;
+        viewPanel.domain.markPreferencesChanged ();
     }//GEN-LAST:event_dontShowCheckBoxActionPerformed
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
@@ -21,6 +21,7 @@
 package adl.go.gui;
 
 import adl.go.gui.ColoredComponent.GradientStyle;
+import adl.go.resource.BackupIndex;
 import adl.go.types.Course;
 import adl.go.types.Term;
 import ca.ansir.swing.tristate.TriState;
@@ -32,7 +33,6 @@ import java.awt.Cursor;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.ResourceBundle;
@@ -68,9 +68,9 @@ public class ImportFromBackupDialog extends EscapeDialog
      */
     private File file;
     /**
-     * The buffered reader to read from the file.
+     * The index of the sections of the file.
      */
-    private BufferedReader in;
+    private BackupIndex backup;
     /**
      * True if success, false otherwise.
      */
@@ -291,13 +291,6 @@ public class ImportFromBackupDialog extends EscapeDialog
 
     private void importCloseButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_importCloseButtonActionPerformed
         cancel = true;
-        try
-        {
-            in.close ();
-        }
-        catch (IOException ex)
-        {
-        }
         dispose ();
         viewPanel.requestFocus ();
 }//GEN-LAST:event_importCloseButtonActionPerformed
@@ -332,7 +325,7 @@ public class ImportFromBackupDialog extends EscapeDialog
 
             viewPanel.settingsDialog.settingsTabbedPane.setSelectedIndex (0);
             viewPanel.termsAndCoursesDialog.termsAndCoursesTabbedPane.setSelectedIndex (0);
-            viewPanel.domain.workerThread.setAllowSave (false);
+            viewPanel.domain.saveScheduler.setAllowSave (false);
 
             int courseIndex = 0;
             int termIndex = 0;
@@ -392,7 +385,7 @@ public class ImportFromBackupDialog extends EscapeDialog
 
             if (terms.size () > 0 && courses.size () > 0)
             {
-                success = viewPanel.domain.utility.importFromBackup (in, terms, courses);
+                success = viewPanel.domain.utility.importFromBackup (backup, terms, courses);
 
                 if (success)
                 {
@@ -411,13 +404,6 @@ public class ImportFromBackupDialog extends EscapeDialog
         finally
         {
             setCursor (Cursor.getDefaultCursor ());
-            try
-            {
-                in.close ();
-            }
-            catch (IOException ex)
-            {
-            }
         }
 
         dispose ();
@@ -445,60 +431,69 @@ public class ImportFromBackupDialog extends EscapeDialog
         // clear out old terms and courses
         root.removeAllChildren ();
 
-        in = new BufferedReader (new FileReader (file));
-
-        // throw out title line
-        in.readLine ();
-        // throw out preferences line
-        in.readLine ();
-        // throw out title line
-        in.readLine ();
-        // throw out categories line
-        in.readLine ();
-
-        // throw out blank line
-        in.readLine ();
-        // throw out title line
-        in.readLine ();
+        backup = BackupIndex.open (file);
+
         // read all terms
-        String line = in.readLine ();
         terms.clear ();
-        while (!line.equals (""))
+        BufferedReader in = backup.openSection ("TERMS");
+        if (in == null)
         {
-            Term term = new Term (line, viewPanel.domain.utility);
-            terms.add (term);
-            TriStateTreeNode termNode = new TriStateTreeNode (term.getTypeName ());
-            root.add (termNode);
+            throw new IOException ("The backup has no TERMS section.");
+        }
+        try
+        {
+            String line = in.readLine ();
+            while (line != null && !line.equals (""))
+            {
+                Term term = new Term (line, viewPanel.domain.utility);
+                terms.add (term);
+                TriStateTreeNode termNode = new TriStateTreeNode (term.getTypeName ());
+                root.add (termNode);
 
-            line = in.readLine ();
+                line = in.readLine ();
+            }
+        }
+        finally
+        {
+            in.close ();
         }
 
-        // throw out title line
-        in.readLine ();
         // read all courses
-        line = in.readLine ();
         courses.clear ();
-        while (!line.equals (""))
+        in = backup.openSection ("COURSES");
+        if (in == null)
         {
-            Course course = new Course (line, viewPanel.domain.utility);
-            courses.add (course);
-
-            // retrieve the index of the node to add this to
-            int index = -1;
-            for (int i = 0; i < terms.size (); ++i)
+            throw new IOException ("The backup has no COURSES section.");
+        }
+        try
+        {
+            String line = in.readLine ();
+            while (line != null && !line.equals (""))
             {
-                if (terms.get (i).getUniqueID () == course.getTermID ())
+                Course course = new Course (line, viewPanel.domain.utility);
+                courses.add (course);
+
+                // retrieve the index of the node to add this to
+                int index = -1;
+                for (int i = 0; i < terms.size (); ++i)
                 {
-                    index = i;
+                    if (terms.get (i).getUniqueID () == course.getTermID ())
+                    {
+                        index = i;
+                    }
                 }
-            }
 
-            //int index = viewPanel.domain.utility.getTermIndex (terms, course.getTermID());
-            TriStateTreeNode courseNode = new TriStateTreeNode (course.getTypeName ());
-            TriStateTreeNode termNode = (TriStateTreeNode) root.getChildAt (index);
-            termNode.add (courseNode);
+                //int index = viewPanel.domain.utility.getTermIndex (terms, course.getTermID());
+                TriStateTreeNode courseNode = new TriStateTreeNode (course.getTypeName ());
+                TriStateTreeNode termNode = (TriStateTreeNode) root.getChildAt (index);
+                termNode.add (courseNode);
 
-            line = in.readLine ();
+                line = in.readLine ();
+            }
+        }
+        finally
+        {
+            in.close ();
         }
 
         // refresh the shown elements
@@ -605,7 +600,7 @@ public class ImportFromBackupDialog extends EscapeDialog
                 viewPanel.loadingPanel.setVisible (false);
 
                 viewPanel.initLoading = false;
-                viewPanel.domain.workerThread.setAllowSave (true);
+                viewPanel.domain.saveScheduler.setAllowSave (true);
             }
             else if (!success && !fatal)
             {
@@ -621,7 +616,7 @@ public class ImportFromBackupDialog extends EscapeDialog
                 innerOptionDialog.setVisible (true);
 
                 viewPanel.initLoading = false;
-                viewPanel.domain.workerThread.setAllowSave (true);
+                viewPanel.domain.saveScheduler.setAllowSave (true);
             }
             else if (success && !fatal)
             {
@@ -652,11 +647,11 @@ public class ImportFromBackupDialog extends EscapeDialog
                 {
                     viewPanel.domain.utility.eventYears.get (i).markChanged ();
                 }
-                viewPanel.domain.needsCoursesAndTermsSave = true;
-                viewPanel.domain.needsPreferencesSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
+                viewPanel.domain.markPreferencesChanged ();
                 viewPanel.domain.needsSettingsSaveBool = true;
 
-                viewPanel.domain.workerThread.setAllowSave (true);
+                viewPanel.domain.saveScheduler.setAllowSave (true);
             }
             else
             {
@@ -669,7 +664,7 @@ public class ImportFromBackupDialog extends EscapeDialog
                 viewPanel.ignoreTableSelection = false;
                 viewPanel.domain.setProgressState (viewPanel.progressBar, false, "", false, -1);
 
-                viewPanel.domain.workerThread.setAllowSave (true);
+                viewPanel.domain.saveScheduler.setAllowSave (true);
 
                 ViewPanel.OPTION_PANE.setOptions (viewPanel.OK_CHOICE);
                 ViewPanel.OPTION_PANE.setMessage (viewPanel.domain.language.getString ("aFatalErrorHasOccurred"));
@@ -0,0 +1,92 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.gui;
+
+import adl.go.gui.DayItemsPanel.Chip;
+import adl.go.types.ListItem;
+import java.util.ArrayList;
+
+/**
+ * The chips that show assignments and events in the day panels of Calendar
+ * View. Assignments and events are plain data, so a chip is taken from here
+ * and bound to one only while the calendar shows it, and returned when the
+ * calendar moves on, so the number of chips follows what is on screen rather
+ * than how many assignments and events there are.
+ *
+ * Chips hold no components or listeners of their own; the day panel a chip is
+ * in paints it and finds it by hit-testing when it is clicked or dragged.
+ *
+ * @author Alex Laird
+ */
+public class ListItemViewPool
+{
+    /**
+     * The chips not currently bound.
+     */
+    private ArrayList<Chip> freeChips = new ArrayList<Chip> ();
+
+    /**
+     * Retrieves a chip bound to the given assignment or event. The chip
+     * already showing it is returned as it is, so adding it to a day panel
+     * only moves it; otherwise a free chip is bound to it, or a new one made.
+     *
+     * @param item The assignment or event to be shown.
+     * @return The chip bound to the item.
+     */
+    public Chip acquire(ListItem item)
+    {
+        if (item.getView () != null)
+        {
+            return (Chip) item.getView ();
+        }
+
+        Chip chip;
+        if (!freeChips.isEmpty ())
+        {
+            chip = freeChips.remove (freeChips.size () - 1);
+        }
+        else
+        {
+            chip = new Chip ();
+        }
+        chip.bind (item);
+
+        return chip;
+    }
+
+    /**
+     * Removes the chip of the given item from the day panel it is in, if the
+     * item is on screen, and returns the chip to the pool.
+     *
+     * @param item The assignment or event no longer to be shown.
+     */
+    public void release(ListItem item)
+    {
+        Chip chip = (Chip) item.getView ();
+        if (chip == null)
+        {
+            return;
+        }
+
+        chip.unbind ();
+        freeChips.add (chip);
+    }
+}
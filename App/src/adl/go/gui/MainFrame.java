@@ -22,6 +22,7 @@ package adl.go.gui;
 
 import adl.go.gui.ColoredComponent.GradientStyle;
 import adl.go.resource.LocalUtility;
+import adl.go.resource.SqlUtility;
 import com.apple.eawt.Application;
 import java.awt.Color;
 import java.awt.Dimension;
@@ -69,7 +70,7 @@ public class MainFrame extends JFrame
             macApp.setDockIconImage (new ImageIcon (getClass ().getResource (Domain.IMAGES_FOLDER + "go_full.png")).getImage ());
         }
 
-        LocalUtility utility = new LocalUtility ();
+        LocalUtility utility = SqlUtility.isSelected () ? new SqlUtility () : new LocalUtility ();
         UIManager.put ("Button.select", new Color (215, 215, 215));
         UIManager.put ("ToggleButton.select", new Color (215, 215, 215));
         UIManager.put ("TextField.selectionBackground", new Color (192, 192, 192));
@@ -741,7 +741,7 @@ public class PrintDialog extends EscapeDialog
 
                 viewPanel.domain.utility.preferences.sortIndex = viewPanel.assignmentsTableModel.getColumnSorting ();
                 viewPanel.domain.utility.preferences.sortAscending = viewPanel.assignmentsTableModel.isSortAscending ();
-                viewPanel.domain.needsPreferencesSave = true;
+                viewPanel.domain.markPreferencesChanged ();
             }
         }
     }//GEN-LAST:event_ascDescComboBoxActionPerformed
@@ -3130,7 +3130,7 @@ public class SettingsDialog extends EscapeDialog
             currentThemeComboBox.setSelectedItem (viewPanel.domain.utility.currentTheme);
 
             viewPanel.domain.utility.preferences.currentTheme = viewPanel.domain.utility.currentTheme.name;
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_currentThemePrefComboBoxActionPerformed
 
@@ -3183,7 +3183,7 @@ public class SettingsDialog extends EscapeDialog
         }
         settingsCategoriesTable.setSelectedRow (settingsCategoriesTable.getSelectedRow () - 1);
         viewPanel.domain.categoryLoading.pop ();
-        viewPanel.domain.needsPreferencesSave = true;
+        viewPanel.domain.markPreferencesChanged ();
 }//GEN-LAST:event_moveCategoryUpButtonActionPerformed
 
     private void moveCategoryDownButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_moveCategoryDownButtonActionPerformed
@@ -3200,7 +3200,7 @@ public class SettingsDialog extends EscapeDialog
         }
         settingsCategoriesTable.setSelectedRow (settingsCategoriesTable.getSelectedRow () + 1);
         viewPanel.domain.categoryLoading.pop ();
-        viewPanel.domain.needsPreferencesSave = true;
+        viewPanel.domain.markPreferencesChanged ();
 }//GEN-LAST:event_moveCategoryDownButtonActionPerformed
 
     private void removeCategoryButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_removeCategoryButtonActionPerformed
@@ -3229,7 +3229,7 @@ public class SettingsDialog extends EscapeDialog
             settingsCategoriesTableRowSelected (null);
 
             viewPanel.domain.categoryLoading.pop ();
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_removeCategoryButtonActionPerformed
 
@@ -3240,7 +3240,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.categories.get (settingsCategoriesTable.getSelectedRow ()).setColor (newColor);
             eventColorPanel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_eventColorPanelMouseReleased
 
@@ -3260,7 +3260,7 @@ public class SettingsDialog extends EscapeDialog
         optionDialog.setVisible (true);
         if (ViewPanel.OPTION_PANE.getValue () != null && Integer.parseInt (ViewPanel.OPTION_PANE.getValue ().toString ()) == JOptionPane.YES_OPTION)
         {
-            viewPanel.domain.utility.removeEventsAttachedTo (viewPanel.domain.utility.preferences.categories.get (viewPanel.domain.currentCategoryIndex), viewPanel.miniCalendar.getMonthChooser ().getMonth (), viewPanel.miniCalendar.getYearChooser ().getYear ());
+            viewPanel.domain.utility.removeEventsAttachedTo (viewPanel.domain.utility.preferences.categories.get (viewPanel.domain.currentCategoryIndex));
             viewPanel.refreshBusyDays ();
         }
 }//GEN-LAST:event_emptyCategoryActionPerformed
@@ -3288,7 +3288,7 @@ public class SettingsDialog extends EscapeDialog
             Category cat = viewPanel.domain.utility.preferences.categories.get (viewPanel.domain.currentCategoryIndex);
             categoryNameTextField.setText (cat.getName ());
         }
-        viewPanel.domain.needsPreferencesSave = true;
+        viewPanel.domain.markPreferencesChanged ();
 }//GEN-LAST:event_categoryNameTextFieldKeyPressed
 
     private void ddColor6PanelMouseReleased(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_ddColor6PanelMouseReleased
@@ -3298,7 +3298,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.dueDateColors[5] = newColor;
             ddColor6Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_ddColor6PanelMouseReleased
 
@@ -3309,7 +3309,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.dueDateColors[4] = newColor;
             ddColor5Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_ddColor5PanelMouseReleased
 
@@ -3320,7 +3320,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.dueDateColors[3] = newColor;
             ddColor4Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_ddColor4PanelMouseReleased
 
@@ -3331,7 +3331,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.dueDateColors[2] = newColor;
             ddColor3Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_ddColor3PanelMouseReleased
 
@@ -3342,7 +3342,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.dueDateColors[1] = newColor;
             ddColor2Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_ddColor2PanelMouseReleased
 
@@ -3353,7 +3353,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.dueDateColors[0] = newColor;
             ddColor1Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_ddColor1PanelMouseReleased
 
@@ -3383,7 +3383,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.priorityColors[4] = newColor;
             pColor5Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_pColor5PanelMouseReleased
 
@@ -3394,7 +3394,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.priorityColors[3] = newColor;
             pColor4Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_pColor4PanelMouseReleased
 
@@ -3405,7 +3405,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.priorityColors[2] = newColor;
             pColor3Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_pColor3PanelMouseReleased
 
@@ -3416,7 +3416,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.priorityColors[1] = newColor;
             pColor2Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_pColor2PanelMouseReleased
 
@@ -3427,7 +3427,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.priorityColors[0] = newColor;
             pColor1Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
 }//GEN-LAST:event_pColor1PanelMouseReleased
 
@@ -3451,31 +3451,31 @@ public class SettingsDialog extends EscapeDialog
 
     private void colorByComboBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_colorByComboBoxActionPerformed
         viewPanel.domain.utility.preferences.colorByIndex = colorByComboBox.getSelectedIndex ();
-        viewPanel.domain.needsPreferencesSave = true;
+        viewPanel.domain.markPreferencesChanged ();
 }//GEN-LAST:event_colorByComboBoxActionPerformed
 
     private void showRmAssnWarningCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_showRmAssnWarningCheckBoxActionPerformed
         viewPanel.domain.utility.preferences.rmAlert = showRmAssnWarningCheckBox.isSelected ();
-        viewPanel.domain.needsPreferencesSave = true;
+        viewPanel.domain.markPreferencesChanged ();
 }//GEN-LAST:event_showRmAssnWarningCheckBoxActionPerformed
 
     private void checkForComboBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_checkForComboBoxActionPerformed
         viewPanel.domain.utility.preferences.updateCheckIndex = checkForComboBox.getSelectedIndex ();
-        viewPanel.domain.needsPreferencesSave = true;
+        viewPanel.domain.markPreferencesChanged ();
 }//GEN-LAST:event_checkForComboBoxActionPerformed
 
     private void autoUpdateCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_autoUpdateCheckBoxActionPerformed
         viewPanel.domain.utility.preferences.autoUpdate = autoUpdateCheckBox.isSelected ();
         checkForLabel.setEnabled (autoUpdateCheckBox.isSelected ());
         checkForComboBox.setEnabled (autoUpdateCheckBox.isSelected ());
-        viewPanel.domain.needsPreferencesSave = true;
+        viewPanel.domain.markPreferencesChanged ();
 }//GEN-LAST:event_autoUpdateCheckBoxActionPerformed
 
     private void languageComboBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_languageComboBoxActionPerformed
         if (!viewPanel.initLoading)
         {
             viewPanel.domain.utility.preferences.language = languageComboBox.getSelectedItem ().toString ();
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
             viewPanel.loadLanguageResource (viewPanel.domain.utility.preferences.language);
             viewPanel.applyLanguage ();
         }
@@ -4103,7 +4103,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setAdvisorName (advisorNameTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 advisorNameTextField.requestFocus ();
@@ -4119,14 +4119,14 @@ public class SettingsDialog extends EscapeDialog
             if (matcher.matches ())
             {
                 viewPanel.domain.utility.userDetails.setAdvisorEmail (advisorEmailTextField.getText ());
-                viewPanel.domain.needsUserDetailsSave = true;
+                viewPanel.domain.markUserDetailsChanged ();
             }
             else
             {
                 if (advisorEmailTextField.getText ().replaceAll (" ", "").equals (""))
                 {
                     viewPanel.domain.utility.userDetails.setAdvisorEmail (advisorEmailTextField.getText ());
-                    viewPanel.domain.needsUserDetailsSave = true;
+                    viewPanel.domain.markUserDetailsChanged ();
                 }
                 else
                 {
@@ -4154,7 +4154,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setAdvisorPhone (advisorPhoneTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 advisorPhoneTextField.requestFocus ();
@@ -4167,7 +4167,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setAdvisorOfficeHours (advisorOfficeHoursTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 advisorOfficeHoursTextField.requestFocus ();
@@ -4180,7 +4180,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setAdvisorOfficeLocation (advisorOfficeLocationTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 advisorOfficeLocationTextField.requestFocus ();
@@ -4193,7 +4193,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setStudentName (studentNameTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 studentNameTextField.requestFocus ();
@@ -4206,7 +4206,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setSchool (studentSchoolTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 studentSchoolTextField.requestFocus ();
@@ -4219,7 +4219,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setIdNumber (idNumberTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 idNumberTextField.requestFocus ();
@@ -4232,7 +4232,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setBoxNumber (boxNumberTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 boxNumberTextField.requestFocus ();
@@ -4245,7 +4245,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setMajors (majorsTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 majorsTextField.requestFocus ();
@@ -4258,7 +4258,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setConcentrations (concentrationsTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 concentrationsTextField.requestFocus ();
@@ -4271,7 +4271,7 @@ public class SettingsDialog extends EscapeDialog
         if (!viewPanel.initLoading && viewPanel.domain.settingsOpening.empty ())
         {
             viewPanel.domain.utility.userDetails.setMinors (minorsTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
             if (evt != null)
             {
                 minorsTextField.requestFocus ();
@@ -4374,14 +4374,14 @@ public class SettingsDialog extends EscapeDialog
             if (matcher.matches ())
             {
                 viewPanel.domain.utility.userDetails.setEmail (emailTextField.getText ());
-                viewPanel.domain.needsUserDetailsSave = true;
+                viewPanel.domain.markUserDetailsChanged ();
             }
             else
             {
                 if (emailTextField.getText ().replaceAll (" ", "").equals (""))
                 {
                     viewPanel.domain.utility.userDetails.setEmail (emailTextField.getText ());
-                    viewPanel.domain.needsUserDetailsSave = true;
+                    viewPanel.domain.markUserDetailsChanged ();
                 }
                 else
                 {
@@ -4409,7 +4409,7 @@ public class SettingsDialog extends EscapeDialog
         {
             viewPanel.domain.utility.preferences.dueDateColors[6] = newColor;
             ddColor0Panel.setBackground (newColor);
-            viewPanel.domain.needsPreferencesSave = true;
+            viewPanel.domain.markPreferencesChanged ();
         }
     }//GEN-LAST:event_ddColor0PanelMouseReleased
     // Variables declaration - do not modify//GEN-BEGIN:variables
@@ -4590,67 +4590,67 @@ public class SettingsDialog extends EscapeDialog
         if (!studentNameTextField.getText ().equals (viewPanel.domain.utility.userDetails.getStudentName ()))
         {
             viewPanel.domain.utility.userDetails.setStudentName (studentNameTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!emailTextField.getText ().equals (viewPanel.domain.utility.userDetails.getEmail ()))
         {
             viewPanel.domain.utility.userDetails.setEmail (emailTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!advisorOfficeLocationTextField.getText ().equals (viewPanel.domain.utility.userDetails.getAdvisorsOfficeLocation ()))
         {
             viewPanel.domain.utility.userDetails.setAdvisorOfficeLocation (advisorOfficeLocationTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!advisorOfficeHoursTextField.getText ().equals (viewPanel.domain.utility.userDetails.getAdvisorOfficeHours ()))
         {
             viewPanel.domain.utility.userDetails.setAdvisorOfficeHours (advisorOfficeHoursTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!advisorPhoneTextField.getText ().equals (viewPanel.domain.utility.userDetails.getAdvisorPhone ()))
         {
             viewPanel.domain.utility.userDetails.setAdvisorPhone (advisorPhoneTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!advisorEmailTextField.getText ().equals (viewPanel.domain.utility.userDetails.getAdvisorEmail ()))
         {
             viewPanel.domain.utility.userDetails.setAdvisorEmail (advisorEmailTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!advisorNameTextField.getText ().equals (viewPanel.domain.utility.userDetails.getAdvisorName ()))
         {
             viewPanel.domain.utility.userDetails.setAdvisorName (advisorNameTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!studentSchoolTextField.getText ().equals (viewPanel.domain.utility.userDetails.getSchool ()))
         {
             viewPanel.domain.utility.userDetails.setSchool (studentSchoolTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!idNumberTextField.getText ().equals (viewPanel.domain.utility.userDetails.getIdNumber ()))
         {
             viewPanel.domain.utility.userDetails.setIdNumber (idNumberTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!boxNumberTextField.getText ().equals (viewPanel.domain.utility.userDetails.getBoxNumber ()))
         {
             viewPanel.domain.utility.userDetails.setBoxNumber (boxNumberTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!majorsTextField.getText ().equals (viewPanel.domain.utility.userDetails.getMajors ()))
         {
             viewPanel.domain.utility.userDetails.setMajors (majorsTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!concentrationsTextField.getText ().equals (viewPanel.domain.utility.userDetails.getConcentrations ()))
         {
             viewPanel.domain.utility.userDetails.setConcentrations (concentrationsTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
         if (!minorsTextField.getText ().equals (viewPanel.domain.utility.userDetails.getMinors ()))
         {
             viewPanel.domain.utility.userDetails.setMinors (minorsTextField.getText ());
-            viewPanel.domain.needsUserDetailsSave = true;
+            viewPanel.domain.markUserDetailsChanged ();
         }
     }
 
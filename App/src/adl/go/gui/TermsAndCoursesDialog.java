@@ -2944,7 +2944,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
             {
                 String startDate = Domain.DATE_FORMAT.format (termStartDateChooser.getDate ());
                 term.setStartDate (startDate);
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
             }
             catch (NullPointerException ex)
             {
@@ -2972,7 +2972,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
             {
                 String endDate = Domain.DATE_FORMAT.format (termEndDateChooser.getDate ());
                 term.setEndDate (endDate);
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
             }
             catch (NullPointerException ex)
             {
@@ -2997,7 +2997,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void termNameTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_termNameTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTermName (settingsTermsTable.getSelectedRow ());
@@ -3176,7 +3176,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
                 settingsTermsTable.refreshTable ();
                 viewPanel.root.remove (term);
                 viewPanel.domain.utility.terms.remove (index);
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
                 viewPanel.domain.refreshTermTree ();
 
                 if (viewPanel.domain.utility.terms.isEmpty ())
@@ -3218,7 +3218,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         }
         settingsTermsTable.setSelectedRow (settingsTermsTable.getSelectedRow () + 1);
         viewPanel.domain.termLoading.pop ();
-        viewPanel.domain.needsCoursesAndTermsSave = true;
+        viewPanel.domain.markCoursesAndTermsChanged ();
 }//GEN-LAST:event_moveTermDownButtonActionPerformed
 
     private void moveTermUpButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_moveTermUpButtonActionPerformed
@@ -3229,7 +3229,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         }
         settingsTermsTable.setSelectedRow (settingsTermsTable.getSelectedRow () - 1);
         viewPanel.domain.termLoading.pop ();
-        viewPanel.domain.needsCoursesAndTermsSave = true;
+        viewPanel.domain.markCoursesAndTermsChanged ();
 }//GEN-LAST:event_moveTermUpButtonActionPerformed
 
     private void sunToggleButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_sunToggleButtonActionPerformed
@@ -3237,7 +3237,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setOnDay (0, sunToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_sunToggleButtonActionPerformed
 
@@ -3246,7 +3246,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setOnDay (6, satToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_satToggleButtonActionPerformed
 
@@ -3262,7 +3262,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
             {
                 String startDate = Domain.DATE_FORMAT.format (courseStartDateChooser.getDate ());
                 course.setStartDate (startDate);
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
             }
             catch (NullPointerException ex)
             {
@@ -3331,7 +3331,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
                 friToggleButton.setEnabled (true);
                 satToggleButton.setEnabled (true);
             }
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_onlineCheckBoxActionPerformed
 
@@ -3340,7 +3340,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setCredits (creditsSpinner.getValue ().toString ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_creditsSpinnerStateChanged
 
@@ -3349,7 +3349,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setOnDay (1, monToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_monToggleButtonActionPerformed
 
@@ -3378,14 +3378,14 @@ public class TermsAndCoursesDialog extends EscapeDialog
             viewPanel.domain.refreshTermTree ();
             viewPanel.termTree.getSelectionModel ().setSelectionPath (new TreePath (course.getPath ()));
             viewPanel.expandTermTree (new TreeExpansionEvent (this, null));
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_termsComboBoxItemStateChanged
 
     private void courseNameTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_courseNameTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setCourseName (settingsCoursesTable.getSelectedRow ());
@@ -3527,7 +3527,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setOnDay (2, tueToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_tueToggleButtonActionPerformed
 
@@ -3536,7 +3536,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setOnDay (4, thuToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_thuToggleButtonActionPerformed
 
@@ -3552,7 +3552,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
             {
                 String endDate = Domain.DATE_FORMAT.format (courseEndDateChooser.getDate ());
                 course.setEndDate (endDate);
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
             }
             catch (NullPointerException ex)
             {
@@ -3573,14 +3573,14 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setOnDay (5, friToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_friToggleButtonActionPerformed
 
     private void roomTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_roomTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setRoomLocation (settingsCoursesTable.getSelectedRow ());
@@ -3722,7 +3722,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setOnDay (3, wedToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_wedToggleButtonActionPerformed
 
@@ -3732,7 +3732,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setHasLab (courseHasLabCheckBox.isSelected ());
             updateLabUI (course);
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_courseHasLabCheckBoxActionPerformed
 
@@ -3741,7 +3741,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setLabOnDay (6, labSatToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_labSatToggleButtonActionPerformed
 
@@ -3750,7 +3750,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setLabOnDay (5, labFriToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_labFriToggleButtonActionPerformed
 
@@ -3759,7 +3759,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setLabOnDay (4, labThuToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_labThuToggleButtonActionPerformed
 
@@ -3768,7 +3768,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setLabOnDay (0, labSunToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_labSunToggleButtonActionPerformed
 
@@ -3777,7 +3777,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setLabOnDay (1, labMonToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_labMonToggleButtonActionPerformed
 
@@ -3786,7 +3786,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setLabOnDay (2, labTueToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_labTueToggleButtonActionPerformed
 
@@ -3795,7 +3795,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setLabOnDay (3, labWedToggleButton.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_labWedToggleButtonActionPerformed
 
@@ -3811,7 +3811,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
             {
                 String endDate = Domain.DATE_FORMAT.format (labEndDateChooser.getDate ());
                 course.setLabEndDate (endDate);
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
             }
             catch (NullPointerException ex)
             {
@@ -3839,7 +3839,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
             {
                 String startDate = Domain.DATE_FORMAT.format (labStartDateChooser.getDate ());
                 course.setLabStartDate (startDate);
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
             }
             catch (NullPointerException ex)
             {
@@ -3861,14 +3861,14 @@ public class TermsAndCoursesDialog extends EscapeDialog
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setLabIsOnline (labOnlineCheckBox.isSelected ());
             updateLabUI (course);
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_labOnlineCheckBoxActionPerformed
 
     private void labRoomTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_labRoomTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setLabRoomLocation (settingsCoursesTable.getSelectedRow ());
@@ -4010,7 +4010,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Course course = viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ());
             course.setLabCredits (labCreditsSpinner.getValue ().toString ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_labCreditsSpinnerStateChanged
 
@@ -4083,7 +4083,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
             {
                 viewPanel.domain.utility.courses.get (settingsCoursesTable.getSelectedRow ()).setColor (newColor);
                 courseColorPanel.setBackground (newColor);
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
             }
         }
 }//GEN-LAST:event_courseColorPanelMouseReleased
@@ -4091,7 +4091,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void courseNumberTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_courseNumberTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setCourseNumber (settingsCoursesTable.getSelectedRow ());
@@ -4241,7 +4241,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void labNumberTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_labNumberTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setLabNumber (settingsCoursesTable.getSelectedRow ());
@@ -4397,7 +4397,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
                 instructorTableModel.removeRow (index);
                 settingsInstructorsTable.refreshTable ();
                 viewPanel.domain.utility.instructors.remove (course.removeInstructor (course.getInstructor (index)));
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
 
                 if (viewPanel.domain.utility.instructors.isEmpty ())
                 {
@@ -4429,7 +4429,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         }
         settingsInstructorsTable.setSelectedRow (viewPanel.domain.currentInstructorIndex - 1);
         viewPanel.domain.instructorLoading.pop ();
-        viewPanel.domain.needsCoursesAndTermsSave = true;
+        viewPanel.domain.markCoursesAndTermsChanged ();
 }//GEN-LAST:event_moveInstructorUpButtonActionPerformed
 
     private void moveInstructorDownButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_moveInstructorDownButtonActionPerformed
@@ -4442,13 +4442,13 @@ public class TermsAndCoursesDialog extends EscapeDialog
         }
         settingsInstructorsTable.setSelectedRow (viewPanel.domain.currentInstructorIndex + 1);
         viewPanel.domain.instructorLoading.pop ();
-        viewPanel.domain.needsCoursesAndTermsSave = true;
+        viewPanel.domain.markCoursesAndTermsChanged ();
 }//GEN-LAST:event_moveInstructorDownButtonActionPerformed
 
     private void instructorNameTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_instructorNameTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setInstructorName (viewPanel.domain.currentInstructorIndex);
@@ -4588,7 +4588,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void instructorEmailTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_instructorEmailTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setInstructorEmail (viewPanel.domain.currentInstructorIndex);
@@ -4736,7 +4736,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void phoneTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_phoneTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setInstructorPhone (viewPanel.domain.currentInstructorIndex);
@@ -4876,7 +4876,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void officeHoursTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_officeHoursTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setOfficeHours (viewPanel.domain.currentInstructorIndex);
@@ -5016,7 +5016,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void officeLocationTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_officeLocationTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setOfficeLocation (viewPanel.domain.currentInstructorIndex);
@@ -5195,7 +5195,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
             instructor.setLectureLab (viewPanel.domain.language.getString ("lecture"));
             instructorTableModel.setValueAt (viewPanel.domain.language.getString ("lecture"), viewPanel.domain.currentInstructorIndex, 1);
             settingsInstructorsTable.refreshTable ();
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_lectureRadioButtonActionPerformed
 
@@ -5206,7 +5206,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
             instructor.setLectureLab (viewPanel.domain.language.getString ("lab"));
             instructorTableModel.setValueAt (viewPanel.domain.language.getString ("lab"), viewPanel.domain.currentInstructorIndex, 1);
             settingsInstructorsTable.refreshTable ();
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_labRadioButtonActionPerformed
 
@@ -5217,14 +5217,14 @@ public class TermsAndCoursesDialog extends EscapeDialog
             instructor.setLectureLab (viewPanel.domain.language.getString ("both"));
             instructorTableModel.setValueAt (viewPanel.domain.language.getString ("both"), viewPanel.domain.currentInstructorIndex, 1);
             settingsInstructorsTable.refreshTable ();
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_bothRadioButtonActionPerformed
 
     private void typeNameTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_typeNameTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTypeName (viewPanel.domain.currentTypeIndex);
@@ -5368,7 +5368,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void weightTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_weightTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTypeWeight (viewPanel.domain.currentTypeIndex);
@@ -5529,7 +5529,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
                 settingsTypesTable.refreshTable ();
                 viewPanel.domain.utility.removeAttachmentsToAssignments (course.getType (index));
                 viewPanel.domain.utility.types.remove (course.removeType (course.getType (index)));
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
 
                 if (viewPanel.domain.utility.types.isEmpty ())
                 {
@@ -5562,7 +5562,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         }
         settingsTypesTable.setSelectedRow (viewPanel.domain.currentTypeIndex - 1);
         viewPanel.domain.typeLoading.pop ();
-        viewPanel.domain.needsCoursesAndTermsSave = true;
+        viewPanel.domain.markCoursesAndTermsChanged ();
 }//GEN-LAST:event_moveTypeUpButtonActionPerformed
 
     private void moveTypeDownButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_moveTypeDownButtonActionPerformed
@@ -5575,13 +5575,13 @@ public class TermsAndCoursesDialog extends EscapeDialog
         }
         settingsTypesTable.setSelectedRow (viewPanel.domain.currentTypeIndex + 1);
         viewPanel.domain.typeLoading.pop ();
-        viewPanel.domain.needsCoursesAndTermsSave = true;
+        viewPanel.domain.markCoursesAndTermsChanged ();
 }//GEN-LAST:event_moveTypeDownButtonActionPerformed
 
     private void textbookNameTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_textbookNameTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTextbookName (viewPanel.domain.currentTextbookIndex);
@@ -5721,7 +5721,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void isbnTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_isbnTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTextbookISBN (viewPanel.domain.currentTextbookIndex);
@@ -5861,7 +5861,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void authorTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_authorTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTextbookAuthor (viewPanel.domain.currentTextbookIndex);
@@ -6001,7 +6001,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void publisherTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_publisherTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTextbookPublisher (viewPanel.domain.currentTextbookIndex);
@@ -6141,7 +6141,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void textbookSourceTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_textbookSourceTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTextbookSource (viewPanel.domain.currentTextbookIndex);
@@ -6289,7 +6289,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void purchasePriceTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_purchasePriceTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTextbookPrice (viewPanel.domain.currentTextbookIndex);
@@ -6429,7 +6429,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void conditionTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_conditionTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTextbookCondition (viewPanel.domain.currentTextbookIndex);
@@ -6601,7 +6601,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void contactEmailTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_contactEmailTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setTextbookContactEmail (viewPanel.domain.currentTextbookIndex);
@@ -6751,7 +6751,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Textbook textbook = viewPanel.domain.utility.courses.get (viewPanel.domain.currentCourseIndex).getTextbook (viewPanel.domain.currentTextbookIndex);
             textbook.setIsOrdered (orderedCheckBox.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_orderedCheckBoxActionPerformed
 
@@ -6760,7 +6760,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         {
             Textbook textbook = viewPanel.domain.utility.courses.get (viewPanel.domain.currentCourseIndex).getTextbook (viewPanel.domain.currentTextbookIndex);
             textbook.setIsReceived (receivedCheckBox.isSelected ());
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
         }
 }//GEN-LAST:event_receivedCheckBoxActionPerformed
 
@@ -6846,7 +6846,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
                 settingsTextbooksTable.refreshTable ();
                 viewPanel.domain.utility.removeAttachmentsToAssignments (course.getTextbook (index));
                 viewPanel.domain.utility.textbooks.remove (course.removeTextbook (course.getTextbook (index)));
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
 
                 if (viewPanel.domain.utility.textbooks.isEmpty ())
                 {
@@ -6882,7 +6882,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         }
         settingsTextbooksTable.setSelectedRow (viewPanel.domain.currentTextbookIndex - 1);
         viewPanel.domain.textbookLoading.pop ();
-        viewPanel.domain.needsCoursesAndTermsSave = true;
+        viewPanel.domain.markCoursesAndTermsChanged ();
 }//GEN-LAST:event_moveTextbookUpButtonActionPerformed
 
     private void moveTextbookDownButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_moveTextbookDownButtonActionPerformed
@@ -6895,7 +6895,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
         }
         settingsTextbooksTable.setSelectedRow (viewPanel.domain.currentTextbookIndex + 1);
         viewPanel.domain.textbookLoading.pop ();
-        viewPanel.domain.needsCoursesAndTermsSave = true;
+        viewPanel.domain.markCoursesAndTermsChanged ();
 }//GEN-LAST:event_moveTextbookDownButtonActionPerformed
 
     private void removeCourseButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_removeCourseButtonActionPerformed
@@ -6935,7 +6935,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
                 }
                 viewPanel.domain.utility.courses.remove (term.removeCourse (course));
                 viewPanel.domain.refreshTermTree ();
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
                 course.markForDeletion ();
 
                 if (viewPanel.domain.utility.courses.isEmpty ())
@@ -6990,7 +6990,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
                 viewPanel.domain.refreshTermTree ();
                 viewPanel.swap (courseTableModel, 1, settingsCoursesTable.getSelectedRow (), settingsCoursesTable.getSelectedRow () - 1);
                 settingsCoursesTable.setSelectedRow (settingsCoursesTable.getSelectedRow () - 1);
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
             }
             else
             {
@@ -7016,7 +7016,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
                 viewPanel.domain.refreshTermTree ();
                 viewPanel.swap (courseTableModel, 1, settingsCoursesTable.getSelectedRow (), settingsCoursesTable.getSelectedRow () + 1);
                 settingsCoursesTable.setSelectedRow (settingsCoursesTable.getSelectedRow () + 1);
-                viewPanel.domain.needsCoursesAndTermsSave = true;
+                viewPanel.domain.markCoursesAndTermsChanged ();
             }
             else
             {
@@ -7099,7 +7099,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void courseWebsiteTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_courseWebsiteTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setCourseWebsite (viewPanel.domain.currentCourseIndex);
@@ -7125,7 +7125,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
     private void labWebsiteTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_labWebsiteTextFieldActionPerformed
         if (viewPanel.domain.needsSettingsSaveBool)
         {
-            viewPanel.domain.needsCoursesAndTermsSave = true;
+            viewPanel.domain.markCoursesAndTermsChanged ();
             viewPanel.domain.needsSettingsSaveBool = false;
         }
         viewPanel.domain.setLabWebsite (viewPanel.domain.currentCourseIndex);
@@ -7892,7 +7892,7 @@ public class TermsAndCoursesDialog extends EscapeDialog
                     Term term = viewPanel.domain.utility.terms.get (index);
                     if (!termNameTextField.getText ().equals (term.getTypeName ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTermName (index);
                     }
                     break;
@@ -7903,37 +7903,37 @@ public class TermsAndCoursesDialog extends EscapeDialog
                     Course course = viewPanel.domain.utility.courses.get (index);
                     if (!courseNameTextField.getText ().equals (course.getTypeName ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setCourseName (index);
                     }
                     if (!roomTextField.getText ().equals (course.getRoomLocation ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setRoomLocation (index);
                     }
                     if (!labRoomTextField.getText ().equals (course.getLabRoomLocation ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setLabRoomLocation (index);
                     }
                     if (!courseNumberTextField.getText ().equals (course.getCourseNumber ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setCourseNumber (index);
                     }
                     if (!labNumberTextField.getText ().equals (course.getLabNumber ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setLabNumber (index);
                     }
                     if (!courseWebsiteTextField.getText ().equals (course.getCourseWebsite ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setCourseWebsite (index);
                     }
                     if (!labWebsiteTextField.getText ().equals (course.getLabWebsite ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setLabWebsite (index);
                     }
                     break;
@@ -7944,12 +7944,12 @@ public class TermsAndCoursesDialog extends EscapeDialog
                     AssignmentType type = viewPanel.domain.utility.courses.get (viewPanel.domain.currentCourseIndex).getType (index);
                     if (!typeNameTextField.getText ().equals (type.getTypeName ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTypeName (index);
                     }
                     if (!weightTextField.getText ().equals (type.getWeight ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTypeWeight (index);
                     }
                     break;
@@ -7960,42 +7960,42 @@ public class TermsAndCoursesDialog extends EscapeDialog
                     Textbook textbook = viewPanel.domain.utility.courses.get (viewPanel.domain.currentCourseIndex).getTextbook (index);
                     if (!textbookNameTextField.getText ().equals (textbook.getTypeName ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTextbookName (index);
                     }
                     if (!authorTextField.getText ().equals (textbook.getAuthor ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTextbookAuthor (index);
                     }
                     if (!publisherTextField.getText ().equals (textbook.getPublisher ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTextbookPublisher (index);
                     }
                     if (!isbnTextField.getText ().equals (textbook.getISBN ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTextbookISBN (index);
                     }
                     if (!textbookSourceTextField.getText ().equals (textbook.getSource ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTextbookSource (index);
                     }
                     if (!purchasePriceTextField.getText ().equals (textbook.getPrice ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTextbookPrice (index);
                     }
                     if (!conditionTextField.getText ().equals (textbook.getCondition ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTextbookCondition (index);
                     }
                     if (!contactEmailTextField.getText ().equals (textbook.getContactEmail ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setTextbookContactEmail (index);
                     }
                     break;
@@ -8005,27 +8005,27 @@ public class TermsAndCoursesDialog extends EscapeDialog
                     Instructor instructor = viewPanel.domain.utility.courses.get (viewPanel.domain.currentCourseIndex).getInstructor (index);
                     if (!instructorNameTextField.getText ().equals (instructor.getTypeName ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setInstructorName (index);
                     }
                     if (!instructorEmailTextField.getText ().equals (instructor.getInstructorEmail ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setInstructorEmail (index);
                     }
                     if (!officeHoursTextField.getText ().equals (instructor.getOfficeHours ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setOfficeHours (index);
                     }
                     if (!officeLocationTextField.getText ().equals (instructor.getOfficeLocation ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setOfficeLocation (index);
                     }
                     if (!phoneTextField.getText ().equals (instructor.getInstructorPhone ()))
                     {
-                        viewPanel.domain.needsCoursesAndTermsSave = true;
+                        viewPanel.domain.markCoursesAndTermsChanged ();
                         viewPanel.domain.setInstructorPhone (index);
                     }
                     break;
@@ -21,6 +21,8 @@
 package adl.go.gui;
 
 import adl.go.gui.ColoredComponent.GradientStyle;
+import adl.go.resource.BackupSnapshot;
+import adl.go.resource.DateUtility;
 import adl.go.resource.LocalUtility;
 import adl.go.resource.Updater;
 import adl.go.types.Assignment;
@@ -29,7 +31,6 @@ import adl.go.types.Course;
 import adl.go.types.Event;
 import adl.go.types.Instructor;
 import adl.go.types.ListItem;
-import adl.go.types.Repeating;
 import adl.go.types.Term;
 import adl.go.types.Textbook;
 import com.apple.eawt.AboutHandler;
@@ -57,8 +58,6 @@ import java.awt.dnd.DropTarget;
 import java.awt.event.AWTEventListener;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.awt.event.ItemEvent;
-import java.awt.event.ItemListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -69,12 +68,14 @@ import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.IdentityHashMap;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.Stack;
 import javax.swing.BorderFactory;
-import javax.swing.BoxLayout;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
@@ -88,14 +89,12 @@ import javax.swing.JLabel;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
-import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.JToggleButton;
 import javax.swing.JTree;
-import javax.swing.JViewport;
-import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingConstants;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.border.Border;
 import javax.swing.border.TitledBorder;
@@ -268,6 +267,10 @@ public class ViewPanel extends JPanel
      * The drag-and-drop listener for assignments and events.
      */
     public final DragDrop DND_LISTENER = new DragDrop (this);
+    /**
+     * The chips assignments and events are shown with in Calendar View.
+     */
+    public final ListItemViewPool VIEW_POOL = new ListItemViewPool ();
     /**
      * The main frame of a stand-alone application.
      */
@@ -336,12 +339,12 @@ public class ViewPanel extends JPanel
      * The array that holds references to the panels holding the assignments and
      * events for each day of the month shown in Calendar View.
      */
-    public JPanel[] daysAssignmentsAndEvents;
+    public DayItemsPanel[] daysAssignmentsAndEvents;
     /**
      * The array that holds references to panels shown in month view but outside
      * the currently shown month
      */
-    public JPanel[] daysOutsideMonth;
+    public DayItemsPanel[] daysOutsideMonth;
     /**
      * The domain object reference performs generic actions specific to the GUI.
      */
@@ -368,99 +371,57 @@ public class ViewPanel extends JPanel
      */
     protected ColoredJPanel extraDayPanel1 = new adl.go.gui.ColoredJPanel (GradientStyle.VERTICAL_GRADIENT_DOWN, new Color (255, 255, 255));
     /**
-     * An extra panel containing the label for the day number and the panel that
-     * will contain assignments and events for this day.
-     */
-    private JPanel extraDay1 = new JPanel ();
-    /**
-     * The extra scroll panel around the panel containing the assignments and
-     * events for this day.
+     * The extra panel that shows the assignments and events for this day.
      */
-    private JScrollPane extraDayScroll1 = new JScrollPane (extraDay1);
+    private DayItemsPanel extraDay1 = new DayItemsPanel (this);
     /**
      * An extra panel containing assignments and events in Calendar View.
      */
     protected ColoredJPanel extraDayPanel2 = new adl.go.gui.ColoredJPanel (GradientStyle.VERTICAL_GRADIENT_DOWN, new Color (255, 255, 255));
     /**
-     * An extra panel containing the label for the day number and the panel that
-     * will contain assignments and events.
+     * The extra panel that shows the assignments and events for this day.
      */
-    private JPanel extraDay2 = new JPanel ();
-    /**
-     * The extra scroll panel around the panel containing the assignments and
-     * events for this day.
-     */
-    private JScrollPane extraDayScroll2 = new JScrollPane (extraDay2);
+    private DayItemsPanel extraDay2 = new DayItemsPanel (this);
     /**
      * An extra panel containing assignments and events in Calendar View.
      */
     protected ColoredJPanel extraDayPanel3 = new adl.go.gui.ColoredJPanel (GradientStyle.VERTICAL_GRADIENT_DOWN, new Color (255, 255, 255));
     /**
-     * An extra panel containing the label for the day number and the panel that
-     * will contain assignments and events.
-     */
-    private JPanel extraDay3 = new JPanel ();
-    /**
-     * The extra scroll panel around the panel containing the assignments and
-     * events for this day.
+     * The extra panel that shows the assignments and events for this day.
      */
-    private JScrollPane extraDayScroll3 = new JScrollPane (extraDay3);
+    private DayItemsPanel extraDay3 = new DayItemsPanel (this);
     /**
      * An extra panel containing assignments and events in Calendar View.
      */
     protected ColoredJPanel extraDayPanel4 = new adl.go.gui.ColoredJPanel (GradientStyle.VERTICAL_GRADIENT_DOWN, new Color (255, 255, 255));
     /**
-     * An extra panel containing the label for the day number and the panel that
-     * will contain assignments and events.
+     * The extra panel that shows the assignments and events for this day.
      */
-    private JPanel extraDay4 = new JPanel ();
-    /**
-     * The extra scroll panel around the panel containing the assignments and
-     * events for this day.
-     */
-    private JScrollPane extraDayScroll4 = new JScrollPane (extraDay4);
+    private DayItemsPanel extraDay4 = new DayItemsPanel (this);
     /**
      * An extra panel containing assignments and events in Calendar View.
      */
     protected ColoredJPanel extraDayPanel5 = new adl.go.gui.ColoredJPanel (GradientStyle.VERTICAL_GRADIENT_DOWN, new Color (255, 255, 255));
     /**
-     * An extra panel containing the label for the day number and the panel that
-     * will contain assignments and events.
-     */
-    private JPanel extraDay5 = new JPanel ();
-    /**
-     * The extra scroll panel around the panel containing the assignments and
-     * events for this day.
+     * The extra panel that shows the assignments and events for this day.
      */
-    private JScrollPane extraDayScroll5 = new JScrollPane (extraDay5);
+    private DayItemsPanel extraDay5 = new DayItemsPanel (this);
     /**
      * An extra panel containing assignments and events in Calendar View.
      */
     protected ColoredJPanel extraDayPanel6 = new adl.go.gui.ColoredJPanel (GradientStyle.VERTICAL_GRADIENT_DOWN, new Color (255, 255, 255));
     /**
-     * An extra panel containing the label for the day number and the panel that
-     * will contain assignments and events.
+     * The extra panel that shows the assignments and events for this day.
      */
-    private JPanel extraDay6 = new JPanel ();
-    /**
-     * The extra scroll panel around the panel containing the assignments and
-     * events for this day.
-     */
-    private JScrollPane extraDayScroll6 = new JScrollPane (extraDay6);
+    private DayItemsPanel extraDay6 = new DayItemsPanel (this);
     /**
      * An extra panel containing assignments and events in Calendar View.
      */
     protected ColoredJPanel extraDayPanel7 = new adl.go.gui.ColoredJPanel (GradientStyle.VERTICAL_GRADIENT_DOWN, new Color (255, 255, 255));
     /**
-     * An extra panel containing the label for the day number and the panel that
-     * will contain assignments and events.
-     */
-    private JPanel extraDay7 = new JPanel ();
-    /**
-     * The extra scroll panel around the panel containing the assignments and
-     * events for this day.
+     * The extra panel that shows the assignments and events for this day.
      */
-    private JScrollPane extraDayScroll7 = new JScrollPane (extraDay7);
+    private DayItemsPanel extraDay7 = new DayItemsPanel (this);
     /**
      * An extra day label
      */
@@ -501,6 +462,11 @@ public class ViewPanel extends JPanel
      * True if the application is running initialization, false otherwise.
      */
     public boolean initLoading = true;
+    /**
+     * The snapshot of the backup being written, or null if no backup is being
+     * written.
+     */
+    private BackupSnapshot backupInProgress;
     /**
      * True if the grades dialog is launching, false otherwise.
      */
@@ -786,75 +752,20 @@ public class ViewPanel extends JPanel
         }
         domain.utility.currentTheme.apply ();
         domain.logFile = new File (domain.utility.getDataFolder (), "log.dat");
+        Domain.LOGGER.setFile (domain.logFile);
 
-        dayScroll1.getViewport ().setOpaque (false);
-        dayScroll2.getViewport ().setOpaque (false);
-        dayScroll3.getViewport ().setOpaque (false);
-        dayScroll4.getViewport ().setOpaque (false);
-        dayScroll5.getViewport ().setOpaque (false);
-        dayScroll6.getViewport ().setOpaque (false);
-        dayScroll7.getViewport ().setOpaque (false);
-        dayScroll8.getViewport ().setOpaque (false);
-        dayScroll9.getViewport ().setOpaque (false);
-        dayScroll10.getViewport ().setOpaque (false);
-        dayScroll11.getViewport ().setOpaque (false);
-        dayScroll12.getViewport ().setOpaque (false);
-        dayScroll13.getViewport ().setOpaque (false);
-        dayScroll14.getViewport ().setOpaque (false);
-        dayScroll15.getViewport ().setOpaque (false);
-        dayScroll16.getViewport ().setOpaque (false);
-        dayScroll17.getViewport ().setOpaque (false);
-        dayScroll18.getViewport ().setOpaque (false);
-        dayScroll19.getViewport ().setOpaque (false);
-        dayScroll20.getViewport ().setOpaque (false);
-        dayScroll21.getViewport ().setOpaque (false);
-        dayScroll22.getViewport ().setOpaque (false);
-        dayScroll23.getViewport ().setOpaque (false);
-        dayScroll24.getViewport ().setOpaque (false);
-        dayScroll25.getViewport ().setOpaque (false);
-        dayScroll26.getViewport ().setOpaque (false);
-        dayScroll27.getViewport ().setOpaque (false);
-        dayScroll28.getViewport ().setOpaque (false);
-        dayScroll29.getViewport ().setOpaque (false);
-        dayScroll30.getViewport ().setOpaque (false);
-        dayScroll31.getViewport ().setOpaque (false);
-        dayScroll32.getViewport ().setOpaque (false);
-        dayScroll33.getViewport ().setOpaque (false);
-        dayScroll34.getViewport ().setOpaque (false);
-        dayScroll35.getViewport ().setOpaque (false);
         termsAndCoursesDialog.courseScrollPane.getViewport ().setOpaque (false);
         termsAndCoursesDialog.textbooksScrollPane.getViewport ().setOpaque (false);
         settingsDialog.themeScrollPane.getViewport ().setOpaque (false);
         gradesDialog.courseSummaryScrollPane.getViewport ().setOpaque (false);
         gradesDialog.courseGradesScrollPane.getViewport ().setOpaque (false);
 
-        extraDay1.setOpaque (false);
-        extraDayScroll1.setOpaque (false);
-        extraDayScroll1.getViewport ().setOpaque (false);
         extraDayLabel1.setOpaque (false);
-        extraDay2.setOpaque (false);
-        extraDayScroll2.setOpaque (false);
-        extraDayScroll2.getViewport ().setOpaque (false);
         extraDayLabel2.setOpaque (false);
-        extraDay3.setOpaque (false);
-        extraDayScroll3.setOpaque (false);
-        extraDayScroll3.getViewport ().setOpaque (false);
         extraDayLabel3.setOpaque (false);
-        extraDay4.setOpaque (false);
-        extraDayScroll4.setOpaque (false);
-        extraDayScroll4.getViewport ().setOpaque (false);
         extraDayLabel4.setOpaque (false);
-        extraDay5.setOpaque (false);
-        extraDayScroll5.setOpaque (false);
-        extraDayScroll5.getViewport ().setOpaque (false);
         extraDayLabel5.setOpaque (false);
-        extraDay6.setOpaque (false);
-        extraDayScroll6.setOpaque (false);
-        extraDayScroll6.getViewport ().setOpaque (false);
         extraDayLabel6.setOpaque (false);
-        extraDay7.setOpaque (false);
-        extraDayScroll7.setOpaque (false);
-        extraDayScroll7.getViewport ().setOpaque (false);
         extraDayLabel7.setOpaque (false);
 
         gradesDialog.courseGradesScrollPane.getViewport ().setOpaque (false);
@@ -1349,98 +1260,14 @@ public class ViewPanel extends JPanel
                 }
             });
 
-            extraDayScroll1.setBorder (null);
-            extraDayScroll1.setVerticalScrollBarPolicy (ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
-            extraDayScroll1.setHorizontalScrollBarPolicy (ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            extraDayScroll1.addMouseListener (new MouseAdapter ()
-            {
-                @Override
-                public void mouseReleased(MouseEvent evt)
-                {
-                    scrollPaneMouseReleased (evt);
-                }
-            });
-            extraDayScroll2.setBorder (null);
-            extraDayScroll2.setVerticalScrollBarPolicy (ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
-            extraDayScroll2.setHorizontalScrollBarPolicy (ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            extraDayScroll2.addMouseListener (new MouseAdapter ()
-            {
-                @Override
-                public void mouseReleased(MouseEvent evt)
-                {
-                    scrollPaneMouseReleased (evt);
-                }
-            });
-            extraDayScroll3.setBorder (null);
-            extraDayScroll3.setVerticalScrollBarPolicy (ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
-            extraDayScroll3.setHorizontalScrollBarPolicy (ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            extraDayScroll3.addMouseListener (new MouseAdapter ()
-            {
-                @Override
-                public void mouseReleased(MouseEvent evt)
-                {
-                    scrollPaneMouseReleased (evt);
-                }
-            });
-            extraDayScroll4.setBorder (null);
-            extraDayScroll4.setVerticalScrollBarPolicy (ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
-            extraDayScroll4.setHorizontalScrollBarPolicy (ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            extraDayScroll4.addMouseListener (new MouseAdapter ()
-            {
-                @Override
-                public void mouseReleased(MouseEvent evt)
-                {
-                    scrollPaneMouseReleased (evt);
-                }
-            });
-            extraDayScroll5.setBorder (null);
-            extraDayScroll5.setVerticalScrollBarPolicy (ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
-            extraDayScroll5.setHorizontalScrollBarPolicy (ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            extraDayScroll5.addMouseListener (new MouseAdapter ()
-            {
-                @Override
-                public void mouseReleased(MouseEvent evt)
-                {
-                    scrollPaneMouseReleased (evt);
-                }
-            });
-            extraDayScroll6.setBorder (null);
-            extraDayScroll6.setVerticalScrollBarPolicy (ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
-            extraDayScroll6.setHorizontalScrollBarPolicy (ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            extraDayScroll6.addMouseListener (new MouseAdapter ()
-            {
-                @Override
-                public void mouseReleased(MouseEvent evt)
-                {
-                    scrollPaneMouseReleased (evt);
-                }
-            });
-            extraDayScroll7.setBorder (null);
-            extraDayScroll7.setVerticalScrollBarPolicy (ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
-            extraDayScroll7.setHorizontalScrollBarPolicy (ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            extraDayScroll7.addMouseListener (new MouseAdapter ()
-            {
-                @Override
-                public void mouseReleased(MouseEvent evt)
-                {
-                    scrollPaneMouseReleased (evt);
-                }
-            });
 
             extraDayPanel1.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
-            extraDay1.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
             extraDayPanel2.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
-            extraDay2.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
             extraDayPanel3.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
-            extraDay3.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
             extraDayPanel4.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
-            extraDay4.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
             extraDayPanel5.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
-            extraDay5.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
             extraDayPanel6.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
-            extraDay6.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
             extraDayPanel7.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
-            extraDay7.setBackground (domain.utility.currentTheme.colorDayInMonthBackground1);
 
             extraDayLabel1.setVerticalAlignment (SwingConstants.TOP);
             extraDayLabel1.setFont (domain.utility.currentTheme.fontPlain12);
@@ -1464,26 +1291,19 @@ public class ViewPanel extends JPanel
             extraDayLabel7.setFont (domain.utility.currentTheme.fontPlain12);
             extraDayLabel7.setForeground (domain.utility.currentTheme.colorDayInMonthText);
             extraDayPanel1.add (extraDayLabel1, BorderLayout.NORTH);
-            extraDay1.setLayout (new BoxLayout (extraDay1, BoxLayout.PAGE_AXIS));
-            extraDayPanel1.add (extraDayScroll1, BorderLayout.CENTER);
+            extraDayPanel1.add (extraDay1, BorderLayout.CENTER);
             extraDayPanel2.add (extraDayLabel2, BorderLayout.NORTH);
-            extraDay2.setLayout (new BoxLayout (extraDay2, BoxLayout.PAGE_AXIS));
-            extraDayPanel2.add (extraDayScroll2, BorderLayout.CENTER);
+            extraDayPanel2.add (extraDay2, BorderLayout.CENTER);
             extraDayPanel3.add (extraDayLabel3, BorderLayout.NORTH);
-            extraDay3.setLayout (new BoxLayout (extraDay3, BoxLayout.PAGE_AXIS));
-            extraDayPanel3.add (extraDayScroll3, BorderLayout.CENTER);
+            extraDayPanel3.add (extraDay3, BorderLayout.CENTER);
             extraDayPanel4.add (extraDayLabel4, BorderLayout.NORTH);
-            extraDay4.setLayout (new BoxLayout (extraDay4, BoxLayout.PAGE_AXIS));
-            extraDayPanel4.add (extraDayScroll4, BorderLayout.CENTER);
+            extraDayPanel4.add (extraDay4, BorderLayout.CENTER);
             extraDayPanel5.add (extraDayLabel5, BorderLayout.NORTH);
-            extraDay5.setLayout (new BoxLayout (extraDay5, BoxLayout.PAGE_AXIS));
-            extraDayPanel5.add (extraDayScroll5, BorderLayout.CENTER);
+            extraDayPanel5.add (extraDay5, BorderLayout.CENTER);
             extraDayPanel6.add (extraDayLabel6, BorderLayout.NORTH);
-            extraDay6.setLayout (new BoxLayout (extraDay6, BoxLayout.PAGE_AXIS));
-            extraDayPanel6.add (extraDayScroll6, BorderLayout.CENTER);
+            extraDayPanel6.add (extraDay6, BorderLayout.CENTER);
             extraDayPanel7.add (extraDayLabel7, BorderLayout.NORTH);
-            extraDay7.setLayout (new BoxLayout (extraDay7, BoxLayout.PAGE_AXIS));
-            extraDayPanel7.add (extraDayScroll7, BorderLayout.CENTER);
+            extraDayPanel7.add (extraDay7, BorderLayout.CENTER);
 
             // give the extended table and the table's model references to the domain.utility
             assignmentsTable.setUtility (domain.utility);
@@ -1699,7 +1519,7 @@ public class ViewPanel extends JPanel
         // set the preferences sorting model to the selected column
         domain.utility.preferences.sortIndex = assignmentsTableModel.getColumnSorting ();
         domain.utility.preferences.sortAscending = assignmentsTableModel.isSortAscending ();
-        domain.needsPreferencesSave = true;
+        domain.markPreferencesChanged ();
     }
 
     /**
@@ -1855,144 +1675,109 @@ public class ViewPanel extends JPanel
         monthDaysPanel = new javax.swing.JPanel();
         week1Day1 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel1 = new javax.swing.JLabel();
-        dayScroll1 = new javax.swing.JScrollPane();
-        day1 = new javax.swing.JPanel();
+        day1 = new adl.go.gui.DayItemsPanel(this);
         week1Day2 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel2 = new javax.swing.JLabel();
-        dayScroll2 = new javax.swing.JScrollPane();
-        day2 = new javax.swing.JPanel();
+        day2 = new adl.go.gui.DayItemsPanel(this);
         week1Day3 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel3 = new javax.swing.JLabel();
-        dayScroll3 = new javax.swing.JScrollPane();
-        day3 = new javax.swing.JPanel();
+        day3 = new adl.go.gui.DayItemsPanel(this);
         week1Day4 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel4 = new javax.swing.JLabel();
-        dayScroll4 = new javax.swing.JScrollPane();
-        day4 = new javax.swing.JPanel();
+        day4 = new adl.go.gui.DayItemsPanel(this);
         week1Day5 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel5 = new javax.swing.JLabel();
-        dayScroll5 = new javax.swing.JScrollPane();
-        day5 = new javax.swing.JPanel();
+        day5 = new adl.go.gui.DayItemsPanel(this);
         week1Day6 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel6 = new javax.swing.JLabel();
-        dayScroll6 = new javax.swing.JScrollPane();
-        day6 = new javax.swing.JPanel();
+        day6 = new adl.go.gui.DayItemsPanel(this);
         week1Day7 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel7 = new javax.swing.JLabel();
-        dayScroll7 = new javax.swing.JScrollPane();
-        day7 = new javax.swing.JPanel();
+        day7 = new adl.go.gui.DayItemsPanel(this);
         week2Day1 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel8 = new javax.swing.JLabel();
-        dayScroll8 = new javax.swing.JScrollPane();
-        day8 = new javax.swing.JPanel();
+        day8 = new adl.go.gui.DayItemsPanel(this);
         week2Day2 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel9 = new javax.swing.JLabel();
-        dayScroll9 = new javax.swing.JScrollPane();
-        day9 = new javax.swing.JPanel();
+        day9 = new adl.go.gui.DayItemsPanel(this);
         week2Day3 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel10 = new javax.swing.JLabel();
-        dayScroll10 = new javax.swing.JScrollPane();
-        day10 = new javax.swing.JPanel();
+        day10 = new adl.go.gui.DayItemsPanel(this);
         week2Day4 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel11 = new javax.swing.JLabel();
-        dayScroll11 = new javax.swing.JScrollPane();
-        day11 = new javax.swing.JPanel();
+        day11 = new adl.go.gui.DayItemsPanel(this);
         week2Day5 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel12 = new javax.swing.JLabel();
-        dayScroll12 = new javax.swing.JScrollPane();
-        day12 = new javax.swing.JPanel();
+        day12 = new adl.go.gui.DayItemsPanel(this);
         week2Day6 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel13 = new javax.swing.JLabel();
-        dayScroll13 = new javax.swing.JScrollPane();
-        day13 = new javax.swing.JPanel();
+        day13 = new adl.go.gui.DayItemsPanel(this);
         week2Day7 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel14 = new javax.swing.JLabel();
-        dayScroll14 = new javax.swing.JScrollPane();
-        day14 = new javax.swing.JPanel();
+        day14 = new adl.go.gui.DayItemsPanel(this);
         week3Day1 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel15 = new javax.swing.JLabel();
-        dayScroll15 = new javax.swing.JScrollPane();
-        day15 = new javax.swing.JPanel();
+        day15 = new adl.go.gui.DayItemsPanel(this);
         week3Day2 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel16 = new javax.swing.JLabel();
-        dayScroll16 = new javax.swing.JScrollPane();
-        day16 = new javax.swing.JPanel();
+        day16 = new adl.go.gui.DayItemsPanel(this);
         week3Day3 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel17 = new javax.swing.JLabel();
-        dayScroll17 = new javax.swing.JScrollPane();
-        day17 = new javax.swing.JPanel();
+        day17 = new adl.go.gui.DayItemsPanel(this);
         week3Day4 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel18 = new javax.swing.JLabel();
-        dayScroll18 = new javax.swing.JScrollPane();
-        day18 = new javax.swing.JPanel();
+        day18 = new adl.go.gui.DayItemsPanel(this);
         week3Day5 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel19 = new javax.swing.JLabel();
-        dayScroll19 = new javax.swing.JScrollPane();
-        day19 = new javax.swing.JPanel();
+        day19 = new adl.go.gui.DayItemsPanel(this);
         week3Day6 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel20 = new javax.swing.JLabel();
-        dayScroll20 = new javax.swing.JScrollPane();
-        day20 = new javax.swing.JPanel();
+        day20 = new adl.go.gui.DayItemsPanel(this);
         week3Day7 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel21 = new javax.swing.JLabel();
-        dayScroll21 = new javax.swing.JScrollPane();
-        day21 = new javax.swing.JPanel();
+        day21 = new adl.go.gui.DayItemsPanel(this);
         week4Day1 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel22 = new javax.swing.JLabel();
-        dayScroll22 = new javax.swing.JScrollPane();
-        day22 = new javax.swing.JPanel();
+        day22 = new adl.go.gui.DayItemsPanel(this);
         week4Day2 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel23 = new javax.swing.JLabel();
-        dayScroll23 = new javax.swing.JScrollPane();
-        day23 = new javax.swing.JPanel();
+        day23 = new adl.go.gui.DayItemsPanel(this);
         week4Day3 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel24 = new javax.swing.JLabel();
-        dayScroll24 = new javax.swing.JScrollPane();
-        day24 = new javax.swing.JPanel();
+        day24 = new adl.go.gui.DayItemsPanel(this);
         week4Day4 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel25 = new javax.swing.JLabel();
-        dayScroll25 = new javax.swing.JScrollPane();
-        day25 = new javax.swing.JPanel();
+        day25 = new adl.go.gui.DayItemsPanel(this);
         week4Day5 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel26 = new javax.swing.JLabel();
-        dayScroll26 = new javax.swing.JScrollPane();
-        day26 = new javax.swing.JPanel();
+        day26 = new adl.go.gui.DayItemsPanel(this);
         week4Day6 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel27 = new javax.swing.JLabel();
-        dayScroll27 = new javax.swing.JScrollPane();
-        day27 = new javax.swing.JPanel();
+        day27 = new adl.go.gui.DayItemsPanel(this);
         week4Day7 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel28 = new javax.swing.JLabel();
-        dayScroll28 = new javax.swing.JScrollPane();
-        day28 = new javax.swing.JPanel();
+        day28 = new adl.go.gui.DayItemsPanel(this);
         week5Day1 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel29 = new javax.swing.JLabel();
-        dayScroll29 = new javax.swing.JScrollPane();
-        day29 = new javax.swing.JPanel();
+        day29 = new adl.go.gui.DayItemsPanel(this);
         week5Day2 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel30 = new javax.swing.JLabel();
-        dayScroll30 = new javax.swing.JScrollPane();
-        day30 = new javax.swing.JPanel();
+        day30 = new adl.go.gui.DayItemsPanel(this);
         week5Day3 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel31 = new javax.swing.JLabel();
-        dayScroll31 = new javax.swing.JScrollPane();
-        day31 = new javax.swing.JPanel();
+        day31 = new adl.go.gui.DayItemsPanel(this);
         week5Day4 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel32 = new javax.swing.JLabel();
-        dayScroll32 = new javax.swing.JScrollPane();
-        day32 = new javax.swing.JPanel();
+        day32 = new adl.go.gui.DayItemsPanel(this);
         week5Day5 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel33 = new javax.swing.JLabel();
-        dayScroll33 = new javax.swing.JScrollPane();
-        day33 = new javax.swing.JPanel();
+        day33 = new adl.go.gui.DayItemsPanel(this);
         week5Day6 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel34 = new javax.swing.JLabel();
-        dayScroll34 = new javax.swing.JScrollPane();
-        day34 = new javax.swing.JPanel();
+        day34 = new adl.go.gui.DayItemsPanel(this);
         week5Day7 = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorDayInMonthBackground1);
         dayLabel35 = new javax.swing.JLabel();
-        dayScroll35 = new javax.swing.JScrollPane();
-        day35 = new javax.swing.JPanel();
+        day35 = new adl.go.gui.DayItemsPanel(this);
         rightPanel = new adl.go.gui.ColoredJPanel(GradientStyle.VERTICAL_GRADIENT_DOWN, domain.utility.currentTheme.colorRightBackground1Panel);
         blankContentPanel = new javax.swing.JPanel();
         noUserDetailsPanel = new javax.swing.JPanel();
@@ -2993,20 +2778,7 @@ public class ViewPanel extends JPanel
             dayLabel1.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week1Day1.add(dayLabel1, java.awt.BorderLayout.NORTH);
 
-            dayScroll1.setBorder(null);
-            dayScroll1.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll1.setOpaque(false);
-            dayScroll1.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day1.setOpaque(false);
-            day1.setLayout(new javax.swing.BoxLayout(day1, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll1.setViewportView(day1);
-
-            week1Day1.add(dayScroll1, java.awt.BorderLayout.CENTER);
+            week1Day1.add(day1, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week1Day1);
 
@@ -3025,20 +2797,7 @@ public class ViewPanel extends JPanel
             dayLabel2.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week1Day2.add(dayLabel2, java.awt.BorderLayout.NORTH);
 
-            dayScroll2.setBorder(null);
-            dayScroll2.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll2.setOpaque(false);
-            dayScroll2.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day2.setOpaque(false);
-            day2.setLayout(new javax.swing.BoxLayout(day2, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll2.setViewportView(day2);
-
-            week1Day2.add(dayScroll2, java.awt.BorderLayout.CENTER);
+            week1Day2.add(day2, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week1Day2);
 
@@ -3057,20 +2816,7 @@ public class ViewPanel extends JPanel
             dayLabel3.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week1Day3.add(dayLabel3, java.awt.BorderLayout.NORTH);
 
-            dayScroll3.setBorder(null);
-            dayScroll3.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll3.setOpaque(false);
-            dayScroll3.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day3.setOpaque(false);
-            day3.setLayout(new javax.swing.BoxLayout(day3, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll3.setViewportView(day3);
-
-            week1Day3.add(dayScroll3, java.awt.BorderLayout.CENTER);
+            week1Day3.add(day3, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week1Day3);
 
@@ -3089,20 +2835,7 @@ public class ViewPanel extends JPanel
             dayLabel4.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week1Day4.add(dayLabel4, java.awt.BorderLayout.NORTH);
 
-            dayScroll4.setBorder(null);
-            dayScroll4.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll4.setOpaque(false);
-            dayScroll4.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day4.setOpaque(false);
-            day4.setLayout(new javax.swing.BoxLayout(day4, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll4.setViewportView(day4);
-
-            week1Day4.add(dayScroll4, java.awt.BorderLayout.CENTER);
+            week1Day4.add(day4, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week1Day4);
 
@@ -3121,20 +2854,7 @@ public class ViewPanel extends JPanel
             dayLabel5.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week1Day5.add(dayLabel5, java.awt.BorderLayout.NORTH);
 
-            dayScroll5.setBorder(null);
-            dayScroll5.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll5.setOpaque(false);
-            dayScroll5.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day5.setOpaque(false);
-            day5.setLayout(new javax.swing.BoxLayout(day5, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll5.setViewportView(day5);
-
-            week1Day5.add(dayScroll5, java.awt.BorderLayout.CENTER);
+            week1Day5.add(day5, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week1Day5);
 
@@ -3153,20 +2873,7 @@ public class ViewPanel extends JPanel
             dayLabel6.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week1Day6.add(dayLabel6, java.awt.BorderLayout.NORTH);
 
-            dayScroll6.setBorder(null);
-            dayScroll6.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll6.setOpaque(false);
-            dayScroll6.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day6.setOpaque(false);
-            day6.setLayout(new javax.swing.BoxLayout(day6, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll6.setViewportView(day6);
-
-            week1Day6.add(dayScroll6, java.awt.BorderLayout.CENTER);
+            week1Day6.add(day6, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week1Day6);
 
@@ -3185,20 +2892,7 @@ public class ViewPanel extends JPanel
             dayLabel7.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week1Day7.add(dayLabel7, java.awt.BorderLayout.NORTH);
 
-            dayScroll7.setBorder(null);
-            dayScroll7.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll7.setOpaque(false);
-            dayScroll7.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day7.setOpaque(false);
-            day7.setLayout(new javax.swing.BoxLayout(day7, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll7.setViewportView(day7);
-
-            week1Day7.add(dayScroll7, java.awt.BorderLayout.CENTER);
+            week1Day7.add(day7, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week1Day7);
 
@@ -3217,20 +2911,7 @@ public class ViewPanel extends JPanel
             dayLabel8.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week2Day1.add(dayLabel8, java.awt.BorderLayout.NORTH);
 
-            dayScroll8.setBorder(null);
-            dayScroll8.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll8.setOpaque(false);
-            dayScroll8.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day8.setOpaque(false);
-            day8.setLayout(new javax.swing.BoxLayout(day8, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll8.setViewportView(day8);
-
-            week2Day1.add(dayScroll8, java.awt.BorderLayout.CENTER);
+            week2Day1.add(day8, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week2Day1);
 
@@ -3249,20 +2930,7 @@ public class ViewPanel extends JPanel
             dayLabel9.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week2Day2.add(dayLabel9, java.awt.BorderLayout.NORTH);
 
-            dayScroll9.setBorder(null);
-            dayScroll9.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll9.setOpaque(false);
-            dayScroll9.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day9.setOpaque(false);
-            day9.setLayout(new javax.swing.BoxLayout(day9, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll9.setViewportView(day9);
-
-            week2Day2.add(dayScroll9, java.awt.BorderLayout.CENTER);
+            week2Day2.add(day9, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week2Day2);
 
@@ -3281,20 +2949,7 @@ public class ViewPanel extends JPanel
             dayLabel10.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week2Day3.add(dayLabel10, java.awt.BorderLayout.NORTH);
 
-            dayScroll10.setBorder(null);
-            dayScroll10.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll10.setOpaque(false);
-            dayScroll10.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day10.setOpaque(false);
-            day10.setLayout(new javax.swing.BoxLayout(day10, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll10.setViewportView(day10);
-
-            week2Day3.add(dayScroll10, java.awt.BorderLayout.CENTER);
+            week2Day3.add(day10, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week2Day3);
 
@@ -3313,20 +2968,7 @@ public class ViewPanel extends JPanel
             dayLabel11.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week2Day4.add(dayLabel11, java.awt.BorderLayout.NORTH);
 
-            dayScroll11.setBorder(null);
-            dayScroll11.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll11.setOpaque(false);
-            dayScroll11.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day11.setOpaque(false);
-            day11.setLayout(new javax.swing.BoxLayout(day11, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll11.setViewportView(day11);
-
-            week2Day4.add(dayScroll11, java.awt.BorderLayout.CENTER);
+            week2Day4.add(day11, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week2Day4);
 
@@ -3345,20 +2987,7 @@ public class ViewPanel extends JPanel
             dayLabel12.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week2Day5.add(dayLabel12, java.awt.BorderLayout.NORTH);
 
-            dayScroll12.setBorder(null);
-            dayScroll12.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll12.setOpaque(false);
-            dayScroll12.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day12.setOpaque(false);
-            day12.setLayout(new javax.swing.BoxLayout(day12, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll12.setViewportView(day12);
-
-            week2Day5.add(dayScroll12, java.awt.BorderLayout.CENTER);
+            week2Day5.add(day12, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week2Day5);
 
@@ -3377,20 +3006,7 @@ public class ViewPanel extends JPanel
             dayLabel13.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week2Day6.add(dayLabel13, java.awt.BorderLayout.NORTH);
 
-            dayScroll13.setBorder(null);
-            dayScroll13.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll13.setOpaque(false);
-            dayScroll13.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day13.setOpaque(false);
-            day13.setLayout(new javax.swing.BoxLayout(day13, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll13.setViewportView(day13);
-
-            week2Day6.add(dayScroll13, java.awt.BorderLayout.CENTER);
+            week2Day6.add(day13, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week2Day6);
 
@@ -3409,20 +3025,7 @@ public class ViewPanel extends JPanel
             dayLabel14.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week2Day7.add(dayLabel14, java.awt.BorderLayout.NORTH);
 
-            dayScroll14.setBorder(null);
-            dayScroll14.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll14.setOpaque(false);
-            dayScroll14.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day14.setOpaque(false);
-            day14.setLayout(new javax.swing.BoxLayout(day14, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll14.setViewportView(day14);
-
-            week2Day7.add(dayScroll14, java.awt.BorderLayout.CENTER);
+            week2Day7.add(day14, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week2Day7);
 
@@ -3441,20 +3044,7 @@ public class ViewPanel extends JPanel
             dayLabel15.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week3Day1.add(dayLabel15, java.awt.BorderLayout.NORTH);
 
-            dayScroll15.setBorder(null);
-            dayScroll15.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll15.setOpaque(false);
-            dayScroll15.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day15.setOpaque(false);
-            day15.setLayout(new javax.swing.BoxLayout(day15, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll15.setViewportView(day15);
-
-            week3Day1.add(dayScroll15, java.awt.BorderLayout.CENTER);
+            week3Day1.add(day15, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week3Day1);
 
@@ -3473,20 +3063,7 @@ public class ViewPanel extends JPanel
             dayLabel16.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week3Day2.add(dayLabel16, java.awt.BorderLayout.NORTH);
 
-            dayScroll16.setBorder(null);
-            dayScroll16.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll16.setOpaque(false);
-            dayScroll16.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day16.setOpaque(false);
-            day16.setLayout(new javax.swing.BoxLayout(day16, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll16.setViewportView(day16);
-
-            week3Day2.add(dayScroll16, java.awt.BorderLayout.CENTER);
+            week3Day2.add(day16, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week3Day2);
 
@@ -3505,20 +3082,7 @@ public class ViewPanel extends JPanel
             dayLabel17.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week3Day3.add(dayLabel17, java.awt.BorderLayout.NORTH);
 
-            dayScroll17.setBorder(null);
-            dayScroll17.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll17.setOpaque(false);
-            dayScroll17.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day17.setOpaque(false);
-            day17.setLayout(new javax.swing.BoxLayout(day17, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll17.setViewportView(day17);
-
-            week3Day3.add(dayScroll17, java.awt.BorderLayout.CENTER);
+            week3Day3.add(day17, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week3Day3);
 
@@ -3537,20 +3101,7 @@ public class ViewPanel extends JPanel
             dayLabel18.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week3Day4.add(dayLabel18, java.awt.BorderLayout.NORTH);
 
-            dayScroll18.setBorder(null);
-            dayScroll18.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll18.setOpaque(false);
-            dayScroll18.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day18.setOpaque(false);
-            day18.setLayout(new javax.swing.BoxLayout(day18, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll18.setViewportView(day18);
-
-            week3Day4.add(dayScroll18, java.awt.BorderLayout.CENTER);
+            week3Day4.add(day18, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week3Day4);
 
@@ -3569,20 +3120,7 @@ public class ViewPanel extends JPanel
             dayLabel19.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week3Day5.add(dayLabel19, java.awt.BorderLayout.NORTH);
 
-            dayScroll19.setBorder(null);
-            dayScroll19.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll19.setOpaque(false);
-            dayScroll19.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day19.setOpaque(false);
-            day19.setLayout(new javax.swing.BoxLayout(day19, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll19.setViewportView(day19);
-
-            week3Day5.add(dayScroll19, java.awt.BorderLayout.CENTER);
+            week3Day5.add(day19, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week3Day5);
 
@@ -3601,20 +3139,7 @@ public class ViewPanel extends JPanel
             dayLabel20.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week3Day6.add(dayLabel20, java.awt.BorderLayout.NORTH);
 
-            dayScroll20.setBorder(null);
-            dayScroll20.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll20.setOpaque(false);
-            dayScroll20.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day20.setOpaque(false);
-            day20.setLayout(new javax.swing.BoxLayout(day20, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll20.setViewportView(day20);
-
-            week3Day6.add(dayScroll20, java.awt.BorderLayout.CENTER);
+            week3Day6.add(day20, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week3Day6);
 
@@ -3633,20 +3158,7 @@ public class ViewPanel extends JPanel
             dayLabel21.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week3Day7.add(dayLabel21, java.awt.BorderLayout.NORTH);
 
-            dayScroll21.setBorder(null);
-            dayScroll21.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll21.setOpaque(false);
-            dayScroll21.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day21.setOpaque(false);
-            day21.setLayout(new javax.swing.BoxLayout(day21, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll21.setViewportView(day21);
-
-            week3Day7.add(dayScroll21, java.awt.BorderLayout.CENTER);
+            week3Day7.add(day21, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week3Day7);
 
@@ -3665,20 +3177,7 @@ public class ViewPanel extends JPanel
             dayLabel22.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week4Day1.add(dayLabel22, java.awt.BorderLayout.NORTH);
 
-            dayScroll22.setBorder(null);
-            dayScroll22.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll22.setOpaque(false);
-            dayScroll22.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day22.setOpaque(false);
-            day22.setLayout(new javax.swing.BoxLayout(day22, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll22.setViewportView(day22);
-
-            week4Day1.add(dayScroll22, java.awt.BorderLayout.CENTER);
+            week4Day1.add(day22, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week4Day1);
 
@@ -3697,20 +3196,7 @@ public class ViewPanel extends JPanel
             dayLabel23.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week4Day2.add(dayLabel23, java.awt.BorderLayout.NORTH);
 
-            dayScroll23.setBorder(null);
-            dayScroll23.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll23.setOpaque(false);
-            dayScroll23.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day23.setOpaque(false);
-            day23.setLayout(new javax.swing.BoxLayout(day23, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll23.setViewportView(day23);
-
-            week4Day2.add(dayScroll23, java.awt.BorderLayout.CENTER);
+            week4Day2.add(day23, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week4Day2);
 
@@ -3729,20 +3215,7 @@ public class ViewPanel extends JPanel
             dayLabel24.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week4Day3.add(dayLabel24, java.awt.BorderLayout.NORTH);
 
-            dayScroll24.setBorder(null);
-            dayScroll24.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll24.setOpaque(false);
-            dayScroll24.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day24.setOpaque(false);
-            day24.setLayout(new javax.swing.BoxLayout(day24, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll24.setViewportView(day24);
-
-            week4Day3.add(dayScroll24, java.awt.BorderLayout.CENTER);
+            week4Day3.add(day24, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week4Day3);
 
@@ -3761,20 +3234,7 @@ public class ViewPanel extends JPanel
             dayLabel25.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week4Day4.add(dayLabel25, java.awt.BorderLayout.NORTH);
 
-            dayScroll25.setBorder(null);
-            dayScroll25.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll25.setOpaque(false);
-            dayScroll25.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day25.setOpaque(false);
-            day25.setLayout(new javax.swing.BoxLayout(day25, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll25.setViewportView(day25);
-
-            week4Day4.add(dayScroll25, java.awt.BorderLayout.CENTER);
+            week4Day4.add(day25, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week4Day4);
 
@@ -3793,20 +3253,7 @@ public class ViewPanel extends JPanel
             dayLabel26.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week4Day5.add(dayLabel26, java.awt.BorderLayout.NORTH);
 
-            dayScroll26.setBorder(null);
-            dayScroll26.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll26.setOpaque(false);
-            dayScroll26.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day26.setOpaque(false);
-            day26.setLayout(new javax.swing.BoxLayout(day26, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll26.setViewportView(day26);
-
-            week4Day5.add(dayScroll26, java.awt.BorderLayout.CENTER);
+            week4Day5.add(day26, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week4Day5);
 
@@ -3825,20 +3272,7 @@ public class ViewPanel extends JPanel
             dayLabel27.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week4Day6.add(dayLabel27, java.awt.BorderLayout.NORTH);
 
-            dayScroll27.setBorder(null);
-            dayScroll27.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll27.setOpaque(false);
-            dayScroll27.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day27.setOpaque(false);
-            day27.setLayout(new javax.swing.BoxLayout(day27, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll27.setViewportView(day27);
-
-            week4Day6.add(dayScroll27, java.awt.BorderLayout.CENTER);
+            week4Day6.add(day27, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week4Day6);
 
@@ -3857,20 +3291,7 @@ public class ViewPanel extends JPanel
             dayLabel28.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week4Day7.add(dayLabel28, java.awt.BorderLayout.NORTH);
 
-            dayScroll28.setBorder(null);
-            dayScroll28.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll28.setOpaque(false);
-            dayScroll28.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day28.setOpaque(false);
-            day28.setLayout(new javax.swing.BoxLayout(day28, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll28.setViewportView(day28);
-
-            week4Day7.add(dayScroll28, java.awt.BorderLayout.CENTER);
+            week4Day7.add(day28, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week4Day7);
 
@@ -3889,20 +3310,7 @@ public class ViewPanel extends JPanel
             dayLabel29.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week5Day1.add(dayLabel29, java.awt.BorderLayout.NORTH);
 
-            dayScroll29.setBorder(null);
-            dayScroll29.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll29.setOpaque(false);
-            dayScroll29.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day29.setOpaque(false);
-            day29.setLayout(new javax.swing.BoxLayout(day29, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll29.setViewportView(day29);
-
-            week5Day1.add(dayScroll29, java.awt.BorderLayout.CENTER);
+            week5Day1.add(day29, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week5Day1);
 
@@ -3921,20 +3329,7 @@ public class ViewPanel extends JPanel
             dayLabel30.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week5Day2.add(dayLabel30, java.awt.BorderLayout.NORTH);
 
-            dayScroll30.setBorder(null);
-            dayScroll30.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll30.setOpaque(false);
-            dayScroll30.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day30.setOpaque(false);
-            day30.setLayout(new javax.swing.BoxLayout(day30, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll30.setViewportView(day30);
-
-            week5Day2.add(dayScroll30, java.awt.BorderLayout.CENTER);
+            week5Day2.add(day30, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week5Day2);
 
@@ -3953,20 +3348,7 @@ public class ViewPanel extends JPanel
             dayLabel31.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week5Day3.add(dayLabel31, java.awt.BorderLayout.NORTH);
 
-            dayScroll31.setBorder(null);
-            dayScroll31.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll31.setOpaque(false);
-            dayScroll31.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day31.setOpaque(false);
-            day31.setLayout(new javax.swing.BoxLayout(day31, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll31.setViewportView(day31);
-
-            week5Day3.add(dayScroll31, java.awt.BorderLayout.CENTER);
+            week5Day3.add(day31, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week5Day3);
 
@@ -3985,20 +3367,7 @@ public class ViewPanel extends JPanel
             dayLabel32.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week5Day4.add(dayLabel32, java.awt.BorderLayout.NORTH);
 
-            dayScroll32.setBorder(null);
-            dayScroll32.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll32.setOpaque(false);
-            dayScroll32.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day32.setOpaque(false);
-            day32.setLayout(new javax.swing.BoxLayout(day32, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll32.setViewportView(day32);
-
-            week5Day4.add(dayScroll32, java.awt.BorderLayout.CENTER);
+            week5Day4.add(day32, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week5Day4);
 
@@ -4017,20 +3386,7 @@ public class ViewPanel extends JPanel
             dayLabel33.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week5Day5.add(dayLabel33, java.awt.BorderLayout.NORTH);
 
-            dayScroll33.setBorder(null);
-            dayScroll33.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll33.setOpaque(false);
-            dayScroll33.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day33.setOpaque(false);
-            day33.setLayout(new javax.swing.BoxLayout(day33, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll33.setViewportView(day33);
-
-            week5Day5.add(dayScroll33, java.awt.BorderLayout.CENTER);
+            week5Day5.add(day33, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week5Day5);
 
@@ -4049,20 +3405,7 @@ public class ViewPanel extends JPanel
             dayLabel34.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week5Day6.add(dayLabel34, java.awt.BorderLayout.NORTH);
 
-            dayScroll34.setBorder(null);
-            dayScroll34.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll34.setOpaque(false);
-            dayScroll34.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day34.setOpaque(false);
-            day34.setLayout(new javax.swing.BoxLayout(day34, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll34.setViewportView(day34);
-
-            week5Day6.add(dayScroll34, java.awt.BorderLayout.CENTER);
+            week5Day6.add(day34, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week5Day6);
 
@@ -4081,20 +3424,7 @@ public class ViewPanel extends JPanel
             dayLabel35.setVerticalAlignment(javax.swing.SwingConstants.TOP);
             week5Day7.add(dayLabel35, java.awt.BorderLayout.NORTH);
 
-            dayScroll35.setBorder(null);
-            dayScroll35.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-            dayScroll35.setOpaque(false);
-            dayScroll35.addMouseListener(new java.awt.event.MouseAdapter() {
-                public void mouseReleased(java.awt.event.MouseEvent evt) {
-                    scrollPaneMouseReleased(evt);
-                }
-            });
-
-            day35.setOpaque(false);
-            day35.setLayout(new javax.swing.BoxLayout(day35, javax.swing.BoxLayout.PAGE_AXIS));
-            dayScroll35.setViewportView(day35);
-
-            week5Day7.add(dayScroll35, java.awt.BorderLayout.CENTER);
+            week5Day7.add(day35, java.awt.BorderLayout.CENTER);
 
             monthDaysPanel.add(week5Day7);
 
@@ -5062,7 +4392,7 @@ public class ViewPanel extends JPanel
                     {
                         selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
                     }
-                    selectedDayPanel = days[Integer.parseInt (assignment.getDueDate ().split ("/")[1]) - 1];
+                    selectedDayPanel = days[DateUtility.getDayOfMonth (assignment.getDueDay ()) - 1];
                     selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
                 }
 
@@ -5251,7 +4581,7 @@ public class ViewPanel extends JPanel
                 String dueDate = Domain.DATE_FORMAT.format (dueDateChooser.getDate ());
                 if (middleTabbedPane.getSelectedIndex () == 1)
                 {
-                    assignment.getParent ().remove (assignment);
+                    VIEW_POOL.release (assignment);
                 }
                 assignment.setDueDate (dueDate);
 
@@ -5263,14 +4593,14 @@ public class ViewPanel extends JPanel
                 {
                     try
                     {
-                        daysAssignmentsAndEvents[Integer.parseInt (dueDate.split ("/")[1]) - 1].add (assignment);
+                        daysAssignmentsAndEvents[Integer.parseInt (dueDate.split ("/")[1]) - 1].addChip (VIEW_POOL.acquire (assignment));
                     }
                     catch (ArrayIndexOutOfBoundsException ex)
                     {
                     }
                 }
                 // adjust the Calendar View to the new month and year to display
-                miniCalendar.setDate (Domain.DATE_FORMAT.parse (assignment.getDueDate ()));
+                miniCalendar.setDate (DateUtility.toDate (assignment.getDueDay ()));
                 refreshAssignmentsRowAt (domain.currentIndexFromVector);
                 assignment.getCourse ().markChanged ();
                 filter (true);
@@ -5283,18 +4613,7 @@ public class ViewPanel extends JPanel
             }
             catch (NullPointerException ex)
             {
-                try
-                {
-                    dueDateChooser.setDate (Domain.DATE_FORMAT.parse (assignment.getDueDate ()));
-                }
-                catch (ParseException innerEx)
-                {
-                    Domain.LOGGER.add (ex);
-                }
-            }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
+                dueDateChooser.setDate (DateUtility.toDate (assignment.getDueDay ()));
             }
             domain.assignmentOrEventLoading.pop ();
         }
@@ -5324,13 +4643,13 @@ public class ViewPanel extends JPanel
             {
                 if (oldMonth.equals (newMonth) && oldYear.equals (newYear))
                 {
-                    String selectedDate = Domain.DATE_FORMAT.format (miniCalendar.getDate ());
-                    for (int i = 0; i < domain.utility.assignmentsAndEvents.size (); ++i)
+                    Calendar cal = Calendar.getInstance ();
+                    cal.setTime (miniCalendar.getDate ());
+                    long selectedDay = DateUtility.toEpochDay (cal);
+                    ArrayList<ListItem> items = domain.utility.getAssignmentsAndEventsBetween (selectedDay, selectedDay);
+                    for (int i = 0; i < items.size (); ++i)
                     {
-                        if (selectedDate.equals (domain.utility.assignmentsAndEvents.get (i).getDueDate ()))
-                        {
-                            assignmentsTable.setSelectedRow (i);
-                        }
+                        assignmentsTable.setSelectedRow (domain.utility.assignmentsAndEvents.indexOf (items.get (i)));
                     }
                 }
             }
@@ -5414,6 +4733,13 @@ public class ViewPanel extends JPanel
             {
                 if (middleTabbedPane.getSelectedIndex () == 0)
                 {
+                    requestListEventYears (domain.utility.preferences.filter1Index, domain.utility.preferences.filter2Index);
+                    if (expandRepeatingEvents (domain.utility.preferences.filter1Index, domain.utility.preferences.filter2Index))
+                    {
+                        // newly produced occurrences must be filtered and
+                        // sorted into the list before they can be shown
+                        filter (true);
+                    }
                     int index = assignmentsTable.getSelectedRow ();
                     domain.assignmentOrEventLoading.push (true);
                     domain.utility.loadAssignmentsTable (true);
@@ -5426,7 +4752,7 @@ public class ViewPanel extends JPanel
                 }
 
                 domain.utility.preferences.middleTabbedPaneIndex = middleTabbedPane.getSelectedIndex ();
-                domain.needsPreferencesSave = true;
+                domain.markPreferencesChanged ();
             }
 	}//GEN-LAST:event_middleTabbedPaneStateChanged
 
@@ -5445,7 +4771,7 @@ public class ViewPanel extends JPanel
                     initMyComponents ();
 
                     // start the worker thread and request a load
-                    domain.workerThread.start ();
+                    domain.saveScheduler.start ();
                     domain.utility.load ();
 
                     domain.utility.loadTermTree ();
@@ -5469,6 +4795,7 @@ public class ViewPanel extends JPanel
                     domain.setProgressState (progressBar, false, "", false, -1);
 
                     initLoading = false;
+                    domain.utility.startDeferredEventYearLoads ();
                     Theme tempCurrent = domain.utility.currentTheme;
                     settingsDialog.currentThemeComboBoxItemStateChanged ();
                     domain.utility.currentTheme = tempCurrent;
@@ -5476,7 +4803,7 @@ public class ViewPanel extends JPanel
                     viewGradesButton.setEnabled (true);
                     settingsButton.setEnabled (true);
                     termsAndCoursesButton.setEnabled (true);
-                    domain.workerThread.setAllowSave (true);
+                    domain.saveScheduler.setAllowSave (true);
 
                     termTree.invalidate ();
                     termTree.revalidate ();
@@ -5555,68 +4882,8 @@ public class ViewPanel extends JPanel
         }
     }//GEN-LAST:event_dayPanelMouseReleased
 
-    private void scrollPaneMouseReleased(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_scrollPaneMouseReleased
-        checkAssignmentOrEventChanges (domain.currentIndexFromVector);
-        checkRepeatEventChanges (domain.currentIndexFromVector);
-
-        if (selectedDayPanel != (JPanel) ((JScrollPane) evt.getSource ()).getParent () && getIndexFromDaysArray ((JPanel) ((JScrollPane) evt.getSource ()).getParent ()) != -1)
-        {
-            if (selectedDayPanel != null)
-            {
-                selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
-            }
-            selectedDayPanel = (JPanel) ((JScrollPane) evt.getSource ()).getParent ();
-            selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
-            int dayIndex = getIndexFromDaysArray ((JPanel) ((JScrollPane) evt.getSource ()).getParent ());
-            Calendar cal = miniCalendar.getCalendar ();
-            cal.set (Calendar.DAY_OF_MONTH, dayIndex + 1);
-            miniCalendar.setDate (cal.getTime ());
-            refreshBusyDays ();
-        }
-        else if (selectedDayPanel != (JPanel) ((JScrollPane) evt.getSource ()).getParent ())
-        {
-            String day = ((JLabel) ((JPanel) ((JScrollPane) evt.getSource ()).getParent ()).getComponent (0)).getText ();
-            int dayNum = Integer.parseInt (day);
-            Calendar cal = miniCalendar.getCalendar ();
-            if (dayNum > 7)
-            {
-                cal.add (Calendar.MONTH, -1);
-            }
-            else
-            {
-                cal.add (Calendar.MONTH, 1);
-            }
-            cal.set (Calendar.DAY_OF_MONTH, dayNum);
-            miniCalendar.setDate (cal.getTime ());
-            loadCalendarView (false);
-            if (selectedDayPanel != null)
-            {
-                selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
-            }
-            selectedDayPanel = days[dayNum - 1];
-            selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
-        }
-
-        if ((evt.getButton () == 2 || evt.getButton () == 3) && getIndexFromDaysArray ((JPanel) ((JScrollPane) evt.getSource ()).getParent ()) != -1)
-        {
-            if (domain.utility.courses.size () > 0
-                && ((getSelectedCourseIndex () == -1 && getSelectedTermIndex () == -1)
-                    || (getSelectedTermIndex () != -1 && domain.utility.terms.get (getSelectedTermIndex ()).getCourseCount () > 0)))
-            {
-                addAssignmentEditMenuItem.setEnabled (true);
-            }
-            else
-            {
-                addAssignmentEditMenuItem.setEnabled (false);
-            }
-            cloneEditMenuItem.setEnabled (false);
-            removeEditMenuItem.setEnabled (false);
-            assignmentsEditMenu.show (evt.getComponent (), evt.getPoint ().x, evt.getPoint ().y);
-        }
-    }//GEN-LAST:event_scrollPaneMouseReleased
-
-    private void assignmentsTableMouseReleased(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_assignmentsTableMouseReleased
-        mouseDraggingInTable = false;
+    private void assignmentsTableMouseReleased(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_assignmentsTableMouseReleased
+        mouseDraggingInTable = false;
 
         if (evt.getButton () == 1
             && domain.currentIndexFromVector != -1
@@ -5693,6 +4960,14 @@ public class ViewPanel extends JPanel
     }//GEN-LAST:event_addPopupMenuPopupMenuWillBecomeInvisible
 
     private void updatesCloseButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_updatesCloseButtonActionPerformed
+        if (backupInProgress != null)
+        {
+            backupInProgress.cancel ();
+            backupInProgress = null;
+            updatesCloseButton.setText (domain.language.getString ("close"));
+            updatesCloseButton.setToolTipText (domain.language.getString ("closeToolTip"));
+            updatesDialog.setTitle (domain.language.getString ("checkForUpdates"));
+        }
         updatesDialog.dispose ();
         setCursor (Cursor.getDefaultCursor ());
         requestFocus ();
@@ -5786,23 +5061,17 @@ public class ViewPanel extends JPanel
             eventChanges.push (true);
 
             Event event = (Event) domain.utility.assignmentsAndEvents.get (domain.currentIndexFromVector);
-            Event localTempEvent = null;
-            try
-            {
-                localTempEvent = domain.createCloneObject (event, domain.utility, Domain.DATE_FORMAT.parse (event.getDueDate ()), false);
-            }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
-            }
+            Event localTempEvent = domain.createCloneObject (event, domain.utility, event.getDueDay (), false);
 
             boolean wasRepeating = false;
             // remove the attachment to repetition
             if (event.getRepeating ().getID () != -1)
             {
                 wasRepeating = true;
+                domain.excludeFromSeries (event);
                 event.getRepeating ().setID (-1);
                 domain.utility.repeatingEvents.remove (event);
+                domain.keepOccurrence (event);
             }
 
             try
@@ -5810,7 +5079,7 @@ public class ViewPanel extends JPanel
                 String dueDate = Domain.DATE_FORMAT.format (eventDateChooser.getDate ());
                 if (middleTabbedPane.getSelectedIndex () == 1)
                 {
-                    event.getParent ().remove (event);
+                    VIEW_POOL.release (event);
                 }
                 event.getEventYear ().markChanged ();
                 event.getEventYear ().removeEvent (event);
@@ -5823,7 +5092,7 @@ public class ViewPanel extends JPanel
                 {
                     try
                     {
-                        daysAssignmentsAndEvents[Integer.parseInt (dueDate.split ("/")[1]) - 1].add (event);
+                        daysAssignmentsAndEvents[Integer.parseInt (dueDate.split ("/")[1]) - 1].addChip (VIEW_POOL.acquire (event));
                     }
                     catch (ArrayIndexOutOfBoundsException ex)
                     {
@@ -5842,16 +5111,9 @@ public class ViewPanel extends JPanel
             }
             catch (NullPointerException ex)
             {
-                try
-                {
-                    domain.assignmentOrEventLoading.push (true);
-                    eventDateChooser.setDate (Domain.DATE_FORMAT.parse (event.getDueDate ()));
-                    domain.assignmentOrEventLoading.pop ();
-                }
-                catch (ParseException innerEx)
-                {
-                    Domain.LOGGER.add (ex);
-                }
+                domain.assignmentOrEventLoading.push (true);
+                eventDateChooser.setDate (DateUtility.toDate (event.getDueDay ()));
+                domain.assignmentOrEventLoading.pop ();
             }
 
             OPTION_PANE.setValue (null);
@@ -5867,79 +5129,59 @@ public class ViewPanel extends JPanel
 
             if (OPTION_PANE.getValue () == null || (OPTION_PANE.getValue () != null && Integer.parseInt (OPTION_PANE.getValue ().toString ()) == JOptionPane.YES_OPTION))
             {
-                try
-                {
-                    domain.assignmentOrEventLoading.push (true);
-                    eventDateChooser.setDate (Domain.DATE_FORMAT.parse (event.getDueDate ()));
-                    domain.assignmentOrEventLoading.pop ();
-                }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
-                }
+                domain.assignmentOrEventLoading.push (true);
+                eventDateChooser.setDate (DateUtility.toDate (event.getDueDay ()));
+                domain.assignmentOrEventLoading.pop ();
             }
             else
             {
+                domain.assignmentOrEventLoading.push (true);
+                eventDateChooser.setDate (DateUtility.toDate (localTempEvent.getDueDay ()));
+                domain.assignmentOrEventLoading.pop ();
+
                 try
                 {
-                    domain.assignmentOrEventLoading.push (true);
-                    eventDateChooser.setDate (Domain.DATE_FORMAT.parse (localTempEvent.getDueDate ()));
-                    domain.assignmentOrEventLoading.pop ();
+                    event.getRepeating ().setID (localTempEvent.getRepeating ().getID ());
+                    domain.utility.repeatingEvents.add (event);
 
-                    try
+                    String dueDate = localTempEvent.getDueDate ();
+                    if (middleTabbedPane.getSelectedIndex () == 1)
                     {
-                        event.getRepeating ().setID (localTempEvent.getRepeating ().getID ());
-                        domain.utility.repeatingEvents.add (event);
-
-                        String dueDate = localTempEvent.getDueDate ();
-                        if (middleTabbedPane.getSelectedIndex () == 1)
-                        {
-                            event.getParent ().remove (event);
-                        }
-                        event.getEventYear ().markChanged ();
-                        event.getEventYear ().removeEvent (event);
-                        event.setDate (dueDate, domain.utility);
-                        Calendar cal = Calendar.getInstance ();
-                        cal.setTime (eventDateChooser.getDate ());
-                        event.getEventYear ().addEvent (event);
-                        event.refreshText ();
-                        if (middleTabbedPane.getSelectedIndex () == 1)
-                        {
-                            try
-                            {
-                                daysAssignmentsAndEvents[Integer.parseInt (dueDate.split ("/")[1]) - 1].add (event);
-                            }
-                            catch (ArrayIndexOutOfBoundsException ex)
-                            {
-                            }
-                        }
-                        miniCalendar.setDate (eventDateChooser.getDate ());
-                        refreshAssignmentsRowAt (domain.currentIndexFromVector);
-                        event.getEventYear ().markChanged ();
-                        refreshBusyDays ();
-
-                        if (domain.utility.preferences.sortIndex == 4)
-                        {
-                            scrollToItemOrToday ((ListItem) event);
-                        }
+                        VIEW_POOL.release (event);
                     }
-                    catch (NullPointerException ex)
+                    event.getEventYear ().markChanged ();
+                    event.getEventYear ().removeEvent (event);
+                    event.setDate (dueDate, domain.utility);
+                    Calendar cal = Calendar.getInstance ();
+                    cal.setTime (eventDateChooser.getDate ());
+                    event.getEventYear ().addEvent (event);
+                    domain.includeInSeries (event);
+                    event.refreshText ();
+                    if (middleTabbedPane.getSelectedIndex () == 1)
                     {
                         try
                         {
-                            domain.assignmentOrEventLoading.push (true);
-                            eventDateChooser.setDate (Domain.DATE_FORMAT.parse (event.getDueDate ()));
-                            domain.assignmentOrEventLoading.pop ();
+                            daysAssignmentsAndEvents[Integer.parseInt (dueDate.split ("/")[1]) - 1].addChip (VIEW_POOL.acquire (event));
                         }
-                        catch (ParseException innerEx)
+                        catch (ArrayIndexOutOfBoundsException ex)
                         {
-                            Domain.LOGGER.add (ex);
                         }
                     }
+                    miniCalendar.setDate (eventDateChooser.getDate ());
+                    refreshAssignmentsRowAt (domain.currentIndexFromVector);
+                    event.getEventYear ().markChanged ();
+                    refreshBusyDays ();
+
+                    if (domain.utility.preferences.sortIndex == 4)
+                    {
+                        scrollToItemOrToday ((ListItem) event);
+                    }
                 }
-                catch (ParseException ex)
+                catch (NullPointerException ex)
                 {
-                    Domain.LOGGER.add (ex);
+                    domain.assignmentOrEventLoading.push (true);
+                    eventDateChooser.setDate (DateUtility.toDate (event.getDueDay ()));
+                    domain.assignmentOrEventLoading.pop ();
                 }
             }
         }
@@ -5976,7 +5218,7 @@ public class ViewPanel extends JPanel
                     domain.utility.preferences.filter1Index = 2;
                 }
             }
-            domain.needsPreferencesSave = true;
+            domain.markPreferencesChanged ();
             filter (true);
         }
     }//GEN-LAST:event_filter1ButtonActionPerformed
@@ -6008,7 +5250,7 @@ public class ViewPanel extends JPanel
                     }
                 }
             }
-            domain.needsPreferencesSave = true;
+            domain.markPreferencesChanged ();
             filter (true);
         }
     }//GEN-LAST:event_filter2ButtonActionPerformed
@@ -6201,14 +5443,7 @@ public class ViewPanel extends JPanel
             // grab the current day and set it
             Event event = (Event) domain.utility.assignmentsAndEvents.get (domain.currentIndexFromVector);
             Calendar cal = Calendar.getInstance ();
-            try
-            {
-                cal.setTime (Domain.DATE_FORMAT.parse (event.getDueDate ()));
-            }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
-            }
+            cal.setTime (DateUtility.toDate (event.getDueDay ()));
             switch (cal.get (Calendar.DAY_OF_WEEK))
             {
                 case 1:
@@ -6695,27 +5930,47 @@ public class ViewPanel extends JPanel
     }
 
     /**
-     * Initialize and write to backup file.
+     * Take a snapshot of the data and write it to the backup file in the
+     * background, showing its progress, while editing carries on.
      *
      * @param file The file to write to.
      */
     private void backupThread(final File file)
     {
-        new Thread (new Runnable ()
+        final BackupSnapshot snapshot = domain.utility.takeBackupSnapshot ();
+        backupInProgress = snapshot;
+        updatesCloseButton.setText (domain.language.getString ("cancel"));
+        updatesCloseButton.setToolTipText (domain.language.getString ("cancelBackupToolTip"));
+
+        final Timer progressTimer = new Timer (100, new ActionListener ()
+        {
+            @Override
+            public void actionPerformed(ActionEvent evt)
+            {
+                domain.setProgressState (updatesProgressBar, false, domain.language.getString ("backingUpGetOrganized") + " ...", true, snapshot.getProgress ());
+            }
+        });
+        progressTimer.start ();
+
+        domain.utility.writeBackupFile (snapshot, file, new Runnable ()
         {
             @Override
             public void run()
             {
-                initLoading = true;
-                domain.utility.writeBackupFile (file);
+                progressTimer.stop ();
+                if (backupInProgress != snapshot)
+                {
+                    return;
+                }
+                backupInProgress = null;
 
                 updatesDialog.dispose ();
-                updatesCloseButton.setVisible (true);
+                updatesCloseButton.setText (domain.language.getString ("close"));
+                updatesCloseButton.setToolTipText (domain.language.getString ("closeToolTip"));
                 updatesDialog.setTitle (domain.language.getString ("checkForUpdates"));
-                initLoading = false;
                 requestFocus ();
             }
-        }).start ();
+        });
     }
 
     /**
@@ -6814,7 +6069,6 @@ public class ViewPanel extends JPanel
                 if (Integer.parseInt (OPTION_PANE.getValue ().toString ()) == JOptionPane.YES_OPTION)
                 {
                     domain.setProgressState (updatesProgressBar, true, domain.language.getString ("backingUpGetOrganized") + " ...", true, -1);
-                    updatesCloseButton.setVisible (false);
                     updatesDialog.setTitle (domain.language.getString ("backingUp"));
                     updatesDialog.pack ();
                     updatesDialog.setLocationRelativeTo (this);
@@ -6838,7 +6092,6 @@ public class ViewPanel extends JPanel
             else
             {
                 domain.setProgressState (updatesProgressBar, true, domain.language.getString ("backingUpGetOrganized") + " ...", true, -1);
-                updatesCloseButton.setVisible (false);
                 updatesDialog.setTitle (domain.language.getString ("backingUp"));
                 updatesDialog.pack ();
                 updatesDialog.setLocationRelativeTo (this);
@@ -6939,7 +6192,7 @@ public class ViewPanel extends JPanel
 
                         settingsDialog.settingsTabbedPane.setSelectedIndex (0);
                         termsAndCoursesDialog.termsAndCoursesTabbedPane.setSelectedIndex (0);
-                        domain.workerThread.setAllowSave (false);
+                        domain.saveScheduler.setAllowSave (false);
 
                         boolean success = false;
                         boolean fatal = false;
@@ -6971,7 +6224,7 @@ public class ViewPanel extends JPanel
                             innerOptionDialog.setVisible (true);
 
                             initLoading = false;
-                            domain.workerThread.setAllowSave (true);
+                            domain.saveScheduler.setAllowSave (true);
                         }
                         else if (success && !fatal)
                         {
@@ -7011,12 +6264,12 @@ public class ViewPanel extends JPanel
                             {
                                 domain.utility.eventYears.get (i).markChanged ();
                             }
-                            domain.needsCoursesAndTermsSave = true;
-                            domain.needsPreferencesSave = true;
+                            domain.markCoursesAndTermsChanged ();
+                            domain.markPreferencesChanged ();
                             domain.needsSettingsSaveBool = true;
 
                             domain.utility.currentTheme.apply ();
-                            domain.workerThread.setAllowSave (true);
+                            domain.saveScheduler.setAllowSave (true);
 
                             termTree.invalidate ();
                             termTree.revalidate ();
@@ -7033,7 +6286,7 @@ public class ViewPanel extends JPanel
                             ignoreTableSelection = false;
                             domain.setProgressState (updatesProgressBar, false, "", false, -1);
 
-                            domain.workerThread.setAllowSave (true);
+                            domain.saveScheduler.setAllowSave (true);
 
                             OPTION_PANE.setOptions (OK_CHOICE);
                             OPTION_PANE.setMessage (domain.language.getString ("aFatalErrorHasOccurred"));
@@ -7066,12 +6319,12 @@ public class ViewPanel extends JPanel
         filter (true);
         if (middleTabbedPane.getSelectedIndex () == 1)
         {
-            refreshDayInCalendar (Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1);
+            refreshDayInCalendar (DateUtility.getDayOfMonth (event.getDueDay ()) - 1);
             if (selectedDayPanel != null)
             {
                 selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
             }
-            selectedDayPanel = days[Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1];
+            selectedDayPanel = days[DateUtility.getDayOfMonth (event.getDueDay ()) - 1];
             selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
         }
     }
@@ -7107,7 +6360,7 @@ public class ViewPanel extends JPanel
         event.getEventYear ().markChanged ();
         if (middleTabbedPane.getSelectedIndex () == 1)
         {
-            refreshDayInCalendar (Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1);
+            refreshDayInCalendar (DateUtility.getDayOfMonth (event.getDueDay ()) - 1);
         }
     }
 
@@ -7124,7 +6377,7 @@ public class ViewPanel extends JPanel
         event.getEventYear ().markChanged ();
         if (middleTabbedPane.getSelectedIndex () == 1)
         {
-            refreshDayInCalendar (Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1);
+            refreshDayInCalendar (DateUtility.getDayOfMonth (event.getDueDay ()) - 1);
         }
     }
 
@@ -7141,7 +6394,7 @@ public class ViewPanel extends JPanel
         event.getEventYear ().markChanged ();
         if (middleTabbedPane.getSelectedIndex () == 1)
         {
-            refreshDayInCalendar (Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1);
+            refreshDayInCalendar (DateUtility.getDayOfMonth (event.getDueDay ()) - 1);
         }
     }
 
@@ -7158,7 +6411,7 @@ public class ViewPanel extends JPanel
         event.getEventYear ().markChanged ();
         if (middleTabbedPane.getSelectedIndex () == 1)
         {
-            refreshDayInCalendar (Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1);
+            refreshDayInCalendar (DateUtility.getDayOfMonth (event.getDueDay ()) - 1);
         }
     }
 
@@ -7175,7 +6428,7 @@ public class ViewPanel extends JPanel
         event.getEventYear ().markChanged ();
         if (middleTabbedPane.getSelectedIndex () == 1)
         {
-            refreshDayInCalendar (Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1);
+            refreshDayInCalendar (DateUtility.getDayOfMonth (event.getDueDay ()) - 1);
         }
     }
 
@@ -7192,7 +6445,7 @@ public class ViewPanel extends JPanel
         event.getEventYear ().markChanged ();
         if (middleTabbedPane.getSelectedIndex () == 1)
         {
-            refreshDayInCalendar (Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1);
+            refreshDayInCalendar (DateUtility.getDayOfMonth (event.getDueDay ()) - 1);
         }
     }
 
@@ -7231,25 +6484,18 @@ public class ViewPanel extends JPanel
         for (int i = 0; i < domain.utility.terms.size (); ++i)
         {
             Term term = domain.utility.terms.get (i);
-            try
-            {
-                Calendar cal1 = Calendar.getInstance ();
-                Calendar cal2 = Calendar.getInstance ();
-                cal1.setTime (Domain.DATE_FORMAT.parse (term.getStartDate ()));
-                cal1.add (Calendar.DAY_OF_YEAR, -1);
-                cal2.setTime (Domain.DATE_FORMAT.parse (term.getEndDate ()));
-                cal2.add (Calendar.DAY_OF_YEAR, 1);
-                if (domain.today.after (cal1.getTime ())
-                    && domain.today.before (cal2.getTime ()))
-                {
-                    TreePath path = new TreePath (term.getPath ());
-                    termTree.getSelectionModel ().setSelectionPath (path);
-                    break;
-                }
-            }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
+            Calendar cal1 = Calendar.getInstance ();
+            Calendar cal2 = Calendar.getInstance ();
+            cal1.setTime (DateUtility.toDate (term.getStartDay ()));
+            cal1.add (Calendar.DAY_OF_YEAR, -1);
+            cal2.setTime (DateUtility.toDate (term.getEndDay ()));
+            cal2.add (Calendar.DAY_OF_YEAR, 1);
+            if (domain.today.after (cal1.getTime ())
+                && domain.today.before (cal2.getTime ()))
+            {
+                TreePath path = new TreePath (term.getPath ());
+                termTree.getSelectionModel ().setSelectionPath (path);
+                break;
             }
         }
 
@@ -7303,6 +6549,11 @@ public class ViewPanel extends JPanel
                                       + reSatCheckBox.isSelected () + "-"
                                       + dueDate + "-"
                                       + Domain.DATE_FORMAT.format (repeatingEndDate);
+                    if (alreadyRepeating && !event.getRepeating ().isSavedInFull ())
+                    {
+                        // the series keeps the days removed from it
+                        repeatingString += "-" + event.getRepeating ().getExceptions ();
+                    }
 
                     event.setRepeating (repeatingString);
                     if (!alreadyRepeating)
@@ -7334,6 +6585,7 @@ public class ViewPanel extends JPanel
 
                         event.getRepeating ().setID (-1);
                         domain.utility.repeatingEvents.remove (event);
+                        domain.keepOccurrence (event);
                         event.getEventYear ().markChanged ();
                     }
 
@@ -7346,56 +6598,6 @@ public class ViewPanel extends JPanel
         }
     }
 
-    /**
-     * Clones the given event with its repetition attached to it.
-     *
-     * @param toClone The event to clone repetitively.
-     * @param inMonth The month which is currently shown in Calendar View.
-     * @param date The date to set for the newly created event (since it's
-     * cloned in repetition, the date is the only part that changes).
-     */
-    private void cloneEventWithRepeat(Event toClone, boolean inMonth, Date date)
-    {
-        domain.assignmentOrEventLoading.push (true);
-
-        Event event = domain.createCloneObject (toClone, domain.utility, date, true);
-
-        if (domain.utility.preferences.filter1Index != 1)
-        {
-            assignmentsTableModel.addRow (event.getRowObject ());
-        }
-        domain.utility.assignmentsAndEvents.add (event);
-        domain.utility.repeatingEvents.add (event);
-
-        if (inMonth)
-        {
-            if (middleTabbedPane.getSelectedIndex () == 1)
-            {
-                if (domain.utility.preferences.filter1Index != 1)
-                {
-                    daysAssignmentsAndEvents[Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1].add (event);
-                    shownEvents.add (event);
-                }
-
-                event.getLabel ().addMouseListener (new MouseAdapter ()
-                {
-                    @Override
-                    public void mouseReleased(MouseEvent evt)
-                    {
-                        eventMouseReleased (evt);
-                    }
-                });
-                DRAG_SOURCE.createDefaultDragGestureRecognizer (event.getLabel (), DnDConstants.ACTION_MOVE, DND_LISTENER);
-                event.refreshText ();
-
-                refreshDayInCalendar (Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1);
-            }
-            refreshBusyDays ();
-        }
-
-        domain.assignmentOrEventLoading.pop ();
-    }
-
     /**
      * Updates all repeating instances of the currently selected event.
      *
@@ -7416,6 +6618,8 @@ public class ViewPanel extends JPanel
             if (Integer.parseInt (OPTION_PANE.getValue ().toString ()) == ALL_IN_SERIES_OPTION)
             {
                 goRemoveEvent (event);
+                // the event holds the rule of the series from now on, so it is saved
+                event.setGenerated (false);
 
                 event.setDate (event.getRepeating ().getStartDate (), domain.utility);
                 event.getEventYear ().markChanged ();
@@ -7429,6 +6633,8 @@ public class ViewPanel extends JPanel
                 try
                 {
                     goRemoveEvent (event);
+                    // the event holds the rule of the earlier series from now on, so it is saved
+                    event.setGenerated (false);
 
                     String preDate = event.getDueDate ();
                     String postDate = preDate;
@@ -7442,7 +6648,7 @@ public class ViewPanel extends JPanel
                     preDate = Domain.DATE_FORMAT.format (newDate);
 
                     Event preEvent = event;
-                    Event postEvent = domain.createCloneObject (preEvent, domain.utility, Domain.DATE_FORMAT.parse (preEvent.getDueDate ()), true);
+                    Event postEvent = domain.createCloneObject (preEvent, domain.utility, preEvent.getDueDay (), true);
                     if (oldRepeating != null)
                     {
                         preEvent.setRepeating (oldRepeating);
@@ -7534,222 +6740,44 @@ public class ViewPanel extends JPanel
     }
 
     /**
-     * Create separate instances for each event in a repeating series.
+     * Starts a new repeating series from the given event. The event holds the
+     * rule of the series, and the other occurrences are produced from it for
+     * the days being shown, without being saved.
      *
      * @param event The event to create repeating instances of.
      */
-    private void createRepeatingInstances(Event tempEvent)
+    private void createRepeatingInstances(Event event)
     {
-        final Event event = tempEvent;
-        final Repeating repeat = event.getRepeating ();
-
         setCursor (Cursor.getPredefinedCursor (Cursor.WAIT_CURSOR));
 
-        Thread thread = new Thread (new Runnable ()
-        {
-            @Override
-            public void run()
-            {
-                Calendar cal = Calendar.getInstance ();
-                try
-                {
-                    int monthDifCount = 0;
-                    int yearDifCount = 0;
-                    Date startDate = Domain.DATE_FORMAT.parse (repeat.getStartDate ());
-                    cal.setTime (startDate);
-                    cal.add (Calendar.DAY_OF_WEEK, 1);
-                    int curMonth = cal.get (Calendar.MONTH);
-                    int curYear = cal.get (Calendar.YEAR);
-                    Date endDate = Domain.DATE_FORMAT.parse (repeat.getEndDate ());
-
-                    while (cal.getTime ().compareTo (endDate) <= 0)
-                    {
-                        if (cal.get (Calendar.MONTH) != curMonth)
-                        {
-                            ++monthDifCount;
-                            curMonth = cal.get (Calendar.MONTH);
-                        }
-                        if (cal.get (Calendar.YEAR) != curYear)
-                        {
-                            ++yearDifCount;
-                            curYear = cal.get (Calendar.YEAR);
-                        }
-
-                        // repeating daily
-                        if (event.getRepeating ().getRepeatsIndex () == 1)
-                        {
-                            long dayDiff = (cal.getTime ().getTime () - startDate.getTime ()) / (1000 * 60 * 60 * 24);
-                            if (dayDiff % (event.getRepeating ().getRepeatsEveryIndex () + 1) == 0)
-                            {
-                                String[] firstSplit = Domain.DATE_FORMAT.format (cal.getTime ()).split ("/");
-                                String[] secondSplit = Domain.DATE_FORMAT.format (miniCalendar.getDate ()).split ("/");
-                                cloneEventWithRepeat (event, firstSplit[1].equals (secondSplit[1]) && firstSplit[2].equals (secondSplit[2]), cal.getTime ());
-                            }
-                        }
-                        // repeating weekly
-                        else if (event.getRepeating ().getRepeatsIndex () == 2)
-                        {
-                            int dayOfWeek = cal.get (Calendar.DAY_OF_WEEK);
-                            Repeating repeat = event.getRepeating ();
-                            switch (dayOfWeek)
-                            {
-                                case 1:
-                                {
-                                    if (repeat.getSunday ())
-                                    {
-                                        repeatCheckAndAdd (event, startDate, cal);
-                                    }
-                                    break;
-                                }
-                                case 2:
-                                {
-                                    if (repeat.getMonday ())
-                                    {
-                                        repeatCheckAndAdd (event, startDate, cal);
-                                    }
-                                    break;
-                                }
-                                case 3:
-                                {
-                                    if (repeat.getTuesday ())
-                                    {
-                                        repeatCheckAndAdd (event, startDate, cal);
-                                    }
-                                    break;
-                                }
-                                case 4:
-                                {
-                                    if (repeat.getWednesday ())
-                                    {
-                                        repeatCheckAndAdd (event, startDate, cal);
-                                    }
-                                    break;
-                                }
-                                case 5:
-                                {
-                                    if (repeat.getThursday ())
-                                    {
-                                        repeatCheckAndAdd (event, startDate, cal);
-                                    }
-                                    break;
-                                }
-                                case 6:
-                                {
-                                    if (repeat.getFriday ())
-                                    {
-                                        repeatCheckAndAdd (event, startDate, cal);
-                                    }
-                                    break;
-                                }
-                                case 7:
-                                {
-                                    if (repeat.getSaturday ())
-                                    {
-                                        repeatCheckAndAdd (event, startDate, cal);
-                                    }
-                                    break;
-                                }
-                            }
-                        }
-                        // repeating monthly
-                        else if (event.getRepeating ().getRepeatsIndex () == 3)
-                        {
-                            String[] firstSplit = Domain.DATE_FORMAT.format (startDate).split ("/");
-                            String[] secondSplit = Domain.DATE_FORMAT.format (cal.getTime ()).split ("/");
-                            if (firstSplit[1].equals (secondSplit[1])
-                                && monthDifCount % (event.getRepeating ().getRepeatsEveryIndex () + 1) == 0)
-                            {
-                                firstSplit = Domain.DATE_FORMAT.format (cal.getTime ()).split ("/");
-                                secondSplit = Domain.DATE_FORMAT.format (miniCalendar.getDate ()).split ("/");
-                                cloneEventWithRepeat (event, firstSplit[1].equals (secondSplit[1]) && firstSplit[2].equals (secondSplit[2]), cal.getTime ());
-                            }
-                        }
-                        // repeating annually
-                        else if (event.getRepeating ().getRepeatsIndex () == 4)
-                        {
-                            String[] firstSplit = Domain.DATE_FORMAT.format (startDate).split ("/");
-                            String[] secondSplit = Domain.DATE_FORMAT.format (cal.getTime ()).split ("/");
-                            if (firstSplit[1].equals (secondSplit[1])
-                                && yearDifCount % (event.getRepeating ().getRepeatsEveryIndex () + 1) == 0)
-                            {
-                                firstSplit = Domain.DATE_FORMAT.format (cal.getTime ()).split ("/");
-                                secondSplit = Domain.DATE_FORMAT.format (miniCalendar.getDate ()).split ("/");
-                                cloneEventWithRepeat (event, firstSplit[1].equals (secondSplit[1]) && firstSplit[2].equals (secondSplit[2]), cal.getTime ());
-                            }
-                        }
-
-                        cal.add (Calendar.DAY_OF_WEEK, 1);
-                    }
-
-                    event.getEventYear ().markChanged ();
-                    filter (true);
-                }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
-                }
-            }
-        });
-        thread.start ();
-        try
-        {
-            thread.join ();
-        }
-        catch (InterruptedException ex)
-        {
-            Domain.LOGGER.add (ex);
-        }
+        event.getRepeating ().startFromRule ();
+        event.getEventYear ().markChanged ();
+        filter (true);
 
         setCursor (Cursor.getDefaultCursor ());
     }
 
     /**
-     * Check that the given event falls on a day that the current repetition
-     * desires, then add it.
+     * Updates the given instance of a repeating event with the details shown
+     * in the event editing fields.
      *
-     * @param event The event to be checked.
-     * @param startDate The start date of the repetiton.
-     * @param cal The repetition's calendar reference.
+     * @param repEvent The instance of the event to update.
      */
-    public void repeatCheckAndAdd(Event event, Date startDate, Calendar cal)
+    private void applyEventChanges(Event repEvent)
     {
-        long dayDiff = (cal.getTime ().getTime () - startDate.getTime ()) / (1000 * 60 * 60 * 24);
-        switch (event.getRepeating ().getRepeatsIndex ())
-        {
-            // weekly repeating
-            case 2:
-            {
-                if ((dayDiff / 7) % (event.getRepeating ().getRepeatsEveryIndex () + 1) == 0)
-                {
-                    String[] firstSplit = Domain.DATE_FORMAT.format (cal.getTime ()).split ("/");
-                    String[] secondSplit = Domain.DATE_FORMAT.format (miniCalendar.getDate ()).split ("/");
-                    cloneEventWithRepeat (event, firstSplit[1].equals (secondSplit[1]) && firstSplit[2].equals (secondSplit[2]), cal.getTime ());
-                }
-                break;
-            }
-            // monthly repeating
-            case 3:
-            {
-                if ((dayDiff / 30) % (event.getRepeating ().getRepeatsEveryIndex () + 1) == 0)
-                {
-                    String[] firstSplit = Domain.DATE_FORMAT.format (cal.getTime ()).split ("/");
-                    String[] secondSplit = Domain.DATE_FORMAT.format (miniCalendar.getDate ()).split ("/");
-                    cloneEventWithRepeat (event, firstSplit[1].equals (secondSplit[1]) && firstSplit[2].equals (secondSplit[2]), cal.getTime ());
-                }
-                break;
-            }
-            // yearly repeating
-            case 4:
-            {
-                if ((dayDiff / 365) % (event.getRepeating ().getRepeatsEveryIndex () + 1) == 0)
-                {
-                    String[] firstSplit = Domain.DATE_FORMAT.format (cal.getTime ()).split ("/");
-                    String[] secondSplit = Domain.DATE_FORMAT.format (miniCalendar.getDate ()).split ("/");
-                    cloneEventWithRepeat (event, firstSplit[1].equals (secondSplit[1]) && firstSplit[2].equals (secondSplit[2]), cal.getTime ());
-                }
-                break;
-            }
-        }
+        repEvent.setItemName (eventNameTextField.getText ());
+        repEvent.setStartTime (0, Domain.HR_FORMAT.format (eventStartHrChooser.getValue ()));
+        repEvent.setStartTime (1, Domain.MIN_FORMAT.format (eventStartMinChooser.getValue ()));
+        repEvent.setStartTime (2, Domain.M_FORMAT.format (eventStartMChooser.getValue ()));
+        repEvent.setEndTime (0, Domain.HR_FORMAT.format (eventEndHrChooser.getValue ()));
+        repEvent.setEndTime (1, Domain.MIN_FORMAT.format (eventEndMinChooser.getValue ()));
+        repEvent.setEndTime (2, Domain.M_FORMAT.format (eventEndMChooser.getValue ()));
+        repEvent.setIsAllDay (allDayEventCheckBox.isSelected ());
+        repEvent.setCategory (domain.utility.preferences.categories.get (categoryComboBox.getSelectedIndex ()));
+        repEvent.setEventLocation (locationTextField.getText ());
+        repEvent.setDescription (descriptionTextArea.getText ());
+        repEvent.getEventYear ().markChanged ();
+        repEvent.refreshText ();
     }
 
     /**
@@ -7757,56 +6785,16 @@ public class ViewPanel extends JPanel
      *
      * @param event The event to destroy repeating instances of.
      */
-    private void destroyRepeatingInstances(final Event event)
+    private void destroyRepeatingInstances(Event event)
     {
         setCursor (Cursor.getPredefinedCursor (Cursor.WAIT_CURSOR));
+        assignmentsTable.removingSelectionInterval = true;
 
-        Thread thread = new Thread (new Runnable ()
-        {
-            @Override
-            public void run()
-            {
-                assignmentsTable.removingSelectionInterval = true;
-
-                for (int i = domain.utility.repeatingEvents.size () - 1; i >= 0; --i)
-                {
-                    Event repEvent = domain.utility.repeatingEvents.get (i);
-                    if (repEvent != event
-                        && repEvent.getRepeating ().getID () == event.getRepeating ().getID ())
-                    {
-                        if (middleTabbedPane.getSelectedIndex () == 1)
-                        {
-                            JPanel parent = (JPanel) repEvent.getParent ();
-                            if (parent != null)
-                            {
-                                parent.remove (repEvent);
-                                parent.invalidate ();
-                            }
-                            shownEvents.remove (repEvent);
-                        }
-                        domain.utility.assignmentsAndEvents.remove (repEvent);
-                        domain.utility.repeatingEvents.remove (repEvent);
-                        repEvent.getCategory ().removeEvent (repEvent);
-                        repEvent.getEventYear ().removeEvent (repEvent);
-                        repEvent.getEventYear ().markChanged ();
-
-                        assignmentsTableModel.removeRow (domain.utility.getAssignmentOrEventIndexByID (repEvent.getUniqueID ()));
-                    }
-                }
-
-                assignmentsTable.removingSelectionInterval = false;
-            }
-        });
-        thread.start ();
-        try
-        {
-            thread.join ();
-        }
-        catch (InterruptedException ex)
-        {
-            Domain.LOGGER.add (ex);
-        }
+        ArrayList<Event> series = domain.utility.getRepeatingSeries (event.getRepeating ().getID ());
+        series.remove (event);
+        domain.removeEvents (series);
 
+        assignmentsTable.removingSelectionInterval = false;
         setCursor (Cursor.getDefaultCursor ());
     }
 
@@ -7855,14 +6843,7 @@ public class ViewPanel extends JPanel
 
                 // grab the current day and set it
                 Calendar cal = Calendar.getInstance ();
-                try
-                {
-                    cal.setTime (Domain.DATE_FORMAT.parse (event.getDueDate ()));
-                }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
-                }
+                cal.setTime (DateUtility.toDate (event.getDueDay ()));
                 switch (cal.get (Calendar.DAY_OF_WEEK))
                 {
                     case 1:
@@ -8016,38 +6997,104 @@ public class ViewPanel extends JPanel
 
         miniCalendar.getDayChooser ().revertAllDayForegrounds ();
 
-        for (int i = 0; i < domain.utility.assignmentsAndEvents.size (); ++i)
+        // only items shown around this month can be colored, and items due
+        // today are needed for the due count
+        ArrayList<ListItem> items = getItemsAroundMonth ();
+        long today = DateUtility.toEpochDay (domain.today);
+        ArrayList<ListItem> dueToday = domain.utility.dayIndex.getItems (today);
+        for (int i = 0; i < dueToday.size (); ++i)
         {
-            ListItem item = domain.utility.assignmentsAndEvents.get (i);
-            try
+            if (!items.contains (dueToday.get (i)))
             {
-                boolean isDone = true;
-                Date dueDate = Domain.DATE_FORMAT.parse (item.getDueDate ());
+                items.add (dueToday.get (i));
+            }
+        }
 
-                if (item.isAssignment () && !((Assignment) item).isDone () && dueDate.compareTo (domain.today) == 0)
-                {
-                    ++dueCount;
-                }
+        for (int i = 0; i < items.size (); ++i)
+        {
+            ListItem item = items.get (i);
+            boolean isDone = true;
+            long dueDay = item.getDueDay ();
+            Date dueDate = DateUtility.toDate (dueDay);
 
-                if (item.isAssignment ())
+            if (item.isAssignment () && !((Assignment) item).isDone () && dueDay == today)
+            {
+                ++dueCount;
+            }
+
+            if (item.isAssignment ())
+            {
+                isDone = ((Assignment) item).isDone ();
+            }
+
+            if ((dueDay < today && item.isAssignment () && !isDone) || !isDone || (dueDay >= today && !item.isAssignment ()))
+            {
+                int day = DateUtility.getDayOfMonth (dueDay);
+                if (DateUtility.getYear (dueDay) == year && DateUtility.getMonth (dueDay) == month)
                 {
-                    isDone = ((Assignment) item).isDone ();
+                    miniCalendar.getDayChooser ().setDayForeground (day, domain.utility.currentTheme.colorBusyDayInMonth);
                 }
                 else
                 {
-                    Event event = (Event) item;
-                    dueDate = Domain.DATE_AND_TIME_FORMAT.parse (event.getDueDate () + " " + event.getStartTime (0) + ":" + event.getStartTime (1) + " " + event.getStartTime (2));
+                    Calendar calBef = Calendar.getInstance ();
+                    calBef.setTime (miniCalendar.getDate ());
+                    calBef.add (Calendar.MONTH, -1);
+                    calBef.set (Calendar.DAY_OF_MONTH, lastMonthFirst);
+                    calBef.add (Calendar.DAY_OF_MONTH, -1);
+                    calBef.set (Calendar.HOUR, 12);
+                    calBef.set (Calendar.MINUTE, 00);
+                    calBef.set (Calendar.AM_PM, Calendar.PM);
+                    calBef.add (Calendar.MINUTE, -1);
+
+                    Calendar monthDate = Calendar.getInstance ();
+                    monthDate.setTime (miniCalendar.getDate ());
+                    monthDate.set (Calendar.DAY_OF_MONTH, 1);
+                    monthDate.add (Calendar.DAY_OF_MONTH, -1);
+                    monthDate.set (Calendar.HOUR, 12);
+                    monthDate.set (Calendar.MINUTE, 00);
+                    monthDate.set (Calendar.AM_PM, Calendar.PM);
+
+                    Calendar calAft = null;
+                    try
+                    {
+                        buildDaysOutsideMonth ();
+                        int finalDay = Integer.parseInt (((JLabel) ((JPanel) daysOutsideMonth[daysOutsideMonth.length - 1].getParent ()).getComponent (0)).getText ());
+                        if (finalDay < 7)
+                        {
+                            calAft = Calendar.getInstance ();
+                            calAft.setTime (miniCalendar.getDate ());
+                            calAft.add (Calendar.MONTH, 1);
+                            calAft.set (Calendar.DAY_OF_MONTH, finalDay);
+                            calAft.set (Calendar.HOUR, 12);
+                            calAft.set (Calendar.MINUTE, 00);
+                            calAft.set (Calendar.AM_PM, Calendar.PM);
+                        }
+                    }
+                    catch (NullPointerException ex)
+                    {
+                    }
+                    if (dueDate.after (calBef.getTime ()) && dueDate.before (monthDate.getTime ()))
+                    {
+                        miniCalendar.getDayChooser ().setDayForeground (lastMonthFirst - DateUtility.getDayOfMonth (dueDay) - 1, domain.utility.currentTheme.colorBusyDayOutsideMonth);
+                    }
+                    else if (calAft != null)
+                    {
+                        monthDate.set (Calendar.DAY_OF_MONTH, monthDate.getActualMaximum (Calendar.DATE));
+                        if (dueDate.after (monthDate.getTime ()) && dueDate.before (calAft.getTime ()))
+                        {
+                            miniCalendar.getDayChooser ().setDayForeground (days.length + DateUtility.getDayOfMonth (dueDay), domain.utility.currentTheme.colorBusyDayOutsideMonth);
+                        }
+                    }
                 }
-
-                if ((dueDate.compareTo (domain.today) < 0 && item.isAssignment () && !isDone) || !isDone || (dueDate.compareTo (domain.today) >= 0 && !item.isAssignment ()))
+            }
+            else
+            {
+                if (dueDay >= today && isDone && dayIsDone (dueDay))
                 {
-                    String[] split = item.getDueDate ().split ("/");
-                    int thisYear = Integer.parseInt (split[2]);
-                    int day = Integer.parseInt (split[1]);
-                    int thisMonth = Integer.parseInt (split[0]);
-                    if (thisYear - year == 0 && thisMonth - month == 0)
+                    int day = DateUtility.getDayOfMonth (dueDay);
+                    if (DateUtility.getYear (dueDay) == year && DateUtility.getMonth (dueDay) == month)
                     {
-                        miniCalendar.getDayChooser ().setDayForeground (day, domain.utility.currentTheme.colorBusyDayInMonth);
+                        miniCalendar.getDayChooser ().setDayForeground (day, domain.utility.currentTheme.colorDoneDayInMonth);
                     }
                     else
                     {
@@ -8069,104 +7116,34 @@ public class ViewPanel extends JPanel
                         monthDate.set (Calendar.MINUTE, 00);
                         monthDate.set (Calendar.AM_PM, Calendar.PM);
 
+                        buildDaysOutsideMonth ();
                         Calendar calAft = null;
-                        try
-                        {
-                            buildDaysOutsideMonth ();
-                            int finalDay = Integer.parseInt (((JLabel) ((JPanel) ((JScrollPane) ((JViewport) daysOutsideMonth[daysOutsideMonth.length - 1].getParent ()).getParent ()).getParent ()).getComponent (0)).getText ());
-                            if (finalDay < 7)
-                            {
-                                calAft = Calendar.getInstance ();
-                                calAft.setTime (miniCalendar.getDate ());
-                                calAft.add (Calendar.MONTH, 1);
-                                calAft.set (Calendar.DAY_OF_MONTH, finalDay);
-                                calAft.set (Calendar.HOUR, 12);
-                                calAft.set (Calendar.MINUTE, 00);
-                                calAft.set (Calendar.AM_PM, Calendar.PM);
-                            }
-                        }
-                        catch (NullPointerException ex)
+                        int finalDay = Integer.parseInt (((JLabel) ((JPanel) daysOutsideMonth[daysOutsideMonth.length - 1].getParent ()).getComponent (0)).getText ());
+                        if (finalDay < 7)
                         {
+                            calAft = Calendar.getInstance ();
+                            calAft.setTime (miniCalendar.getDate ());
+                            calAft.add (Calendar.MONTH, 1);
+                            calAft.set (Calendar.DAY_OF_MONTH, finalDay);
+                            calAft.set (Calendar.HOUR, 12);
+                            calAft.set (Calendar.MINUTE, 00);
+                            calAft.set (Calendar.AM_PM, Calendar.PM);
                         }
                         if (dueDate.after (calBef.getTime ()) && dueDate.before (monthDate.getTime ()))
                         {
-                            miniCalendar.getDayChooser ().setDayForeground (lastMonthFirst - Integer.parseInt (item.getDueDate ().split ("/")[1]) - 1, domain.utility.currentTheme.colorBusyDayOutsideMonth);
+                            miniCalendar.getDayChooser ().setDayForeground (lastMonthFirst - DateUtility.getDayOfMonth (dueDay) - 1, domain.utility.currentTheme.colorDoneDayOutsideMonth);
                         }
                         else if (calAft != null)
                         {
                             monthDate.set (Calendar.DAY_OF_MONTH, monthDate.getActualMaximum (Calendar.DATE));
                             if (dueDate.after (monthDate.getTime ()) && dueDate.before (calAft.getTime ()))
                             {
-                                miniCalendar.getDayChooser ().setDayForeground (days.length + Integer.parseInt (item.getDueDate ().split ("/")[1]), domain.utility.currentTheme.colorBusyDayOutsideMonth);
-                            }
-                        }
-                    }
-                }
-                else
-                {
-                    if (dueDate.compareTo (domain.today) >= 0 && isDone && dayIsDone (dueDate))
-                    {
-                        String[] split = item.getDueDate ().split ("/");
-                        int thisYear = Integer.parseInt (split[2]);
-                        int day = Integer.parseInt (split[1]);
-                        int thisMonth = Integer.parseInt (split[0]);
-                        if (thisYear - year == 0 && thisMonth - month == 0)
-                        {
-                            miniCalendar.getDayChooser ().setDayForeground (day, domain.utility.currentTheme.colorDoneDayInMonth);
-                        }
-                        else
-                        {
-                            Calendar calBef = Calendar.getInstance ();
-                            calBef.setTime (miniCalendar.getDate ());
-                            calBef.add (Calendar.MONTH, -1);
-                            calBef.set (Calendar.DAY_OF_MONTH, lastMonthFirst);
-                            calBef.add (Calendar.DAY_OF_MONTH, -1);
-                            calBef.set (Calendar.HOUR, 12);
-                            calBef.set (Calendar.MINUTE, 00);
-                            calBef.set (Calendar.AM_PM, Calendar.PM);
-                            calBef.add (Calendar.MINUTE, -1);
-
-                            Calendar monthDate = Calendar.getInstance ();
-                            monthDate.setTime (miniCalendar.getDate ());
-                            monthDate.set (Calendar.DAY_OF_MONTH, 1);
-                            monthDate.add (Calendar.DAY_OF_MONTH, -1);
-                            monthDate.set (Calendar.HOUR, 12);
-                            monthDate.set (Calendar.MINUTE, 00);
-                            monthDate.set (Calendar.AM_PM, Calendar.PM);
-
-                            buildDaysOutsideMonth ();
-                            Calendar calAft = null;
-                            int finalDay = Integer.parseInt (((JLabel) ((JPanel) ((JScrollPane) ((JViewport) daysOutsideMonth[daysOutsideMonth.length - 1].getParent ()).getParent ()).getParent ()).getComponent (0)).getText ());
-                            if (finalDay < 7)
-                            {
-                                calAft = Calendar.getInstance ();
-                                calAft.setTime (miniCalendar.getDate ());
-                                calAft.add (Calendar.MONTH, 1);
-                                calAft.set (Calendar.DAY_OF_MONTH, finalDay);
-                                calAft.set (Calendar.HOUR, 12);
-                                calAft.set (Calendar.MINUTE, 00);
-                                calAft.set (Calendar.AM_PM, Calendar.PM);
-                            }
-                            if (dueDate.after (calBef.getTime ()) && dueDate.before (monthDate.getTime ()))
-                            {
-                                miniCalendar.getDayChooser ().setDayForeground (lastMonthFirst - Integer.parseInt (item.getDueDate ().split ("/")[1]) - 1, domain.utility.currentTheme.colorDoneDayOutsideMonth);
-                            }
-                            else if (calAft != null)
-                            {
-                                monthDate.set (Calendar.DAY_OF_MONTH, monthDate.getActualMaximum (Calendar.DATE));
-                                if (dueDate.after (monthDate.getTime ()) && dueDate.before (calAft.getTime ()))
-                                {
-                                    miniCalendar.getDayChooser ().setDayForeground (days.length + Integer.parseInt (item.getDueDate ().split ("/")[1]), domain.utility.currentTheme.colorDoneDayOutsideMonth);
-                                }
+                                miniCalendar.getDayChooser ().setDayForeground (days.length + DateUtility.getDayOfMonth (dueDay), domain.utility.currentTheme.colorDoneDayOutsideMonth);
                             }
                         }
                     }
                 }
             }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
-            }
         }
 
         if (System.getProperty ("os.name").toLowerCase ().contains ("mac"))
@@ -8188,28 +7165,21 @@ public class ViewPanel extends JPanel
      * particular day to a blue color if the day is in the future. If only some
      * of the assignments are done, the day is still shown as red.
      *
-     * @param dueDate The date to check for all assignments complete on.
+     * @param dueDay The epoch day to check for all assignments complete on.
      * @return True if all assignments are done in this day, false if any are
      * left incomplete.
      */
-    private boolean dayIsDone(Date dueDate)
+    private boolean dayIsDone(long dueDay)
     {
         boolean isDone = true;
-        for (int i = 0; i < domain.utility.assignmentsAndEvents.size (); ++i)
+        ArrayList<ListItem> items = domain.utility.dayIndex.getItems (dueDay);
+        for (int i = 0; i < items.size (); ++i)
         {
-            try
-            {
-                ListItem item = domain.utility.assignmentsAndEvents.get (i);
-                Date curDate = Domain.DATE_FORMAT.parse (item.getDueDate ());
-                if (dueDate.compareTo (curDate) == 0 && item.isAssignment () && !((Assignment) item).isDone ())
-                {
-                    isDone = false;
-                    break;
-                }
-            }
-            catch (ParseException ex)
+            ListItem item = items.get (i);
+            if (item.isAssignment () && !((Assignment) item).isDone ())
             {
-                Domain.LOGGER.add (ex);
+                isDone = false;
+                break;
             }
         }
 
@@ -8224,9 +7194,9 @@ public class ViewPanel extends JPanel
     public void refreshDayInCalendar(int index)
     {
         ArrayList<ListItem> items = new ArrayList<ListItem> ();
-        for (int i = 0; i < daysAssignmentsAndEvents[index].getComponentCount (); ++i)
+        for (int i = 0; i < daysAssignmentsAndEvents[index].getItemCount (); ++i)
         {
-            items.add ((ListItem) daysAssignmentsAndEvents[index].getComponent (i));
+            items.add (daysAssignmentsAndEvents[index].getItem (i));
         }
 
         // first add all day events
@@ -8235,7 +7205,7 @@ public class ViewPanel extends JPanel
             ListItem item = items.get (i);
             if (!item.isAssignment () && ((Event) item).isAllDay ())
             {
-                daysAssignmentsAndEvents[index].add ((Event) item);
+                daysAssignmentsAndEvents[index].addChip ((DayItemsPanel.Chip) item.getView ());
             }
         }
 
@@ -8245,7 +7215,7 @@ public class ViewPanel extends JPanel
             ListItem item = items.get (i);
             if (item.isAssignment ())
             {
-                daysAssignmentsAndEvents[index].add ((Assignment) item);
+                daysAssignmentsAndEvents[index].addChip ((DayItemsPanel.Chip) item.getView ());
             }
         }
 
@@ -8264,7 +7234,7 @@ public class ViewPanel extends JPanel
 
         for (int i = 0; i < timedEvents.size (); ++i)
         {
-            daysAssignmentsAndEvents[index].add (timedEvents.get (i));
+            daysAssignmentsAndEvents[index].addChip ((DayItemsPanel.Chip) timedEvents.get (i).getView ());
         }
     }
 
@@ -8281,21 +7251,15 @@ public class ViewPanel extends JPanel
             swapped = false;
             for (int i = 0; i < timedEvents.size () - 1; ++i)
             {
-                try
+                Event first = timedEvents.get (i);
+                Event second = timedEvents.get (i + 1);
+                long firstTime = first.getDueDay () * DateUtility.MINUTES_PER_DAY + first.getDueMinute ();
+                long secondTime = second.getDueDay () * DateUtility.MINUTES_PER_DAY + second.getDueMinute ();
+                if (firstTime > secondTime)
                 {
-                    Date firstDate = Domain.DATE_AND_TIME_FORMAT.parse (timedEvents.get (i).getDueDate () + " " + timedEvents.get (i).getStartTime (0) + ":" + timedEvents.get (i).getStartTime (1) + " " + timedEvents.get (i).getStartTime (2));
-                    Date secondDate = Domain.DATE_AND_TIME_FORMAT.parse (timedEvents.get (i + 1).getDueDate () + " " + timedEvents.get (i + 1).getStartTime (0) + ":" + timedEvents.get (i + 1).getStartTime (1) + " " + timedEvents.get (i + 1).getStartTime (2));
-                    if (firstDate.after (secondDate))
-                    {
-                        Event temp = timedEvents.get (i);
-                        timedEvents.set (i, timedEvents.get (i + 1));
-                        timedEvents.set (i + 1, temp);
-                        swapped = true;
-                    }
-                }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
+                    timedEvents.set (i, second);
+                    timedEvents.set (i + 1, first);
+                    swapped = true;
                 }
             }
         }
@@ -8326,93 +7290,54 @@ public class ViewPanel extends JPanel
                     if (Integer.parseInt (ViewPanel.OPTION_PANE.getValue ().toString ()) == ONLY_THIS_INSTANCE_OPTION)
                     {
                         // remove the attachment to repetition
+                        domain.excludeFromSeries (event);
                         event.getRepeating ().setID (-1);
                         domain.utility.repeatingEvents.remove (event);
+                        domain.keepOccurrence (event);
 
                         // update this instance of the event
-                        event.setItemName (eventNameTextField.getText ());
-                        event.setStartTime (0, Domain.HR_FORMAT.format (eventStartHrChooser.getValue ()));
-                        event.setStartTime (1, Domain.MIN_FORMAT.format (eventStartMinChooser.getValue ()));
-                        event.setStartTime (2, Domain.M_FORMAT.format (eventStartMChooser.getValue ()));
-                        event.setEndTime (0, Domain.HR_FORMAT.format (eventEndHrChooser.getValue ()));
-                        event.setEndTime (1, Domain.MIN_FORMAT.format (eventEndMinChooser.getValue ()));
-                        event.setEndTime (2, Domain.M_FORMAT.format (eventEndMChooser.getValue ()));
-                        event.setIsAllDay (allDayEventCheckBox.isSelected ());
-                        event.setCategory (domain.utility.preferences.categories.get (categoryComboBox.getSelectedIndex ()));
-                        event.setEventLocation (locationTextField.getText ());
-                        event.setDescription (descriptionTextArea.getText ());
-                        event.getEventYear ().markChanged ();
-
+                        applyEventChanges (event);
                         refreshAssignmentsRowAt (index);
-                        event.refreshText ();
                     }
                     else if (Integer.parseInt (ViewPanel.OPTION_PANE.getValue ().toString ()) == ALL_IN_SERIES_OPTION)
                     {
-                        // scan through all repeating events, update ones with matching repeating IDs
-                        for (int i = 0; i < domain.utility.repeatingEvents.size (); ++i)
+                        // update every instance in the series, then refresh their rows together
+                        ArrayList<Event> series = domain.utility.getRepeatingSeries (event.getRepeating ().getID ());
+                        ArrayList<Object[]> rows = new ArrayList<Object[]> (series.size ());
+                        for (int i = 0; i < series.size (); ++i)
                         {
-                            Event repEvent = domain.utility.repeatingEvents.get (i);
-                            if (repEvent.getRepeating ().getID () == event.getRepeating ().getID ())
-                            {
-                                // update this instance of the event
-                                repEvent.setItemName (eventNameTextField.getText ());
-                                repEvent.setStartTime (0, Domain.HR_FORMAT.format (eventStartHrChooser.getValue ()));
-                                repEvent.setStartTime (1, Domain.MIN_FORMAT.format (eventStartMinChooser.getValue ()));
-                                repEvent.setStartTime (2, Domain.M_FORMAT.format (eventStartMChooser.getValue ()));
-                                repEvent.setEndTime (0, Domain.HR_FORMAT.format (eventEndHrChooser.getValue ()));
-                                repEvent.setEndTime (1, Domain.MIN_FORMAT.format (eventEndMinChooser.getValue ()));
-                                repEvent.setEndTime (2, Domain.M_FORMAT.format (eventEndMChooser.getValue ()));
-                                repEvent.setIsAllDay (allDayEventCheckBox.isSelected ());
-                                repEvent.setCategory (domain.utility.preferences.categories.get (categoryComboBox.getSelectedIndex ()));
-                                repEvent.setEventLocation (locationTextField.getText ());
-                                repEvent.setDescription (descriptionTextArea.getText ());
-                                repEvent.getEventYear ().markChanged ();
-
-                                refreshAssignmentsRowAt (domain.utility.getAssignmentOrEventIndexByID (repEvent.getUniqueID ()));
-                                repEvent.refreshText ();
-                            }
+                            applyEventChanges (series.get (i));
+                            rows.add (series.get (i).getRowObject ());
                         }
+                        assignmentsTableModel.updateRows (rows);
                     }
                     else if (Integer.parseInt (ViewPanel.OPTION_PANE.getValue ().toString ()) == ALL_FOLLOWING_OPTION)
                     {
                         long newID = System.currentTimeMillis ();
                         long oldID = event.getRepeating ().getID ();
+                        long day = event.getDueDay ();
 
-                        // scan through all following repeating events, update ones with matching repeating IDs
-                        for (int i = 0; i < domain.utility.repeatingEvents.size (); ++i)
+                        // update this and all following instances in the series, then refresh their rows together
+                        ArrayList<Event> series = domain.utility.getRepeatingSeries (oldID);
+                        ArrayList<Object[]> rows = new ArrayList<Object[]> (series.size ());
+                        for (int i = 0; i < series.size (); ++i)
                         {
-                            Event repEvent = domain.utility.repeatingEvents.get (i);
-                            try
+                            Event repEvent = series.get (i);
+                            if (repEvent.getDueDay () >= day)
                             {
-                                if (repEvent.getRepeating ().getID () == oldID
-                                    && Domain.DATE_FORMAT.parse (event.getDueDate ()).compareTo (Domain.DATE_FORMAT.parse (repEvent.getDueDate ())) <= 0)
-                                {
-                                    // update this instance of the event
-                                    repEvent.setItemName (eventNameTextField.getText ());
-                                    repEvent.setStartTime (0, Domain.HR_FORMAT.format (eventStartHrChooser.getValue ()));
-                                    repEvent.setStartTime (1, Domain.MIN_FORMAT.format (eventStartMinChooser.getValue ()));
-                                    repEvent.setStartTime (2, Domain.M_FORMAT.format (eventStartMChooser.getValue ()));
-                                    repEvent.setEndTime (0, Domain.HR_FORMAT.format (eventEndHrChooser.getValue ()));
-                                    repEvent.setEndTime (1, Domain.MIN_FORMAT.format (eventEndMinChooser.getValue ()));
-                                    repEvent.setEndTime (2, Domain.M_FORMAT.format (eventEndMChooser.getValue ()));
-                                    repEvent.setIsAllDay (allDayEventCheckBox.isSelected ());
-                                    repEvent.setCategory (domain.utility.preferences.categories.get (categoryComboBox.getSelectedIndex ()));
-                                    repEvent.setEventLocation (locationTextField.getText ());
-                                    repEvent.setDescription (descriptionTextArea.getText ());
-                                    repEvent.getEventYear ().markChanged ();
-
-                                    refreshAssignmentsRowAt (domain.utility.getAssignmentOrEventIndexByID (repEvent.getUniqueID ()));
-                                    repEvent.refreshText ();
-
-                                    // since this is now a separate repetition instance, create it with the new repeating ID
-                                    repEvent.getRepeating ().setID (newID);
-                                }
-                            }
-                            catch (ParseException ex)
-                            {
-                                Domain.LOGGER.add (ex);
+                                applyEventChanges (repEvent);
+                                rows.add (repEvent.getRowObject ());
+
+                                // since this is now a separate repetition instance, create it with the new repeating ID
+                                repEvent.getRepeating ().setID (newID);
+                                repEvent.getRepeating ().setStartDay (day);
                             }
                         }
+                        assignmentsTableModel.updateRows (rows);
+                        // this event begins the new series, so it holds its rule
+                        domain.keepOccurrence (event);
+                        // the preceding instances must not continue on past where the new series begins
+                        domain.setRepeatingEndDay (oldID, event.getDueDay () - 1);
                     }
                     else
                     {
@@ -8525,14 +7450,7 @@ public class ViewPanel extends JPanel
                 else
                 {
                     showEventDetails (domain.currentIndexFromVector);
-                    try
-                    {
-                        tempEvent = domain.createCloneObject ((Event) item, domain.utility, Domain.DATE_FORMAT.parse (item.getDueDate ()), false);
-                    }
-                    catch (ParseException ex)
-                    {
-                        Domain.LOGGER.add (ex);
-                    }
+                    tempEvent = domain.createCloneObject ((Event) item, domain.utility, item.getDueDay (), false);
                 }
                 cloneButton.setEnabled (true);
                 removeButton.setEnabled (true);
@@ -8766,19 +7684,13 @@ public class ViewPanel extends JPanel
             // only scroll if the assignments and events are sorted by due date
             if (domain.utility.preferences.sortIndex == 4)
             {
+                long today = DateUtility.toEpochDay (domain.today);
                 for (int i = 0; i < domain.utility.assignmentsAndEvents.size (); ++i)
                 {
-                    try
-                    {
-                        if (!Domain.DATE_FORMAT.parse (domain.utility.assignmentsAndEvents.get (i).getDueDate ()).before (domain.today))
-                        {
-                            id = domain.utility.assignmentsAndEvents.get (i).getUniqueID ();
-                            break;
-                        }
-                    }
-                    catch (ParseException ex)
+                    if (domain.utility.assignmentsAndEvents.get (i).getDueDay () >= today)
                     {
-                        Domain.LOGGER.add (ex);
+                        id = domain.utility.assignmentsAndEvents.get (i).getUniqueID ();
+                        break;
                     }
                 }
             }
@@ -9108,14 +8020,7 @@ public class ViewPanel extends JPanel
             domain.utility.loadDetailsTypeBox ();
 
             Assignment assignment = (Assignment) domain.utility.assignmentsAndEvents.get (index);
-            try
-            {
-                dueDateChooser.setDate (Domain.DATE_FORMAT.parse (assignment.getDueDate ()));
-            }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
-            }
+            dueDateChooser.setDate (DateUtility.toDate (assignment.getDueDay ()));
             try
             {
                 dueHrChooser.setValue (Domain.HR_FORMAT.parse (assignment.getDueTime (0)));
@@ -9164,23 +8069,16 @@ public class ViewPanel extends JPanel
             ((TitledBorder) rightPanel.getBorder ()).setTitle (domain.language.getString ("assignmentDetails"));
             rightPanel.invalidate ();
 
-            if (middleTabbedPane.getSelectedIndex () == 1 && assignment.getParent () != null)
+            if (middleTabbedPane.getSelectedIndex () == 1 && getDayPanelOf (assignment) != null)
             {
                 if (selectedDayPanel != null)
                 {
                     selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
                 }
-                selectedDayPanel = (JPanel) assignment.getParent ().getParent ().getParent ().getParent ();
+                selectedDayPanel = getDayPanelOf (assignment);
                 selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
             }
-            try
-            {
-                miniCalendar.setDate (Domain.DATE_FORMAT.parse (assignment.getDueDate ()));
-            }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
-            }
+            miniCalendar.setDate (DateUtility.toDate (assignment.getDueDay ()));
             refreshBusyDays ();
 
             assignmentNameTextField.setText (assignment.getItemName ());
@@ -9209,14 +8107,7 @@ public class ViewPanel extends JPanel
         domain.refreshCategoryComboModel ();
 
         Event event = (Event) domain.utility.assignmentsAndEvents.get (index);
-        try
-        {
-            eventDateChooser.setDate (Domain.DATE_FORMAT.parse (event.getDueDate ()));
-        }
-        catch (ParseException ex)
-        {
-            Domain.LOGGER.add (ex);
-        }
+        eventDateChooser.setDate (DateUtility.toDate (event.getDueDay ()));
         try
         {
             eventStartHrChooser.setValue (Domain.HR_FORMAT.parse (event.getStartTime (0)));
@@ -9290,23 +8181,16 @@ public class ViewPanel extends JPanel
         ((TitledBorder) rightPanel.getBorder ()).setTitle (domain.language.getString ("eventDetails"));
         rightPanel.invalidate ();
 
-        if (middleTabbedPane.getSelectedIndex () == 1 && event.getParent () != null)
+        if (middleTabbedPane.getSelectedIndex () == 1 && getDayPanelOf (event) != null)
         {
             if (selectedDayPanel != null)
             {
                 selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
             }
-            selectedDayPanel = (JPanel) event.getParent ().getParent ().getParent ().getParent ();
+            selectedDayPanel = getDayPanelOf (event);
             selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
         }
-        try
-        {
-            miniCalendar.setDate (Domain.DATE_FORMAT.parse (event.getDueDate ()));
-        }
-        catch (ParseException ex)
-        {
-            Domain.LOGGER.add (ex);
-        }
+        miniCalendar.setDate (DateUtility.toDate (event.getDueDay ()));
         refreshBusyDays ();
 
         eventNameTextField.setText (event.getItemName ());
@@ -9626,11 +8510,13 @@ public class ViewPanel extends JPanel
         int lastDate = cal.getActualMaximum (Calendar.DATE);
         cal.set (Calendar.DAY_OF_MONTH, lastDate);
         int lastDay = cal.get (Calendar.DAY_OF_MONTH);
-        daysAssignmentsAndEvents = new JPanel[lastDay];
+        daysAssignmentsAndEvents = new DayItemsPanel[lastDay];
         days = new ColoredJPanel[lastDay];
 
-        int numWeeks = cal.get (Calendar.WEEK_OF_MONTH);
-        if (numWeeks > 5)
+        // the sixth week is only added or removed when the number of weeks
+        // differs from the month shown before
+        boolean sixWeeks = cal.get (Calendar.WEEK_OF_MONTH) > 5;
+        if (sixWeeks && extraDayPanel1.getParent () != monthDaysPanel)
         {
             monthDaysPanel.setLayout (new GridLayout (6, 7));
             monthDaysPanel.add (extraDayPanel1);
@@ -9641,6 +8527,17 @@ public class ViewPanel extends JPanel
             monthDaysPanel.add (extraDayPanel6);
             monthDaysPanel.add (extraDayPanel7);
         }
+        else if (!sixWeeks && extraDayPanel1.getParent () == monthDaysPanel)
+        {
+            monthDaysPanel.remove (extraDayPanel1);
+            monthDaysPanel.remove (extraDayPanel2);
+            monthDaysPanel.remove (extraDayPanel3);
+            monthDaysPanel.remove (extraDayPanel4);
+            monthDaysPanel.remove (extraDayPanel5);
+            monthDaysPanel.remove (extraDayPanel6);
+            monthDaysPanel.remove (extraDayPanel7);
+            monthDaysPanel.setLayout (new GridLayout (5, 7));
+        }
 
         cal.set (Calendar.DAY_OF_MONTH, 1);
         int firstDay = cal.get (Calendar.DAY_OF_WEEK);
@@ -9655,7 +8552,7 @@ public class ViewPanel extends JPanel
         backCal.add (Calendar.MONTH, 1);
         backCal.set (Calendar.DAY_OF_MONTH, backCal.getActualMaximum (Calendar.DATE));
         int lastDayOfWeek = backCal.get (Calendar.DAY_OF_WEEK);
-        daysOutsideMonth = new JPanel[firstDay - 1 + 7 - lastDayOfWeek];
+        daysOutsideMonth = new DayItemsPanel[firstDay - 1 + 7 - lastDayOfWeek];
 
         int outsideMonthIndex = 0;
         for (int i = firstDay - 2; i >= 0; --i)
@@ -9666,7 +8563,7 @@ public class ViewPanel extends JPanel
             label.setText (maxDay + "");
             days[i].setBorder (UNSELECTED_DAY_BORDER);
             days[i].setBackground (domain.utility.currentTheme.colorDayNotInMonthBackground1, domain.utility.currentTheme.colorDayNotInMonthBackground2);
-            daysOutsideMonth[outsideMonthIndex] = (JPanel) ((JViewport) ((JScrollPane) ((JPanel) monthDaysPanel.getComponent (i)).getComponent (1)).getComponent (0)).getComponent (0);
+            daysOutsideMonth[outsideMonthIndex] = (DayItemsPanel) ((JPanel) monthDaysPanel.getComponent (i)).getComponent (1);
             ++outsideMonthIndex;
             --maxDay;
         }
@@ -9679,7 +8576,7 @@ public class ViewPanel extends JPanel
             label.setForeground (domain.utility.currentTheme.colorDayInMonthText);
             label.setText (dayNumber + "");
             days[dayNumber - 1].setBackground (domain.utility.currentTheme.colorDayInMonthBackground1, domain.utility.currentTheme.colorDayInMonthBackground2);
-            daysAssignmentsAndEvents[dayNumber - 1] = (JPanel) ((JViewport) ((JScrollPane) ((JPanel) monthDaysPanel.getComponent (i)).getComponent (1)).getComponent (0)).getComponent (0);
+            daysAssignmentsAndEvents[dayNumber - 1] = (DayItemsPanel) ((JPanel) monthDaysPanel.getComponent (i)).getComponent (1);
             terminal = i;
         }
         int nextTerminal = terminal;
@@ -9691,7 +8588,7 @@ public class ViewPanel extends JPanel
             JLabel label = ((JLabel) monthDayPanel.getComponent (0));
             label.setForeground (domain.utility.currentTheme.colorDayNotInMonthText);
             label.setText (j + "");
-            daysOutsideMonth[outsideMonthIndex] = (JPanel) ((JViewport) ((JScrollPane) ((JPanel) monthDaysPanel.getComponent (i)).getComponent (1)).getComponent (0)).getComponent (0);
+            daysOutsideMonth[outsideMonthIndex] = (DayItemsPanel) ((JPanel) monthDaysPanel.getComponent (i)).getComponent (1);
             ++outsideMonthIndex;
             nextTerminal = j;
         }
@@ -9703,73 +8600,35 @@ public class ViewPanel extends JPanel
     }
 
     /**
-     * Resets the calendar month view to a default, blank template.
+     * Resets the day labels of the calendar month view to their default color.
+     * The day panels and the views in them are left in place, so that laying
+     * out the next month only has to move what changed.
      */
     private void resetCalendarMonth()
     {
-        extraDay1.removeAll ();
-        extraDay1.invalidate ();
-        monthDaysPanel.remove (extraDayPanel1);
-        extraDay2.removeAll ();
-        extraDay2.invalidate ();
-        monthDaysPanel.remove (extraDayPanel2);
-        extraDay3.removeAll ();
-        extraDay3.invalidate ();
-        monthDaysPanel.remove (extraDayPanel3);
-        extraDay4.removeAll ();
-        extraDay4.invalidate ();
-        monthDaysPanel.remove (extraDayPanel4);
-        extraDay5.removeAll ();
-        extraDay5.invalidate ();
-        monthDaysPanel.remove (extraDayPanel5);
-        extraDay6.removeAll ();
-        extraDay6.invalidate ();
-        monthDaysPanel.remove (extraDayPanel6);
-        extraDay7.removeAll ();
-        extraDay7.invalidate ();
-        monthDaysPanel.remove (extraDayPanel7);
-        monthDaysPanel.setLayout (new GridLayout (5, 7));
-
-        // set all month labels to their default color
         for (int i = 0; i < monthDaysPanel.getComponentCount (); ++i)
         {
             ((JPanel) monthDaysPanel.getComponent (i)).getComponent (0).setForeground (domain.utility.currentTheme.colorDayInMonthText);
         }
+    }
 
-        // remove all listeners from assignments and events from day panels
-        for (int i = 0; i < shownAssignments.size (); ++i)
-        {
-            try
-            {
-                JPanel parent = (JPanel) shownAssignments.get (i).getParent ();
-                // if the parent is null, the assignment has already been removed
-                if (parent != null)
-                {
-                    parent.remove (shownAssignments.get (i));
-                    parent.invalidate ();
-                }
-            }
-            catch (NullPointerException ex)
-            {
-                Domain.LOGGER.add (ex);
-            }
-        }
-        // remove all listeners from assignments and events  from day panels
-        for (int i = 0; i < shownEvents.size (); ++i)
+    /**
+     * Returns the views of the given items that are no longer among the shown
+     * assignments and events to the pool.
+     *
+     * @param previouslyShown The items shown before the calendar was laid out
+     * again.
+     */
+    private void releaseNoLongerShown(ArrayList<ListItem> previouslyShown)
+    {
+        Set<ListItem> shown = Collections.newSetFromMap (new IdentityHashMap<ListItem, Boolean> ());
+        shown.addAll (shownAssignments);
+        shown.addAll (shownEvents);
+        for (int i = 0; i < previouslyShown.size (); ++i)
         {
-            try
+            if (!shown.contains (previouslyShown.get (i)))
             {
-                JPanel parent = (JPanel) shownEvents.get (i).getParent ();
-                // if the parent is null, the event has already been removed
-                if (parent != null)
-                {
-                    parent.remove (shownEvents.get (i));
-                    parent.invalidate ();
-                }
-            }
-            catch (NullPointerException ex)
-            {
-                Domain.LOGGER.add (ex);
+                VIEW_POOL.release (previouslyShown.get (i));
             }
         }
     }
@@ -9795,30 +8654,6 @@ public class ViewPanel extends JPanel
         if (add)
         {
             shownAssignments.add (assignment);
-
-            if (assignment.getLabel ().getMouseListeners ().length == 0)
-            {
-                assignment.getLabel ().addMouseListener (new MouseAdapter ()
-                {
-                    @Override
-                    public void mouseReleased(MouseEvent evt)
-                    {
-                        assignmentMousePressed (evt);
-                    }
-                });
-            }
-            if (assignment.getCheckBox ().getItemListeners ().length == 0)
-            {
-                assignment.getCheckBox ().addItemListener (new ItemListener ()
-                {
-                    @Override
-                    public void itemStateChanged(ItemEvent evt)
-                    {
-                        assignmentItemStateChanged (evt);
-                    }
-                });
-            }
-            DRAG_SOURCE.createDefaultDragGestureRecognizer (assignment.getLabel (), DnDConstants.ACTION_MOVE, DND_LISTENER);
         }
     }
 
@@ -9832,36 +8667,169 @@ public class ViewPanel extends JPanel
     private void checkAndAddEvent(int i, Event event)
     {
         boolean add = true;
-        try
-        {
-            if (!domain.utility.isWithinFilteredScope (i)
-                || domain.utility.preferences.filter1Index == 1
-                || ((domain.utility.preferences.filter2Index == 1 || domain.utility.preferences.filter2Index == 3) && Domain.DATE_FORMAT.parse (event.getDueDate ()).after (domain.today))
-                || (domain.utility.preferences.filter2Index == 2 && Domain.DATE_FORMAT.parse (event.getDueDate ()).before (domain.today)))
-            {
-                add = false;
-            }
-        }
-        catch (ParseException ex)
+        long today = DateUtility.toEpochDay (domain.today);
+        if (!domain.utility.isWithinFilteredScope (i)
+            || domain.utility.preferences.filter1Index == 1
+            || ((domain.utility.preferences.filter2Index == 1 || domain.utility.preferences.filter2Index == 3) && event.getDueDay () > today)
+            || (domain.utility.preferences.filter2Index == 2 && event.getDueDay () < today))
         {
-            Domain.LOGGER.add (ex);
+            add = false;
         }
         if (add)
         {
             shownEvents.add (event);
+        }
+    }
 
-            if (event.getMouseListeners ().length == 0)
-            {
-                event.getLabel ().addMouseListener (new MouseAdapter ()
+    /**
+     * Retrieves the assignments and events due within the month selected in
+     * the mini calendar or the partial weeks shown on either side of it.
+     *
+     * @return The assignments and events around the selected month, in list
+     * order.
+     */
+    private ArrayList<ListItem> getItemsAroundMonth()
+    {
+        long[] window = getDaysAroundMonth ();
+
+        return domain.utility.getAssignmentsAndEventsBetween (window[0], window[1]);
+    }
+
+    /**
+     * Retrieves the day panel in Calendar View the given assignment or event
+     * is shown in.
+     *
+     * @param item The assignment or event.
+     * @return The day panel, or null if the item is not on screen.
+     */
+    private JPanel getDayPanelOf(ListItem item)
+    {
+        DayItemsPanel.Chip chip = (DayItemsPanel.Chip) item.getView ();
+        if (chip == null || chip.getPanel () == null)
+        {
+            return null;
+        }
+        return (JPanel) chip.getPanel ().getParent ();
+    }
+
+    /**
+     * Counts the months from the given day forward to the month selected in
+     * the mini calendar.
+     *
+     * @param day The epoch day.
+     * @return Zero if the day is in the selected month, positive if it is in
+     * an earlier month, or negative if it is in a later month.
+     */
+    private int getMonthsFromMiniCalendar(long day)
+    {
+        Calendar cal = miniCalendar.getCalendar ();
+        return (cal.get (Calendar.YEAR) - DateUtility.getYear (day)) * 12 + cal.get (Calendar.MONTH) + 1 - DateUtility.getMonth (day);
+    }
+
+    /**
+     * Retrieves the range of days within the month selected in the mini
+     * calendar and the partial weeks shown on either side of it.
+     *
+     * @return The first and last epoch days of the range, inclusive.
+     */
+    private long[] getDaysAroundMonth()
+    {
+        Calendar cal = Calendar.getInstance ();
+        cal.setTime (miniCalendar.getDate ());
+        cal.set (Calendar.DAY_OF_MONTH, 1);
+        long firstDay = DateUtility.toEpochDay (cal);
+
+        return new long[]
                 {
-                    @Override
-                    public void mouseReleased(MouseEvent evt)
+                    firstDay - 7, firstDay + cal.getActualMaximum (Calendar.DATE) + 14
+                };
+    }
+
+    /**
+     * Produces the occurrences of repeating events that any open view can
+     * show: the days shown around the month selected in the mini calendar,
+     * and the days the assignments list shows under the given filters.
+     *
+     * @param filter1 The first filter index.
+     * @param filter2 The second filter index.
+     * @return True if any occurrences were produced, false otherwise.
+     */
+    private boolean expandRepeatingEvents(int filter1, int filter2)
+    {
+        long[] days = getDaysAroundMonth ();
+        long[] listDays = getListDays (filter1, filter2);
+        if (listDays != null)
+        {
+            days[0] = Math.min (days[0], listDays[0]);
+            days[1] = Math.max (days[1], listDays[1]);
+        }
+
+        return domain.expandRepeatingEvents (days[0], days[1]);
+    }
+
+    /**
+     * Retrieves the range of days the assignments list can show events for
+     * under the given filters, if the list is the selected view.
+     *
+     * @param filter1 The first filter index.
+     * @param filter2 The second filter index.
+     * @return The first and last epoch days of the range, inclusive, or null
+     * if the list is not shown or shows no events.
+     */
+    private long[] getListDays(int filter1, int filter2)
+    {
+        // events are hidden from the list entirely by the first filter
+        if (middleTabbedPane.getSelectedIndex () != 0 || filter1 == 1)
+        {
+            return null;
+        }
+
+        long today = DateUtility.toEpochDay (Calendar.getInstance ());
+        if (filter2 == 2)
+        {
+            return new long[]
                     {
-                        eventMouseReleased (evt);
-                    }
-                });
-            }
-            DRAG_SOURCE.createDefaultDragGestureRecognizer (event.getLabel (), DnDConstants.ACTION_MOVE, DND_LISTENER);
+                        today, Long.MAX_VALUE
+                    };
+        }
+        else if (filter2 == 1 || filter2 == 3)
+        {
+            return new long[]
+                    {
+                        Long.MIN_VALUE, today
+                    };
+        }
+        return new long[]
+                {
+                    Long.MIN_VALUE, Long.MAX_VALUE
+                };
+    }
+
+    /**
+     * Requests the events the assignments list can show under the given
+     * filters, if the list is the selected view.
+     *
+     * @param filter1 The first filter index.
+     * @param filter2 The second filter index.
+     */
+    private void requestListEventYears(int filter1, int filter2)
+    {
+        long[] listDays = getListDays (filter1, filter2);
+        if (listDays != null)
+        {
+            domain.utility.requestEventYears (listDays[0], listDays[1]);
+        }
+    }
+
+    /**
+     * Refreshes the views once event years loaded in the background have been
+     * merged into the assignments and events list.
+     */
+    public void eventYearsLoaded()
+    {
+        if (!initLoading)
+        {
+            filter (true);
         }
     }
 
@@ -9880,6 +8848,19 @@ public class ViewPanel extends JPanel
         int year = cal.get (Calendar.YEAR);
         currentMonthLabel.setText (miniCalendar.getMonthChooser ().getComboBoxObj ().getItemAt (month).toString ());
         currentYearLabel.setText (year + "");
+        long[] window = getDaysAroundMonth ();
+        domain.utility.requestEventYears (window[0], window[1]);
+        if (expandRepeatingEvents (domain.utility.preferences.filter1Index, domain.utility.preferences.filter2Index))
+        {
+            // newly created instances of repeating events must be filtered
+            // and sorted into the list before they can be shown
+            filter (reselect);
+        }
+        // the views of items still shown are moved rather than rebound, and
+        // only those no longer shown are returned to the pool
+        ArrayList<ListItem> previouslyShown = new ArrayList<ListItem> (shownAssignments.size () + shownEvents.size ());
+        previouslyShown.addAll (shownAssignments);
+        previouslyShown.addAll (shownEvents);
         resetCalendarMonth ();
         shownAssignments.clear ();
         shownEvents.clear ();
@@ -9898,34 +8879,27 @@ public class ViewPanel extends JPanel
             label.setText ("<html><b>" + label.getText () + "</b></html>");
         }
 
-        for (int i = 0; i < domain.utility.assignmentsAndEvents.size (); ++i)
+        ArrayList<ListItem> items = getItemsAroundMonth ();
+        for (int j = 0; j < items.size (); ++j)
         {
-            ListItem item = domain.utility.assignmentsAndEvents.get (i);
+            ListItem item = items.get (j);
+            int i = domain.utility.assignmentsAndEvents.indexOf (item);
             item.refreshText ();
-            String[] split = item.getDueDate ().split ("/");
-            try
+            long dueDay = item.getDueDay ();
+            int dayOfMonth = DateUtility.getDayOfMonth (dueDay);
+            int diff = getMonthsFromMiniCalendar (dueDay);
+            if (diff == 0
+                || (diff == -1 && dayOfMonth <= nextMonthLast)
+                || (diff == 1 && dayOfMonth >= lastMonthFirst))
             {
-                Calendar cal2 = Calendar.getInstance ();
-                cal2.setTime (Domain.DATE_FORMAT.parse (item.getDueDate ()));
-                int yearDiff = cal2.get (Calendar.YEAR) - miniCalendar.getCalendar ().get (Calendar.YEAR);
-                int diff = miniCalendar.getCalendar ().get (Calendar.MONTH) - cal2.get (Calendar.MONTH) - yearDiff * 12;
-                if (diff == 0
-                    || (diff == -1 && Integer.parseInt (split[1]) <= nextMonthLast)
-                    || (diff == 1 && Integer.parseInt (split[1]) >= lastMonthFirst))
+                if (item.isAssignment ())
                 {
-                    if (item.isAssignment ())
-                    {
-                        checkAndAddAssignment (i, (Assignment) item);
-                    }
-                    else
-                    {
-                        checkAndAddEvent (i, (Event) item);
-                    }
+                    checkAndAddAssignment (i, (Assignment) item);
+                }
+                else
+                {
+                    checkAndAddEvent (i, (Event) item);
                 }
-            }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
             }
         }
 
@@ -9933,36 +8907,31 @@ public class ViewPanel extends JPanel
         for (int i = 0; i < shownEvents.size (); ++i)
         {
             Event event = shownEvents.get (i);
-            String[] split = event.getDueDate ().split ("/");
+            long dueDay = event.getDueDay ();
+            int dayOfMonth = DateUtility.getDayOfMonth (dueDay);
             try
             {
-                Calendar cal2 = Calendar.getInstance ();
-                cal2.setTime (Domain.DATE_FORMAT.parse (event.getDueDate ()));
-                int yearDiff = cal2.get (Calendar.YEAR) - miniCalendar.getCalendar ().get (Calendar.YEAR);
-                int diff = miniCalendar.getCalendar ().get (Calendar.MONTH) - cal2.get (Calendar.MONTH) - yearDiff * 12;
+                int diff = getMonthsFromMiniCalendar (dueDay);
                 if (event.isAllDay ())
                 {
                     if (diff == 0)
                     {
-                        daysAssignmentsAndEvents[Integer.parseInt (split[1]) - 1].add (event);
+                        daysAssignmentsAndEvents[dayOfMonth - 1].addChip (VIEW_POOL.acquire (event));
                     }
                     else if (diff == 1)
                     {
-                        daysOutsideMonth[lastMonthLast - Integer.parseInt (split[1])].add (event);
+                        daysOutsideMonth[lastMonthLast - dayOfMonth].addChip (VIEW_POOL.acquire (event));
                     }
                     else if (diff == -1)
                     {
-                        daysOutsideMonth[Integer.parseInt (split[1]) + lastMonthLast - lastMonthFirst].add (event);
+                        daysOutsideMonth[dayOfMonth + lastMonthLast - lastMonthFirst].addChip (VIEW_POOL.acquire (event));
                     }
                 }
             }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
-            }
             catch (ArrayIndexOutOfBoundsException ex)
             {
                 shownEvents.remove (event);
+                VIEW_POOL.release (event);
             }
         }
 
@@ -9970,33 +8939,28 @@ public class ViewPanel extends JPanel
         for (int i = 0; i < shownAssignments.size (); ++i)
         {
             Assignment assignment = shownAssignments.get (i);
-            String[] split = assignment.getDueDate ().split ("/");
+            long dueDay = assignment.getDueDay ();
+            int dayOfMonth = DateUtility.getDayOfMonth (dueDay);
             try
             {
-                Calendar cal2 = Calendar.getInstance ();
-                cal2.setTime (Domain.DATE_FORMAT.parse (assignment.getDueDate ()));
-                int yearDiff = cal2.get (Calendar.YEAR) - miniCalendar.getCalendar ().get (Calendar.YEAR);
-                int diff = miniCalendar.getCalendar ().get (Calendar.MONTH) - cal2.get (Calendar.MONTH) - yearDiff * 12;
+                int diff = getMonthsFromMiniCalendar (dueDay);
                 if (diff == 0)
                 {
-                    daysAssignmentsAndEvents[Integer.parseInt (split[1]) - 1].add (assignment);
+                    daysAssignmentsAndEvents[dayOfMonth - 1].addChip (VIEW_POOL.acquire (assignment));
                 }
                 else if (diff == 1)
                 {
-                    daysOutsideMonth[lastMonthLast - Integer.parseInt (split[1])].add (assignment);
+                    daysOutsideMonth[lastMonthLast - dayOfMonth].addChip (VIEW_POOL.acquire (assignment));
                 }
                 else if (diff == -1)
                 {
-                    daysOutsideMonth[Integer.parseInt (split[1]) + lastMonthLast - lastMonthFirst].add (assignment);
+                    daysOutsideMonth[dayOfMonth + lastMonthLast - lastMonthFirst].addChip (VIEW_POOL.acquire (assignment));
                 }
             }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
-            }
             catch (ArrayIndexOutOfBoundsException ex)
             {
                 shownAssignments.remove (assignment);
+                VIEW_POOL.release (assignment);
             }
         }
 
@@ -10016,36 +8980,33 @@ public class ViewPanel extends JPanel
         for (int i = 0; i < timedEvents.size (); ++i)
         {
             Event event = timedEvents.get (i);
-            String[] split = event.getDueDate ().split ("/");
+            long dueDay = event.getDueDay ();
+            int dayOfMonth = DateUtility.getDayOfMonth (dueDay);
             try
             {
-                Calendar cal2 = Calendar.getInstance ();
-                cal2.setTime (Domain.DATE_FORMAT.parse (event.getDueDate ()));
-                int yearDiff = cal2.get (Calendar.YEAR) - miniCalendar.getCalendar ().get (Calendar.YEAR);
-                int diff = miniCalendar.getCalendar ().get (Calendar.MONTH) - cal2.get (Calendar.MONTH) - yearDiff * 12;
+                int diff = getMonthsFromMiniCalendar (dueDay);
                 if (diff == 0)
                 {
-                    daysAssignmentsAndEvents[Integer.parseInt (split[1]) - 1].add (event);
+                    daysAssignmentsAndEvents[dayOfMonth - 1].addChip (VIEW_POOL.acquire (event));
                 }
                 else if (diff == 1)
                 {
-                    daysOutsideMonth[lastMonthLast - Integer.parseInt (split[1])].add (event);
+                    daysOutsideMonth[lastMonthLast - dayOfMonth].addChip (VIEW_POOL.acquire (event));
                 }
                 else if (diff == -1)
                 {
-                    daysOutsideMonth[Integer.parseInt (split[1]) + lastMonthLast - lastMonthFirst].add (event);
+                    daysOutsideMonth[dayOfMonth + lastMonthLast - lastMonthFirst].addChip (VIEW_POOL.acquire (event));
                 }
             }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
-            }
             catch (ArrayIndexOutOfBoundsException ex)
             {
                 timedEvents.remove (event);
+                VIEW_POOL.release (event);
             }
         }
 
+        releaseNoLongerShown (previouslyShown);
+
         if (selectedDayPanel != null)
         {
             selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
@@ -10061,21 +9022,16 @@ public class ViewPanel extends JPanel
                 {
                     selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
                 }
-                String[] split = domain.utility.assignmentsAndEvents.get (domain.currentIndexFromVector).getDueDate ().split ("/");
-                String[] calDate = Domain.DATE_FORMAT.format (miniCalendar.getDate ()).split ("/");
-                if (split != null)
+                long dueDay = domain.utility.assignmentsAndEvents.get (domain.currentIndexFromVector).getDueDay ();
+                if (getMonthsFromMiniCalendar (dueDay) == 0)
                 {
-                    if (Integer.parseInt (split[0]) - Integer.parseInt (calDate[0]) == 0
-                        && Integer.parseInt (split[2]) - Integer.parseInt (calDate[2]) == 0)
-                    {
-                        selectedDayPanel = days[Integer.parseInt (split[1]) - 1];
-                        selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
-                        miniCalendar.getDayChooser ().setDay (Integer.parseInt (split[1]));
-                    }
-                    else
-                    {
-                        selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
-                    }
+                    selectedDayPanel = days[DateUtility.getDayOfMonth (dueDay) - 1];
+                    selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
+                    miniCalendar.getDayChooser ().setDay (DateUtility.getDayOfMonth (dueDay));
+                }
+                else
+                {
+                    selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
                 }
             }
             else
@@ -10091,54 +9047,108 @@ public class ViewPanel extends JPanel
             }
         }
 
-        for (int i = 0; i < daysAssignmentsAndEvents.length; ++i)
+        refreshBusyDays ();
+
+        return firstDay;
+    }
+
+    /**
+     * Action when the area of a day panel in Calendar View is clicked
+     * anywhere other than on an assignment or event.
+     *
+     * @param evt The mouse click event.
+     */
+    protected void dayItemsMouseReleased(MouseEvent evt)
+    {
+        JPanel dayPanel = (JPanel) ((DayItemsPanel) evt.getSource ()).getParent ();
+
+        checkAssignmentOrEventChanges (domain.currentIndexFromVector);
+        checkRepeatEventChanges (domain.currentIndexFromVector);
+
+        if (selectedDayPanel != dayPanel && getIndexFromDaysArray (dayPanel) != -1)
         {
-            daysAssignmentsAndEvents[i].invalidate ();
+            if (selectedDayPanel != null)
+            {
+                selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
+            }
+            selectedDayPanel = dayPanel;
+            selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
+            int dayIndex = getIndexFromDaysArray (dayPanel);
+            Calendar cal = miniCalendar.getCalendar ();
+            cal.set (Calendar.DAY_OF_MONTH, dayIndex + 1);
+            miniCalendar.setDate (cal.getTime ());
+            refreshBusyDays ();
         }
-        for (int i = 0; i < daysOutsideMonth.length; ++i)
+        else if (selectedDayPanel != dayPanel)
         {
-            daysOutsideMonth[i].invalidate ();
+            String day = ((JLabel) dayPanel.getComponent (0)).getText ();
+            int dayNum = Integer.parseInt (day);
+            Calendar cal = miniCalendar.getCalendar ();
+            if (dayNum > 7)
+            {
+                cal.add (Calendar.MONTH, -1);
+            }
+            else
+            {
+                cal.add (Calendar.MONTH, 1);
+            }
+            cal.set (Calendar.DAY_OF_MONTH, dayNum);
+            miniCalendar.setDate (cal.getTime ());
+            loadCalendarView (false);
+            if (selectedDayPanel != null)
+            {
+                selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
+            }
+            selectedDayPanel = days[dayNum - 1];
+            selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
         }
 
-        refreshBusyDays ();
-
-        return firstDay;
+        if ((evt.getButton () == 2 || evt.getButton () == 3) && getIndexFromDaysArray (dayPanel) != -1)
+        {
+            if (domain.utility.courses.size () > 0
+                && ((getSelectedCourseIndex () == -1 && getSelectedTermIndex () == -1)
+                    || (getSelectedTermIndex () != -1 && domain.utility.terms.get (getSelectedTermIndex ()).getCourseCount () > 0)))
+            {
+                addAssignmentEditMenuItem.setEnabled (true);
+            }
+            else
+            {
+                addAssignmentEditMenuItem.setEnabled (false);
+            }
+            cloneEditMenuItem.setEnabled (false);
+            removeEditMenuItem.setEnabled (false);
+            assignmentsEditMenu.show (evt.getComponent (), evt.getPoint ().x, evt.getPoint ().y);
+        }
     }
 
     /**
      * Action when an assignment item is clicked in the Calendar View.
      *
+     * @param assignment The assignment clicked.
      * @param evt The mouse click event.
      */
-    protected void assignmentMousePressed(MouseEvent evt)
+    protected void assignmentMousePressed(Assignment assignment, MouseEvent evt)
     {
         if (selectedDayPanel != null)
         {
             selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
         }
-        int index = domain.utility.getAssignmentOrEventIndexByID (((Assignment) ((JLabel) evt.getSource ()).getParent ()).getUniqueID ());
+        int index = domain.utility.getAssignmentOrEventIndexByID (assignment.getUniqueID ());
         if (domain.currentIndexFromVector != index)
         {
-            assignmentsTable.setSelectedRowFromVectorIndex (domain.utility.getAssignmentOrEventIndexByID (((Assignment) ((JLabel) evt.getSource ()).getParent ()).getUniqueID ()));
+            assignmentsTable.setSelectedRowFromVectorIndex (domain.utility.getAssignmentOrEventIndexByID (assignment.getUniqueID ()));
         }
         else
         {
-            try
+            int shownMonth = miniCalendar.getCalendar ().get (Calendar.MONTH) + 1;
+            int assnMonth = DateUtility.getMonth (assignment.getDueDay ());
+            if (shownMonth != assnMonth)
             {
-                int shownMonth = miniCalendar.getCalendar ().get (Calendar.MONTH) + 1;
-                int assnMonth = Integer.parseInt (((Assignment) ((JLabel) evt.getSource ()).getParent ()).getDueDate ().split ("/")[0]);
-                if (shownMonth != assnMonth)
-                {
-                    miniCalendar.setDate (Domain.DATE_FORMAT.parse (((Assignment) ((JLabel) evt.getSource ()).getParent ()).getDueDate ()));
-                    loadCalendarView (true);
-                }
-            }
-            catch (ParseException ex)
-            {
-                Domain.LOGGER.add (ex);
+                miniCalendar.setDate (DateUtility.toDate (assignment.getDueDay ()));
+                loadCalendarView (true);
             }
         }
-        selectedDayPanel = (JPanel) ((Assignment) domain.utility.getAssignmentOrEventByID (((Assignment) ((JLabel) evt.getSource ()).getParent ()).getUniqueID ())).getParent ().getParent ().getParent ().getParent ();
+        selectedDayPanel = getDayPanelOf (assignment);
         selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
         int dayIndex = getIndexFromDaysArray (selectedDayPanel);
         Calendar cal = miniCalendar.getCalendar ();
@@ -10163,23 +9173,23 @@ public class ViewPanel extends JPanel
             assignmentsEditMenu.show (evt.getComponent (), evt.getPoint ().x, evt.getPoint ().y);
         }
 
-        scrollToItemOrToday ((ListItem) ((JLabel) evt.getSource ()).getParent ());
+        scrollToItemOrToday (assignment);
     }
 
     /**
-     * Action when the assignmentsAndEvents item state is changed in the
-     * Calendar View.
+     * Action when the check box of an assignment is clicked in the Calendar
+     * View, which marks the assignment done or not done.
      *
-     * @param evt The mouse click event.
+     * @param assignment The assignment whose check box was clicked.
      */
-    protected void assignmentItemStateChanged(ItemEvent evt)
+    protected void assignmentCheckBoxClicked(Assignment assignment)
     {
         if (!initLoading && !quitting && !domain.removingAssignmentOrEvent && domain.assignmentOrEventLoading.empty ())
         {
-            Assignment assignment = (Assignment) ((JCheckBox) evt.getSource ()).getParent ();
+            boolean done = !assignment.isDone ();
             domain.assignmentOrEventLoading.push (true);
-            assignmentsTable.setSelectedRowFromVectorIndex (domain.utility.getAssignmentOrEventIndexByID (((Assignment) ((JCheckBox) evt.getSource ()).getParent ()).getUniqueID ()));
-            completedCheckBox.setSelected (assignment.getCheckBox ().isSelected ());
+            assignmentsTable.setSelectedRowFromVectorIndex (domain.utility.getAssignmentOrEventIndexByID (assignment.getUniqueID ()));
+            completedCheckBox.setSelected (done);
             domain.assignmentOrEventLoading.pop ();
             completedCheckBoxActionPerformed (null);
         }
@@ -10188,37 +9198,31 @@ public class ViewPanel extends JPanel
     /**
      * Action when an event is clicked in the Calendar View.
      *
+     * @param event The event clicked.
      * @param evt The mouse click event.
      */
-    protected void eventMouseReleased(MouseEvent evt)
+    protected void eventMouseReleased(Event event, MouseEvent evt)
     {
         if (selectedDayPanel != null)
         {
             selectedDayPanel.setBorder (UNSELECTED_DAY_BORDER);
         }
-        int index = domain.utility.getAssignmentOrEventIndexByID (((Event) ((JLabel) evt.getSource ()).getParent ()).getUniqueID ());
+        int index = domain.utility.getAssignmentOrEventIndexByID (event.getUniqueID ());
         if (domain.currentIndexFromVector != index)
         {
-            assignmentsTable.setSelectedRowFromVectorIndex (domain.utility.getAssignmentOrEventIndexByID (((Event) ((JLabel) evt.getSource ()).getParent ()).getUniqueID ()));
+            assignmentsTable.setSelectedRowFromVectorIndex (domain.utility.getAssignmentOrEventIndexByID (event.getUniqueID ()));
         }
         else
         {
-            try
-            {
-                int shownMonth = miniCalendar.getCalendar ().get (Calendar.MONTH) + 1;
-                int assnMonth = Integer.parseInt (((Event) ((JLabel) evt.getSource ()).getParent ()).getDueDate ().split ("/")[0]);
-                if (shownMonth != assnMonth)
-                {
-                    miniCalendar.setDate (Domain.DATE_FORMAT.parse (((Event) ((JLabel) evt.getSource ()).getParent ()).getDueDate ()));
-                    loadCalendarView (true);
-                }
-            }
-            catch (ParseException ex)
+            int shownMonth = miniCalendar.getCalendar ().get (Calendar.MONTH) + 1;
+            int assnMonth = DateUtility.getMonth (event.getDueDay ());
+            if (shownMonth != assnMonth)
             {
-                Domain.LOGGER.add (ex);
+                miniCalendar.setDate (DateUtility.toDate (event.getDueDay ()));
+                loadCalendarView (true);
             }
         }
-        selectedDayPanel = (JPanel) ((Event) domain.utility.getAssignmentOrEventByID (((Event) ((JLabel) evt.getSource ()).getParent ()).getUniqueID ())).getParent ().getParent ().getParent ().getParent ();
+        selectedDayPanel = getDayPanelOf (event);
         selectedDayPanel.setBorder (SELECTED_DAY_BORDER);
         int dayIndex = getIndexFromDaysArray (selectedDayPanel);
         Calendar cal = miniCalendar.getCalendar ();
@@ -10246,14 +9250,13 @@ public class ViewPanel extends JPanel
         {
             if (!initLoading && !quitting && !domain.removingAssignmentOrEvent && domain.assignmentOrEventLoading.empty ())
             {
-                Event event = (Event) ((JLabel) evt.getSource ()).getParent ();
                 domain.assignmentOrEventLoading.push (true);
                 assignmentsTable.setSelectedRowFromVectorIndex (domain.utility.getAssignmentOrEventIndexByID (event.getUniqueID ()));
                 domain.assignmentOrEventLoading.pop ();
             }
         }
 
-        scrollToItemOrToday ((ListItem) ((JLabel) evt.getSource ()).getParent ());
+        scrollToItemOrToday (event);
     }
 
     /**
@@ -10445,57 +9448,46 @@ public class ViewPanel extends JPanel
 
                     if (!noRemove && (removeAll || removeFuture))
                     {
-                        // remove all instances of this event
-                        for (int i = domain.utility.repeatingEvents.size () - 1; i >= 0; --i)
+                        // remove all instances of this event, or only those after it
+                        ArrayList<Event> series = domain.utility.getRepeatingSeries (event.getRepeating ().getID ());
+                        ArrayList<Event> toRemove = series;
+                        if (!removeAll)
                         {
-                            Event repEvent = domain.utility.repeatingEvents.get (i);
-                            if (repEvent.getRepeating ().getID () == event.getRepeating ().getID ())
+                            toRemove = new ArrayList<Event> ();
+                            long day = event.getDueDay ();
+                            for (int i = 0; i < series.size (); ++i)
                             {
-                                try
+                                if (series.get (i).getDueDay () > day)
                                 {
-                                    if (removeAll
-                                        || (removeFuture && Domain.DATE_FORMAT.parse (repEvent.getDueDate ()).after (Domain.DATE_FORMAT.parse (event.getDueDate ()))))
-                                    {
-                                        if (middleTabbedPane.getSelectedIndex () == 1)
-                                        {
-                                            JPanel parent = (JPanel) repEvent.getParent ();
-                                            if (parent != null)
-                                            {
-                                                parent.remove (repEvent);
-                                                parent.invalidate ();
-                                            }
-                                            shownEvents.remove (repEvent);
-                                        }
-                                        assignmentsTableModel.removeRow (domain.utility.getAssignmentOrEventIndexByID (repEvent.getUniqueID ()));
-                                        domain.utility.assignmentsAndEvents.remove (repEvent);
-                                        domain.utility.repeatingEvents.remove (repEvent);
-                                        repEvent.getCategory ().removeEvent (repEvent);
-                                        repEvent.getEventYear ().removeEvent (repEvent);
-                                        repEvent.getEventYear ().markChanged ();
-                                    }
-                                }
-                                catch (ParseException ex)
-                                {
-                                    Domain.LOGGER.add (ex);
+                                    toRemove.add (series.get (i));
                                 }
                             }
                         }
+                        domain.removeEvents (toRemove);
+                        if (!removeAll)
+                        {
+                            // end the series before this event so the removed occurrences are not produced again
+                            domain.setRepeatingEndDay (event.getRepeating ().getID (), event.getDueDay () - 1);
+                        }
                     }
 
                     if (!noRemove)
                     {
+                        if (!removeAll && !removeFuture)
+                        {
+                            domain.excludeFromSeries (event);
+                        }
                         if (middleTabbedPane.getSelectedIndex () == 1)
                         {
-                            dayIndex = Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1;
-                            for (int i = 0; i < daysAssignmentsAndEvents[dayIndex].getComponentCount (); ++i)
+                            dayIndex = DateUtility.getDayOfMonth (event.getDueDay ()) - 1;
+                            for (int i = 0; i < daysAssignmentsAndEvents[dayIndex].getItemCount (); ++i)
                             {
-                                if (event == daysAssignmentsAndEvents[dayIndex].getComponent (i))
+                                if (event == daysAssignmentsAndEvents[dayIndex].getItem (i))
                                 {
                                     eventIndex = i;
                                 }
                             }
-                            daysAssignmentsAndEvents[dayIndex].remove (event);
-                            daysAssignmentsAndEvents[dayIndex].invalidate ();
+                            VIEW_POOL.release (event);
                             shownEvents.remove (event);
                         }
                         assignmentsTableModel.removeRow (domain.utility.getAssignmentOrEventIndexByID (event.getUniqueID ()));
@@ -10504,6 +9496,12 @@ public class ViewPanel extends JPanel
                         event.getEventYear ().removeEvent (event);
                         event.getEventYear ().markChanged ();
                     }
+                    else
+                    {
+                        // the event stays in the series, so its day is not
+                        // taken by a new occurrence
+                        domain.utility.repeatingEvents.add (event);
+                    }
 
                     loadCalendarView (false);
                 }
@@ -10511,16 +9509,15 @@ public class ViewPanel extends JPanel
                 {
                     if (middleTabbedPane.getSelectedIndex () == 1)
                     {
-                        dayIndex = Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1;
-                        for (int i = 0; i < daysAssignmentsAndEvents[dayIndex].getComponentCount (); ++i)
+                        dayIndex = DateUtility.getDayOfMonth (event.getDueDay ()) - 1;
+                        for (int i = 0; i < daysAssignmentsAndEvents[dayIndex].getItemCount (); ++i)
                         {
-                            if (event == daysAssignmentsAndEvents[dayIndex].getComponent (i))
+                            if (event == daysAssignmentsAndEvents[dayIndex].getItem (i))
                             {
                                 eventIndex = i;
                             }
                         }
-                        daysAssignmentsAndEvents[dayIndex].remove (event);
-                        daysAssignmentsAndEvents[dayIndex].invalidate ();
+                        VIEW_POOL.release (event);
                         shownEvents.remove (event);
                     }
 
@@ -10543,22 +9540,22 @@ public class ViewPanel extends JPanel
                 domain.currentIndexFromVector = index;
                 if (dayIndex != -1)
                 {
-                    if (daysAssignmentsAndEvents[dayIndex].getComponentCount () > 1)
+                    if (daysAssignmentsAndEvents[dayIndex].getItemCount () > 1)
                     {
-                        if (eventIndex < daysAssignmentsAndEvents[dayIndex].getComponentCount ())
+                        if (eventIndex < daysAssignmentsAndEvents[dayIndex].getItemCount ())
                         {
-                            index = domain.utility.getAssignmentOrEventIndexByID (((ListItem) daysAssignmentsAndEvents[dayIndex].getComponent (eventIndex)).getUniqueID ());
+                            index = domain.utility.getAssignmentOrEventIndexByID (daysAssignmentsAndEvents[dayIndex].getItem (eventIndex).getUniqueID ());
                         }
                         else
                         {
-                            index = domain.utility.getAssignmentOrEventIndexByID (((ListItem) daysAssignmentsAndEvents[dayIndex].getComponent (daysAssignmentsAndEvents[dayIndex].getComponentCount () - 1)).getUniqueID ());
+                            index = domain.utility.getAssignmentOrEventIndexByID (daysAssignmentsAndEvents[dayIndex].getItem (daysAssignmentsAndEvents[dayIndex].getItemCount () - 1).getUniqueID ());
                         }
                     }
                     else
                     {
-                        if (daysAssignmentsAndEvents[dayIndex].getComponentCount () == 1)
+                        if (daysAssignmentsAndEvents[dayIndex].getItemCount () == 1)
                         {
-                            index = domain.utility.getAssignmentOrEventIndexByID (((ListItem) daysAssignmentsAndEvents[dayIndex].getComponent (0)).getUniqueID ());
+                            index = domain.utility.getAssignmentOrEventIndexByID (daysAssignmentsAndEvents[dayIndex].getItem (0).getUniqueID ());
                         }
                         else
                         {
@@ -10618,16 +9615,15 @@ public class ViewPanel extends JPanel
                 int assignmentIndex = -1;
                 if (middleTabbedPane.getSelectedIndex () == 1)
                 {
-                    dayIndex = Integer.parseInt (assignment.getDueDate ().split ("/")[1]) - 1;
-                    for (int i = 0; i < daysAssignmentsAndEvents[dayIndex].getComponentCount (); ++i)
+                    dayIndex = DateUtility.getDayOfMonth (assignment.getDueDay ()) - 1;
+                    for (int i = 0; i < daysAssignmentsAndEvents[dayIndex].getItemCount (); ++i)
                     {
-                        if (assignment == daysAssignmentsAndEvents[dayIndex].getComponent (i))
+                        if (assignment == daysAssignmentsAndEvents[dayIndex].getItem (i))
                         {
                             assignmentIndex = i;
                         }
                     }
-                    daysAssignmentsAndEvents[dayIndex].remove (assignment);
-                    daysAssignmentsAndEvents[dayIndex].invalidate ();
+                    VIEW_POOL.release (assignment);
                     shownAssignments.remove (assignment);
                 }
                 assignmentsTableModel.removeRow (assignmentsTable.getSelectableRowFromVectorIndex (index));
@@ -10650,22 +9646,22 @@ public class ViewPanel extends JPanel
                 domain.currentIndexFromVector = index;
                 if (dayIndex != -1)
                 {
-                    if (daysAssignmentsAndEvents[dayIndex].getComponentCount () > 1)
+                    if (daysAssignmentsAndEvents[dayIndex].getItemCount () > 1)
                     {
-                        if (assignmentIndex < daysAssignmentsAndEvents[dayIndex].getComponentCount ())
+                        if (assignmentIndex < daysAssignmentsAndEvents[dayIndex].getItemCount ())
                         {
-                            index = domain.utility.getAssignmentOrEventIndexByID (((ListItem) daysAssignmentsAndEvents[dayIndex].getComponent (assignmentIndex)).getUniqueID ());
+                            index = domain.utility.getAssignmentOrEventIndexByID (daysAssignmentsAndEvents[dayIndex].getItem (assignmentIndex).getUniqueID ());
                         }
                         else
                         {
-                            index = domain.utility.getAssignmentOrEventIndexByID (((ListItem) daysAssignmentsAndEvents[dayIndex].getComponent (daysAssignmentsAndEvents[dayIndex].getComponentCount () - 1)).getUniqueID ());
+                            index = domain.utility.getAssignmentOrEventIndexByID (daysAssignmentsAndEvents[dayIndex].getItem (daysAssignmentsAndEvents[dayIndex].getItemCount () - 1).getUniqueID ());
                         }
                     }
                     else
                     {
-                        if (daysAssignmentsAndEvents[dayIndex].getComponentCount () == 1)
+                        if (daysAssignmentsAndEvents[dayIndex].getItemCount () == 1)
                         {
-                            index = domain.utility.getAssignmentOrEventIndexByID (((ListItem) daysAssignmentsAndEvents[dayIndex].getComponent (0)).getUniqueID ());
+                            index = domain.utility.getAssignmentOrEventIndexByID (daysAssignmentsAndEvents[dayIndex].getItem (0).getUniqueID ());
                         }
                         else
                         {
@@ -11184,6 +10180,7 @@ public class ViewPanel extends JPanel
 
             int filter1 = domain.utility.preferences.filter1Index;
             int filter2 = domain.utility.preferences.filter2Index;
+            requestListEventYears (filter1, filter2);
             domain.utility.preferences.filter1Index = 0;
             domain.utility.preferences.filter2Index = 0;
             int[] selection = termTree.getSelectionRows ();
@@ -11192,6 +10189,7 @@ public class ViewPanel extends JPanel
             termTree.removeSelectionPath (termTree.getSelectionPath ());
             ignoreTreeSelection = false;
 
+            expandRepeatingEvents (filter1, filter2);
             domain.utility.loadAssignmentsTable (false);
             domain.sortAssignmentsList ();
             if (middleTabbedPane.getSelectedIndex () == 1)
@@ -11630,12 +10628,13 @@ public class ViewPanel extends JPanel
                 checkRepeatEventChanges (domain.currentIndexFromVector);
             }
 
-            domain.workerThread.stopRunning ();
-            domain.needsPreferencesSave = true;
+            domain.saveScheduler.stopRunning ();
+            domain.markPreferencesChanged ();
             domain.utility.forceSave ();
 
             quitting = false;
         }
+        Domain.LOGGER.flush ();
         if (forceQuit)
         {
             System.exit (0);
@@ -11697,41 +10696,41 @@ public class ViewPanel extends JPanel
     private javax.swing.JMenuItem courseWebsiteMenuItem;
     private javax.swing.JLabel currentMonthLabel;
     private javax.swing.JLabel currentYearLabel;
-    private javax.swing.JPanel day1;
-    private javax.swing.JPanel day10;
-    private javax.swing.JPanel day11;
-    private javax.swing.JPanel day12;
-    private javax.swing.JPanel day13;
-    private javax.swing.JPanel day14;
-    private javax.swing.JPanel day15;
-    private javax.swing.JPanel day16;
-    private javax.swing.JPanel day17;
-    private javax.swing.JPanel day18;
-    private javax.swing.JPanel day19;
-    private javax.swing.JPanel day2;
-    private javax.swing.JPanel day20;
-    private javax.swing.JPanel day21;
-    private javax.swing.JPanel day22;
-    private javax.swing.JPanel day23;
-    private javax.swing.JPanel day24;
-    private javax.swing.JPanel day25;
-    private javax.swing.JPanel day26;
-    private javax.swing.JPanel day27;
-    private javax.swing.JPanel day28;
-    private javax.swing.JPanel day29;
-    private javax.swing.JPanel day3;
-    private javax.swing.JPanel day30;
-    private javax.swing.JPanel day31;
-    private javax.swing.JPanel day32;
-    private javax.swing.JPanel day33;
-    private javax.swing.JPanel day34;
-    private javax.swing.JPanel day35;
-    private javax.swing.JPanel day4;
-    private javax.swing.JPanel day5;
-    private javax.swing.JPanel day6;
-    private javax.swing.JPanel day7;
-    private javax.swing.JPanel day8;
-    private javax.swing.JPanel day9;
+    private adl.go.gui.DayItemsPanel day1;
+    private adl.go.gui.DayItemsPanel day10;
+    private adl.go.gui.DayItemsPanel day11;
+    private adl.go.gui.DayItemsPanel day12;
+    private adl.go.gui.DayItemsPanel day13;
+    private adl.go.gui.DayItemsPanel day14;
+    private adl.go.gui.DayItemsPanel day15;
+    private adl.go.gui.DayItemsPanel day16;
+    private adl.go.gui.DayItemsPanel day17;
+    private adl.go.gui.DayItemsPanel day18;
+    private adl.go.gui.DayItemsPanel day19;
+    private adl.go.gui.DayItemsPanel day2;
+    private adl.go.gui.DayItemsPanel day20;
+    private adl.go.gui.DayItemsPanel day21;
+    private adl.go.gui.DayItemsPanel day22;
+    private adl.go.gui.DayItemsPanel day23;
+    private adl.go.gui.DayItemsPanel day24;
+    private adl.go.gui.DayItemsPanel day25;
+    private adl.go.gui.DayItemsPanel day26;
+    private adl.go.gui.DayItemsPanel day27;
+    private adl.go.gui.DayItemsPanel day28;
+    private adl.go.gui.DayItemsPanel day29;
+    private adl.go.gui.DayItemsPanel day3;
+    private adl.go.gui.DayItemsPanel day30;
+    private adl.go.gui.DayItemsPanel day31;
+    private adl.go.gui.DayItemsPanel day32;
+    private adl.go.gui.DayItemsPanel day33;
+    private adl.go.gui.DayItemsPanel day34;
+    private adl.go.gui.DayItemsPanel day35;
+    private adl.go.gui.DayItemsPanel day4;
+    private adl.go.gui.DayItemsPanel day5;
+    private adl.go.gui.DayItemsPanel day6;
+    private adl.go.gui.DayItemsPanel day7;
+    private adl.go.gui.DayItemsPanel day8;
+    private adl.go.gui.DayItemsPanel day9;
     private javax.swing.JLabel dayLabel1;
     private javax.swing.JLabel dayLabel10;
     private javax.swing.JLabel dayLabel11;
@@ -11767,41 +10766,6 @@ public class ViewPanel extends JPanel
     private javax.swing.JLabel dayLabel7;
     private javax.swing.JLabel dayLabel8;
     private javax.swing.JLabel dayLabel9;
-    private javax.swing.JScrollPane dayScroll1;
-    private javax.swing.JScrollPane dayScroll10;
-    private javax.swing.JScrollPane dayScroll11;
-    private javax.swing.JScrollPane dayScroll12;
-    private javax.swing.JScrollPane dayScroll13;
-    private javax.swing.JScrollPane dayScroll14;
-    private javax.swing.JScrollPane dayScroll15;
-    private javax.swing.JScrollPane dayScroll16;
-    private javax.swing.JScrollPane dayScroll17;
-    private javax.swing.JScrollPane dayScroll18;
-    private javax.swing.JScrollPane dayScroll19;
-    private javax.swing.JScrollPane dayScroll2;
-    private javax.swing.JScrollPane dayScroll20;
-    private javax.swing.JScrollPane dayScroll21;
-    private javax.swing.JScrollPane dayScroll22;
-    private javax.swing.JScrollPane dayScroll23;
-    private javax.swing.JScrollPane dayScroll24;
-    private javax.swing.JScrollPane dayScroll25;
-    private javax.swing.JScrollPane dayScroll26;
-    private javax.swing.JScrollPane dayScroll27;
-    private javax.swing.JScrollPane dayScroll28;
-    private javax.swing.JScrollPane dayScroll29;
-    private javax.swing.JScrollPane dayScroll3;
-    private javax.swing.JScrollPane dayScroll30;
-    private javax.swing.JScrollPane dayScroll31;
-    private javax.swing.JScrollPane dayScroll32;
-    private javax.swing.JScrollPane dayScroll33;
-    private javax.swing.JScrollPane dayScroll34;
-    private javax.swing.JScrollPane dayScroll35;
-    private javax.swing.JScrollPane dayScroll4;
-    private javax.swing.JScrollPane dayScroll5;
-    private javax.swing.JScrollPane dayScroll6;
-    private javax.swing.JScrollPane dayScroll7;
-    private javax.swing.JScrollPane dayScroll8;
-    private javax.swing.JScrollPane dayScroll9;
     protected javax.swing.JPanel daysOfWeekPanel;
     private javax.swing.JLabel descriptionLabel;
     protected javax.swing.JTextArea descriptionTextArea;
@@ -0,0 +1,417 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.gui.Domain;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Collects log events from any thread and writes them to the log file on a
+ * thread of its own. Events are held in a fixed-size ring that threads claim
+ * slots in without locking; when the ring is full, an event is counted and
+ * dropped rather than waited on, so a burst of errors can neither use up
+ * memory nor hold up the thread that hit them. The log file is rotated once
+ * it grows past a set size.
+ *
+ * @author Alex Laird
+ */
+public class AsyncLogger
+{
+    /**
+     * The level of an error.
+     */
+    public static final int ERROR = 0;
+    /**
+     * The level of a warning.
+     */
+    public static final int WARNING = 1;
+    /**
+     * The level of an informational message.
+     */
+    public static final int INFO = 2;
+    /**
+     * The name of each level, indexed by level.
+     */
+    private static final String[] LEVEL_NAMES =
+    {
+        "ERROR", "WARNING", "INFO"
+    };
+    /**
+     * The size the log file may grow to before it is rotated, in bytes.
+     */
+    private static final long MAX_FILE_SIZE = 512 * 1024;
+    /**
+     * The number of rotated log files kept.
+     */
+    private static final int MAX_ROTATED_FILES = 3;
+    /**
+     * How long the writer waits for new events before checking again, in
+     * nanoseconds.
+     */
+    private static final long WRITE_INTERVAL = 1000L * 1000 * 1000;
+    /**
+     * The longest flush() waits for the writer to catch up, in ms.
+     */
+    private static final long FLUSH_TIMEOUT = 2000;
+    /**
+     * The slots of the ring.
+     */
+    private final AtomicReferenceArray<LogEvent> slots;
+    /**
+     * The number of slots in the ring.
+     */
+    private final int capacity;
+    /**
+     * The sequence number of the next slot to be claimed.
+     */
+    private final AtomicLong tail = new AtomicLong ();
+    /**
+     * The sequence number of the next slot to be written out; only the
+     * writer advances it.
+     */
+    private volatile long head = 0;
+    /**
+     * The sequence number of the next slot to reach the log file; everything
+     * before it has been flushed.
+     */
+    private volatile long written = 0;
+    /**
+     * The number of events dropped since the writer last noted it.
+     */
+    private final AtomicLong dropped = new AtomicLong ();
+    /**
+     * The number of events dropped in all.
+     */
+    private final AtomicLong totalDropped = new AtomicLong ();
+    /**
+     * The log file, or null until it is set.
+     */
+    private volatile File file;
+    /**
+     * The thread the log is written on, or null until the log file is set.
+     */
+    private volatile Thread writer;
+
+    /**
+     * Constructs a logger that holds up to the given number of events waiting
+     * to be written.
+     *
+     * @param capacity The number of slots in the ring.
+     */
+    public AsyncLogger(int capacity)
+    {
+        this.capacity = capacity;
+        slots = new AtomicReferenceArray<LogEvent> (capacity);
+    }
+
+    /**
+     * Logs the given error.
+     *
+     * @param throwable The error.
+     */
+    public void add(Throwable throwable)
+    {
+        log (ERROR, throwable.getMessage (), throwable);
+    }
+
+    /**
+     * Logs an event. This never blocks; if the ring is full, the event is
+     * dropped and counted.
+     *
+     * @param level The level of the event: ERROR, WARNING, or INFO.
+     * @param message The message of the event.
+     * @param throwable The error that caused the event, or null.
+     */
+    public void log(int level, String message, Throwable throwable)
+    {
+        LogEvent event = new LogEvent (level, System.currentTimeMillis (), Thread.currentThread ().getName (), message, throwable);
+
+        long claimed;
+        do
+        {
+            claimed = tail.get ();
+            if (claimed - head >= capacity)
+            {
+                dropped.incrementAndGet ();
+                totalDropped.incrementAndGet ();
+                return;
+            }
+        }
+        while (!tail.compareAndSet (claimed, claimed + 1));
+        slots.set ((int) (claimed % capacity), event);
+
+        Thread thread = writer;
+        if (thread != null)
+        {
+            LockSupport.unpark (thread);
+        }
+    }
+
+    /**
+     * Sets the log file and starts writing to it. Events logged before this
+     * is called are held until then, as far as the ring allows.
+     *
+     * @param file The log file.
+     */
+    public synchronized void setFile(File file)
+    {
+        this.file = file;
+        if (writer == null)
+        {
+            writer = new Thread (new Runnable ()
+            {
+                @Override
+                public void run()
+                {
+                    writeLoop ();
+                }
+            }, "Log Writer");
+            writer.setDaemon (true);
+            writer.start ();
+        }
+        else
+        {
+            LockSupport.unpark (writer);
+        }
+    }
+
+    /**
+     * Waits, for a short while at most, until every event logged so far has
+     * been written to the log file.
+     */
+    public void flush()
+    {
+        Thread thread = writer;
+        if (thread == null)
+        {
+            return;
+        }
+
+        long target = tail.get ();
+        long giveUpAt = System.currentTimeMillis () + FLUSH_TIMEOUT;
+        while (written < target && System.currentTimeMillis () < giveUpAt && thread.isAlive ())
+        {
+            LockSupport.unpark (thread);
+            try
+            {
+                Thread.sleep (10);
+            }
+            catch (InterruptedException ex)
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of events dropped because the ring was full.
+     *
+     * @return The number of events dropped.
+     */
+    public long getDroppedCount()
+    {
+        return totalDropped.get ();
+    }
+
+    /**
+     * Writes events to the log file as they arrive, rotating the file when it
+     * grows too large. This runs for the life of the application.
+     */
+    private void writeLoop()
+    {
+        File openFile = null;
+        BufferedWriter out = null;
+        while (true)
+        {
+            try
+            {
+                if (openFile != file)
+                {
+                    if (out != null)
+                    {
+                        out.close ();
+                    }
+                    openFile = file;
+                    out = new BufferedWriter (new FileWriter (openFile, true));
+                }
+
+                boolean wrote = false;
+                LogEvent event = poll ();
+                while (event != null)
+                {
+                    write (out, event);
+                    wrote = true;
+
+                    event = poll ();
+                }
+                long lost = dropped.getAndSet (0);
+                if (lost > 0)
+                {
+                    write (out, new LogEvent (WARNING, System.currentTimeMillis (), Thread.currentThread ().getName (), lost + " log events were dropped because the log could not keep up.", null));
+                    wrote = true;
+                }
+
+                if (wrote)
+                {
+                    out.flush ();
+                    written = head;
+                    if (openFile.length () > MAX_FILE_SIZE)
+                    {
+                        out.close ();
+                        out = null;
+                        rotate (openFile);
+                        openFile = null;
+                        continue;
+                    }
+                }
+            }
+            catch (IOException ex)
+            {
+                // the log cannot be written, so its events are discarded until it can
+                while (poll () != null)
+                {
+                }
+                written = head;
+                openFile = null;
+                out = null;
+            }
+
+            LockSupport.parkNanos (this, WRITE_INTERVAL);
+        }
+    }
+
+    /**
+     * Takes the next event from the ring, if it has been published yet.
+     *
+     * @return The next event, or null if there is none.
+     */
+    private LogEvent poll()
+    {
+        if (head >= tail.get ())
+        {
+            return null;
+        }
+
+        int index = (int) (head % capacity);
+        LogEvent event = slots.get (index);
+        if (event != null)
+        {
+            // the slot is cleared before it is given back to the producers
+            slots.set (index, null);
+            ++head;
+        }
+
+        return event;
+    }
+
+    /**
+     * Writes a single event to the log.
+     *
+     * @param out The writer of the log file.
+     * @param event The event to write.
+     */
+    private static void write(BufferedWriter out, LogEvent event) throws IOException
+    {
+        out.write ("------------------------------------\n");
+        out.write ("Date: " + Domain.DATE_AND_FULL_TIME_FORMAT.format (event.time) + "\n");
+        out.write ("Level: " + LEVEL_NAMES[event.level] + "\n");
+        out.write ("Thread: " + event.thread + "\n");
+        out.write ("Message: " + event.message + "\n");
+        if (event.throwable != null)
+        {
+            out.write ("Error: " + event.throwable.getClass () + "\n--\nTrace:\n");
+            Object[] trace = event.throwable.getStackTrace ();
+            for (int j = 0; j < trace.length; ++j)
+            {
+                out.write ("  " + trace[j].toString () + "\n");
+            }
+            out.write ("--\n");
+        }
+        out.write ("------------------------------------\n\n");
+    }
+
+    /**
+     * Moves the given log file aside, shifting older rotated files along and
+     * removing the oldest.
+     *
+     * @param file The log file.
+     */
+    private static void rotate(File file)
+    {
+        new File (file.getPath () + "." + MAX_ROTATED_FILES).delete ();
+        for (int i = MAX_ROTATED_FILES - 1; i >= 1; --i)
+        {
+            new File (file.getPath () + "." + i).renameTo (new File (file.getPath () + "." + (i + 1)));
+        }
+        file.renameTo (new File (file.getPath () + ".1"));
+    }
+
+    /**
+     * A single logged event, which does not change once it is logged.
+     */
+    private static class LogEvent
+    {
+        /**
+         * The level of the event.
+         */
+        private final int level;
+        /**
+         * The time the event was logged (system clock in ms).
+         */
+        private final long time;
+        /**
+         * The name of the thread the event was logged on.
+         */
+        private final String thread;
+        /**
+         * The message of the event.
+         */
+        private final String message;
+        /**
+         * The error that caused the event, or null.
+         */
+        private final Throwable throwable;
+
+        /**
+         * Constructs an event.
+         *
+         * @param level The level of the event.
+         * @param time The time the event was logged.
+         * @param thread The name of the thread the event was logged on.
+         * @param message The message of the event.
+         * @param throwable The error that caused the event, or null.
+         */
+        private LogEvent(int level, long time, String thread, String message, Throwable throwable)
+        {
+            this.level = level;
+            this.time = time;
+            this.thread = thread;
+            this.message = message;
+            this.throwable = throwable;
+        }
+    }
+}
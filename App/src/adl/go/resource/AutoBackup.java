@@ -0,0 +1,507 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.gui.Domain;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps automatic backups in a folder of their own. The text of each backup is
+ * split into chunks--the assignments of each course and the events of each
+ * year are chunks of their own--and each chunk is stored once, in a file named
+ * by the hash of its contents, so a course or year that has not changed adds
+ * nothing to later backups. A backup itself is just a list of its sections and
+ * the chunks in each.
+ *
+ * Old backups are thinned out as new ones are taken: the newest backup of each
+ * hour is kept for a day, of each day for a week, and of each week for a few
+ * months, and chunks no longer in any backup are removed. Any backup kept can
+ * be exported as a backup file and restored like one.
+ *
+ * @author Alex Laird
+ */
+public class AutoBackup
+{
+    /**
+     * The length of an hour, in milliseconds.
+     */
+    public static final long HOUR = 60 * 60 * 1000L;
+    /**
+     * The length of a day, in milliseconds.
+     */
+    public static final long DAY = 24 * HOUR;
+    /**
+     * The length of a week, in milliseconds.
+     */
+    public static final long WEEK = 7 * DAY;
+    /**
+     * The number of hours an hourly backup is kept.
+     */
+    private static final int HOURLY_BACKUPS = 24;
+    /**
+     * The number of days a daily backup is kept.
+     */
+    private static final int DAILY_BACKUPS = 7;
+    /**
+     * The number of weeks a weekly backup is kept.
+     */
+    private static final int WEEKLY_BACKUPS = 12;
+    /**
+     * The extension of the file that lists the chunks of a backup.
+     */
+    private static final String BACKUP_EXTENSION = ".snap";
+    /**
+     * The extension of a chunk file.
+     */
+    private static final String CHUNK_EXTENSION = ".gz";
+    /**
+     * The prefix of a section line in a backup's list.
+     */
+    private static final String SECTION_LINE = "S ";
+    /**
+     * The prefix of a chunk line in a backup's list.
+     */
+    private static final String CHUNK_LINE = "C ";
+    /**
+     * The folder the backups are listed in.
+     */
+    private File folder;
+    /**
+     * The folder the chunks are stored in.
+     */
+    private File chunksFolder;
+
+    /**
+     * Constructs the automatic backups kept in the given folder.
+     *
+     * @param folder The folder to keep the backups in.
+     */
+    public AutoBackup(File folder)
+    {
+        this.folder = folder;
+        chunksFolder = new File (folder, "chunks");
+    }
+
+    /**
+     * Starts a new backup, taken now. Nothing is listed until the backup is
+     * closed.
+     *
+     * @return The writer of the backup.
+     */
+    public Backup startBackup()
+    {
+        chunksFolder.mkdirs ();
+
+        return new Backup (System.currentTimeMillis ());
+    }
+
+    /**
+     * Retrieves the time of the most recent backup.
+     *
+     * @return The time, or 0 if there are no backups.
+     */
+    public synchronized long getLastBackupTime()
+    {
+        long[] times = getBackupTimes ();
+
+        return times.length > 0 ? times[times.length - 1] : 0;
+    }
+
+    /**
+     * Retrieves the time each backup was taken, oldest first.
+     *
+     * @return The times of the backups.
+     */
+    public synchronized long[] getBackupTimes()
+    {
+        String[] files = folder.list ();
+        if (files == null)
+        {
+            return new long[0];
+        }
+
+        long[] times = new long[files.length];
+        int count = 0;
+        for (int i = 0; i < files.length; ++i)
+        {
+            if (files[i].endsWith (BACKUP_EXTENSION))
+            {
+                try
+                {
+                    times[count] = Long.parseLong (files[i].substring (0, files[i].length () - BACKUP_EXTENSION.length ()));
+                    ++count;
+                }
+                catch (NumberFormatException ex)
+                {
+                    // not a backup list
+                }
+            }
+        }
+        times = Arrays.copyOf (times, count);
+        Arrays.sort (times);
+
+        return times;
+    }
+
+    /**
+     * Writes the backup taken at the given time to a backup file, which can
+     * then be restored like any other.
+     *
+     * @param time The time of the backup.
+     * @param file The backup file to write.
+     */
+    public synchronized void export(long time, File file) throws IOException
+    {
+        ArrayList<String> lines = readList (time);
+        BackupWriter out = new BackupWriter (file);
+        try
+        {
+            char[] buffer = new char[8192];
+            for (int i = 0; i < lines.size (); ++i)
+            {
+                String line = lines.get (i);
+                if (line.startsWith (SECTION_LINE))
+                {
+                    out.startSection (line.substring (SECTION_LINE.length ()));
+                }
+                else if (line.startsWith (CHUNK_LINE))
+                {
+                    Reader in = new InputStreamReader (new GZIPInputStream (new FileInputStream (getChunkFile (line.substring (CHUNK_LINE.length ())))), "UTF-8");
+                    try
+                    {
+                        int count = in.read (buffer);
+                        while (count != -1)
+                        {
+                            out.write (buffer, 0, count);
+                            count = in.read (buffer);
+                        }
+                    }
+                    finally
+                    {
+                        in.close ();
+                    }
+                }
+            }
+        }
+        finally
+        {
+            out.close ();
+        }
+    }
+
+    /**
+     * Lists a finished backup, then removes the backups the retention policy
+     * no longer keeps and the chunks no longer in any backup.
+     *
+     * @param time The time of the backup.
+     * @param lines The sections and chunks of the backup.
+     */
+    private synchronized void commit(long time, ArrayList<String> lines) throws IOException
+    {
+        File tempFile = new File (folder, time + ".tmp");
+        BufferedWriter out = new BufferedWriter (new FileWriter (tempFile));
+        try
+        {
+            for (int i = 0; i < lines.size (); ++i)
+            {
+                out.write (lines.get (i));
+                out.write (Utility.LINE_RETURN);
+            }
+        }
+        finally
+        {
+            out.close ();
+        }
+        if (!tempFile.renameTo (new File (folder, time + BACKUP_EXTENSION)))
+        {
+            tempFile.delete ();
+            throw new IOException ("The backup could not be listed.");
+        }
+
+        prune (time);
+    }
+
+    /**
+     * Removes every backup the retention policy no longer keeps, then every
+     * chunk that is not in a backup that is kept. The newest backup in each
+     * hour of the last day, each day of the last week, and each week of the
+     * last few months is kept.
+     *
+     * @param now The current time.
+     */
+    private void prune(long now)
+    {
+        long[] times = getBackupTimes ();
+        int offset = TimeZone.getDefault ().getOffset (now);
+        Set<Long> hours = new HashSet<Long> ();
+        Set<Long> days = new HashSet<Long> ();
+        Set<Long> weeks = new HashSet<Long> ();
+        Set<String> chunks = new HashSet<String> ();
+        for (int i = times.length - 1; i >= 0; --i)
+        {
+            long time = times[i];
+            long age = now - time;
+            // Set.add() is only true for the newest backup of each period
+            boolean keep = i == times.length - 1;
+            keep = (age < HOURLY_BACKUPS * HOUR && hours.add ((time + offset) / HOUR)) || keep;
+            keep = (age < DAILY_BACKUPS * DAY && days.add ((time + offset) / DAY)) || keep;
+            keep = (age < WEEKLY_BACKUPS * WEEK && weeks.add ((time + offset) / WEEK)) || keep;
+
+            File file = new File (folder, time + BACKUP_EXTENSION);
+            if (!keep)
+            {
+                file.delete ();
+                continue;
+            }
+            try
+            {
+                ArrayList<String> lines = readList (time);
+                for (int j = 0; j < lines.size (); ++j)
+                {
+                    if (lines.get (j).startsWith (CHUNK_LINE))
+                    {
+                        chunks.add (lines.get (j).substring (CHUNK_LINE.length ()) + CHUNK_EXTENSION);
+                    }
+                }
+            }
+            catch (IOException ex)
+            {
+                // an unreadable list is left for the user, but its chunks are
+                // not protected
+                Domain.LOGGER.add (ex);
+            }
+        }
+
+        String[] files = chunksFolder.list ();
+        if (files != null)
+        {
+            for (int i = 0; i < files.length; ++i)
+            {
+                if (!chunks.contains (files[i]))
+                {
+                    new File (chunksFolder, files[i]).delete ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the list of sections and chunks of the backup taken at the given
+     * time.
+     *
+     * @param time The time of the backup.
+     * @return The lines of the list.
+     */
+    private ArrayList<String> readList(long time) throws IOException
+    {
+        ArrayList<String> lines = new ArrayList<String> ();
+        BufferedReader in = new BufferedReader (new FileReader (new File (folder, time + BACKUP_EXTENSION)));
+        try
+        {
+            String line = in.readLine ();
+            while (line != null)
+            {
+                lines.add (line);
+                line = in.readLine ();
+            }
+        }
+        finally
+        {
+            in.close ();
+        }
+
+        return lines;
+    }
+
+    /**
+     * Retrieves the file the chunk with the given hash is stored in.
+     *
+     * @param hash The hash of the chunk.
+     * @return The chunk file.
+     */
+    private File getChunkFile(String hash)
+    {
+        return new File (chunksFolder, hash + CHUNK_EXTENSION);
+    }
+
+    /**
+     * Computes the hash of the given text, by which a chunk is stored.
+     *
+     * @param text The text of the chunk.
+     * @return The hash, in hexadecimal.
+     */
+    private static String hash(String text)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance ("SHA-1").digest (text.getBytes ("UTF-8"));
+            StringBuilder hex = new StringBuilder (digest.length * 2);
+            for (int i = 0; i < digest.length; ++i)
+            {
+                hex.append (Character.forDigit ((digest[i] >> 4) & 0xF, 16));
+                hex.append (Character.forDigit (digest[i] & 0xF, 16));
+            }
+            return hex.toString ();
+        }
+        catch (NoSuchAlgorithmException ex)
+        {
+            // every Java platform provides SHA-1
+            throw new IllegalStateException (ex);
+        }
+        catch (UnsupportedEncodingException ex)
+        {
+            // every Java platform provides UTF-8
+            throw new IllegalStateException (ex);
+        }
+    }
+
+    /**
+     * The writer of a single automatic backup. Each chunk is stored as soon as
+     * it ends, unless a chunk with the same contents is already stored, and
+     * the backup is listed when it is closed.
+     */
+    public class Backup extends SectionWriter
+    {
+        /**
+         * The time the backup was taken.
+         */
+        private long time;
+        /**
+         * The sections and chunks of the backup, in order.
+         */
+        private ArrayList<String> lines = new ArrayList<String> ();
+        /**
+         * The text of the current chunk.
+         */
+        private StringBuilder chunk = new StringBuilder (4096);
+
+        /**
+         * Constructs the writer of a backup.
+         *
+         * @param time The time the backup was taken.
+         */
+        private Backup(long time)
+        {
+            this.time = time;
+        }
+
+        /**
+         * Ends the current section, if any, and starts a new one.
+         *
+         * @param name The name of the section.
+         */
+        @Override
+        public void startSection(String name) throws IOException
+        {
+            endChunk ();
+            lines.add (SECTION_LINE + name);
+        }
+
+        /**
+         * Ends the current chunk, storing it if no chunk with the same
+         * contents is stored already.
+         */
+        @Override
+        public void endChunk() throws IOException
+        {
+            if (chunk.length () == 0)
+            {
+                return;
+            }
+
+            String text = chunk.toString ();
+            chunk.setLength (0);
+            String hash = hash (text);
+            File file = getChunkFile (hash);
+            if (!file.exists ())
+            {
+                File tempFile = new File (chunksFolder, hash + ".tmp");
+                Writer out = new OutputStreamWriter (new GZIPOutputStream (new FileOutputStream (tempFile)), "UTF-8");
+                try
+                {
+                    out.write (text);
+                }
+                finally
+                {
+                    out.close ();
+                }
+                if (!tempFile.renameTo (file))
+                {
+                    tempFile.delete ();
+                    throw new IOException ("The backup chunk " + hash + " could not be stored.");
+                }
+            }
+            lines.add (CHUNK_LINE + hash);
+        }
+
+        /**
+         * Adds text to the current chunk.
+         *
+         * @param chars The characters to write.
+         * @param offset The index of the first character to write.
+         * @param length The number of characters to write.
+         */
+        @Override
+        public void write(char[] chars, int offset, int length)
+        {
+            chunk.append (chars, offset, length);
+        }
+
+        /**
+         * Chunks are only stored as they are ended, so flushing does nothing.
+         */
+        @Override
+        public void flush()
+        {
+        }
+
+        /**
+         * Ends the current chunk and lists the backup.
+         */
+        @Override
+        public void close() throws IOException
+        {
+            endChunk ();
+            commit (time, lines);
+        }
+    }
+}
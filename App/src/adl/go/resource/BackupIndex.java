@@ -0,0 +1,662 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The sections of a backup file and where each one is, found once when the
+ * backup is opened so that a single section can be read without reading or
+ * parsing the ones before it. A compressed backup carries its own index at the
+ * end of the file; a plain-text backup is scanned once for its title lines. A
+ * compressed backup from the first format has no index and is read from the
+ * start each time a section is opened.
+ *
+ * @author Alex Laird
+ */
+public class BackupIndex
+{
+    /**
+     * A backup with an index of its compressed sections.
+     */
+    private static final int INDEXED = 0;
+    /**
+     * A plain-text backup.
+     */
+    private static final int PLAIN = 1;
+    /**
+     * A compressed backup that can only be read from start to end.
+     */
+    private static final int STREAM = 2;
+    /**
+     * The longest line that is checked to see if it is a title line.
+     */
+    private static final int MAX_TITLE_LENGTH = 64;
+    /**
+     * The backup file.
+     */
+    private File file;
+    /**
+     * The format of the backup file.
+     */
+    private int format;
+    /**
+     * The name of each section of an indexed backup, in the order they were
+     * written.
+     */
+    private String[] names = new String[0];
+    /**
+     * The position of each section of an indexed backup.
+     */
+    private long[] positions = new long[0];
+    /**
+     * The compressed length of each section of an indexed backup.
+     */
+    private long[] compressedLengths = new long[0];
+    /**
+     * The length of each section of an indexed backup.
+     */
+    private long[] lengths = new long[0];
+    /**
+     * The checksum of each section of an indexed backup.
+     */
+    private long[] checksums = new long[0];
+    /**
+     * The index of each section in the arrays above, or, for a plain-text
+     * backup, the position just after its title line, by section name.
+     */
+    private HashMap<String, Long> sections = new HashMap<String, Long> ();
+
+    /**
+     * Constructs the index of the given backup file.
+     *
+     * @param file The backup file.
+     * @param format The format of the backup file.
+     */
+    private BackupIndex(File file, int format)
+    {
+        this.file = file;
+        this.format = format;
+    }
+
+    /**
+     * Opens the given backup file and finds where each of its sections is.
+     *
+     * @param file The backup file.
+     * @return The index of the backup.
+     */
+    public static BackupIndex open(File file) throws IOException
+    {
+        int version = -1;
+        DataInputStream in = new DataInputStream (new FileInputStream (file));
+        try
+        {
+            if (file.length () >= BackupWriter.HEADER_SIZE && in.readInt () == BackupWriter.MAGIC)
+            {
+                version = in.readInt ();
+            }
+        }
+        finally
+        {
+            in.close ();
+        }
+
+        if (version == -1)
+        {
+            BackupIndex index = new BackupIndex (file, PLAIN);
+            index.scanTitles ();
+            return index;
+        }
+        else if (version == BackupReader.STREAM_VERSION)
+        {
+            return new BackupIndex (file, STREAM);
+        }
+        else if (version == BackupWriter.VERSION)
+        {
+            BackupIndex index = new BackupIndex (file, INDEXED);
+            index.readIndex ();
+            return index;
+        }
+        else
+        {
+            throw new IOException ("The backup was written by a newer version.");
+        }
+    }
+
+    /**
+     * Opens a reader of the given section, positioned just after its title
+     * line. The reader ends where the section does for a compressed backup,
+     * and checks the section as it reaches the end; for a plain-text backup it
+     * reads on to the end of the file, as the sections always end in a blank
+     * line.
+     *
+     * @param name The name of the section, the title line without its dashes.
+     * @return The reader, or null if the backup has no such section.
+     */
+    public BackupReader openSection(String name) throws IOException
+    {
+        if (format == STREAM)
+        {
+            return BackupReader.openStreamSection (file, "--" + name + "--");
+        }
+
+        Long value = sections.get (name);
+        if (value == null)
+        {
+            return null;
+        }
+
+        if (format == PLAIN)
+        {
+            FileInputStream in = new FileInputStream (file);
+            try
+            {
+                in.getChannel ().position (value);
+            }
+            catch (IOException ex)
+            {
+                in.close ();
+                throw ex;
+            }
+            return new BackupReader (new InputStreamReader (in), null);
+        }
+
+        int i = value.intValue ();
+        FileInputStream in = new FileInputStream (file);
+        BackupReader reader;
+        try
+        {
+            in.getChannel ().position (positions[i]);
+            SectionInputStream section = new SectionInputStream (new BufferedInputStream (in), i, true);
+            reader = new BackupReader (new InputStreamReader (section, "UTF-8"), section);
+        }
+        catch (IOException ex)
+        {
+            in.close ();
+            throw ex;
+        }
+        try
+        {
+            // throw out title line
+            reader.readLine ();
+        }
+        catch (IOException ex)
+        {
+            reader.close ();
+            throw ex;
+        }
+
+        return reader;
+    }
+
+    /**
+     * Opens a reader of every section of an indexed backup in order, checking
+     * each one as it reaches the end of it.
+     *
+     * @return The reader.
+     */
+    BackupReader openAll() throws IOException
+    {
+        if (format != INDEXED)
+        {
+            return BackupReader.open (file);
+        }
+
+        FileInputStream in = new FileInputStream (file);
+        try
+        {
+            in.getChannel ().position (BackupWriter.HEADER_SIZE);
+        }
+        catch (IOException ex)
+        {
+            in.close ();
+            throw ex;
+        }
+        AllSectionsInputStream all = new AllSectionsInputStream (new BufferedInputStream (in));
+        return new BackupReader (new InputStreamReader (all, "UTF-8"), all);
+    }
+
+    /**
+     * Reads the index from the end of an indexed backup, checking it against
+     * its checksum.
+     */
+    private void readIndex() throws IOException
+    {
+        RandomAccessFile in = new RandomAccessFile (file, "r");
+        try
+        {
+            long length = in.length ();
+            if (length < BackupWriter.HEADER_SIZE + BackupWriter.TRAILER_SIZE)
+            {
+                throw new IOException ("The backup is incomplete.");
+            }
+            in.seek (length - BackupWriter.TRAILER_SIZE);
+            long indexPosition = in.readLong ();
+            long indexChecksum = in.readLong ();
+            if (in.readInt () != BackupWriter.MAGIC)
+            {
+                throw new IOException ("The backup is incomplete.");
+            }
+            long indexLength = length - BackupWriter.TRAILER_SIZE - indexPosition;
+            if (indexPosition < BackupWriter.HEADER_SIZE || indexLength < 4 || indexLength > Integer.MAX_VALUE)
+            {
+                throw new IOException ("The backup index is damaged.");
+            }
+
+            byte[] bytes = new byte[(int) indexLength];
+            in.seek (indexPosition);
+            in.readFully (bytes);
+            CRC32 crc = new CRC32 ();
+            crc.update (bytes);
+            if (crc.getValue () != indexChecksum)
+            {
+                throw new IOException ("The backup index is damaged.");
+            }
+
+            DataInputStream index = new DataInputStream (new ByteArrayInputStream (bytes));
+            int count = index.readInt ();
+            if (count < 0 || count > bytes.length)
+            {
+                throw new IOException ("The backup index is damaged.");
+            }
+            names = new String[count];
+            positions = new long[count];
+            compressedLengths = new long[count];
+            lengths = new long[count];
+            checksums = new long[count];
+            long expected = BackupWriter.HEADER_SIZE;
+            for (int i = 0; i < count; ++i)
+            {
+                names[i] = index.readUTF ();
+                positions[i] = index.readLong ();
+                compressedLengths[i] = index.readLong ();
+                lengths[i] = index.readLong ();
+                checksums[i] = index.readLong ();
+                if (positions[i] != expected || compressedLengths[i] < 0)
+                {
+                    throw new IOException ("The backup index is damaged.");
+                }
+                expected += compressedLengths[i];
+                if (!sections.containsKey (names[i]))
+                {
+                    sections.put (names[i], Long.valueOf (i));
+                }
+            }
+            if (expected != indexPosition)
+            {
+                throw new IOException ("The backup index is damaged.");
+            }
+        }
+        finally
+        {
+            in.close ();
+        }
+    }
+
+    /**
+     * Reads a plain-text backup once, noting the position just after each
+     * title line.
+     */
+    private void scanTitles() throws IOException
+    {
+        InputStream in = new BufferedInputStream (new FileInputStream (file));
+        try
+        {
+            ByteArrayOutputStream line = new ByteArrayOutputStream (MAX_TITLE_LENGTH);
+            boolean tooLong = false;
+            long position = 0;
+            int b = in.read ();
+            while (b != -1)
+            {
+                ++position;
+                if (b == '\n')
+                {
+                    if (!tooLong)
+                    {
+                        String name = titleName (line.toString ("US-ASCII"));
+                        if (name != null && !sections.containsKey (name))
+                        {
+                            sections.put (name, Long.valueOf (position));
+                        }
+                    }
+                    line.reset ();
+                    tooLong = false;
+                }
+                else if (!tooLong)
+                {
+                    if (line.size () < MAX_TITLE_LENGTH)
+                    {
+                        line.write (b);
+                    }
+                    else
+                    {
+                        tooLong = true;
+                    }
+                }
+
+                b = in.read ();
+            }
+        }
+        finally
+        {
+            in.close ();
+        }
+    }
+
+    /**
+     * Returns the name of the section the given line is the title of.
+     *
+     * @param line The line, without its line return.
+     * @return The name of the section, or null if the line is not a title.
+     */
+    private static String titleName(String line)
+    {
+        if (line.endsWith ("\r"))
+        {
+            line = line.substring (0, line.length () - 1);
+        }
+        if (line.length () <= 4 || !line.startsWith ("--") || !line.endsWith ("--"))
+        {
+            return null;
+        }
+        String name = line.substring (2, line.length () - 2);
+        for (int i = 0; i < name.length (); ++i)
+        {
+            char c = name.charAt (i);
+            if ((c < 'A' || c > 'Z') && c != ' ')
+            {
+                return null;
+            }
+        }
+
+        return name;
+    }
+
+    /**
+     * The text of a single section of an indexed backup, decompressed from
+     * just the bytes of the section and checked against its length and
+     * checksum when the end of it is reached.
+     */
+    private class SectionInputStream extends InputStream
+    {
+        /**
+         * The file, positioned at the start of the section.
+         */
+        private InputStream file;
+        /**
+         * The index of the section.
+         */
+        private int section;
+        /**
+         * True if closing this stream closes the file.
+         */
+        private boolean ownsFile;
+        /**
+         * The compressed bytes of the section left to read.
+         */
+        private long compressedRemaining;
+        /**
+         * The decompressed text of the section.
+         */
+        private InflaterInputStream text;
+        /**
+         * The checksum of the section so far.
+         */
+        private CRC32 crc = new CRC32 ();
+        /**
+         * The length of the section so far.
+         */
+        private long length = 0;
+        /**
+         * True once the section has been read and checked.
+         */
+        private boolean finished = false;
+
+        /**
+         * Constructs the stream of the given section.
+         *
+         * @param file The file, positioned at the start of the section.
+         * @param section The index of the section.
+         * @param ownsFile True if closing this stream closes the file.
+         */
+        private SectionInputStream(InputStream file, int section, boolean ownsFile)
+        {
+            this.file = file;
+            this.section = section;
+            this.ownsFile = ownsFile;
+            compressedRemaining = compressedLengths[section];
+            text = new InflaterInputStream (new InputStream ()
+            {
+                @Override
+                public int read() throws IOException
+                {
+                    byte[] b = new byte[1];
+                    return read (b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int count) throws IOException
+                {
+                    if (compressedRemaining == 0)
+                    {
+                        return -1;
+                    }
+                    int read = SectionInputStream.this.file.read (bytes, offset, (int) Math.min (count, compressedRemaining));
+                    if (read == -1)
+                    {
+                        throw new IOException ("The backup is incomplete.");
+                    }
+                    compressedRemaining -= read;
+                    return read;
+                }
+            });
+        }
+
+        /**
+         * Reads the next byte of text.
+         *
+         * @return The byte, or -1 at the end of the section.
+         */
+        @Override
+        public int read() throws IOException
+        {
+            byte[] b = new byte[1];
+            int read = read (b, 0, 1);
+            while (read == 0)
+            {
+                read = read (b, 0, 1);
+            }
+
+            return read == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        /**
+         * Reads text into the given array.
+         *
+         * @param bytes The array to read into.
+         * @param offset The index to start reading to.
+         * @param count The most bytes to read.
+         * @return The number of bytes read, or -1 at the end of the section.
+         */
+        @Override
+        public int read(byte[] bytes, int offset, int count) throws IOException
+        {
+            if (finished)
+            {
+                return -1;
+            }
+            if (count == 0)
+            {
+                return 0;
+            }
+
+            int read = text.read (bytes, offset, count);
+            if (read == -1)
+            {
+                if (length != lengths[section] || crc.getValue () != checksums[section] || compressedRemaining != 0)
+                {
+                    throw new IOException ("The backup section " + names[section] + " is damaged.");
+                }
+                finished = true;
+                text.close ();
+                return -1;
+            }
+            crc.update (bytes, offset, read);
+            length += read;
+            if (length > lengths[section])
+            {
+                throw new IOException ("The backup section " + names[section] + " is damaged.");
+            }
+
+            return read;
+        }
+
+        /**
+         * Closes the section, and the file if this stream owns it.
+         */
+        @Override
+        public void close() throws IOException
+        {
+            text.close ();
+            if (ownsFile)
+            {
+                file.close ();
+            }
+        }
+    }
+
+    /**
+     * The text of every section of an indexed backup in order, read straight
+     * through the file and checking each section as it ends.
+     */
+    private class AllSectionsInputStream extends InputStream
+    {
+        /**
+         * The file, positioned at the start of the current section.
+         */
+        private InputStream file;
+        /**
+         * The index of the current section.
+         */
+        private int current = 0;
+        /**
+         * The stream of the current section, or null past the last one.
+         */
+        private SectionInputStream section;
+
+        /**
+         * Constructs the stream of the given file.
+         *
+         * @param file The file, positioned at the start of the first section.
+         */
+        private AllSectionsInputStream(InputStream file)
+        {
+            this.file = file;
+            if (names.length > 0)
+            {
+                section = new SectionInputStream (file, 0, false);
+            }
+        }
+
+        /**
+         * Reads the next byte of text.
+         *
+         * @return The byte, or -1 at the end of the backup.
+         */
+        @Override
+        public int read() throws IOException
+        {
+            while (section != null)
+            {
+                int b = section.read ();
+                if (b != -1)
+                {
+                    return b;
+                }
+                nextSection ();
+            }
+
+            return -1;
+        }
+
+        /**
+         * Reads text into the given array, never past the end of a section.
+         *
+         * @param bytes The array to read into.
+         * @param offset The index to start reading to.
+         * @param count The most bytes to read.
+         * @return The number of bytes read, or -1 at the end of the backup.
+         */
+        @Override
+        public int read(byte[] bytes, int offset, int count) throws IOException
+        {
+            if (count == 0)
+            {
+                return 0;
+            }
+            while (section != null)
+            {
+                int read = section.read (bytes, offset, count);
+                if (read != -1)
+                {
+                    return read;
+                }
+                nextSection ();
+            }
+
+            return -1;
+        }
+
+        /**
+         * Closes the file.
+         */
+        @Override
+        public void close() throws IOException
+        {
+            if (section != null)
+            {
+                section.close ();
+            }
+            file.close ();
+        }
+
+        /**
+         * Moves on to the section after the current one.
+         */
+        private void nextSection()
+        {
+            ++current;
+            section = current < names.length ? new SectionInputStream (file, current, false) : null;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a backup file, or a single section of one, line by line, whether it
+ * was written by BackupWriter or is a plain-text backup from an earlier
+ * version. The text of a compressed backup is decompressed as it is read, and
+ * each section is checked against its checksum as soon as the end of it is
+ * reached, so a damaged backup fails partway through a read with an
+ * IOException rather than being read wrongly.
+ *
+ * @author Alex Laird
+ */
+public class BackupReader extends BufferedReader
+{
+    /**
+     * The version of the first compressed backup format, which was written as
+     * a single compressed stream and can only be read from start to end.
+     */
+    static final int STREAM_VERSION = 1;
+    /**
+     * The tag that starts a section in a stream backup.
+     */
+    private static final byte SECTION = 1;
+    /**
+     * The tag that starts the manifest in a stream backup.
+     */
+    private static final byte MANIFEST = 2;
+    /**
+     * The tag that ends the body of a stream backup.
+     */
+    private static final byte END = 3;
+    /**
+     * The largest chunk a section of a stream backup is written in, in bytes.
+     */
+    private static final int CHUNK_SIZE = 64 * 1024;
+    /**
+     * The compressed text being read, which checks itself, or null for a
+     * plain-text backup.
+     */
+    private InputStream sections;
+
+    /**
+     * Constructs a reader of the given text.
+     *
+     * @param in The text of the backup.
+     * @param sections The compressed text the text is decoded from, or null.
+     */
+    BackupReader(Reader in, InputStream sections)
+    {
+        super (in);
+        this.sections = sections;
+    }
+
+    /**
+     * Opens the given backup file for reading.
+     *
+     * @param file The backup file.
+     * @return The reader.
+     */
+    public static BackupReader open(File file) throws IOException
+    {
+        DataInputStream in = new DataInputStream (new BufferedInputStream (new FileInputStream (file)));
+        try
+        {
+            if (file.length () >= BackupWriter.HEADER_SIZE && in.readInt () == BackupWriter.MAGIC)
+            {
+                int version = in.readInt ();
+                if (version == STREAM_VERSION)
+                {
+                    SectionInputStream sections = new SectionInputStream (new DataInputStream (new GZIPInputStream (in, CHUNK_SIZE)));
+                    return new BackupReader (new InputStreamReader (sections, "UTF-8"), sections);
+                }
+                in.close ();
+
+                return BackupIndex.open (file).openAll ();
+            }
+        }
+        catch (IOException ex)
+        {
+            in.close ();
+            throw ex;
+        }
+
+        in.close ();
+        return new BackupReader (new FileReader (file), null);
+    }
+
+    /**
+     * Checks the given backup file without restoring it. Every section of a
+     * compressed backup is read and checked against its checksum and the
+     * manifest; a plain-text backup has nothing to check.
+     *
+     * @param file The backup file.
+     * @return True if the backup is intact, false otherwise.
+     */
+    public static boolean verify(File file)
+    {
+        try
+        {
+            BackupReader reader = open (file);
+            try
+            {
+                reader.checkRemaining ();
+                return true;
+            }
+            finally
+            {
+                reader.close ();
+            }
+        }
+        catch (IOException ex)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Reads and checks whatever is left of a compressed backup, or section, so
+     * a restore that stops reading before the end still checks the rest before
+     * it is committed.
+     */
+    public void checkRemaining() throws IOException
+    {
+        if (sections != null)
+        {
+            byte[] buffer = new byte[8192];
+            while (sections.read (buffer, 0, buffer.length) != -1)
+            {
+            }
+        }
+    }
+
+    /**
+     * Opens a reader of the given section of a stream backup, which must be
+     * read from the start until the section is reached.
+     *
+     * @param file The backup file.
+     * @param title The title line of the section.
+     * @return The reader, positioned after the title line of the section, or
+     * null if the backup has no such section.
+     */
+    static BackupReader openStreamSection(File file, String title) throws IOException
+    {
+        BackupReader reader = open (file);
+        try
+        {
+            String line = reader.readLine ();
+            while (line != null)
+            {
+                if (line.equals (title))
+                {
+                    return reader;
+                }
+                line = reader.readLine ();
+            }
+        }
+        catch (IOException ex)
+        {
+            reader.close ();
+            throw ex;
+        }
+
+        reader.close ();
+        return null;
+    }
+
+    /**
+     * The text of the sections of a stream backup, read in order and checked
+     * as each section ends.
+     */
+    private static class SectionInputStream extends InputStream
+    {
+        /**
+         * The decompressed body.
+         */
+        private DataInputStream body;
+        /**
+         * The name of the current section, or null before the first one.
+         */
+        private String sectionName;
+        /**
+         * The bytes left in the current chunk.
+         */
+        private int chunkRemaining = 0;
+        /**
+         * The checksum of the current section so far.
+         */
+        private CRC32 crc = new CRC32 ();
+        /**
+         * The length of the current section so far.
+         */
+        private long sectionLength = 0;
+        /**
+         * The name of each section read.
+         */
+        private ArrayList<String> names = new ArrayList<String> ();
+        /**
+         * The length of each section read.
+         */
+        private ArrayList<Long> lengths = new ArrayList<Long> ();
+        /**
+         * The checksum of each section read.
+         */
+        private ArrayList<Long> checksums = new ArrayList<Long> ();
+        /**
+         * True once the manifest has been read and checked.
+         */
+        private boolean finished = false;
+
+        /**
+         * Constructs the stream of the given body.
+         *
+         * @param body The decompressed body.
+         */
+        private SectionInputStream(DataInputStream body)
+        {
+            this.body = body;
+        }
+
+        /**
+         * Reads the next byte of text.
+         *
+         * @return The byte, or -1 at the end of the backup.
+         */
+        @Override
+        public int read() throws IOException
+        {
+            if (!nextChunk ())
+            {
+                return -1;
+            }
+
+            int b = body.readUnsignedByte ();
+            crc.update (b);
+            ++sectionLength;
+            --chunkRemaining;
+
+            return b;
+        }
+
+        /**
+         * Reads text into the given array, never past the end of a chunk.
+         *
+         * @param bytes The array to read into.
+         * @param offset The index to start reading to.
+         * @param length The most bytes to read.
+         * @return The number of bytes read, or -1 at the end of the backup.
+         */
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException
+        {
+            if (length == 0)
+            {
+                return 0;
+            }
+            if (!nextChunk ())
+            {
+                return -1;
+            }
+
+            int count = Math.min (length, chunkRemaining);
+            body.readFully (bytes, offset, count);
+            crc.update (bytes, offset, count);
+            sectionLength += count;
+            chunkRemaining -= count;
+
+            return count;
+        }
+
+        /**
+         * Closes the body.
+         */
+        @Override
+        public void close() throws IOException
+        {
+            body.close ();
+        }
+
+        /**
+         * Moves to the next chunk with text in it, checking each section that
+         * ends along the way, and the manifest at the end of the backup.
+         *
+         * @return True if there is more text, false at the end of the backup.
+         */
+        private boolean nextChunk() throws IOException
+        {
+            try
+            {
+                while (chunkRemaining == 0 && !finished)
+                {
+                    if (sectionName != null)
+                    {
+                        int length = body.readInt ();
+                        if (length < 0 || length > CHUNK_SIZE)
+                        {
+                            throw new IOException ("The backup section " + sectionName + " is damaged.");
+                        }
+                        if (length > 0)
+                        {
+                            chunkRemaining = length;
+                            return true;
+                        }
+                        endSection ();
+                    }
+
+                    byte tag = body.readByte ();
+                    if (tag == SECTION)
+                    {
+                        sectionName = body.readUTF ();
+                    }
+                    else if (tag == MANIFEST)
+                    {
+                        readManifest ();
+                    }
+                    else
+                    {
+                        throw new IOException ("The backup is damaged.");
+                    }
+                }
+            }
+            catch (EOFException ex)
+            {
+                throw new IOException ("The backup is incomplete.");
+            }
+
+            return chunkRemaining > 0;
+        }
+
+        /**
+         * Checks the section that has just ended against its length and
+         * checksum.
+         */
+        private void endSection() throws IOException
+        {
+            if (body.readLong () != sectionLength || body.readLong () != crc.getValue ())
+            {
+                throw new IOException ("The backup section " + sectionName + " is damaged.");
+            }
+
+            names.add (sectionName);
+            lengths.add (sectionLength);
+            checksums.add (crc.getValue ());
+            sectionName = null;
+            sectionLength = 0;
+            crc.reset ();
+        }
+
+        /**
+         * Checks the manifest against the sections that were read.
+         */
+        private void readManifest() throws IOException
+        {
+            int count = body.readInt ();
+            if (count != names.size ())
+            {
+                throw new IOException ("The backup is missing sections.");
+            }
+            for (int i = 0; i < count; ++i)
+            {
+                String name = body.readUTF ();
+                long length = body.readLong ();
+                long checksum = body.readLong ();
+                if (!name.equals (names.get (i)) || length != lengths.get (i) || checksum != checksums.get (i))
+                {
+                    throw new IOException ("The backup manifest does not match section " + name + ".");
+                }
+            }
+            if (body.readByte () != END)
+            {
+                throw new IOException ("The backup is damaged.");
+            }
+            finished = true;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.types.EventYear;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+
+/**
+ * A point-in-time copy of everything a backup holds, taken on the event
+ * dispatch thread so that no edit can land partway through it, then written
+ * out on another thread while editing and saving carry on. The sections and
+ * chunks written to the snapshot are kept as text and replayed, in the same
+ * order, to the writer of the backup.
+ *
+ * Event years that are not in memory cannot be edited without first being
+ * loaded, so rather than reading them while the snapshot is taken, only the
+ * event year is kept and its records are copied from its data files as the
+ * backup is written.
+ *
+ * @author Alex Laird
+ */
+public class BackupSnapshot extends SectionWriter
+{
+    /**
+     * A section is started; the value is its name.
+     */
+    private static final int START_SECTION = 0;
+    /**
+     * Text is written; the value is the text.
+     */
+    private static final int TEXT = 1;
+    /**
+     * The records of an event year are copied from its data files; the value
+     * is the event year.
+     */
+    private static final int EVENT_YEAR = 2;
+    /**
+     * A chunk is ended; there is no value.
+     */
+    private static final int END_CHUNK = 3;
+    /**
+     * The kind of each step of the snapshot, in the order they were taken.
+     */
+    private ArrayList<Integer> kinds = new ArrayList<Integer> ();
+    /**
+     * The value of each step of the snapshot.
+     */
+    private ArrayList<Object> values = new ArrayList<Object> ();
+    /**
+     * The text written since the last step.
+     */
+    private StringBuilder pending = new StringBuilder ();
+    /**
+     * The number of steps written out so far.
+     */
+    private volatile int stepsWritten = 0;
+    /**
+     * True once writing out the snapshot has been cancelled.
+     */
+    private volatile boolean cancelled = false;
+
+    /**
+     * Starts a new section.
+     *
+     * @param name The name of the section.
+     */
+    @Override
+    public void startSection(String name)
+    {
+        endText ();
+        addStep (START_SECTION, name);
+    }
+
+    /**
+     * Ends the current chunk.
+     */
+    @Override
+    public void endChunk()
+    {
+        endText ();
+        addStep (END_CHUNK, null);
+    }
+
+    /**
+     * Copies the records of the given event year from its data files, at
+     * this point in the current chunk, when the snapshot is written out.
+     *
+     * @param eventYear The event year, which is not in memory.
+     */
+    public void copyEventYear(EventYear eventYear)
+    {
+        endText ();
+        addStep (EVENT_YEAR, eventYear);
+    }
+
+    /**
+     * Writes text to the snapshot.
+     *
+     * @param chars The characters to write.
+     * @param offset The index of the first character to write.
+     * @param length The number of characters to write.
+     */
+    @Override
+    public void write(char[] chars, int offset, int length)
+    {
+        pending.append (chars, offset, length);
+    }
+
+    /**
+     * Writes text to the snapshot.
+     *
+     * @param string The text to write.
+     * @param offset The index of the first character to write.
+     * @param length The number of characters to write.
+     */
+    @Override
+    public void write(String string, int offset, int length)
+    {
+        pending.append (string, offset, offset + length);
+    }
+
+    /**
+     * The snapshot is held in memory, so flushing does nothing.
+     */
+    @Override
+    public void flush()
+    {
+    }
+
+    /**
+     * Ends the text of the snapshot. Nothing more should be written to it.
+     */
+    @Override
+    public void close()
+    {
+        endText ();
+    }
+
+    /**
+     * Writes the snapshot out to the given writer, copying the records of any
+     * event years it holds from their data files along the way. The writer is
+     * not closed.
+     *
+     * @param out The writer of the backup.
+     */
+    public void writeTo(SectionWriter out) throws IOException
+    {
+        endText ();
+        for (int i = 0; i < kinds.size (); ++i)
+        {
+            if (cancelled)
+            {
+                throw new InterruptedIOException ("The backup was cancelled.");
+            }
+
+            int kind = kinds.get (i);
+            if (kind == START_SECTION)
+            {
+                out.startSection ((String) values.get (i));
+            }
+            else if (kind == TEXT)
+            {
+                out.write ((String) values.get (i));
+            }
+            else if (kind == EVENT_YEAR)
+            {
+                EventYear eventYear = (EventYear) values.get (i);
+                ArrayList<String> records = eventYear.getJournal ().load ();
+                for (int j = 0; j < records.size (); ++j)
+                {
+                    out.write (records.get (j) + Utility.END_OF_LINE + Utility.LINE_RETURN);
+                }
+                // the records were only needed for the backup
+                if (!eventYear.isLoaded ())
+                {
+                    eventYear.getJournal ().release ();
+                }
+            }
+            else
+            {
+                out.endChunk ();
+            }
+
+            stepsWritten = i + 1;
+        }
+    }
+
+    /**
+     * Cancels writing out the snapshot. The write stops with an
+     * InterruptedIOException before its next step.
+     */
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    /**
+     * Checks if writing out the snapshot has been cancelled.
+     *
+     * @return True if the snapshot was cancelled, false otherwise.
+     */
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    /**
+     * Retrieves how much of the snapshot has been written out.
+     *
+     * @return The percent of the snapshot written, from 0 to 100.
+     */
+    public int getProgress()
+    {
+        int steps = kinds.size ();
+
+        return steps == 0 ? 100 : (int) (stepsWritten * 100L / steps);
+    }
+
+    /**
+     * Ends the text written since the last step as a step of its own.
+     */
+    private void endText()
+    {
+        if (pending.length () > 0)
+        {
+            addStep (TEXT, pending.toString ());
+            pending.setLength (0);
+        }
+    }
+
+    /**
+     * Adds a step to the snapshot.
+     *
+     * @param kind The kind of step.
+     * @param value The value of the step.
+     */
+    private void addStep(int kind, Object value)
+    {
+        kinds.add (kind);
+        values.add (value);
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a backup file. The text of the backup is the same as the plain-text
+ * backups of earlier versions, but it is split into named sections, each
+ * streamed through compression on its own. An index of the sections ends the
+ * file, giving the position, length, and checksum of each, so BackupIndex can
+ * go straight to the sections it needs and BackupReader can check a backup as
+ * it reads it, or without restoring it at all.
+ *
+ * The file is a header (magic number and format version), the compressed
+ * sections, the index (the number of sections, then the name, position,
+ * compressed length, length, and checksum of each), and a trailer (the
+ * position and checksum of the index, and the magic number again).
+ *
+ * @author Alex Laird
+ */
+public class BackupWriter extends SectionWriter
+{
+    /**
+     * The number every compressed backup file starts and ends with.
+     */
+    static final int MAGIC = 0x474F424B;
+    /**
+     * The version of the backup format.
+     */
+    static final int VERSION = 2;
+    /**
+     * The size of the header, in bytes.
+     */
+    static final int HEADER_SIZE = 8;
+    /**
+     * The size of the trailer, in bytes.
+     */
+    static final int TRAILER_SIZE = 20;
+    /**
+     * The file being written.
+     */
+    private DataOutputStream file;
+    /**
+     * The number of bytes written to the file so far.
+     */
+    private long position = 0;
+    /**
+     * The compressor of each section.
+     */
+    private Deflater deflater = new Deflater ();
+    /**
+     * The compressed stream of the current section.
+     */
+    private DeflaterOutputStream section;
+    /**
+     * The encoder the text of the current section is written through.
+     */
+    private Writer text;
+    /**
+     * The checksum of the current section.
+     */
+    private CRC32 crc = new CRC32 ();
+    /**
+     * The length of the current section, in bytes.
+     */
+    private long sectionLength = 0;
+    /**
+     * The position of the current section in the file.
+     */
+    private long sectionPosition = 0;
+    /**
+     * The name of the current section, or null if none has been started.
+     */
+    private String sectionName;
+    /**
+     * The name of each finished section.
+     */
+    private ArrayList<String> names = new ArrayList<String> ();
+    /**
+     * The position of each finished section.
+     */
+    private ArrayList<Long> positions = new ArrayList<Long> ();
+    /**
+     * The compressed length of each finished section.
+     */
+    private ArrayList<Long> compressedLengths = new ArrayList<Long> ();
+    /**
+     * The length of each finished section.
+     */
+    private ArrayList<Long> lengths = new ArrayList<Long> ();
+    /**
+     * The checksum of each finished section.
+     */
+    private ArrayList<Long> checksums = new ArrayList<Long> ();
+
+    /**
+     * Constructs a writer of a new backup file.
+     *
+     * @param file The file to write to.
+     */
+    public BackupWriter(File file) throws IOException
+    {
+        this.file = new DataOutputStream (new FilterOutputStream (new BufferedOutputStream (new FileOutputStream (file)))
+        {
+            @Override
+            public void write(int b) throws IOException
+            {
+                out.write (b);
+                ++position;
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException
+            {
+                out.write (bytes, offset, length);
+                position += length;
+            }
+        });
+        try
+        {
+            this.file.writeInt (MAGIC);
+            this.file.writeInt (VERSION);
+        }
+        catch (IOException ex)
+        {
+            this.file.close ();
+            throw ex;
+        }
+        text = new OutputStreamWriter (new OutputStream ()
+        {
+            @Override
+            public void write(int b) throws IOException
+            {
+                crc.update (b);
+                ++sectionLength;
+                section.write (b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException
+            {
+                crc.update (bytes, offset, length);
+                sectionLength += length;
+                section.write (bytes, offset, length);
+            }
+        }, "UTF-8");
+    }
+
+    /**
+     * Ends the current section, if any, and starts a new one. Text written
+     * before the first section is started is an error.
+     *
+     * @param name The name of the section.
+     */
+    @Override
+    public void startSection(String name) throws IOException
+    {
+        endSection ();
+
+        deflater.reset ();
+        section = new DeflaterOutputStream (file, deflater, 8192);
+        sectionPosition = position;
+        sectionName = name;
+    }
+
+    /**
+     * Writes text to the current section.
+     *
+     * @param chars The characters to write.
+     * @param offset The index of the first character to write.
+     * @param length The number of characters to write.
+     */
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException
+    {
+        if (sectionName == null)
+        {
+            throw new IOException ("No section has been started.");
+        }
+        text.write (chars, offset, length);
+    }
+
+    /**
+     * Writes text to the current section.
+     *
+     * @param string The text to write.
+     * @param offset The index of the first character to write.
+     * @param length The number of characters to write.
+     */
+    @Override
+    public void write(String string, int offset, int length) throws IOException
+    {
+        if (sectionName == null)
+        {
+            throw new IOException ("No section has been started.");
+        }
+        text.write (string, offset, length);
+    }
+
+    /**
+     * Sections are only written out as they are ended, so flushing does
+     * nothing.
+     */
+    @Override
+    public void flush()
+    {
+    }
+
+    /**
+     * Ends the current section, writes the index, and closes the file.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (file == null)
+        {
+            return;
+        }
+
+        try
+        {
+            endSection ();
+
+            ByteArrayOutputStream indexBytes = new ByteArrayOutputStream ();
+            DataOutputStream index = new DataOutputStream (indexBytes);
+            index.writeInt (names.size ());
+            for (int i = 0; i < names.size (); ++i)
+            {
+                index.writeUTF (names.get (i));
+                index.writeLong (positions.get (i));
+                index.writeLong (compressedLengths.get (i));
+                index.writeLong (lengths.get (i));
+                index.writeLong (checksums.get (i));
+            }
+            index.flush ();
+            CRC32 indexCrc = new CRC32 ();
+            indexCrc.update (indexBytes.toByteArray ());
+
+            long indexPosition = position;
+            indexBytes.writeTo (file);
+            file.writeLong (indexPosition);
+            file.writeLong (indexCrc.getValue ());
+            file.writeInt (MAGIC);
+        }
+        finally
+        {
+            file.close ();
+            file = null;
+            deflater.end ();
+        }
+    }
+
+    /**
+     * Ends the current section, if any, finishing its compressed stream and
+     * noting where it is, how long it is, and its checksum for the index.
+     */
+    private void endSection() throws IOException
+    {
+        if (sectionName == null)
+        {
+            return;
+        }
+
+        text.flush ();
+        section.finish ();
+
+        names.add (sectionName);
+        positions.add (sectionPosition);
+        compressedLengths.add (position - sectionPosition);
+        lengths.add (sectionLength);
+        checksums.add (crc.getValue ());
+        sectionName = null;
+        sectionLength = 0;
+        crc.reset ();
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.gui.Domain;
+import adl.go.types.ListItem;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A write-ahead journal that sits in front of a base data file of assignments
+ * or events. Saves append only the records that were added, updated, or
+ * deleted since the last save, and the journal is periodically compacted back
+ * into the base file, which is always replaced atomically through a temporary
+ * file.
+ *
+ * @author Alex Laird
+ */
+public class ChangeJournal
+{
+    /**
+     * The journal operation prefix for an added record.
+     */
+    private static final String ADD = "A";
+    /**
+     * The journal operation prefix for an updated record.
+     */
+    private static final String UPDATE = "U";
+    /**
+     * The journal operation prefix for a deleted record.
+     */
+    private static final String DELETE = "D";
+    /**
+     * The fewest records the journal may hold before it is eligible for
+     * compaction.
+     */
+    private static final int MIN_COMPACT_RECORDS = 32;
+    /**
+     * The base data file.
+     */
+    private File baseFile;
+    /**
+     * The journal file appended to between compactions.
+     */
+    private File journalFile;
+    /**
+     * The temporary file a new base file is written to before it is swapped in.
+     */
+    private File tempFile;
+    /**
+     * The records, keyed by unique ID, as they currently exist on disk (base
+     * file plus journal).
+     */
+    private Map<Long, String> persisted = new HashMap<Long, String> ();
+    /**
+     * The number of records currently in the journal file.
+     */
+    private int journalRecords = 0;
+    /**
+     * True once the persisted records reflect what is on disk, false if the
+     * next save must rewrite the base file in full.
+     */
+    private boolean synced = false;
+
+    /**
+     * Constructs a journal for the given base data file. The journal and
+     * temporary files live beside the base file.
+     *
+     * @param baseFile The base data file.
+     */
+    public ChangeJournal(File baseFile)
+    {
+        this.baseFile = baseFile;
+        String name = baseFile.getName ();
+        if (name.endsWith (".dat"))
+        {
+            name = name.substring (0, name.length () - 4);
+        }
+        journalFile = new File (baseFile.getParentFile (), name + ".jnl");
+        tempFile = new File (baseFile.getParentFile (), name + ".tmp");
+    }
+
+    /**
+     * Checks if anything has been written for this journal yet.
+     *
+     * @return True if the base file, journal, or a leftover temporary file
+     * exists, false otherwise.
+     */
+    public boolean exists()
+    {
+        return baseFile.exists () || journalFile.exists () || tempFile.exists ();
+    }
+
+    /**
+     * Retrieves the last time the base file, journal, or temporary file was
+     * modified.
+     *
+     * @return The time of the last modification, or 0 if none of the files
+     * exist.
+     */
+    public long lastModified()
+    {
+        return Math.max (baseFile.lastModified (), Math.max (journalFile.lastModified (), tempFile.lastModified ()));
+    }
+
+    /**
+     * Retrieves the combined length of the base file, journal, and temporary
+     * file.
+     *
+     * @return The number of bytes in the files, or 0 if none of them exist.
+     */
+    public long length()
+    {
+        return baseFile.length () + journalFile.length () + tempFile.length ();
+    }
+
+    /**
+     * Forgets the records last read or written, so their memory can be
+     * reclaimed. Until load() is called again, the next save rewrites the base
+     * file in full.
+     */
+    public synchronized void release()
+    {
+        persisted.clear ();
+        synced = false;
+    }
+
+    /**
+     * Reads the base data file and replays the journal on top of it. If the
+     * journal held any records, they are folded back into the base file.
+     *
+     * @return The current records, in file order, without their end of line
+     * markers.
+     */
+    public synchronized ArrayList<String> load() throws IOException
+    {
+        // a crash between removing the old base file and renaming the new one
+        // leaves only the temporary file behind
+        if (!baseFile.exists () && tempFile.exists ())
+        {
+            tempFile.renameTo (baseFile);
+        }
+
+        LinkedHashMap<Long, String> records = new LinkedHashMap<Long, String> ();
+        long unkeyed = Long.MIN_VALUE;
+        if (baseFile.exists ())
+        {
+            BufferedReader in = new BufferedReader (new FileReader (baseFile));
+            try
+            {
+                String line = in.readLine ();
+                while (line != null)
+                {
+                    if (isComplete (line))
+                    {
+                        String record = line.substring (0, line.length () - Utility.END_OF_LINE.length ());
+                        try
+                        {
+                            records.put (getID (record), record);
+                        }
+                        catch (NumberFormatException ex)
+                        {
+                            // keep malformed records so the parse constructors can salvage what they can
+                            records.put (unkeyed++, record);
+                        }
+                    }
+
+                    line = in.readLine ();
+                }
+            }
+            finally
+            {
+                in.close ();
+            }
+        }
+
+        int replayed = 0;
+        if (journalFile.exists ())
+        {
+            BufferedReader in = new BufferedReader (new FileReader (journalFile));
+            try
+            {
+                String line = in.readLine ();
+                while (line != null)
+                {
+                    // a torn final line from a crash mid-append is ignored
+                    if (isComplete (line) && line.length () > 2)
+                    {
+                        String op = line.substring (0, 1);
+                        String record = line.substring (2, line.length () - Utility.END_OF_LINE.length ());
+                        try
+                        {
+                            if (op.equals (DELETE))
+                            {
+                                records.remove (Long.parseLong (record));
+                            }
+                            else
+                            {
+                                records.put (getID (record), record);
+                            }
+                            ++replayed;
+                        }
+                        catch (NumberFormatException ex)
+                        {
+                            Domain.LOGGER.add (ex);
+                        }
+                    }
+
+                    line = in.readLine ();
+                }
+            }
+            finally
+            {
+                in.close ();
+            }
+        }
+
+        persisted.clear ();
+        persisted.putAll (records);
+        journalRecords = replayed;
+        synced = true;
+        if (replayed > 0)
+        {
+            compact (records);
+        }
+
+        return new ArrayList<String> (records.values ());
+    }
+
+    /**
+     * Persists the given items. Only records that differ from what is already
+     * on disk are appended to the journal; once the journal grows large
+     * enough, it is compacted into the base file.
+     *
+     * @param items The complete list of items that belong in the base file.
+     */
+    public synchronized void save(ArrayList<? extends ListItem> items) throws IOException
+    {
+        LinkedHashMap<Long, String> current = new LinkedHashMap<Long, String> ();
+        RecordWriter writer = new RecordWriter ();
+        for (int i = 0; i < items.size (); ++i)
+        {
+            items.get (i).writeTo (writer);
+            current.put (items.get (i).getUniqueID (), writer.takeRecord ());
+        }
+
+        if (!synced || !baseFile.exists ())
+        {
+            compact (current);
+            return;
+        }
+
+        StringBuilder append = new StringBuilder ();
+        int appended = 0;
+        Iterator<Map.Entry<Long, String>> entries = current.entrySet ().iterator ();
+        while (entries.hasNext ())
+        {
+            Map.Entry<Long, String> entry = entries.next ();
+            String record = entry.getValue ();
+            String old = persisted.get (entry.getKey ());
+            if (old == null)
+            {
+                append.append (ADD).append (Utility.SEPARATOR).append (record).append (Utility.END_OF_LINE).append (Utility.LINE_RETURN);
+                ++appended;
+            }
+            else if (!old.equals (record))
+            {
+                append.append (UPDATE).append (Utility.SEPARATOR).append (record).append (Utility.END_OF_LINE).append (Utility.LINE_RETURN);
+                ++appended;
+            }
+        }
+        Iterator<Long> iterator = persisted.keySet ().iterator ();
+        while (iterator.hasNext ())
+        {
+            long id = iterator.next ();
+            if (!current.containsKey (id))
+            {
+                append.append (DELETE).append (Utility.SEPARATOR).append (id).append (Utility.END_OF_LINE).append (Utility.LINE_RETURN);
+                ++appended;
+            }
+        }
+
+        if (appended == 0)
+        {
+            return;
+        }
+        if (journalRecords + appended > Math.max (MIN_COMPACT_RECORDS, current.size () / 2))
+        {
+            compact (current);
+            return;
+        }
+
+        BufferedWriter out = new BufferedWriter (new FileWriter (journalFile, true));
+        try
+        {
+            out.write (append.toString ());
+            out.flush ();
+        }
+        finally
+        {
+            out.close ();
+        }
+        persisted.clear ();
+        persisted.putAll (current);
+        journalRecords += appended;
+    }
+
+    /**
+     * Retrieves the files this journal keeps its records in.
+     *
+     * @return The base file, the journal file, and the temporary file, in
+     * that order; any of them may not exist.
+     */
+    public File[] getFiles()
+    {
+        return new File[]
+        {
+            baseFile, journalFile, tempFile
+        };
+    }
+
+    /**
+     * Deletes the base file, journal, and any leftover temporary file. The
+     * next save will write the base file in full.
+     */
+    public synchronized void delete()
+    {
+        baseFile.delete ();
+        journalFile.delete ();
+        tempFile.delete ();
+        persisted.clear ();
+        journalRecords = 0;
+        synced = false;
+    }
+
+    /**
+     * Writes the given records to a new base file, swaps it in for the old
+     * one, and then clears the journal.
+     *
+     * @param records The records to write, keyed by unique ID and without end
+     * of line markers.
+     */
+    private void compact(Map<Long, String> records) throws IOException
+    {
+        baseFile.getParentFile ().mkdirs ();
+        BufferedWriter out = new BufferedWriter (new FileWriter (tempFile));
+        try
+        {
+            Iterator<String> iterator = records.values ().iterator ();
+            while (iterator.hasNext ())
+            {
+                out.write (iterator.next ());
+                out.write (Utility.END_OF_LINE);
+                out.write (Utility.LINE_RETURN);
+            }
+            out.flush ();
+        }
+        finally
+        {
+            out.close ();
+        }
+
+        // rename is atomic where the platform allows replacing an existing
+        // file; otherwise the old base file must be removed first, and load()
+        // recovers from the temporary file if the swap is interrupted
+        if (!tempFile.renameTo (baseFile))
+        {
+            baseFile.delete ();
+            if (!tempFile.renameTo (baseFile))
+            {
+                throw new IOException ("Unable to replace " + baseFile.getPath ());
+            }
+        }
+        journalFile.delete ();
+
+        if (persisted != records)
+        {
+            persisted.clear ();
+            persisted.putAll (records);
+        }
+        journalRecords = 0;
+        synced = true;
+    }
+
+    /**
+     * Checks that the given line was written out in full.
+     *
+     * @param line The line to check.
+     * @return True if the line ends with an unescaped end of line marker, false
+     * otherwise.
+     */
+    private static boolean isComplete(String line)
+    {
+        return line.endsWith (Utility.END_OF_LINE) && !line.endsWith ("\\" + Utility.END_OF_LINE);
+    }
+
+    /**
+     * Retrieves the unique ID from a serialized assignment or event, which is
+     * always the third field of the record.
+     *
+     * @param record The serialized record.
+     * @return The unique ID of the record.
+     */
+    private static long getID(String record)
+    {
+        int field = 0;
+        int start = 0;
+        for (int i = 0; i < record.length (); ++i)
+        {
+            if (record.startsWith (Utility.SEPARATOR, i) && (i == 0 || record.charAt (i - 1) != '\\'))
+            {
+                ++field;
+                if (field == 2)
+                {
+                    start = i + Utility.SEPARATOR.length ();
+                }
+                else if (field == 3)
+                {
+                    return Long.parseLong (record.substring (start, i));
+                }
+            }
+        }
+        return Long.parseLong (record.substring (start));
+    }
+}
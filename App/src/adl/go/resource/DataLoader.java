@@ -0,0 +1,287 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.gui.Domain;
+import adl.go.types.Course;
+import adl.go.types.Event;
+import adl.go.types.EventYear;
+import adl.go.types.ListItem;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Loads the per-course assignment files and per-year event files in parallel.
+ * Each file is parsed on a bounded pool of threads into its own list, and the
+ * lists are then merged into the utility on the calling thread in the order
+ * the files were queued, so the result is the same as loading the files one
+ * after another.
+ *
+ * @author Alex Laird
+ */
+public class DataLoader
+{
+    /**
+     * A reference to the utility the loaded items are merged into.
+     */
+    private LocalUtility utility;
+    /**
+     * The name of each queued file, parallel to the tasks.
+     */
+    private ArrayList<String> names = new ArrayList<String> ();
+    /**
+     * The course or event year each queued file belongs to, parallel to the
+     * tasks.
+     */
+    private ArrayList<Object> owners = new ArrayList<Object> ();
+    /**
+     * The courses and event years whose files failed to load.
+     */
+    private Set<Object> failed = Collections.newSetFromMap (new IdentityHashMap<Object, Boolean> ());
+    /**
+     * The task that loads each queued file.
+     */
+    private ArrayList<Callable<Result>> tasks = new ArrayList<Callable<Result>> ();
+    /**
+     * The time, in milliseconds, each file took to load, keyed by file name.
+     */
+    private LinkedHashMap<String, Long> timings = new LinkedHashMap<String, Long> ();
+
+    /**
+     * Constructs a loader that merges what it loads into the given utility.
+     *
+     * @param utility A reference to the utility.
+     */
+    public DataLoader(LocalUtility utility)
+    {
+        this.utility = utility;
+    }
+
+    /**
+     * Queues the assignments file of the given course to be loaded.
+     *
+     * @param course The course to load assignments for.
+     */
+    public void addCourse(final Course course)
+    {
+        add ("a" + course.getUniqueID () + ".dat", course, new Loader ()
+        {
+            @Override
+            public List<? extends ListItem> load() throws Exception
+            {
+                return course.loadAssignments (utility);
+            }
+        });
+    }
+
+    /**
+     * Queues an events file of the given event year to be loaded.
+     *
+     * @param eventYear The event year to load events for.
+     * @param useNew False to use old data file path, true to use new.
+     */
+    public void addEventYear(final EventYear eventYear, final boolean useNew)
+    {
+        add ("e" + eventYear.getYear () + ".dat" + (useNew ? "" : " (old)"), eventYear, new Loader ()
+        {
+            @Override
+            public List<? extends ListItem> load() throws Exception
+            {
+                return eventYear.loadEvents (utility, useNew);
+            }
+        });
+    }
+
+    /**
+     * Loads every queued file, using up to one thread per available processor,
+     * and merges the loaded assignments and events into the utility. A file
+     * that fails to load is logged and skipped without affecting the others.
+     */
+    public void run()
+    {
+        if (tasks.isEmpty ())
+        {
+            return;
+        }
+
+        int threads = Math.min (tasks.size (), Runtime.getRuntime ().availableProcessors ());
+        ExecutorService executor = Executors.newFixedThreadPool (threads, new ThreadFactory ()
+        {
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread (runnable, "Data Loader");
+                thread.setDaemon (true);
+                return thread;
+            }
+        });
+        try
+        {
+            List<Future<Result>> futures = executor.invokeAll (tasks);
+            for (int i = 0; i < futures.size (); ++i)
+            {
+                merge (names.get (i), owners.get (i), futures.get (i).get ());
+            }
+        }
+        catch (InterruptedException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+        catch (ExecutionException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+        finally
+        {
+            executor.shutdown ();
+            names.clear ();
+            owners.clear ();
+            tasks.clear ();
+        }
+    }
+
+    /**
+     * Retrieves the time each file took to load, in the order the files were
+     * queued.
+     *
+     * @return The load time in milliseconds, keyed by file name.
+     */
+    public Map<String, Long> getTimings()
+    {
+        return Collections.unmodifiableMap (timings);
+    }
+
+    /**
+     * Checks if a file queued for the given course or event year failed to
+     * load during the last run.
+     *
+     * @param owner The course or event year.
+     * @return True if its file failed to load, false otherwise.
+     */
+    public boolean hasFailed(Object owner)
+    {
+        return failed.contains (owner);
+    }
+
+    /**
+     * Queues the given loader as a task that times itself and catches its own
+     * failure.
+     *
+     * @param name The name of the file being loaded.
+     * @param owner The course or event year the file belongs to.
+     * @param loader The loader of the file.
+     */
+    private void add(String name, Object owner, final Loader loader)
+    {
+        names.add (name);
+        owners.add (owner);
+        tasks.add (new Callable<Result> ()
+        {
+            @Override
+            public Result call()
+            {
+                Result result = new Result ();
+                long start = System.currentTimeMillis ();
+                try
+                {
+                    result.items = loader.load ();
+                }
+                catch (Exception ex)
+                {
+                    result.error = ex;
+                }
+                result.time = System.currentTimeMillis () - start;
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Merges the items loaded from a single file into the utility.
+     *
+     * @param name The name of the file.
+     * @param owner The course or event year the file belongs to.
+     * @param result The result of loading the file.
+     */
+    private void merge(String name, Object owner, Result result)
+    {
+        timings.put (name, result.time);
+        if (result.error != null)
+        {
+            failed.add (owner);
+            Domain.LOGGER.add (result.error);
+            return;
+        }
+
+        utility.assignmentsAndEvents.addAll (result.items);
+        for (int i = 0; i < result.items.size (); ++i)
+        {
+            ListItem item = result.items.get (i);
+            if (!item.isAssignment () && ((Event) item).getRepeating ().getID () != -1)
+            {
+                utility.repeatingEvents.add ((Event) item);
+            }
+        }
+    }
+
+    /**
+     * Loads the items in a single file.
+     */
+    private interface Loader
+    {
+        /**
+         * Loads the items in the file.
+         *
+         * @return The loaded items, in file order.
+         */
+        public List<? extends ListItem> load() throws Exception;
+    }
+
+    /**
+     * The outcome of loading a single file.
+     */
+    private static class Result
+    {
+        /**
+         * The loaded items, or null if the file failed to load.
+         */
+        private List<? extends ListItem> items;
+        /**
+         * The reason the file failed to load, or null if it loaded.
+         */
+        private Exception error;
+        /**
+         * The time, in milliseconds, the file took to load.
+         */
+        private long time;
+    }
+}
@@ -0,0 +1,537 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.gui.Domain;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * A list of the data files in the data folder, kept in the data folder itself,
+ * giving the record count, size, modification time, and checksum of each. At
+ * startup, the event year files are found from the manifest instead of by
+ * listing the data folder, and the snapshot is checked against the checksums
+ * in the manifest, so a file that was only touched does not throw the
+ * snapshot away, while one changed outside the application does.
+ *
+ * The manifest also holds the modification time of the data folder as of when
+ * the manifest was written. Creating, removing, or renaming any file in the
+ * folder changes that time, so a manifest that might be missing a file is
+ * never trusted; the folder is listed instead, and the manifest rewritten.
+ *
+ * @author Alex Laird
+ */
+public class DataManifest
+{
+    /**
+     * The name of the manifest file in the data folder.
+     */
+    public static final String FILE_NAME = "manifest.dat";
+    /**
+     * The version of the manifest format.
+     */
+    private static final int VERSION = 1;
+    /**
+     * The data folder.
+     */
+    private File folder;
+    /**
+     * The manifest file.
+     */
+    private File file;
+    /**
+     * The entry of each data file, by file name, in the order they were put.
+     */
+    private LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry> ();
+    /**
+     * The names of the files put since the last call to beginUpdate().
+     */
+    private HashSet<String> updated = new HashSet<String> ();
+    /**
+     * True if the manifest was read and the data folder has not changed
+     * since it was written, false otherwise.
+     */
+    private boolean current = false;
+
+    /**
+     * Constructs the manifest of the given data folder.
+     *
+     * @param folder The data folder.
+     */
+    public DataManifest(File folder)
+    {
+        this.folder = folder;
+        file = new File (folder, FILE_NAME);
+    }
+
+    /**
+     * Reads the manifest from the data folder.
+     *
+     * @return True if the manifest was read intact, false if there is none or
+     * it is damaged.
+     */
+    public synchronized boolean load()
+    {
+        entries.clear ();
+        current = false;
+        if (!file.exists ())
+        {
+            return false;
+        }
+
+        try
+        {
+            BufferedReader in = new BufferedReader (new FileReader (file));
+            try
+            {
+                CRC32 crc = new CRC32 ();
+                String line = in.readLine ();
+                if (line == null)
+                {
+                    return false;
+                }
+                RecordTokenizer scan = new RecordTokenizer (line);
+                if (scan.nextInt () != VERSION)
+                {
+                    return false;
+                }
+                long folderModified = scan.nextLong ();
+                int count = scan.nextInt ();
+                update (crc, line);
+                for (int i = 0; i < count; ++i)
+                {
+                    line = in.readLine ();
+                    if (line == null)
+                    {
+                        entries.clear ();
+                        return false;
+                    }
+                    scan = new RecordTokenizer (line);
+                    Entry entry = new Entry (scan.next (), scan.nextInt (), scan.nextLong (), scan.nextLong (), scan.nextLong ());
+                    entries.put (entry.name, entry);
+                    update (crc, line);
+                }
+                line = in.readLine ();
+                if (line == null || new RecordTokenizer (line).nextLong () != crc.getValue ())
+                {
+                    entries.clear ();
+                    return false;
+                }
+
+                current = folder.lastModified () == folderModified;
+                return true;
+            }
+            finally
+            {
+                in.close ();
+            }
+        }
+        catch (NoSuchElementException ex)
+        {
+            entries.clear ();
+            return false;
+        }
+        catch (IOException ex)
+        {
+            Domain.LOGGER.add (ex);
+            entries.clear ();
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the manifest lists every data file, because nothing has been
+     * added to or removed from the data folder since it was written.
+     *
+     * @return True if the manifest can be used instead of listing the folder,
+     * false otherwise.
+     */
+    public synchronized boolean isCurrent()
+    {
+        return current;
+    }
+
+    /**
+     * Retrieves the names of the data files in the manifest that start and end
+     * with the given text.
+     *
+     * @param prefix The start of the file names.
+     * @param suffix The end of the file names.
+     * @return The file names, in manifest order.
+     */
+    public synchronized ArrayList<String> getNames(String prefix, String suffix)
+    {
+        ArrayList<String> names = new ArrayList<String> ();
+        Iterator<String> iterator = entries.keySet ().iterator ();
+        while (iterator.hasNext ())
+        {
+            String name = iterator.next ();
+            if (name.startsWith (prefix) && name.endsWith (suffix))
+            {
+                names.add (name);
+            }
+        }
+
+        return names;
+    }
+
+    /**
+     * Checks each data file in the manifest against its entry. A file whose
+     * size or modification time differs is read again, and if its checksum
+     * differs too, it was changed outside the application; this is logged and
+     * its entry updated, so the fingerprint no longer matches a snapshot taken
+     * before the change. Files that no longer exist are dropped.
+     */
+    public synchronized void checkFiles()
+    {
+        Iterator<Entry> iterator = entries.values ().iterator ();
+        while (iterator.hasNext ())
+        {
+            Entry entry = iterator.next ();
+            File[] files = entry.files (folder);
+            long size = getSize (files);
+            long modified = getModified (files);
+            if (modified == 0)
+            {
+                Domain.LOGGER.log (AsyncLogger.WARNING, entry.name + " was removed outside " + Domain.NAME + ".", null);
+                iterator.remove ();
+                continue;
+            }
+            if (size == entry.size && modified == entry.modified)
+            {
+                continue;
+            }
+
+            try
+            {
+                long checksum = getChecksum (files);
+                if (checksum != entry.checksum)
+                {
+                    Domain.LOGGER.log (AsyncLogger.WARNING, entry.name + " was changed outside " + Domain.NAME + ".", null);
+                }
+                entry.size = size;
+                entry.modified = modified;
+                entry.checksum = checksum;
+            }
+            catch (IOException ex)
+            {
+                Domain.LOGGER.add (ex);
+                entry.checksum = -1;
+            }
+        }
+    }
+
+    /**
+     * Starts an update of the manifest. Every data file should then be put,
+     * and the update ended with endUpdate().
+     */
+    public synchronized void beginUpdate()
+    {
+        updated.clear ();
+    }
+
+    /**
+     * Puts the entry of a data file in the manifest. The files are only read
+     * for a new checksum if their size or modification time differs from the
+     * entry already in the manifest.
+     *
+     * @param name The name of the data file.
+     * @param files The files the data is kept in, any of which may not exist.
+     * @param records The number of records in the data file, or -1 to keep
+     * the number already in the manifest.
+     */
+    public synchronized void put(String name, File[] files, int records)
+    {
+        updated.add (name);
+        long size = getSize (files);
+        long modified = getModified (files);
+        Entry entry = entries.get (name);
+        if (entry != null && entry.size == size && entry.modified == modified)
+        {
+            if (records != -1)
+            {
+                entry.records = records;
+            }
+            return;
+        }
+
+        long checksum = -1;
+        try
+        {
+            checksum = getChecksum (files);
+        }
+        catch (IOException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+        if (entry == null)
+        {
+            entry = new Entry (name, records, size, modified, checksum);
+            entries.put (name, entry);
+        }
+        else
+        {
+            if (records != -1)
+            {
+                entry.records = records;
+            }
+            entry.size = size;
+            entry.modified = modified;
+            entry.checksum = checksum;
+        }
+    }
+
+    /**
+     * Ends an update of the manifest, dropping the entries of data files that
+     * were not put since it began.
+     */
+    public synchronized void endUpdate()
+    {
+        entries.keySet ().retainAll (updated);
+        updated.clear ();
+    }
+
+    /**
+     * Computes a fingerprint of the data files from the name and checksum of
+     * each, so a snapshot taken from them can be checked against them.
+     *
+     * @return The fingerprint.
+     */
+    public synchronized long getFingerprint()
+    {
+        long fingerprint = 17;
+        Iterator<Entry> iterator = entries.values ().iterator ();
+        while (iterator.hasNext ())
+        {
+            Entry entry = iterator.next ();
+            fingerprint = fingerprint * 31 + entry.name.hashCode ();
+            fingerprint = fingerprint * 31 + entry.checksum;
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Writes the manifest to the data folder. The file is rewritten in place
+     * rather than swapped in, so writing it does not change the modification
+     * time of the folder, which is recorded in it; a write that is cut short
+     * fails its checksum the next time it is read.
+     */
+    public synchronized void save() throws IOException
+    {
+        if (!file.exists ())
+        {
+            file.createNewFile ();
+        }
+        long folderModified = folder.lastModified ();
+
+        StringWriter text = new StringWriter ();
+        RecordWriter record = new RecordWriter (text);
+        record.field (VERSION).field (folderModified).field (entries.size ());
+        record.endRecord ();
+        Iterator<Entry> iterator = entries.values ().iterator ();
+        while (iterator.hasNext ())
+        {
+            Entry entry = iterator.next ();
+            record.text (entry.name).field (entry.records).field (entry.size).field (entry.modified).field (entry.checksum);
+            record.endRecord ();
+        }
+        String body = text.toString ();
+        CRC32 crc = new CRC32 ();
+        String[] lines = body.split (Utility.LINE_RETURN);
+        for (int i = 0; i < lines.length; ++i)
+        {
+            update (crc, lines[i]);
+        }
+
+        Writer out = new OutputStreamWriter (new FileOutputStream (file), "UTF-8");
+        try
+        {
+            out.write (body);
+            out.write (crc.getValue () + Utility.END_OF_LINE + Utility.LINE_RETURN);
+        }
+        finally
+        {
+            out.close ();
+        }
+        current = folder.lastModified () == folderModified;
+    }
+
+    /**
+     * Adds a line of the manifest to its checksum.
+     *
+     * @param crc The checksum.
+     * @param line The line, without its line return.
+     */
+    private static void update(CRC32 crc, String line) throws IOException
+    {
+        crc.update (line.getBytes ("UTF-8"));
+    }
+
+    /**
+     * Computes the total size of the given files.
+     *
+     * @param files The files, any of which may not exist.
+     * @return The total size, in bytes.
+     */
+    private static long getSize(File[] files)
+    {
+        long size = 0;
+        for (int i = 0; i < files.length; ++i)
+        {
+            size += files[i].length ();
+        }
+
+        return size;
+    }
+
+    /**
+     * Retrieves the latest modification time of the given files.
+     *
+     * @param files The files, any of which may not exist.
+     * @return The latest modification time, or 0 if none of the files exist.
+     */
+    private static long getModified(File[] files)
+    {
+        long modified = 0;
+        for (int i = 0; i < files.length; ++i)
+        {
+            modified = Math.max (modified, files[i].lastModified ());
+        }
+
+        return modified;
+    }
+
+    /**
+     * Computes the checksum of the contents of the given files, in order.
+     *
+     * @param files The files, any of which may not exist.
+     * @return The checksum.
+     */
+    private static long getChecksum(File[] files) throws IOException
+    {
+        CRC32 crc = new CRC32 ();
+        byte[] buffer = new byte[8192];
+        for (int i = 0; i < files.length; ++i)
+        {
+            if (!files[i].exists ())
+            {
+                continue;
+            }
+            InputStream in = new BufferedInputStream (new FileInputStream (files[i]));
+            try
+            {
+                int read = in.read (buffer);
+                while (read != -1)
+                {
+                    crc.update (buffer, 0, read);
+                    read = in.read (buffer);
+                }
+            }
+            finally
+            {
+                in.close ();
+            }
+        }
+
+        return crc.getValue ();
+    }
+
+    /**
+     * The entry of a single data file in the manifest.
+     */
+    private static class Entry
+    {
+        /**
+         * The name of the data file.
+         */
+        private String name;
+        /**
+         * The number of records in the data file, or -1 if not known.
+         */
+        private int records;
+        /**
+         * The total size of the files the data is kept in, in bytes.
+         */
+        private long size;
+        /**
+         * The latest modification time of the files the data is kept in.
+         */
+        private long modified;
+        /**
+         * The checksum of the contents of the files the data is kept in.
+         */
+        private long checksum;
+
+        /**
+         * Constructs an entry.
+         *
+         * @param name The name of the data file.
+         * @param records The number of records in the data file.
+         * @param size The total size of the files the data is kept in.
+         * @param modified The latest modification time of the files.
+         * @param checksum The checksum of the contents of the files.
+         */
+        private Entry(String name, int records, long size, long modified, long checksum)
+        {
+            this.name = name;
+            this.records = records;
+            this.size = size;
+            this.modified = modified;
+            this.checksum = checksum;
+        }
+
+        /**
+         * Retrieves the files the data is kept in: the data file itself, and
+         * for a journaled file, its journal and temporary file.
+         *
+         * @param folder The data folder.
+         * @return The files, any of which may not exist.
+         */
+        private File[] files(File folder)
+        {
+            if ((name.startsWith ("a") || name.startsWith ("e")) && name.length () > 1 && Character.isDigit (name.charAt (1)))
+            {
+                return new ChangeJournal (new File (folder, name)).getFiles ();
+            }
+
+            return new File[]
+            {
+                new File (folder, name)
+            };
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A date formatter for one pattern that may be shared freely between the
+ * event dispatch thread, the worker thread, and any other thread.
+ *
+ * A SimpleDateFormat keeps its working state in the instance, so sharing one
+ * between threads corrupts results. Instead, each thread that uses this
+ * formatter is given its own SimpleDateFormat, along with its own cache of the
+ * most recently formatted and parsed values, so no locking is ever needed and
+ * the same due dates and times, which are formatted and parsed over and over
+ * while the views refresh, skip the formatter entirely.
+ *
+ * @author Alex Laird
+ */
+public final class DateFormatter
+{
+    /**
+     * The number of results cached per thread unless otherwise specified.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+    /**
+     * The pattern of the formatter.
+     */
+    private final String pattern;
+    /**
+     * The most results cached per thread in each direction.
+     */
+    private final int cacheSize;
+    /**
+     * The formatter and caches of each thread.
+     */
+    private final ThreadLocal<PerThread> perThread = new ThreadLocal<PerThread> ()
+    {
+        @Override
+        protected PerThread initialValue()
+        {
+            return new PerThread (new SimpleDateFormat (pattern), cacheSize);
+        }
+    };
+
+    /**
+     * Construct a formatter for the given pattern with the default cache size.
+     *
+     * @param pattern The SimpleDateFormat pattern.
+     */
+    public DateFormatter(String pattern)
+    {
+        this (pattern, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Construct a formatter for the given pattern.
+     *
+     * @param pattern The SimpleDateFormat pattern.
+     * @param cacheSize The most results to cache per thread in each direction,
+     * or zero if the values are rarely repeated and should not be cached.
+     */
+    public DateFormatter(String pattern, int cacheSize)
+    {
+        // fail now rather than on first use in some other thread
+        new SimpleDateFormat (pattern);
+
+        this.pattern = pattern;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Retrieve the pattern of this formatter.
+     *
+     * @return The SimpleDateFormat pattern.
+     */
+    public String getPattern()
+    {
+        return pattern;
+    }
+
+    /**
+     * Formats the given date.
+     *
+     * @param date The date to format.
+     * @return The formatted date.
+     */
+    public String format(Date date)
+    {
+        PerThread state = perThread.get ();
+        if (cacheSize == 0)
+        {
+            return state.format.format (date);
+        }
+
+        Long key = Long.valueOf (date.getTime ());
+        String string = state.formatted.get (key);
+        if (string == null)
+        {
+            string = state.format.format (date);
+            state.formatted.put (key, string);
+        }
+
+        return string;
+    }
+
+    /**
+     * Formats the date at the given time.
+     *
+     * @param time The time, in milliseconds since January 1, 1970.
+     * @return The formatted date.
+     */
+    public String format(long time)
+    {
+        return format (new Date (time));
+    }
+
+    /**
+     * Formats the given value, as SimpleDateFormat would.
+     *
+     * @param value The Date, or Number of milliseconds since January 1, 1970,
+     * to format, such as the value of a date spinner.
+     * @return The formatted date.
+     * @throws IllegalArgumentException If the value is neither a Date nor a
+     * Number.
+     */
+    public String format(Object value)
+    {
+        if (value instanceof Date)
+        {
+            return format ((Date) value);
+        }
+        else if (value instanceof Number)
+        {
+            return format (((Number) value).longValue ());
+        }
+        throw new IllegalArgumentException ("Cannot format given Object as a Date");
+    }
+
+    /**
+     * Parses the given string. Every call returns a new Date, so callers may
+     * modify it.
+     *
+     * @param string The string to parse.
+     * @return The date parsed from the beginning of the string.
+     * @throws ParseException If the beginning of the string cannot be parsed.
+     */
+    public Date parse(String string) throws ParseException
+    {
+        PerThread state = perThread.get ();
+        if (cacheSize == 0)
+        {
+            return state.format.parse (string);
+        }
+
+        Long time = state.parsed.get (string);
+        if (time == null)
+        {
+            time = Long.valueOf (state.format.parse (string).getTime ());
+            state.parsed.put (string, time);
+        }
+
+        return new Date (time.longValue ());
+    }
+
+    /**
+     * The formatter and caches owned by a single thread.
+     *
+     * @author Alex Laird
+     */
+    private static final class PerThread
+    {
+        /**
+         * The formatter of this thread.
+         */
+        private final SimpleDateFormat format;
+        /**
+         * The most recently formatted strings, by time in milliseconds.
+         */
+        private final Map<Long, String> formatted;
+        /**
+         * The most recently parsed times in milliseconds, by string.
+         */
+        private final Map<String, Long> parsed;
+
+        /**
+         * Construct the state of a thread.
+         *
+         * @param format The formatter of this thread.
+         * @param cacheSize The most results to cache in each direction.
+         */
+        private PerThread(SimpleDateFormat format, int cacheSize)
+        {
+            this.format = format;
+            formatted = new LruCache<Long, String> (cacheSize);
+            parsed = new LruCache<String, Long> (cacheSize);
+        }
+    }
+
+    /**
+     * A map that evicts its least recently used entry once it grows past its
+     * capacity.
+     *
+     * @author Alex Laird
+     */
+    private static final class LruCache<K, V> extends LinkedHashMap<K, V>
+    {
+        /**
+         * The serialization version of this class.
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * The most entries the cache holds.
+         */
+        private final int capacity;
+
+        /**
+         * Construct an empty cache.
+         *
+         * @param capacity The most entries the cache holds.
+         */
+        private LruCache(int capacity)
+        {
+            super (16, 0.75f, true);
+
+            this.capacity = capacity;
+        }
+
+        /**
+         * Evicts the least recently used entry when the cache is over
+         * capacity.
+         *
+         * @param eldest The least recently used entry.
+         * @return True if the eldest entry should be removed.
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+        {
+            return size () > capacity;
+        }
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.text.DateFormatSymbols;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Conversions between the dates and times of assignments and events and the
+ * integers they are held as. Dates are held throughout the application as
+ * epoch days and times as the minute of the day, so they can be compared as
+ * integers; these methods convert them to and from the "MM/dd/yyyy" and "h",
+ * "mm", "a" strings used in the data files and shown to the user, without
+ * going through a date formatter.
+ *
+ * @author Alex Laird
+ */
+public final class DateUtility
+{
+    /**
+     * The number of minutes in a day.
+     */
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    /**
+     * The AM and PM strings of the default locale, as formatted by
+     * Domain.M_FORMAT.
+     */
+    private static final String[] MERIDIANS = new DateFormatSymbols ().getAmPmStrings ();
+
+    /**
+     * This class holds only static methods, so it is never constructed.
+     */
+    private DateUtility()
+    {
+    }
+
+    /**
+     * Converts a date string in the data file's format (MM/dd/yyyy) to an epoch
+     * day without going through a date formatter.
+     *
+     * @param date The date string.
+     * @return The number of days since January 1, 1970.
+     * @throws NumberFormatException If the string is not a date.
+     */
+    public static long toEpochDay(String date)
+    {
+        int first = date.indexOf ('/');
+        int second = date.indexOf ('/', first + 1);
+        if (first < 0 || second < 0)
+        {
+            throw new NumberFormatException ("Not a date: \"" + date + "\"");
+        }
+        int month = Integer.parseInt (date.substring (0, first));
+        int day = Integer.parseInt (date.substring (first + 1, second));
+        int year = Integer.parseInt (date.substring (second + 1).trim ());
+        return toEpochDay (year, month, day);
+    }
+
+    /**
+     * Converts a value that may be a date in the data file's format
+     * (MM/dd/yyyy) to an epoch day, without going through a date formatter.
+     *
+     * @param value The value that may be a date.
+     * @return The number of days since January 1, 1970, or Long.MIN_VALUE if
+     * the value is not a date that formats back exactly as it was given.
+     */
+    public static long parseDate(String value)
+    {
+        if (value.length () != 10 || value.charAt (2) != '/' || value.charAt (5) != '/')
+        {
+            return Long.MIN_VALUE;
+        }
+        for (int i = 0; i < value.length (); ++i)
+        {
+            if (i != 2 && i != 5 && (value.charAt (i) < '0' || value.charAt (i) > '9'))
+            {
+                return Long.MIN_VALUE;
+            }
+        }
+
+        long day = toEpochDay (value);
+        if (!formatDate (day).equals (value))
+        {
+            return Long.MIN_VALUE;
+        }
+
+        return day;
+    }
+
+    /**
+     * Converts a time in the hour, minute, and meridian fields used by
+     * assignments and events to the number of minutes past midnight.
+     *
+     * @param hr The hour, from 1 to 12.
+     * @param min The minute.
+     * @param m The meridian, either AM or PM.
+     * @return The number of minutes past midnight.
+     * @throws NumberFormatException If the hour or minute is not a number.
+     */
+    public static int toMinuteOfDay(String hr, String min, String m)
+    {
+        int hour = Integer.parseInt (hr.trim ()) % 12;
+        if (isPM (m))
+        {
+            hour += 12;
+        }
+        return hour * 60 + Integer.parseInt (min.trim ());
+    }
+
+    /**
+     * Formats the given epoch day in the data file's format (MM/dd/yyyy)
+     * without going through a date formatter.
+     *
+     * @param epochDay The number of days since January 1, 1970.
+     * @return The date string.
+     */
+    public static String formatDate(long epochDay)
+    {
+        int[] ymd = toYearMonthDay (epochDay);
+        StringBuilder date = new StringBuilder (10);
+        if (ymd[1] < 10)
+        {
+            date.append ('0');
+        }
+        date.append (ymd[1]).append ('/');
+        if (ymd[2] < 10)
+        {
+            date.append ('0');
+        }
+        date.append (ymd[2]).append ('/');
+        for (int digits = 1000; digits > 1 && ymd[0] < digits; digits /= 10)
+        {
+            date.append ('0');
+        }
+        return date.append (ymd[0]).toString ();
+    }
+
+    /**
+     * Formats the given minute of the day as a time (h:mm a).
+     *
+     * @param minuteOfDay The number of minutes past midnight.
+     * @return The time string.
+     */
+    public static String formatTime(int minuteOfDay)
+    {
+        return formatTime (minuteOfDay, 0) + ":" + formatTime (minuteOfDay, 1) + " " + formatTime (minuteOfDay, 2);
+    }
+
+    /**
+     * Formats a single field of the given minute of the day, the way the
+     * hour, minute, and meridian fields of assignments and events are kept.
+     *
+     * @param minuteOfDay The number of minutes past midnight.
+     * @param index 0 for the hour (h), 1 for the minute (mm), 2 for the
+     * meridian (a).
+     * @return The field string.
+     */
+    public static String formatTime(int minuteOfDay, int index)
+    {
+        switch (index)
+        {
+            case 0:
+            {
+                int hour = minuteOfDay / 60 % 12;
+                return Integer.toString (hour == 0 ? 12 : hour);
+            }
+            case 1:
+            {
+                int minute = minuteOfDay % 60;
+                return (minute < 10 ? "0" : "") + minute;
+            }
+            default:
+            {
+                return MERIDIANS[minuteOfDay < 12 * 60 ? 0 : 1];
+            }
+        }
+    }
+
+    /**
+     * Replaces a single field of the given minute of the day, leaving the
+     * other two as they were.
+     *
+     * @param minuteOfDay The number of minutes past midnight.
+     * @param index 0 for the hour, 1 for the minute, 2 for the meridian.
+     * @param value The new value of the field.
+     * @return The new number of minutes past midnight.
+     * @throws NumberFormatException If an hour or minute is not a number.
+     */
+    public static int setTimeField(int minuteOfDay, int index, String value)
+    {
+        int hour = minuteOfDay / 60 % 12;
+        int minute = minuteOfDay % 60;
+        boolean pm = minuteOfDay >= 12 * 60;
+        switch (index)
+        {
+            case 0:
+            {
+                hour = Integer.parseInt (value.trim ()) % 12;
+                break;
+            }
+            case 1:
+            {
+                minute = Integer.parseInt (value.trim ());
+                break;
+            }
+            case 2:
+            {
+                pm = isPM (value);
+                break;
+            }
+        }
+        return (pm ? hour + 12 : hour) * 60 + minute;
+    }
+
+    /**
+     * Checks if the given meridian is PM, in English or in the default
+     * locale.
+     *
+     * @param m The meridian.
+     * @return True if the meridian is PM, false otherwise.
+     */
+    private static boolean isPM(String m)
+    {
+        String meridian = m.trim ();
+        return meridian.equalsIgnoreCase ("PM") || meridian.equalsIgnoreCase (MERIDIANS[1]);
+    }
+
+    /**
+     * Retrieves the epoch day of today's date.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    public static long today()
+    {
+        return toEpochDay (Calendar.getInstance ());
+    }
+
+    /**
+     * Converts the date of the given calendar to an epoch day.
+     *
+     * @param cal The calendar.
+     * @return The number of days since January 1, 1970.
+     */
+    public static long toEpochDay(Calendar cal)
+    {
+        return toEpochDay (cal.get (Calendar.YEAR), cal.get (Calendar.MONTH) + 1, cal.get (Calendar.DAY_OF_MONTH));
+    }
+
+    /**
+     * Converts the given date, in the default time zone, to an epoch day.
+     *
+     * @param date The date.
+     * @return The number of days since January 1, 1970.
+     */
+    public static long toEpochDay(Date date)
+    {
+        Calendar cal = Calendar.getInstance ();
+        cal.setTime (date);
+        return toEpochDay (cal);
+    }
+
+    /**
+     * Converts the given proleptic Gregorian date to an epoch day.
+     *
+     * @param year The year.
+     * @param month The month, from 1 to 12.
+     * @param day The day of the month.
+     * @return The number of days since January 1, 1970.
+     */
+    public static long toEpochDay(int year, int month, int day)
+    {
+        // count years from March so the leap day falls at the end of the year
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Converts the given epoch day back to a proleptic Gregorian date.
+     *
+     * @param epochDay The number of days since January 1, 1970.
+     * @return The year, the month (from 1 to 12), and the day of the month.
+     */
+    public static int[] toYearMonthDay(long epochDay)
+    {
+        long z = epochDay + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        return new int[]
+                {
+                    year, month, day
+                };
+    }
+
+    /**
+     * Retrieves the year of the given epoch day.
+     *
+     * @param epochDay The number of days since January 1, 1970.
+     * @return The year.
+     */
+    public static int getYear(long epochDay)
+    {
+        return toYearMonthDay (epochDay)[0];
+    }
+
+    /**
+     * Retrieves the month of the given epoch day.
+     *
+     * @param epochDay The number of days since January 1, 1970.
+     * @return The month, from 1 to 12.
+     */
+    public static int getMonth(long epochDay)
+    {
+        return toYearMonthDay (epochDay)[1];
+    }
+
+    /**
+     * Retrieves the day of the month of the given epoch day.
+     *
+     * @param epochDay The number of days since January 1, 1970.
+     * @return The day of the month.
+     */
+    public static int getDayOfMonth(long epochDay)
+    {
+        return toYearMonthDay (epochDay)[2];
+    }
+
+    /**
+     * Converts the given epoch day to a date at local midnight.
+     *
+     * @param epochDay The number of days since January 1, 1970.
+     * @return The date.
+     */
+    public static Date toDate(long epochDay)
+    {
+        int[] ymd = toYearMonthDay (epochDay);
+        Calendar cal = Calendar.getInstance ();
+        cal.clear ();
+        cal.set (ymd[0], ymd[1] - 1, ymd[2]);
+        return cal.getTime ();
+    }
+
+    /**
+     * Retrieves the day of the week of the given epoch day.
+     *
+     * @param epochDay The number of days since January 1, 1970.
+     * @return The day of the week, numbered like Calendar.DAY_OF_WEEK (Sunday
+     * is 1).
+     */
+    public static int getDayOfWeek(long epochDay)
+    {
+        // January 1, 1970 was a Thursday
+        return (int) (((epochDay + 4) % 7 + 7) % 7) + 1;
+    }
+
+    /**
+     * Retrieves the number of days in the given month.
+     *
+     * @param year The year.
+     * @param month The month, from 1 to 12.
+     * @return The number of days in the month.
+     */
+    public static int getDaysInMonth(int year, int month)
+    {
+        if (month == 12)
+        {
+            return 31;
+        }
+        return (int) (toEpochDay (year, month + 1, 1) - toEpochDay (year, month, 1));
+    }
+}
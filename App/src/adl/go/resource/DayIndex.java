@@ -0,0 +1,159 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.types.ListItem;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.TreeMap;
+
+/**
+ * An index of assignments and events bucketed by the epoch day of their due
+ * date, so the calendar views only need to look at the items within the days
+ * they display. Dates are converted to epoch days by DateUtility.
+ *
+ * @author Alex Laird
+ */
+public class DayIndex
+{
+    /**
+     * The items due on each day, keyed by epoch day.
+     */
+    private TreeMap<Long, ArrayList<ListItem>> buckets = new TreeMap<Long, ArrayList<ListItem>> ();
+    /**
+     * The epoch day each indexed item is currently bucketed under.
+     */
+    private IdentityHashMap<ListItem, Long> days = new IdentityHashMap<ListItem, Long> ();
+
+    /**
+     * Adds the given item to the bucket for its due date.
+     *
+     * @param item The item to add.
+     */
+    public synchronized void add(ListItem item)
+    {
+        if (days.containsKey (item))
+        {
+            return;
+        }
+
+        Long day = item.getDueDay ();
+        ArrayList<ListItem> bucket = buckets.get (day);
+        if (bucket == null)
+        {
+            bucket = new ArrayList<ListItem> ();
+            buckets.put (day, bucket);
+        }
+        bucket.add (item);
+        days.put (item, day);
+    }
+
+    /**
+     * Removes the given item from the index.
+     *
+     * @param item The item to remove.
+     */
+    public synchronized void remove(ListItem item)
+    {
+        Long day = days.remove (item);
+        if (day == null)
+        {
+            return;
+        }
+
+        ArrayList<ListItem> bucket = buckets.get (day);
+        for (int i = 0; i < bucket.size (); ++i)
+        {
+            if (bucket.get (i) == item)
+            {
+                bucket.remove (i);
+                break;
+            }
+        }
+        if (bucket.isEmpty ())
+        {
+            buckets.remove (day);
+        }
+    }
+
+    /**
+     * Moves the given item to the bucket for its current due date. This should
+     * be called whenever the due date of an item changes; items that are not
+     * in the index are ignored.
+     *
+     * @param item The item whose due date changed.
+     */
+    public synchronized void update(ListItem item)
+    {
+        Long day = days.get (item);
+        if (day != null && day.longValue () != item.getDueDay ())
+        {
+            remove (item);
+            add (item);
+        }
+    }
+
+    /**
+     * Removes all items from the index.
+     */
+    public synchronized void clear()
+    {
+        buckets.clear ();
+        days.clear ();
+    }
+
+    /**
+     * Retrieves all items due on the given day.
+     *
+     * @param day The epoch day.
+     * @return The items due on the given day.
+     */
+    public synchronized ArrayList<ListItem> getItems(long day)
+    {
+        ArrayList<ListItem> bucket = buckets.get (day);
+        if (bucket == null)
+        {
+            return new ArrayList<ListItem> ();
+        }
+
+        return new ArrayList<ListItem> (bucket);
+    }
+
+    /**
+     * Retrieves all items due within the given range of days.
+     *
+     * @param firstDay The first epoch day, inclusive.
+     * @param lastDay The last epoch day, inclusive.
+     * @return The items due within the range of days.
+     */
+    public synchronized ArrayList<ListItem> getItems(long firstDay, long lastDay)
+    {
+        ArrayList<ListItem> items = new ArrayList<ListItem> ();
+        Iterator<ArrayList<ListItem>> iterator = buckets.subMap (firstDay, lastDay + 1).values ().iterator ();
+        while (iterator.hasNext ())
+        {
+            items.addAll (iterator.next ());
+        }
+
+        return items;
+    }
+}
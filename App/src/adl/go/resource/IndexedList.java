@@ -0,0 +1,523 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.types.EventYear;
+import adl.go.types.ExtendedTreeNode;
+import adl.go.types.ListItem;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A list of uniquely identified objects that maintains a hash index from each
+ * element's unique ID to its position in the list. The index is kept in sync
+ * by every mutating method of the list, so lookups by ID run in constant time
+ * no matter where in the application the list is modified.
+ *
+ * By default, elements must be tree nodes, assignments or events, or event
+ * years (which are keyed by their numeric year).
+ *
+ * @author Alex Laird
+ */
+public class IndexedList<E> extends ArrayList<E>
+{
+    /**
+     * The serialization version of this class.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * The position stored in an empty slot of the index.
+     */
+    private static final int EMPTY = -1;
+    /**
+     * The initial number of slots in the index.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * The unique ID keys of the index.
+     */
+    private long[] keys;
+    /**
+     * The list positions of the index, parallel to the keys.
+     */
+    private int[] positions;
+    /**
+     * The number of occupied slots in the index.
+     */
+    private int indexed = 0;
+
+    /**
+     * Constructs an empty indexed list.
+     */
+    public IndexedList()
+    {
+        super ();
+        resetIndex (INITIAL_CAPACITY);
+    }
+
+    /**
+     * Retrieves the element with the given unique ID.
+     *
+     * @param id The unique ID to look for.
+     * @return The element matching the unique ID, or null if it does not exist.
+     */
+    public E getByID(long id)
+    {
+        int index = indexOfID (id);
+        if (index != -1)
+        {
+            return get (index);
+        }
+
+        return null;
+    }
+
+    /**
+     * Retrieves the position of the element with the given unique ID.
+     *
+     * @param id The unique ID to look for.
+     * @return The index of the element, or -1 if it does not exist.
+     */
+    public int indexOfID(long id)
+    {
+        int mask = keys.length - 1;
+        int slot = hash (id) & mask;
+        while (positions[slot] != EMPTY)
+        {
+            if (keys[slot] == id)
+            {
+                return positions[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean add(E element)
+    {
+        super.add (element);
+        put (getID (element), size () - 1);
+        elementAdded (element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element)
+    {
+        super.add (index, element);
+        reindexFrom (index);
+        elementAdded (element);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> collection)
+    {
+        int start = size ();
+        boolean changed = super.addAll (collection);
+        reindexFrom (start);
+        for (int i = start; i < size (); ++i)
+        {
+            elementAdded (get (i));
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> collection)
+    {
+        int count = size ();
+        boolean changed = super.addAll (index, collection);
+        reindexFrom (index);
+        for (int i = index; i < index + size () - count; ++i)
+        {
+            elementAdded (get (i));
+        }
+        return changed;
+    }
+
+    @Override
+    public E set(int index, E element)
+    {
+        // an element may briefly occupy two positions while elements are
+        // swapped, so only report it as added or removed when that changes
+        boolean wasContained = contains (element);
+        E old = super.set (index, element);
+        long oldID = getID (old);
+        if (indexOfID (oldID) == index)
+        {
+            removeKey (oldID);
+        }
+        put (getID (element), index);
+        if (old != element && !contains (old))
+        {
+            elementRemoved (old);
+        }
+        if (!wasContained)
+        {
+            elementAdded (element);
+        }
+        return old;
+    }
+
+    @Override
+    public E remove(int index)
+    {
+        E old = super.remove (index);
+        long oldID = getID (old);
+        if (indexOfID (oldID) == index)
+        {
+            removeKey (oldID);
+        }
+        reindexFrom (index);
+        elementRemoved (old);
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object object)
+    {
+        int index = indexOf (object);
+        if (index == -1)
+        {
+            return false;
+        }
+
+        remove (index);
+        return true;
+    }
+
+    @Override
+    public int indexOf(Object object)
+    {
+        if (!isIndexable (object))
+        {
+            return -1;
+        }
+
+        int index = indexOfID (getID (object));
+        if (index != -1 && get (index) == object)
+        {
+            return index;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+        return indexOf (object) != -1;
+    }
+
+    @Override
+    public void clear()
+    {
+        ArrayList<E> removed = new ArrayList<E> (this);
+        super.clear ();
+        resetIndex (INITIAL_CAPACITY);
+        for (int i = 0; i < removed.size (); ++i)
+        {
+            elementRemoved (removed.get (i));
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        return batchRemove (collection, false);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection)
+    {
+        return batchRemove (collection, true);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex)
+    {
+        ArrayList<E> removed = new ArrayList<E> (subList (fromIndex, toIndex));
+        super.removeRange (fromIndex, toIndex);
+        reindex ();
+        for (int i = 0; i < removed.size (); ++i)
+        {
+            elementRemoved (removed.get (i));
+        }
+    }
+
+    /**
+     * Rearranges the list into the given order. Since no elements are added or
+     * removed, the index is rebuilt once rather than updated per element.
+     *
+     * @param order The original index of each element, in the new order.
+     */
+    public void reorder(int[] order)
+    {
+        ArrayList<E> copy = new ArrayList<E> (this);
+        for (int i = 0; i < order.length; ++i)
+        {
+            super.set (i, copy.get (order[i]));
+        }
+        reindex ();
+    }
+
+    /**
+     * Rebuilds the index from the current contents of the list. This only
+     * needs to be called if the list was reordered without going through its
+     * own mutating methods.
+     */
+    public void reindex()
+    {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity * 3 <= size () * 4)
+        {
+            capacity <<= 1;
+        }
+        resetIndex (capacity);
+        reindexFrom (0);
+    }
+
+    /**
+     * Called after an element has been added to the list. Subclasses may
+     * override this to maintain their own secondary indexes.
+     *
+     * @param element The element that was added.
+     */
+    protected void elementAdded(E element)
+    {
+    }
+
+    /**
+     * Called after an element has been removed from the list. Subclasses may
+     * override this to maintain their own secondary indexes.
+     *
+     * @param element The element that was removed.
+     */
+    protected void elementRemoved(E element)
+    {
+    }
+
+    /**
+     * Removes the elements that are or are not in the given collection by
+     * compacting the list in place, then rebuilds the index once. This keeps a
+     * bulk removal linear in the size of the list, as long as the collection
+     * can be searched in constant time.
+     *
+     * @param collection The elements to compare against.
+     * @param retain True to keep only the elements in the collection, false to
+     * remove the elements in the collection.
+     * @return True if the list changed, false otherwise.
+     */
+    private boolean batchRemove(Collection<?> collection, boolean retain)
+    {
+        ArrayList<E> removed = new ArrayList<E> ();
+        int kept = 0;
+        for (int i = 0; i < size (); ++i)
+        {
+            E element = get (i);
+            if (collection.contains (element) == retain)
+            {
+                super.set (kept++, element);
+            }
+            else
+            {
+                removed.add (element);
+            }
+        }
+        if (removed.isEmpty ())
+        {
+            return false;
+        }
+
+        super.removeRange (kept, size ());
+        reindex ();
+        for (int i = 0; i < removed.size (); ++i)
+        {
+            elementRemoved (removed.get (i));
+        }
+        return true;
+    }
+
+    /**
+     * Updates the indexed position of every element from the given index to
+     * the end of the list.
+     *
+     * @param index The first index whose position may have changed.
+     */
+    private void reindexFrom(int index)
+    {
+        for (int i = index; i < size (); ++i)
+        {
+            put (getID (get (i)), i);
+        }
+    }
+
+    /**
+     * Maps the given unique ID to the given position, growing the index if
+     * necessary.
+     *
+     * @param id The unique ID.
+     * @param position The position of the element in the list.
+     */
+    private void put(long id, int position)
+    {
+        if ((indexed + 1) * 4 > keys.length * 3)
+        {
+            grow ();
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash (id) & mask;
+        while (positions[slot] != EMPTY)
+        {
+            if (keys[slot] == id)
+            {
+                positions[slot] = position;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        positions[slot] = position;
+        ++indexed;
+    }
+
+    /**
+     * Removes the given unique ID from the index, shifting back any entries
+     * that probed past it so no tombstones are left behind.
+     *
+     * @param id The unique ID to remove.
+     */
+    private void removeKey(long id)
+    {
+        int mask = keys.length - 1;
+        int slot = hash (id) & mask;
+        while (positions[slot] != EMPTY && keys[slot] != id)
+        {
+            slot = (slot + 1) & mask;
+        }
+        if (positions[slot] == EMPTY)
+        {
+            return;
+        }
+
+        positions[slot] = EMPTY;
+        --indexed;
+        int next = (slot + 1) & mask;
+        while (positions[next] != EMPTY)
+        {
+            int home = hash (keys[next]) & mask;
+            // move the entry back if its home slot is not between the hole and
+            // its current slot
+            if ((next > slot && (home <= slot || home > next)) || (next < slot && (home <= slot && home > next)))
+            {
+                keys[slot] = keys[next];
+                positions[slot] = positions[next];
+                positions[next] = EMPTY;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    /**
+     * Doubles the capacity of the index and rehashes every entry.
+     */
+    private void grow()
+    {
+        long[] oldKeys = keys;
+        int[] oldPositions = positions;
+        resetIndex (keys.length << 1);
+        for (int i = 0; i < oldKeys.length; ++i)
+        {
+            if (oldPositions[i] != EMPTY)
+            {
+                put (oldKeys[i], oldPositions[i]);
+            }
+        }
+    }
+
+    /**
+     * Empties the index and sizes it to the given capacity.
+     *
+     * @param capacity The number of slots, which must be a power of two.
+     */
+    private void resetIndex(int capacity)
+    {
+        keys = new long[capacity];
+        positions = new int[capacity];
+        Arrays.fill (positions, EMPTY);
+        indexed = 0;
+    }
+
+    /**
+     * Spreads the bits of the given unique ID, which are often sequential or
+     * clock based, across the slots of the index.
+     *
+     * @param id The unique ID to hash.
+     * @return The hash of the unique ID.
+     */
+    private static int hash(long id)
+    {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Checks if the given object is a type this list knows how to key.
+     * Subclasses that override getID() must override this as well.
+     *
+     * @param object The object to check.
+     * @return True if the object can be indexed, false otherwise.
+     */
+    protected boolean isIndexable(Object object)
+    {
+        return object instanceof ExtendedTreeNode || object instanceof ListItem || object instanceof EventYear;
+    }
+
+    /**
+     * Retrieves the key the given element is indexed by. Subclasses may
+     * override this to index other kinds of elements.
+     *
+     * @param object The element.
+     * @return The unique ID of the element, or the year for an event year.
+     */
+    protected long getID(Object object)
+    {
+        if (object instanceof ExtendedTreeNode)
+        {
+            return ((ExtendedTreeNode) object).getUniqueID ();
+        }
+        else if (object instanceof ListItem)
+        {
+            return ((ListItem) object).getUniqueID ();
+        }
+        else if (object instanceof EventYear)
+        {
+            return Long.parseLong (((EventYear) object).getYear ());
+        }
+
+        throw new ClassCastException (object.getClass ().getName () + " has no unique ID to index by");
+    }
+}
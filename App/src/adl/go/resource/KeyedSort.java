@@ -0,0 +1,146 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorts by sort keys that have been computed once per element up front, rather
+ * than recomputing them on every comparison. Each method returns the stable
+ * ordering of the keys as an array of original indexes, which can then be
+ * applied to any number of lists that are kept in parallel.
+ *
+ * @author Alex Laird
+ */
+public final class KeyedSort
+{
+    /**
+     * This class only contains static methods.
+     */
+    private KeyedSort()
+    {
+    }
+
+    /**
+     * Retrieves the stable sorted ordering of the given numeric keys.
+     *
+     * @param keys The sort key of each element.
+     * @param ascending True to sort ascending, false to sort descending.
+     * @return The original index of each element, in sorted order.
+     */
+    public static int[] order(final long[] keys, final boolean ascending)
+    {
+        return order (keys.length, new Comparator<Integer> ()
+        {
+            @Override
+            public int compare(Integer first, Integer second)
+            {
+                long a = keys[first];
+                long b = keys[second];
+                int result = a < b ? -1 : (a > b ? 1 : 0);
+                return ascending ? result : -result;
+            }
+        });
+    }
+
+    /**
+     * Retrieves the stable sorted ordering of the given numeric keys.
+     *
+     * @param keys The sort key of each element.
+     * @param ascending True to sort ascending, false to sort descending.
+     * @return The original index of each element, in sorted order.
+     */
+    public static int[] order(final double[] keys, final boolean ascending)
+    {
+        return order (keys.length, new Comparator<Integer> ()
+        {
+            @Override
+            public int compare(Integer first, Integer second)
+            {
+                int result = Double.compare (keys[first], keys[second]);
+                return ascending ? result : -result;
+            }
+        });
+    }
+
+    /**
+     * Retrieves the stable sorted ordering of the given string keys.
+     *
+     * @param keys The sort key of each element.
+     * @param ascending True to sort ascending, false to sort descending.
+     * @return The original index of each element, in sorted order.
+     */
+    public static int[] order(final String[] keys, final boolean ascending)
+    {
+        return order (keys.length, new Comparator<Integer> ()
+        {
+            @Override
+            public int compare(Integer first, Integer second)
+            {
+                int result = keys[first].compareTo (keys[second]);
+                return ascending ? result : -result;
+            }
+        });
+    }
+
+    /**
+     * Rearranges the given list into the given order.
+     *
+     * @param list The list to rearrange.
+     * @param order The original index of each element, in the new order.
+     */
+    public static <T> void apply(List<T> list, int[] order)
+    {
+        ArrayList<T> copy = new ArrayList<T> (list);
+        for (int i = 0; i < order.length; ++i)
+        {
+            list.set (i, copy.get (order[i]));
+        }
+    }
+
+    /**
+     * Sorts the indexes of a list of the given size with the given comparator.
+     *
+     * @param size The number of elements.
+     * @param comparator The comparator of element indexes.
+     * @return The original index of each element, in sorted order.
+     */
+    private static int[] order(int size, Comparator<Integer> comparator)
+    {
+        Integer[] indexes = new Integer[size];
+        for (int i = 0; i < size; ++i)
+        {
+            indexes[i] = i;
+        }
+        // the object sort is a stable merge sort, so equal keys keep their order
+        Arrays.sort (indexes, comparator);
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; ++i)
+        {
+            order[i] = indexes[i];
+        }
+        return order;
+    }
+}
@@ -40,8 +40,18 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import javax.swing.DefaultComboBoxModel;
+import javax.swing.SwingUtilities;
 
 /**
  * This utility class contains generic methods that interact with the offline
@@ -51,6 +61,20 @@ import javax.swing.DefaultComboBoxModel;
  */
 public class LocalUtility extends Utility
 {
+    /**
+     * The number of days either side of today whose events are loaded at
+     * startup.
+     */
+    private static final int STARTUP_DAYS = 42;
+    /**
+     * The share of the maximum heap in use above which an event year that is
+     * not needed is dropped from memory.
+     */
+    private static final double MEMORY_PRESSURE = 0.75;
+    /**
+     * The start of the names of the snapshot file and its temporary file.
+     */
+    private static final String SNAPSHOT_PREFIX = "snapshot.";
     /**
      * The top-level data folder.
      */
@@ -101,7 +125,69 @@ public class LocalUtility extends Utility
      * The textbooks data file.
      */
     private File textbooksFile;
+    /**
+     * The binary snapshot of the data files.
+     */
+    private File snapshotFile;
+    /**
+     * The manifest of the data files.
+     */
+    private DataManifest manifest;
     private File oldTextbooksFile;
+    /**
+     * The automatic backups kept in the data folder.
+     */
+    private AutoBackup autoBackup;
+    /**
+     * The thread event years are loaded on in the background, created when
+     * first needed.
+     */
+    private ExecutorService eventYearLoader;
+    /**
+     * The thread backups are written on, created when first needed.
+     */
+    private ExecutorService backupWriter;
+    /**
+     * The event years being loaded in the background, each mapped to a token
+     * that identifies its latest request.
+     */
+    private Map<EventYear, Object> loadingEventYears = new IdentityHashMap<EventYear, Object> ();
+    /**
+     * True if event years have been merged since the view panel was last
+     * notified.
+     */
+    private boolean eventYearsMerged = false;
+    /**
+     * Guards the generation of the data and whether the snapshot is current.
+     */
+    private final Object snapshotLock = new Object ();
+    /**
+     * Incremented whenever the data in memory changes, so a snapshot taken
+     * while it was changing is thrown away.
+     */
+    private long snapshotGeneration = 0;
+    /**
+     * True if the snapshot on disk matches the data in memory.
+     */
+    private boolean snapshotCurrent = false;
+    /**
+     * The first epoch day of the range last requested to be shown.
+     */
+    private long neededFirstDay = Long.MAX_VALUE;
+    /**
+     * The last epoch day of the range last requested to be shown.
+     */
+    private long neededLastDay = Long.MIN_VALUE;
+    /**
+     * The first epoch day of the range requested while the application was
+     * still loading.
+     */
+    private long deferredFirstDay = Long.MAX_VALUE;
+    /**
+     * The last epoch day of the range requested while the application was
+     * still loading.
+     */
+    private long deferredLastDay = Long.MIN_VALUE;
 
     /**
      * Construct the local utility.
@@ -164,6 +250,15 @@ public class LocalUtility extends Utility
         typesFile = new File (dataFolder, "types.dat");
         instructorsFile = new File (dataFolder, "instructors.dat");
         textbooksFile = new File (dataFolder, "textbooks.dat");
+        snapshotFile = new File (dataFolder, SNAPSHOT_PREFIX + "bin");
+        autoBackup = new AutoBackup (new File (dataFolder, "backups"));
+        manifest = new DataManifest (dataFolder);
+        // a manifest is only written once data in the old location has been
+        // moved, so there is nothing left there to look for
+        if (manifest.load ())
+        {
+            oldAppDataFolder = null;
+        }
 
         // point to old data files that may still exist
         if (oldAppDataFolder != null)
@@ -219,109 +314,124 @@ public class LocalUtility extends Utility
     }
 
     /**
-     * Imports data from the given file to the current data set.
+     * Imports data from the given backup to the current data set. Only the
+     * sections holding the data attached to courses are read, and a record is
+     * only parsed once its course is known to be one of those being imported.
      *
-     * @param in The reader to start reading from the file at the correct point.
+     * @param backup The index of the backup to import from.
      * @param tempTerms The list of terms to import.
      * @param tempCourses The list of courses IDs to import.
      * @return True if import succeeded, false otherwise.
      */
-    public boolean importFromBackup(BufferedReader in, ArrayList<Term> tempTerms, ArrayList<Course> tempCourses) throws IOException
+    public boolean importFromBackup(BackupIndex backup, ArrayList<Term> tempTerms, ArrayList<Course> tempCourses) throws IOException
     {
         ArrayList<Textbook> tempTextbooks = new ArrayList<Textbook> ();
         ArrayList<AssignmentType> tempTypes = new ArrayList<AssignmentType> ();
         ArrayList<Instructor> tempInstructors = new ArrayList<Instructor> ();
         ArrayList<ListItem> tempAssignmentsAndEvents = new ArrayList<ListItem> ();
         ArrayList<Event> tempRepeatingEvents = new ArrayList<Event> ();
+        HashSet<Long> courseIDs = new HashSet<Long> ();
+        for (int i = 0; i < tempCourses.size (); ++i)
+        {
+            courseIDs.add (tempCourses.get (i).getUniqueID ());
+        }
 
         // import the rest of the data attached to the given courses
-        // throw out title line
-        in.readLine ();
-        // read all types
-        String line = in.readLine ();
-        while (!line.equals (""))
+        // read all textbooks
+        BackupReader in = backup.openSection ("TEXTBOOKS");
+        if (in != null)
         {
-            Textbook textbook = new Textbook (line, this);
-
-            for (int i = 0; i < tempCourses.size (); ++i)
+            try
             {
-                if (tempCourses.get (i).getUniqueID () == textbook.getCourseID ())
+                String line = in.readLine ();
+                while (line != null && !line.equals (""))
                 {
-                    tempTextbooks.add (textbook);
-                    break;
+                    if (courseIDs.contains (readCourseID (line, 2)))
+                    {
+                        tempTextbooks.add (new Textbook (line, this));
+                    }
+
+                    line = in.readLine ();
                 }
+                // a damaged section fails the import before anything is added
+                in.checkRemaining ();
+            }
+            finally
+            {
+                in.close ();
             }
-
-            line = in.readLine ();
         }
 
-        // throw out title line
-        in.readLine ();
         // read all types
-        line = in.readLine ();
-        while (!line.equals (""))
+        in = backup.openSection ("TYPES");
+        if (in != null)
         {
-            AssignmentType type = new AssignmentType (line, this);
-
-            for (int i = 0; i < tempCourses.size (); ++i)
+            try
             {
-                if (tempCourses.get (i).getUniqueID () == type.getCourseID ())
+                String line = in.readLine ();
+                while (line != null && !line.equals (""))
                 {
-                    tempTypes.add (type);
-                    break;
+                    if (courseIDs.contains (readCourseID (line, 2)))
+                    {
+                        tempTypes.add (new AssignmentType (line, this));
+                    }
+
+                    line = in.readLine ();
                 }
+                in.checkRemaining ();
+            }
+            finally
+            {
+                in.close ();
             }
-
-            line = in.readLine ();
         }
 
-        // throw out title line
-        in.readLine ();
         // read all assignments and events
-        line = in.readLine ();
-        while (!line.equals (""))
+        in = backup.openSection ("ASSIGNMENTS AND EVENTS");
+        if (in != null)
         {
-            if (line.startsWith ("true"))
+            try
             {
-                Assignment assignment = new Assignment (line, this);
-
-                for (int i = 0; i < tempCourses.size (); ++i)
+                String line = in.readLine ();
+                while (line != null && !line.equals (""))
                 {
-                    if (tempCourses.get (i).getUniqueID () == assignment.getCourseID ())
+                    if (line.startsWith ("true") && courseIDs.contains (readCourseID (line, 3)))
                     {
-                        tempAssignmentsAndEvents.add (assignment);
-                        break;
+                        tempAssignmentsAndEvents.add (new Assignment (line, this));
                     }
+
+                    line = in.readLine ();
                 }
+                in.checkRemaining ();
+            }
+            finally
+            {
+                in.close ();
             }
-
-            line = in.readLine ();
         }
 
-        try
+        // read all instructors
+        in = backup.openSection ("INSTRUCTORS");
+        if (in != null)
         {
-            // throw out title line
-            in.readLine ();
-            // read all instructors
-            line = in.readLine ();
-            while (!line.equals (""))
+            try
             {
-                Instructor instructor = new Instructor (line, this);
-
-                for (int i = 0; i < tempCourses.size (); ++i)
+                String line = in.readLine ();
+                while (line != null && !line.equals (""))
                 {
-                    if (tempCourses.get (i).getUniqueID () == instructor.getCourseID ())
+                    if (courseIDs.contains (readCourseID (line, 2)))
                     {
-                        tempInstructors.add (instructor);
-                        break;
+                        tempInstructors.add (new Instructor (line, this));
                     }
-                }
 
-                line = in.readLine ();
+                    line = in.readLine ();
+                }
+                in.checkRemaining ();
+            }
+            finally
+            {
+                in.close ();
             }
-        }
-        catch (NullPointerException ex)
-        {
         }
 
         // add the temporary arrays to the actual data arrays
@@ -348,6 +458,8 @@ public class LocalUtility extends Utility
         {
             instructors.add (tempInstructors.get (i));
         }
+        // the event years are rewritten in full, so every event must be in memory
+        loadEventYears (Long.MIN_VALUE, Long.MAX_VALUE);
         for (int i = 0; i < eventYears.size (); ++i)
         {
             eventYears.get (i).markForDeletion (true);
@@ -367,6 +479,31 @@ public class LocalUtility extends Utility
         return true;
     }
 
+    /**
+     * Reads the ID of the course a backup record belongs to without parsing
+     * the rest of the record.
+     *
+     * @param record The record.
+     * @param field The index of the field the course ID is in.
+     * @return The course ID, or -1 if the record has none.
+     */
+    private static long readCourseID(String record, int field)
+    {
+        try
+        {
+            RecordTokenizer scan = new RecordTokenizer (record);
+            for (int i = 0; i < field; ++i)
+            {
+                scan.next ();
+            }
+            return scan.nextLong ();
+        }
+        catch (RuntimeException ex)
+        {
+            return -1;
+        }
+    }
+
     /**
      * Restores all data from a specified data file into the program.
      *
@@ -379,18 +516,19 @@ public class LocalUtility extends Utility
         // is not lost
         Preferences tempPreferences = new Preferences (viewPanel);
         UserDetails tempUserDetails = new UserDetails ();
-        ArrayList<Term> tempTerms = new ArrayList<Term> ();
-        ArrayList<Course> tempCourses = new ArrayList<Course> ();
-        ArrayList<Textbook> tempTextbooks = new ArrayList<Textbook> ();
-        ArrayList<Instructor> tempInstructors = new ArrayList<Instructor> ();
-        ArrayList<AssignmentType> tempTypes = new ArrayList<AssignmentType> ();
-        ArrayList<ListItem> tempAssignmentsAndEvents = new ArrayList<ListItem> ();
-        ArrayList<Event> tempRepeatingEvents = new ArrayList<Event> ();
+        IndexedList<Term> tempTerms = new IndexedList<Term> ();
+        IndexedList<Course> tempCourses = new IndexedList<Course> ();
+        IndexedList<Textbook> tempTextbooks = new IndexedList<Textbook> ();
+        IndexedList<Instructor> tempInstructors = new IndexedList<Instructor> ();
+        IndexedList<AssignmentType> tempTypes = new IndexedList<AssignmentType> ();
+        IndexedList<ListItem> tempAssignmentsAndEvents = new IndexedList<ListItem> ();
+        IndexedList<Event> tempRepeatingEvents = new IndexedList<Event> ();
 
         // add everything from the backup file to the data vectors
         try
         {
-            in = new BufferedReader (new FileReader (file));
+            BackupReader backup = BackupReader.open (file);
+            in = backup;
 
             // throw out title line
             in.readLine ();
@@ -489,6 +627,10 @@ public class LocalUtility extends Utility
             catch (NullPointerException ex)
             {
             }
+
+            // a damaged section fails the restore before anything is replaced
+            backup.checkRemaining ();
+            backup.close ();
         }
         catch (Exception ex)
         {
@@ -509,7 +651,8 @@ public class LocalUtility extends Utility
             eventYears.get (i).markForDeletion (true);
         }
         eventYears.clear ();
-        assignmentsAndEvents = tempAssignmentsAndEvents;
+        assignmentsAndEvents.clear ();
+        assignmentsAndEvents.addAll (tempAssignmentsAndEvents);
         repeatingEvents = tempRepeatingEvents;
         preferences = tempPreferences;
         userDetails = tempUserDetails;
@@ -547,96 +690,283 @@ public class LocalUtility extends Utility
     }
 
     /**
-     * Write all user data and preferences to a backup file.
+     * Takes a point-in-time snapshot of all user data and preferences for a
+     * backup. This must be called on the event dispatch thread, so no edit can
+     * change the data while it is copied.
      *
-     * @param file The backup file to be written to.
+     * @return The snapshot.
+     * @throws IllegalStateException If this is not called on the event
+     * dispatch thread.
      */
-    public void writeBackupFile(File file)
+    public BackupSnapshot takeBackupSnapshot()
     {
+        if (!SwingUtilities.isEventDispatchThread ())
+        {
+            throw new IllegalStateException ("A backup snapshot must be taken on the event dispatch thread.");
+        }
+
+        BackupSnapshot snapshot = new BackupSnapshot ();
         try
         {
-            out = new BufferedWriter (new FileWriter (file));
+            writeBackup (snapshot);
+        }
+        catch (IOException ex)
+        {
+            // the snapshot is held in memory, so this is never thrown
+            Domain.LOGGER.add (ex);
+        }
+        snapshot.close ();
 
-            // write preferences to the backup file
-            out.write ("--PREFERENCES--" + LINE_RETURN);
-            out.write (preferences.out () + LINE_RETURN);
+        return snapshot;
+    }
 
-            // write categories to the backup file
-            out.write ("--CATEGORIES--" + LINE_RETURN);
-            for (int i = 0; i < preferences.categories.size (); ++i)
+    /**
+     * Writes the given snapshot to a backup file on the backup thread, so
+     * editing and saving carry on while it is written. The backup is written
+     * beside the file first, so a backup that is cancelled or fails leaves any
+     * existing file as it was.
+     *
+     * @param snapshot The snapshot to write, from takeBackupSnapshot().
+     * @param file The backup file to be written to.
+     * @param done Run on the event dispatch thread once the backup has been
+     * written, cancelled, or has failed, or null.
+     */
+    public void writeBackupFile(final BackupSnapshot snapshot, final File file, final Runnable done)
+    {
+        if (backupWriter == null)
+        {
+            backupWriter = Executors.newSingleThreadExecutor (new ThreadFactory ()
             {
-                out.write (preferences.categories.get (i).getName () + SEPARATOR);
-                out.write (preferences.categories.get (i).getFormattedColor ());
-
-                if (i < preferences.categories.size () - 1)
+                @Override
+                public Thread newThread(Runnable runnable)
                 {
-                    out.write (SEPARATOR);
+                    Thread thread = new Thread (runnable, "Backup Writer");
+                    thread.setDaemon (true);
+                    return thread;
                 }
-            }
-            out.write (LINE_RETURN + LINE_RETURN);
+            });
+        }
 
-            // write terms to the backup file
-            out.write ("--TERMS--" + LINE_RETURN);
-            for (int i = 0; i < terms.size (); ++i)
+        backupWriter.execute (new Runnable ()
+        {
+            @Override
+            public void run()
             {
-                out.write (terms.get (i).out () + END_OF_LINE + LINE_RETURN);
-            }
-            out.write (LINE_RETURN);
+                File tempFile = new File (file.getPath () + ".tmp");
+                try
+                {
+                    BackupWriter backup = new BackupWriter (tempFile);
+                    try
+                    {
+                        snapshot.writeTo (backup);
+                    }
+                    finally
+                    {
+                        backup.close ();
+                    }
+                    file.delete ();
+                    if (!tempFile.renameTo (file))
+                    {
+                        throw new IOException ("The backup could not be moved to " + file + ".");
+                    }
+                }
+                catch (InterruptedIOException ex)
+                {
+                    tempFile.delete ();
+                }
+                catch (IOException ex)
+                {
+                    tempFile.delete ();
+                    Domain.LOGGER.add (ex);
+                }
 
-            // write courses to the backup file
-            out.write ("--COURSES--" + LINE_RETURN);
-            for (int i = 0; i < courses.size (); ++i)
-            {
-                out.write (courses.get (i).out () + END_OF_LINE + LINE_RETURN);
+                if (done != null)
+                {
+                    SwingUtilities.invokeLater (done);
+                }
             }
-            out.write (LINE_RETURN);
+        });
+    }
 
-            // write textbooks to the backup file
-            out.write ("--TEXTBOOKS--" + LINE_RETURN);
-            for (int i = 0; i < textbooks.size (); ++i)
-            {
-                out.write (textbooks.get (i).out () + END_OF_LINE + LINE_RETURN);
-            }
-            out.write (LINE_RETURN);
+    /**
+     * Writes an automatic backup of all user data and preferences. Only the
+     * courses and event years that changed since an earlier backup take up
+     * any more space. Unlike taking the snapshot, this may be called from any
+     * thread.
+     *
+     * @param snapshot The snapshot to write, from takeBackupSnapshot().
+     */
+    public void saveAutoBackup(BackupSnapshot snapshot)
+    {
+        try
+        {
+            AutoBackup.Backup backup = autoBackup.startBackup ();
+            snapshot.writeTo (backup);
+            backup.close ();
+        }
+        catch (IOException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+    }
 
-            // write types to the backup file
-            out.write ("--TYPES--" + LINE_RETURN);
-            for (int i = 0; i < types.size (); ++i)
-            {
-                out.write (types.get (i).out () + END_OF_LINE + LINE_RETURN);
-            }
-            out.write (LINE_RETURN);
+    /**
+     * Retrieves the automatic backups.
+     *
+     * @return The automatic backups.
+     */
+    public AutoBackup getAutoBackup()
+    {
+        return autoBackup;
+    }
 
-            // write assignments and events to the backup file
-            out.write ("--ASSIGNMENTS AND EVENTS--" + LINE_RETURN);
-            for (int i = 0; i < assignmentsAndEvents.size (); ++i)
-            {
-                out.write (assignmentsAndEvents.get (i).out () + END_OF_LINE + LINE_RETURN);
-            }
-            out.write (LINE_RETURN);
+    /**
+     * Restores all data from the automatic backup taken at the given time.
+     *
+     * @param time The time of the automatic backup, as listed by
+     * getAutoBackup().getBackupTimes().
+     * @return True if restore succeeded, false otherwise.
+     */
+    public boolean restoreFromAutoBackup(long time)
+    {
+        File file = new File (dataFolder, "restore.gbak");
+        try
+        {
+            autoBackup.export (time, file);
+            return restoreFromBackup (file);
+        }
+        catch (IOException ex)
+        {
+            Domain.LOGGER.add (ex);
+            return false;
+        }
+        finally
+        {
+            file.delete ();
+        }
+    }
 
-            // write instructors to the backup file
-            out.write ("--INSTRUCTORS--" + LINE_RETURN);
-            for (int i = 0; i < instructors.size (); ++i)
+    /**
+     * Writes all user data and preferences, in the sections of a backup file.
+     * The assignments of each course and the events of each event year are
+     * written as chunks of their own; event years that are not in memory are
+     * copied from their data files rather than loaded.
+     *
+     * @param out The snapshot of the backup.
+     */
+    private void writeBackup(BackupSnapshot out) throws IOException
+    {
+        RecordWriter record = new RecordWriter (out);
+
+        // write preferences to the backup file
+        out.startSection ("PREFERENCES");
+        out.write ("--PREFERENCES--" + LINE_RETURN);
+        out.write (preferences.out () + LINE_RETURN);
+
+        // write categories to the backup file
+        out.startSection ("CATEGORIES");
+        out.write ("--CATEGORIES--" + LINE_RETURN);
+        for (int i = 0; i < preferences.categories.size (); ++i)
+        {
+            out.write (preferences.categories.get (i).getName () + SEPARATOR);
+            out.write (preferences.categories.get (i).getFormattedColor ());
+
+            if (i < preferences.categories.size () - 1)
             {
-                out.write (instructors.get (i).out () + END_OF_LINE + LINE_RETURN);
+                out.write (SEPARATOR);
             }
-            out.write (LINE_RETURN);
+        }
+        out.write (LINE_RETURN + LINE_RETURN);
 
-            // write user details to the backup file
-            out.write ("--USER DETAILS--" + LINE_RETURN);
-            out.write (userDetails.out () + LINE_RETURN);
+        // write terms to the backup file
+        out.startSection ("TERMS");
+        out.write ("--TERMS--" + LINE_RETURN);
+        for (int i = 0; i < terms.size (); ++i)
+        {
+            terms.get (i).writeTo (record);
+            record.endRecord ();
+        }
+        out.write (LINE_RETURN);
 
-            out.write (LINE_RETURN);
+        // write courses to the backup file
+        out.startSection ("COURSES");
+        out.write ("--COURSES--" + LINE_RETURN);
+        for (int i = 0; i < courses.size (); ++i)
+        {
+            courses.get (i).writeTo (record);
+            record.endRecord ();
+        }
+        out.write (LINE_RETURN);
 
-            out.flush ();
+        // write textbooks to the backup file
+        out.startSection ("TEXTBOOKS");
+        out.write ("--TEXTBOOKS--" + LINE_RETURN);
+        for (int i = 0; i < textbooks.size (); ++i)
+        {
+            textbooks.get (i).writeTo (record);
+            record.endRecord ();
+        }
+        out.write (LINE_RETURN);
 
-            out.close ();
+        // write types to the backup file
+        out.startSection ("TYPES");
+        out.write ("--TYPES--" + LINE_RETURN);
+        for (int i = 0; i < types.size (); ++i)
+        {
+            types.get (i).writeTo (record);
+            record.endRecord ();
         }
-        catch (IOException ex)
+        out.write (LINE_RETURN);
+
+        // write assignments and events to the backup file, a course or event year at a time
+        out.startSection ("ASSIGNMENTS AND EVENTS");
+        out.write ("--ASSIGNMENTS AND EVENTS--" + LINE_RETURN);
+        out.endChunk ();
+        for (int i = 0; i < courses.size (); ++i)
         {
-            Domain.LOGGER.add (ex);
+            Course course = courses.get (i);
+            for (int j = 0; j < course.getAssignmentCount (); ++j)
+            {
+                course.getAssignment (j).writeTo (record);
+                record.endRecord ();
+            }
+            out.endChunk ();
+        }
+        for (int i = 0; i < eventYears.size (); ++i)
+        {
+            EventYear eventYear = eventYears.get (i);
+            if (eventYear.isLoaded ())
+            {
+                for (int j = 0; j < eventYear.getEventCount (); ++j)
+                {
+                    eventYear.getEvent (j).writeTo (record);
+                    record.endRecord ();
+                }
+            }
+            else
+            {
+                out.copyEventYear (eventYear);
+            }
+            out.endChunk ();
+        }
+        out.write (LINE_RETURN);
+
+        // write instructors to the backup file
+        out.startSection ("INSTRUCTORS");
+        out.write ("--INSTRUCTORS--" + LINE_RETURN);
+        for (int i = 0; i < instructors.size (); ++i)
+        {
+            instructors.get (i).writeTo (record);
+            record.endRecord ();
         }
+        out.write (LINE_RETURN);
+
+        // write user details to the backup file
+        out.startSection ("USER DETAILS");
+        out.write ("--USER DETAILS--" + LINE_RETURN);
+        out.write (userDetails.out () + LINE_RETURN);
+
+        out.write (LINE_RETURN);
     }
 
     /**
@@ -738,76 +1068,413 @@ public class LocalUtility extends Utility
     }
 
     /**
-     * If the instructors file does not exist, this will create an empty
-     * instructors file that can be written to.
+     * If the instructors file does not exist, this will create an empty
+     * instructors file that can be written to.
+     */
+    private void createInstructorsFile()
+    {
+        dataFolder.mkdir ();
+        try
+        {
+            out = new BufferedWriter (new FileWriter (instructorsFile));
+
+            out.close ();
+        }
+        catch (IOException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+    }
+
+    /**
+     * If the textbooks file does not exist, this will create an empty textbooks
+     * file that can be written to.
+     */
+    private void createTextbooksFile()
+    {
+        dataFolder.mkdir ();
+        try
+        {
+            out = new BufferedWriter (new FileWriter (textbooksFile));
+
+            out.close ();
+        }
+        catch (IOException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+    }
+
+    /**
+     * Performs a load operation, filling all the data vectors and preferences
+     * vectors with all data found in the data files.
+     */
+    @Override
+    public void load()
+    {
+        boolean fromSnapshot = loadSnapshot ();
+        if (!fromSnapshot)
+        {
+            loadTerms ();
+            loadCourses ();
+            loadTypes ();
+            loadInstructors ();
+            loadTextbooks ();
+            loadAssignmentsAndEvents ();
+        }
+
+        // if we have moved data files from the an old location, remove the old data folder at this point and mark for saving to the
+        // new data files
+        if (oldAppDataFolder != null && oldAppDataFolder.exists ())
+        {
+            oldAppDataFolder.delete ();
+            for (int i = 0; i < courses.size (); ++i)
+            {
+                courses.get (i).markChanged ();
+            }
+            for (int i = 0; i < eventYears.size (); ++i)
+            {
+                eventYears.get (i).markChanged ();
+            }
+            domain.markCoursesAndTermsChanged ();
+            domain.markPreferencesChanged ();
+        }
+
+        refreshReferences ();
+
+        // summarize the event years that were loaded without an up-to-date
+        // summary, so they can be left on disk next time
+        for (int i = 0; i < eventYears.size (); ++i)
+        {
+            EventYear eventYear = eventYears.get (i);
+            if (eventYear.isLoaded () && eventYear.getJournal ().exists () && !eventYear.readSummary ())
+            {
+                eventYear.writeSummary ();
+            }
+        }
+
+        if (!fromSnapshot)
+        {
+            // take a snapshot, so next time the data files need not be parsed
+            domain.scheduleSave (SaveScheduler.SNAPSHOT);
+        }
+    }
+
+    /**
+     * Loads the terms, courses, types, instructors, textbooks, assignments,
+     * and events from the snapshot, if it was taken from the data files as
+     * they are now. Event years that were not in memory when the snapshot was
+     * taken are then queued the same way loadEvents() queues them.
+     *
+     * @return True if the snapshot was loaded, false if the data files must be
+     * loaded instead.
+     */
+    private boolean loadSnapshot()
+    {
+        // data files in the old location are moved by loading them
+        if (oldAppDataFolder != null && oldAppDataFolder.exists ())
+        {
+            return false;
+        }
+        // a manifest that may be missing a data file cannot vouch for the snapshot
+        if (!manifest.isCurrent ())
+        {
+            return false;
+        }
+        manifest.checkFiles ();
+        SnapshotReader snapshot = SnapshotReader.open (snapshotFile, manifest.getFingerprint ());
+        if (snapshot == null)
+        {
+            return false;
+        }
+
+        try
+        {
+            terms.clear ();
+            for (int i = snapshot.count (); i > 0; --i)
+            {
+                terms.add (new Term (snapshot.nextRecord (), this));
+            }
+            courses.clear ();
+            for (int i = snapshot.count (); i > 0; --i)
+            {
+                courses.add (new Course (snapshot.nextRecord (), this));
+            }
+            types.clear ();
+            for (int i = snapshot.count (); i > 0; --i)
+            {
+                types.add (new AssignmentType (snapshot.nextRecord (), this));
+            }
+            instructors.clear ();
+            for (int i = snapshot.count (); i > 0; --i)
+            {
+                instructors.add (new Instructor (snapshot.nextRecord (), this));
+            }
+            textbooks.clear ();
+            for (int i = snapshot.count (); i > 0; --i)
+            {
+                textbooks.add (new Textbook (snapshot.nextRecord (), this));
+            }
+            assignmentsAndEvents.clear ();
+            for (int i = snapshot.count (); i > 0; --i)
+            {
+                assignmentsAndEvents.add (new Assignment (snapshot.nextRecord (), this));
+            }
+            for (int i = snapshot.count (); i > 0; --i)
+            {
+                EventYear eventYear = new EventYear (Integer.toString (snapshot.count ()), this);
+                eventYear.setLoaded (true);
+                eventYears.add (eventYear);
+                for (int j = snapshot.count (); j > 0; --j)
+                {
+                    Event event = new Event (snapshot.nextRecord (), this);
+                    assignmentsAndEvents.add (event);
+                    if (event.getRepeating ().getID () != -1)
+                    {
+                        repeatingEvents.add (event);
+                    }
+                }
+            }
+        }
+        catch (RuntimeException ex)
+        {
+            // a snapshot that passes its checksum can still be malformed if an
+            // older build wrote it without changing the version
+            Domain.LOGGER.add (ex);
+            terms.clear ();
+            courses.clear ();
+            types.clear ();
+            instructors.clear ();
+            textbooks.clear ();
+            assignmentsAndEvents.clear ();
+            repeatingEvents.clear ();
+            eventYears.clear ();
+            return false;
+        }
+        synchronized (snapshotLock)
+        {
+            snapshotCurrent = true;
+        }
+
+        DataLoader loader = new DataLoader (this);
+        ArrayList<EventYear> queuedEventYears = queueEvents (loader, new ArrayList<EventYear> ());
+        runLoader (loader);
+        finishLoadingEvents (loader, queuedEventYears);
+
+        return true;
+    }
+
+    /**
+     * Takes a snapshot of the terms, courses, types, instructors, textbooks,
+     * assignments, and loaded events. This should only be done once every
+     * change has been written to the data files; if the data in memory
+     * changes while the snapshot is being taken, it is thrown away.
+     */
+    public void saveSnapshot()
+    {
+        long generation;
+        synchronized (snapshotLock)
+        {
+            generation = snapshotGeneration;
+        }
+
+        File tempFile = new File (dataFolder, SNAPSHOT_PREFIX + "new");
+        boolean manifestUpdated = false;
+        try
+        {
+            long fingerprint = updateManifest ();
+            manifestUpdated = true;
+            SnapshotWriter snapshot = new SnapshotWriter ();
+            snapshot.count (terms.size ());
+            for (int i = 0; i < terms.size (); ++i)
+            {
+                terms.get (i).writeTo (snapshot);
+                snapshot.endRecord ();
+            }
+            snapshot.count (courses.size ());
+            for (int i = 0; i < courses.size (); ++i)
+            {
+                courses.get (i).writeTo (snapshot);
+                snapshot.endRecord ();
+            }
+            snapshot.count (types.size ());
+            for (int i = 0; i < types.size (); ++i)
+            {
+                types.get (i).writeTo (snapshot);
+                snapshot.endRecord ();
+            }
+            snapshot.count (instructors.size ());
+            for (int i = 0; i < instructors.size (); ++i)
+            {
+                instructors.get (i).writeTo (snapshot);
+                snapshot.endRecord ();
+            }
+            snapshot.count (textbooks.size ());
+            for (int i = 0; i < textbooks.size (); ++i)
+            {
+                textbooks.get (i).writeTo (snapshot);
+                snapshot.endRecord ();
+            }
+
+            int assignmentCount = 0;
+            for (int i = 0; i < courses.size (); ++i)
+            {
+                assignmentCount += courses.get (i).getAssignmentCount ();
+            }
+            snapshot.count (assignmentCount);
+            for (int i = 0; i < courses.size (); ++i)
+            {
+                Course course = courses.get (i);
+                for (int j = 0; j < course.getAssignmentCount (); ++j)
+                {
+                    course.getAssignment (j).writeTo (snapshot);
+                    snapshot.endRecord ();
+                }
+            }
+
+            // event years that are not loaded are left to be loaded from their
+            // data files
+            ArrayList<EventYear> loadedEventYears = new ArrayList<EventYear> ();
+            for (int i = 0; i < eventYears.size (); ++i)
+            {
+                if (eventYears.get (i).isLoaded ())
+                {
+                    loadedEventYears.add (eventYears.get (i));
+                }
+            }
+            snapshot.count (loadedEventYears.size ());
+            for (int i = 0; i < loadedEventYears.size (); ++i)
+            {
+                EventYear eventYear = loadedEventYears.get (i);
+                snapshot.count (Integer.parseInt (eventYear.getYear ()));
+                snapshot.count (eventYear.getEventCount ());
+                for (int j = 0; j < eventYear.getEventCount (); ++j)
+                {
+                    eventYear.getEvent (j).writeTo (snapshot);
+                    snapshot.endRecord ();
+                }
+            }
+
+            snapshot.write (tempFile, fingerprint);
+            synchronized (snapshotLock)
+            {
+                if (generation == snapshotGeneration
+                    && (tempFile.renameTo (snapshotFile) || (snapshotFile.delete () && tempFile.renameTo (snapshotFile))))
+                {
+                    snapshotCurrent = true;
+                }
+            }
+        }
+        catch (IOException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+        catch (RuntimeException ex)
+        {
+            // the lists changed while they were being read, so the snapshot
+            // would be thrown away regardless
+        }
+        finally
+        {
+            tempFile.delete ();
+        }
+
+        // the manifest is written last, so it records the data folder as the
+        // snapshot left it
+        if (manifestUpdated)
+        {
+            try
+            {
+                manifest.save ();
+            }
+            catch (IOException ex)
+            {
+                Domain.LOGGER.add (ex);
+            }
+        }
+    }
+
+    /**
+     * Notes that the data in memory no longer matches the snapshot. The
+     * snapshot is removed, so the next startup loads the data files instead.
      */
-    private void createInstructorsFile()
+    public void invalidateSnapshot()
     {
-        dataFolder.mkdir ();
-        try
-        {
-            out = new BufferedWriter (new FileWriter (instructorsFile));
-
-            out.close ();
-        }
-        catch (IOException ex)
+        synchronized (snapshotLock)
         {
-            Domain.LOGGER.add (ex);
+            ++snapshotGeneration;
+            if (snapshotCurrent)
+            {
+                snapshotCurrent = false;
+                snapshotFile.delete ();
+            }
         }
     }
 
     /**
-     * If the textbooks file does not exist, this will create an empty textbooks
-     * file that can be written to.
+     * Notes that the data in memory is changing without the data files
+     * changing, as when an event year is loaded or unloaded, so a snapshot
+     * being taken at the same time is thrown away.
      */
-    private void createTextbooksFile()
+    private void dataChangingInMemory()
     {
-        dataFolder.mkdir ();
-        try
+        synchronized (snapshotLock)
         {
-            out = new BufferedWriter (new FileWriter (textbooksFile));
-
-            out.close ();
-        }
-        catch (IOException ex)
-        {
-            Domain.LOGGER.add (ex);
+            ++snapshotGeneration;
         }
     }
 
     /**
-     * Performs a load operation, filling all the data vectors and preferences
-     * vectors with all data found in the data files.
+     * Brings the manifest up to date with the data files the snapshot is taken
+     * from. Only files whose size or modification time changed are read.
+     *
+     * @return The fingerprint of the data files.
      */
-    @Override
-    public void load()
+    private long updateManifest()
     {
-        loadTerms ();
-        loadCourses ();
-        loadTypes ();
-        loadInstructors ();
-        loadTextbooks ();
-        loadAssignments ();
-        loadEvents ();
-
-        // if we have moved data files from the an old location, remove the old data folder at this point and mark for saving to the
-        // new data files
-        if (oldAppDataFolder != null && oldAppDataFolder.exists ())
+        manifest.beginUpdate ();
+        manifest.put (termsFile.getName (), new File[]
+                {
+                    termsFile
+                }, terms.size ());
+        manifest.put (coursesFile.getName (), new File[]
+                {
+                    coursesFile
+                }, courses.size ());
+        manifest.put (typesFile.getName (), new File[]
+                {
+                    typesFile
+                }, types.size ());
+        manifest.put (instructorsFile.getName (), new File[]
+                {
+                    instructorsFile
+                }, instructors.size ());
+        manifest.put (textbooksFile.getName (), new File[]
+                {
+                    textbooksFile
+                }, textbooks.size ());
+        for (int i = 0; i < courses.size (); ++i)
         {
-            oldAppDataFolder.delete ();
-            for (int i = 0; i < courses.size (); ++i)
+            ChangeJournal journal = courses.get (i).getJournal ();
+            if (journal.exists ())
             {
-                courses.get (i).markChanged ();
+                File[] files = journal.getFiles ();
+                manifest.put (files[0].getName (), files, courses.get (i).getAssignmentCount ());
             }
-            for (int i = 0; i < eventYears.size (); ++i)
+        }
+        for (int i = 0; i < eventYears.size (); ++i)
+        {
+            EventYear eventYear = eventYears.get (i);
+            ChangeJournal journal = eventYear.getJournal ();
+            if (journal.exists ())
             {
-                eventYears.get (i).markChanged ();
+                File[] files = journal.getFiles ();
+                manifest.put (files[0].getName (), files, eventYear.isLoaded () ? eventYear.getEventCount () : -1);
             }
-            domain.needsCoursesAndTermsSave = true;
-            domain.needsPreferencesSave = true;
         }
+        manifest.endUpdate ();
 
-        refreshReferences ();
+        return manifest.getFingerprint ();
     }
 
     /**
@@ -859,11 +1526,11 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 catch (NumberFormatException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -871,7 +1538,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -879,7 +1546,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -887,7 +1554,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -895,7 +1562,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -903,7 +1570,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -911,7 +1578,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -919,7 +1586,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -927,7 +1594,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -935,7 +1602,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -943,7 +1610,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -951,7 +1618,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -959,7 +1626,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -967,7 +1634,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -975,7 +1642,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -984,7 +1651,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -993,7 +1660,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1002,7 +1669,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1011,7 +1678,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1020,7 +1687,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1029,7 +1696,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1038,7 +1705,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1047,7 +1714,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1056,7 +1723,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1065,7 +1732,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1074,7 +1741,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1082,7 +1749,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1090,7 +1757,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1099,7 +1766,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
                 try
                 {
@@ -1107,7 +1774,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException innerEx)
                 {
-                    domain.needsPreferencesSave = true;
+                    domain.markPreferencesChanged ();
                 }
             }
 
@@ -1155,7 +1822,7 @@ public class LocalUtility extends Utility
                             viewPanel.domain.language.getString ("default"), "0-0-0"
                         });
                 viewPanel.categoryComboModel.addElement (viewPanel.domain.language.getString ("default"));
-                domain.needsPreferencesSave = true;
+                domain.markPreferencesChanged ();
             }
             in.close ();
 
@@ -1251,7 +1918,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1259,7 +1926,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1267,7 +1934,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1275,7 +1942,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1283,7 +1950,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1291,7 +1958,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1299,7 +1966,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1307,7 +1974,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1315,7 +1982,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1323,7 +1990,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1331,7 +1998,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1339,7 +2006,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
                 try
                 {
@@ -1347,7 +2014,7 @@ public class LocalUtility extends Utility
                 }
                 catch (ArrayIndexOutOfBoundsException ex)
                 {
-                    domain.needsUserDetailsSave = true;
+                    domain.markUserDetailsChanged ();
                 }
             }
             in.close ();
@@ -1462,11 +2129,13 @@ public class LocalUtility extends Utility
         try
         {
             out = new BufferedWriter (new FileWriter (termsFile));
+            RecordWriter record = new RecordWriter (out);
 
             // write each term to a its own line
             for (int i = 0; i < terms.size (); ++i)
             {
-                out.write (terms.get (i).out () + END_OF_LINE + LINE_RETURN);
+                terms.get (i).writeTo (record);
+                record.endRecord ();
             }
 
             out.flush ();
@@ -1543,11 +2212,13 @@ public class LocalUtility extends Utility
         try
         {
             out = new BufferedWriter (new FileWriter (coursesFile));
+            RecordWriter record = new RecordWriter (out);
 
             // write each course to its own line
             for (int i = 0; i < courses.size (); ++i)
             {
-                out.write (courses.get (i).out () + END_OF_LINE + LINE_RETURN);
+                courses.get (i).writeTo (record);
+                record.endRecord ();
             }
 
             out.flush ();
@@ -1680,11 +2351,13 @@ public class LocalUtility extends Utility
         try
         {
             out = new BufferedWriter (new FileWriter (typesFile));
+            RecordWriter record = new RecordWriter (out);
 
             // write each type to its own line
             for (int i = 0; i < types.size (); ++i)
             {
-                out.write (types.get (i).out () + END_OF_LINE + LINE_RETURN);
+                types.get (i).writeTo (record);
+                record.endRecord ();
             }
 
             out.flush ();
@@ -1705,11 +2378,13 @@ public class LocalUtility extends Utility
         try
         {
             out = new BufferedWriter (new FileWriter (instructorsFile));
+            RecordWriter record = new RecordWriter (out);
 
             // write each instructor to its own line
             for (int i = 0; i < instructors.size (); ++i)
             {
-                out.write (instructors.get (i).out () + END_OF_LINE + LINE_RETURN);
+                instructors.get (i).writeTo (record);
+                record.endRecord ();
             }
 
             out.flush ();
@@ -1786,11 +2461,13 @@ public class LocalUtility extends Utility
         try
         {
             out = new BufferedWriter (new FileWriter (textbooksFile));
+            RecordWriter record = new RecordWriter (out);
 
             // write each textbook to its own line
             for (int i = 0; i < textbooks.size (); ++i)
             {
-                out.write (textbooks.get (i).out () + END_OF_LINE + LINE_RETURN);
+                textbooks.get (i).writeTo (record);
+                record.endRecord ();
             }
 
             out.flush ();
@@ -1808,20 +2485,187 @@ public class LocalUtility extends Utility
     @Override
     public void loadAssignments()
     {
-        try
+        // clear all old assignments and events data and load in terms from the data file
+        assignmentsAndEvents.clear ();
+
+        DataLoader loader = new DataLoader (this);
+        queueAssignments (loader);
+        runLoader (loader);
+    }
+
+    /**
+     * Loads the events and events vector with values from the data file.
+     */
+    @Override
+    public void loadEvents()
+    {
+        DataLoader loader = new DataLoader (this);
+        ArrayList<EventYear> movedEventYears = new ArrayList<EventYear> ();
+        ArrayList<EventYear> queuedEventYears = queueEvents (loader, movedEventYears);
+        runLoader (loader);
+        finishLoadingEvents (loader, queuedEventYears);
+        finishMovingEvents (movedEventYears);
+    }
+
+    /**
+     * Loads the assignments and events vector with values from all the
+     * assignments and events data files at once, so they are all loaded in
+     * parallel.
+     */
+    public void loadAssignmentsAndEvents()
+    {
+        assignmentsAndEvents.clear ();
+
+        DataLoader loader = new DataLoader (this);
+        queueAssignments (loader);
+        ArrayList<EventYear> movedEventYears = new ArrayList<EventYear> ();
+        ArrayList<EventYear> queuedEventYears = queueEvents (loader, movedEventYears);
+        runLoader (loader);
+        finishLoadingEvents (loader, queuedEventYears);
+        finishMovingEvents (movedEventYears);
+    }
+
+    /**
+     * Queues the assignments data file of every course on the given loader.
+     *
+     * @param loader The loader to queue files on.
+     */
+    private void queueAssignments(DataLoader loader)
+    {
+        for (int i = 0; i < courses.size (); ++i)
         {
-            // clear all old assignments and events data and load in terms from the data file
-            assignmentsAndEvents.clear ();
+            // this method takes care of assignments from old data files as well
+            loader.addCourse (courses.get (i));
+        }
+    }
 
-            for (int i = 0; i < courses.size (); ++i)
+    /**
+     * Queues every events data file from the old location, and the events data
+     * files from the current one that are needed at startup, on the given
+     * loader. An event year in the current location is needed at startup if
+     * it has no up-to-date summary, has events near today, or has a repeating
+     * series still running; the rest are left on disk until they are needed.
+     *
+     * @param loader The loader to queue files on.
+     * @param movedEventYears The list to add the event years queued from the
+     * old data folder to.
+     * @return The event years queued from the current data folder.
+     */
+    private ArrayList<EventYear> queueEvents(DataLoader loader, ArrayList<EventYear> movedEventYears)
+    {
+        ArrayList<EventYear> queuedEventYears = new ArrayList<EventYear> ();
+        String[] oldFiles = oldAppDataFolder != null ? oldAppDataFolder.list () : null;
+        if (oldFiles != null)
+        {
+            for (int i = 0; i < oldFiles.length; ++i)
+            {
+                if (oldFiles[i].startsWith ("e") && oldFiles[i].endsWith (".dat"))
+                {
+                    EventYear eventYear = new EventYear (oldFiles[i].substring (1, oldFiles[i].length () - 4), this);
+                    eventYears.add (eventYear);
+                    loader.addEventYear (eventYear, false);
+                    movedEventYears.add (eventYear);
+                }
+            }
+        }
+
+        long today = DateUtility.toEpochDay (Calendar.getInstance ());
+        // the folder is only listed if the manifest may be missing a file
+        String[] files = manifest.isCurrent () ? manifest.getNames ("e", ".dat").toArray (new String[0]) : dataFolder.list ();
+        if (files != null)
+        {
+            for (int i = 0; i < files.length; ++i)
             {
-                // this method takes care of assignments from old data files as well
-                courses.get (i).loadAssignments (this);
+                if (files[i].startsWith ("e") && files[i].endsWith (".dat"))
+                {
+                    String year = files[i].substring (1, files[i].length () - 4);
+                    EventYear eventYear = eventYears.getByID (Long.parseLong (year));
+                    if (eventYear == null)
+                    {
+                        eventYear = new EventYear (year, this);
+                        eventYears.add (eventYear);
+                    }
+                    // an event year already loaded from the snapshot is skipped
+                    if (!eventYear.isLoaded ()
+                        && (movedEventYears.contains (eventYear) || !eventYear.readSummary () || isNeededAtStartup (eventYear, today)))
+                    {
+                        loader.addEventYear (eventYear, true);
+                        queuedEventYears.add (eventYear);
+                    }
+                }
             }
         }
-        catch (FileNotFoundException ex)
+
+        return queuedEventYears;
+    }
+
+    /**
+     * Check if the events of the given event year must be loaded at startup,
+     * according to its summary.
+     *
+     * @param eventYear The event year.
+     * @param today The epoch day of today.
+     * @return True if the event year has events near today or a repeating
+     * series still running, false otherwise.
+     */
+    private boolean isNeededAtStartup(EventYear eventYear, long today)
+    {
+        return eventYear.overlaps (today - STARTUP_DAYS, today + STARTUP_DAYS) || eventYear.hasSeriesRunningThrough (today);
+    }
+
+    /**
+     * Marks the event years queued from the current data folder as loaded,
+     * unless their data file failed to load. This must be done before
+     * references are refreshed, so the event years are not loaded again.
+     *
+     * @param loader The loader the event years were queued on.
+     * @param queuedEventYears The event years queued from the current data
+     * folder.
+     */
+    private void finishLoadingEvents(DataLoader loader, ArrayList<EventYear> queuedEventYears)
+    {
+        for (int i = 0; i < queuedEventYears.size (); ++i)
         {
-            Domain.LOGGER.add (ex);
+            if (!loader.hasFailed (queuedEventYears.get (i)))
+            {
+                queuedEventYears.get (i).setLoaded (true);
+            }
+        }
+    }
+
+    /**
+     * Marks event years that were loaded from the old data folder to be saved
+     * to the new one, and removes their old data files.
+     *
+     * @param movedEventYears The event years loaded from the old data folder.
+     */
+    private void finishMovingEvents(ArrayList<EventYear> movedEventYears)
+    {
+        for (int i = 0; i < movedEventYears.size (); ++i)
+        {
+            movedEventYears.get (i).markChanged ();
+            movedEventYears.get (i).markForDeletion (false);
+        }
+    }
+
+    /**
+     * Load the events of the given event year to the data vector, if they are
+     * not loaded already. Any background load of the event year is superseded.
+     *
+     * @param eventYear The event year to load.
+     */
+    @Override
+    public void loadEventYear(EventYear eventYear)
+    {
+        if (eventYear.isLoaded ())
+        {
+            return;
+        }
+
+        loadingEventYears.remove (eventYear);
+        try
+        {
+            mergeEventYear (eventYear, eventYear.loadEvents (this, true));
         }
         catch (IOException ex)
         {
@@ -1830,48 +2674,260 @@ public class LocalUtility extends Utility
     }
 
     /**
-     * Loads the events and events vector with values from the data file.
+     * Load the events of every event year with events in the given range of
+     * days to the data vector, if they are not loaded already.
+     *
+     * @param firstDay The first epoch day of the range, inclusive.
+     * @param lastDay The last epoch day of the range, inclusive.
      */
     @Override
-    public void loadEvents()
+    public void loadEventYears(long firstDay, long lastDay)
     {
-        try
+        for (int i = 0; i < eventYears.size (); ++i)
+        {
+            EventYear eventYear = eventYears.get (i);
+            if (!eventYear.isLoaded () && eventYear.overlaps (firstDay, lastDay))
+            {
+                loadEventYear (eventYear);
+            }
+        }
+    }
+
+    /**
+     * Requests the events in the given range of days for display. Event years
+     * in the range that are not loaded are loaded in the background, and the
+     * view panel is notified once they are merged. While the application is
+     * still loading, the request is held until startDeferredEventYearLoads()
+     * is called. If memory is low, the least recently used event year that is
+     * not needed is dropped from memory.
+     *
+     * @param firstDay The first epoch day of the range, inclusive.
+     * @param lastDay The last epoch day of the range, inclusive.
+     */
+    public void requestEventYears(long firstDay, long lastDay)
+    {
+        neededFirstDay = firstDay;
+        neededLastDay = lastDay;
+        if (viewPanel.initLoading)
+        {
+            deferredFirstDay = Math.min (deferredFirstDay, firstDay);
+            deferredLastDay = Math.max (deferredLastDay, lastDay);
+            return;
+        }
+
+        for (int i = 0; i < eventYears.size (); ++i)
         {
-            if (oldAppDataFolder != null && oldAppDataFolder.list () != null)
+            EventYear eventYear = eventYears.get (i);
+            if (eventYear.overlaps (firstDay, lastDay))
             {
-                for (int i = 0; i < oldAppDataFolder.list ().length; ++i)
+                if (eventYear.isLoaded ())
                 {
-                    if (oldAppDataFolder.list ()[i].startsWith ("e") && oldAppDataFolder.list ()[i].endsWith (".dat"))
-                    {
-                        EventYear eventYear = new EventYear (oldAppDataFolder.list ()[i].substring (1, oldAppDataFolder.list ()[i].length () - 4), this);
-                        eventYears.add (eventYear);
-                        eventYear.loadEvents (this, false);
-                        eventYear.markChanged ();
-                        eventYear.markForDeletion (false);
-                    }
+                    eventYear.touch ();
+                }
+                else if (!loadingEventYears.containsKey (eventYear))
+                {
+                    loadInBackground (eventYear);
                 }
             }
+        }
+
+        unloadUnneededEventYear ();
+    }
+
+    /**
+     * Starts loading the event years requested while the application was
+     * still loading.
+     */
+    public void startDeferredEventYearLoads()
+    {
+        if (deferredFirstDay <= deferredLastDay)
+        {
+            long firstDay = deferredFirstDay;
+            long lastDay = deferredLastDay;
+            deferredFirstDay = Long.MAX_VALUE;
+            deferredLastDay = Long.MIN_VALUE;
+            requestEventYears (firstDay, lastDay);
+        }
+    }
+
+    /**
+     * Reads the events of the given event year on the background thread, then
+     * merges them on the event dispatch thread, unless the event year was
+     * loaded some other way in the meantime.
+     *
+     * @param eventYear The event year to load.
+     */
+    private void loadInBackground(final EventYear eventYear)
+    {
+        if (eventYearLoader == null)
+        {
+            eventYearLoader = Executors.newSingleThreadExecutor (new ThreadFactory ()
+            {
+                @Override
+                public Thread newThread(Runnable runnable)
+                {
+                    Thread thread = new Thread (runnable, "Event Year Loader");
+                    thread.setDaemon (true);
+                    return thread;
+                }
+            });
+        }
 
-            if (dataFolder.list () != null)
+        final Object token = new Object ();
+        loadingEventYears.put (eventYear, token);
+        eventYearLoader.execute (new Runnable ()
+        {
+            @Override
+            public void run()
             {
-                for (int i = 0; i < dataFolder.list ().length; ++i)
+                ArrayList<Event> loaded = null;
+                Exception error = null;
+                try
                 {
-                    if (dataFolder.list ()[i].startsWith ("e") && dataFolder.list ()[i].endsWith (".dat"))
+                    loaded = eventYear.loadEvents (LocalUtility.this, true);
+                }
+                catch (Exception ex)
+                {
+                    error = ex;
+                }
+
+                final ArrayList<Event> events = loaded;
+                final Exception failure = error;
+                SwingUtilities.invokeLater (new Runnable ()
+                {
+                    @Override
+                    public void run()
                     {
-                        EventYear eventYear = getEventYear (dataFolder.list ()[i].substring (1, dataFolder.list ()[i].length () - 4));
-                        eventYears.add (eventYear);
-                        eventYear.loadEvents (this, true);
+                        if (loadingEventYears.get (eventYear) == token)
+                        {
+                            loadingEventYears.remove (eventYear);
+                            if (failure != null)
+                            {
+                                Domain.LOGGER.add (failure);
+                            }
+                            else if (!eventYear.isLoaded ())
+                            {
+                                mergeEventYear (eventYear, events);
+                                eventYearsMerged = true;
+                            }
+                        }
+
+                        // refresh the views once, after the last pending event year is merged
+                        if (eventYearsMerged && loadingEventYears.isEmpty ())
+                        {
+                            eventYearsMerged = false;
+                            viewPanel.eventYearsLoaded ();
+                        }
                     }
-                }
+                });
+            }
+        });
+    }
+
+    /**
+     * Merges the loaded events of the given event year into the data vectors
+     * and refreshes their references. The event year is marked as loaded
+     * first, so refreshing references does not load it again.
+     *
+     * @param eventYear The event year the events were loaded from.
+     * @param events The loaded events.
+     */
+    private void mergeEventYear(EventYear eventYear, ArrayList<Event> events)
+    {
+        dataChangingInMemory ();
+        eventYear.setLoaded (true);
+        assignmentsAndEvents.addAll (events);
+        for (int i = 0; i < events.size (); ++i)
+        {
+            if (events.get (i).getRepeating ().getID () != -1)
+            {
+                repeatingEvents.add (events.get (i));
             }
         }
-        catch (FileNotFoundException ex)
+        for (int i = 0; i < events.size (); ++i)
         {
-            Domain.LOGGER.add (ex);
+            refreshEventReferences (events.get (i));
         }
-        catch (IOException ex)
+        eventYear.writeSummary ();
+        eventYear.touch ();
+        dataChangingInMemory ();
+    }
+
+    /**
+     * If more memory is in use than MEMORY_PRESSURE allows, drops the least
+     * recently used event year from memory that has no unsaved changes, is not
+     * needed at startup or for the range last requested, and does not hold the
+     * selected event.
+     */
+    private void unloadUnneededEventYear()
+    {
+        Runtime runtime = Runtime.getRuntime ();
+        if (runtime.totalMemory () - runtime.freeMemory () < runtime.maxMemory () * MEMORY_PRESSURE)
         {
-            Domain.LOGGER.add (ex);
+            return;
+        }
+
+        long today = DateUtility.toEpochDay (Calendar.getInstance ());
+        EventYear selectedEventYear = null;
+        int selected = domain.getSelectedTableIndex ();
+        if (selected != -1 && selected < assignmentsAndEvents.size () && !assignmentsAndEvents.get (selected).isAssignment ())
+        {
+            selectedEventYear = ((Event) assignmentsAndEvents.get (selected)).getEventYear ();
+        }
+        EventYear leastRecentlyUsed = null;
+        for (int i = 0; i < eventYears.size (); ++i)
+        {
+            EventYear eventYear = eventYears.get (i);
+            if (eventYear.isLoaded () && !eventYear.isChanged () && !isSaveQueued (eventYear) && eventYear.getJournal ().exists ()
+                && eventYear != selectedEventYear
+                && !isNeededAtStartup (eventYear, today)
+                && !eventYear.overlaps (neededFirstDay, neededLastDay)
+                && (leastRecentlyUsed == null || eventYear.getLastUsed () < leastRecentlyUsed.getLastUsed ()))
+            {
+                leastRecentlyUsed = eventYear;
+            }
+        }
+        if (leastRecentlyUsed != null)
+        {
+            dataChangingInMemory ();
+            domain.unloadEventYear (leastRecentlyUsed);
+            dataChangingInMemory ();
+        }
+    }
+
+    /**
+     * Checks if the given event year is waiting to be saved. An event year is
+     * taken off the queue when its save begins, but it stays changed until
+     * the save has written every change made before it began.
+     *
+     * @param eventYear The event year.
+     * @return True if the event year is queued to be saved, false otherwise.
+     */
+    private boolean isSaveQueued(EventYear eventYear)
+    {
+        return domain.saveScheduler != null && domain.saveScheduler.isQueued (eventYear);
+    }
+
+    /**
+     * Runs the given loader and logs the time each of its files took to load.
+     *
+     * @param loader The loader to run.
+     */
+    private void runLoader(DataLoader loader)
+    {
+        loader.run ();
+
+        Map<String, Long> timings = loader.getTimings ();
+        if (!timings.isEmpty ())
+        {
+            StringBuilder message = new StringBuilder ("Loaded " + timings.size () + " data file(s):");
+            Iterator<Map.Entry<String, Long>> iterator = timings.entrySet ().iterator ();
+            while (iterator.hasNext ())
+            {
+                Map.Entry<String, Long> timing = iterator.next ();
+                message.append (" ").append (timing.getKey ()).append (" (").append (timing.getValue ()).append (" ms)");
+            }
+            Domain.LOGGER.log (AsyncLogger.INFO, message.toString (), null);
         }
     }
 
@@ -1891,24 +2947,21 @@ public class LocalUtility extends Utility
     }
 
     /**
-     * Saves all assignments data in the vector to the data file.
+     * Saves all assignments data in the vector to the data file's journal.
      */
     @Override
     public void saveAssignments(Course course)
     {
         try
         {
-            out = course.openWriter ();
-
-            // write each assignment and event to its own line
+            ArrayList<Assignment> assignments = new ArrayList<Assignment> ();
             for (int i = 0; i < course.getAssignmentCount (); ++i)
             {
-                Assignment assignment = course.getAssignment (i);
-                out.write (assignment.out () + END_OF_LINE + LINE_RETURN);
+                assignments.add (course.getAssignment (i));
             }
 
-            out.flush ();
-            course.closeWriter ();
+            // only the changed assignments are appended to the journal
+            course.getJournal ().save (assignments);
         }
         catch (IOException ex)
         {
@@ -1917,23 +2970,29 @@ public class LocalUtility extends Utility
     }
 
     /**
-     * Saves all events data in the vector to the data file.
+     * Saves all events data in the vector to the data file's journal.
      */
     @Override
     public void saveEvents(EventYear eventYear)
     {
-        try
+        // an event year that is not loaded has nothing unsaved, and saving it
+        // would drop the events still on disk
+        if (!eventYear.isLoaded ())
         {
-            out = eventYear.openWriter ();
+            return;
+        }
 
+        try
+        {
+            ArrayList<Event> events = new ArrayList<Event> ();
             for (int i = 0; i < eventYear.getEventCount (); ++i)
             {
-                Event event = eventYear.getEvent (i);
-                out.write (event.out () + END_OF_LINE + LINE_RETURN);
+                events.add (eventYear.getEvent (i));
             }
 
-            out.flush ();
-            eventYear.closeWriter ();
+            // only the changed events are appended to the journal
+            eventYear.getJournal ().save (events);
+            eventYear.writeSummary ();
         }
         catch (IOException ex)
         {
@@ -0,0 +1,343 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits a single record from a data file into its fields. Fields are
+ * separated by the separator or the end of line character, either of which may
+ * be escaped with a backslash to appear within a field, and escaped characters
+ * are unescaped as the field is read.
+ *
+ * The record is walked one character at a time without regular expressions. A
+ * field that contains no escapes is returned as a substring of the record, and
+ * numeric and boolean fields are read straight from the record's characters.
+ *
+ * Like a Scanner, a typed read that does not match the next field throws an
+ * InputMismatchException and leaves the field to be read again.
+ *
+ * @author Alex Laird
+ */
+public class RecordTokenizer
+{
+    /**
+     * The character that escapes a separator or end of line.
+     */
+    private static final char ESCAPE = '\\';
+    /**
+     * The character that separates fields.
+     */
+    private static final char SEPARATOR = Utility.SEPARATOR.charAt (0);
+    /**
+     * The character that ends a record.
+     */
+    private static final char END_OF_LINE = Utility.END_OF_LINE.charAt (0);
+    /**
+     * The record being tokenized.
+     */
+    private String record;
+    /**
+     * The index of the first character of the next field.
+     */
+    private int position = 0;
+    /**
+     * The index just past the last character of the next field, or -1 if it
+     * has not been found yet.
+     */
+    private int fieldEnd = -1;
+    /**
+     * True if the next field contains escaped characters.
+     */
+    private boolean fieldEscaped = false;
+    /**
+     * The buffer used to unescape fields.
+     */
+    private StringBuilder buffer = new StringBuilder ();
+
+    /**
+     * Constructs a tokenizer for the given record.
+     *
+     * @param record The record to tokenize.
+     */
+    public RecordTokenizer(String record)
+    {
+        this.record = record;
+    }
+
+    /**
+     * Constructs a tokenizer with no record, for subclasses that supply their
+     * fields some other way.
+     */
+    protected RecordTokenizer()
+    {
+        this ("");
+    }
+
+    /**
+     * Checks if the record has another field. A separator or end of line at
+     * the very end of the record does not start another field.
+     *
+     * @return True if there is another field, false otherwise.
+     */
+    public boolean hasNext()
+    {
+        return position < record.length ();
+    }
+
+    /**
+     * Reads the next field as text, unescaping any escaped characters.
+     *
+     * @return The next field.
+     */
+    public String next()
+    {
+        int end = findFieldEnd ();
+        String field;
+        if (fieldEscaped)
+        {
+            buffer.setLength (0);
+            for (int i = position; i < end; ++i)
+            {
+                char c = record.charAt (i);
+                if (c == ESCAPE && i + 1 < end && isDelimiter (record.charAt (i + 1)))
+                {
+                    c = record.charAt (++i);
+                }
+                buffer.append (c);
+            }
+            field = buffer.toString ();
+        }
+        else
+        {
+            field = record.substring (position, end);
+        }
+        advance (end);
+
+        return field;
+    }
+
+    /**
+     * Reads the next field as a long.
+     *
+     * @return The next field.
+     */
+    public long nextLong()
+    {
+        long value = parseLong ();
+        advance (fieldEnd);
+
+        return value;
+    }
+
+    /**
+     * Reads the next field as an int.
+     *
+     * @return The next field.
+     */
+    public int nextInt()
+    {
+        long value = parseLong ();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+        {
+            throw new InputMismatchException ();
+        }
+        advance (fieldEnd);
+
+        return (int) value;
+    }
+
+    /**
+     * Reads the next field as a boolean, ignoring case.
+     *
+     * @return The next field.
+     */
+    public boolean nextBoolean()
+    {
+        int end = findFieldEnd ();
+        int length = end - position;
+        boolean value;
+        if (length == 4 && record.regionMatches (true, position, "true", 0, 4))
+        {
+            value = true;
+        }
+        else if (length == 5 && record.regionMatches (true, position, "false", 0, 5))
+        {
+            value = false;
+        }
+        else
+        {
+            throw new InputMismatchException ();
+        }
+        advance (end);
+
+        return value;
+    }
+
+    /**
+     * Replaces every occurrence of the target in the given text, without
+     * treating either string as a regular expression.
+     *
+     * @param text The text to search.
+     * @param target The text to be replaced.
+     * @param replacement The text to replace it with.
+     * @return The text with all occurrences replaced.
+     */
+    public static String replace(String text, String target, String replacement)
+    {
+        int index = text.indexOf (target);
+        if (index == -1)
+        {
+            return text;
+        }
+
+        StringBuilder builder = new StringBuilder (text.length ());
+        int start = 0;
+        while (index != -1)
+        {
+            builder.append (text, start, index).append (replacement);
+            start = index + target.length ();
+            index = text.indexOf (target, start);
+        }
+        builder.append (text, start, text.length ());
+        return builder.toString ();
+    }
+
+    /**
+     * Parses the next field as a long without consuming it.
+     *
+     * @return The value of the next field.
+     */
+    private long parseLong()
+    {
+        return parseLong (record, position, findFieldEnd ());
+    }
+
+    /**
+     * Parses the given range of the text as a long, the same way a field is
+     * read by nextLong().
+     *
+     * @param text The text to parse.
+     * @param start The index of the first character, inclusive.
+     * @param end The index of the last character, exclusive.
+     * @return The parsed value.
+     */
+    static long parseLong(String text, int start, int end)
+    {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt (i) == '-' || text.charAt (i) == '+'))
+        {
+            negative = text.charAt (i) == '-';
+            ++i;
+        }
+        if (i == end)
+        {
+            throw new InputMismatchException ();
+        }
+
+        // accumulate negatively so Long.MIN_VALUE can be read without overflow
+        long value = 0;
+        for (; i < end; ++i)
+        {
+            int digit = text.charAt (i) - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10)
+            {
+                throw new InputMismatchException ();
+            }
+            value = value * 10 - digit;
+        }
+        if (!negative)
+        {
+            if (value == Long.MIN_VALUE)
+            {
+                throw new InputMismatchException ();
+            }
+            value = -value;
+        }
+
+        return value;
+    }
+
+    /**
+     * Finds the end of the next field, remembering it until the field is
+     * consumed.
+     *
+     * @return The index just past the last character of the next field.
+     */
+    private int findFieldEnd()
+    {
+        if (!hasNext ())
+        {
+            throw new NoSuchElementException ();
+        }
+
+        if (fieldEnd == -1)
+        {
+            fieldEscaped = false;
+            int i = position;
+            while (i < record.length ())
+            {
+                char c = record.charAt (i);
+                if (c == ESCAPE && i + 1 < record.length () && isDelimiter (record.charAt (i + 1)))
+                {
+                    fieldEscaped = true;
+                    i += 2;
+                }
+                else if (isDelimiter (c))
+                {
+                    break;
+                }
+                else
+                {
+                    ++i;
+                }
+            }
+            fieldEnd = i;
+        }
+
+        return fieldEnd;
+    }
+
+    /**
+     * Moves past the field ending at the given index and the delimiter after
+     * it.
+     *
+     * @param end The index just past the last character of the field.
+     */
+    private void advance(int end)
+    {
+        position = end + 1;
+        fieldEnd = -1;
+    }
+
+    /**
+     * Checks if the given character ends a field.
+     *
+     * @param c The character to check.
+     * @return True if the character is a separator or end of line.
+     */
+    private static boolean isDelimiter(char c)
+    {
+        return c == SEPARATOR || c == END_OF_LINE;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Builds records for the data files, the counterpart to RecordTokenizer.
+ * Fields are separated automatically, and text fields are escaped as they are
+ * copied into a buffer that is reused from one record to the next, so writing
+ * a record does not build any intermediate strings.
+ *
+ * @author Alex Laird
+ */
+public class RecordWriter
+{
+    /**
+     * The character that escapes a separator or end of line.
+     */
+    private static final char ESCAPE = '\\';
+    /**
+     * The character that separates fields.
+     */
+    private static final char SEPARATOR = Utility.SEPARATOR.charAt (0);
+    /**
+     * The character that ends a record.
+     */
+    private static final char END_OF_LINE = Utility.END_OF_LINE.charAt (0);
+    /**
+     * The marker a line return within a multiline field is written as.
+     */
+    private static final String ESCAPED_LINE_RETURN = "\\<br />";
+    /**
+     * The writer that finished records are written to, or null if records are
+     * only built in memory.
+     */
+    private Writer out;
+    /**
+     * The record currently being built.
+     */
+    private StringBuilder buffer = new StringBuilder (256);
+    /**
+     * The array the buffer is copied into to be handed to the writer.
+     */
+    private char[] chars = new char[256];
+    /**
+     * True if no field has been added to the current record yet.
+     */
+    private boolean firstField = true;
+
+    /**
+     * Constructs a record writer that writes each finished record to the given
+     * writer.
+     *
+     * @param out The writer to write records to.
+     */
+    public RecordWriter(Writer out)
+    {
+        this.out = out;
+    }
+
+    /**
+     * Constructs a record writer that only builds records in memory, to be
+     * retrieved with takeRecord().
+     */
+    public RecordWriter()
+    {
+        this (null);
+    }
+
+    /**
+     * Adds a text field to the record, escaping any separators or ends of
+     * line within it.
+     *
+     * @param value The text of the field.
+     * @return This record writer.
+     */
+    public RecordWriter text(String value)
+    {
+        separate ();
+        for (int i = 0; i < value.length (); ++i)
+        {
+            char c = value.charAt (i);
+            if (c == SEPARATOR || c == END_OF_LINE)
+            {
+                buffer.append (ESCAPE);
+            }
+            buffer.append (c);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a text field that may span several lines to the record, escaping
+     * any separators or ends of line and replacing line returns with a marker
+     * that keeps the record on a single line.
+     *
+     * @param value The text of the field.
+     * @return This record writer.
+     */
+    public RecordWriter multilineText(String value)
+    {
+        separate ();
+        for (int i = 0; i < value.length (); ++i)
+        {
+            char c = value.charAt (i);
+            if (value.startsWith (Utility.LINE_RETURN, i))
+            {
+                buffer.append (ESCAPED_LINE_RETURN);
+                i += Utility.LINE_RETURN.length () - 1;
+                continue;
+            }
+            if (c == SEPARATOR || c == END_OF_LINE)
+            {
+                buffer.append (ESCAPE);
+            }
+            buffer.append (c);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a field to the record as is, without escaping. This should only be
+     * used for values that can never contain a separator or end of line, such
+     * as dates and times.
+     *
+     * @param value The value of the field.
+     * @return This record writer.
+     */
+    public RecordWriter field(String value)
+    {
+        separate ();
+        buffer.append (value);
+
+        return this;
+    }
+
+    /**
+     * Adds a numeric field to the record.
+     *
+     * @param value The value of the field.
+     * @return This record writer.
+     */
+    public RecordWriter field(long value)
+    {
+        separate ();
+        buffer.append (value);
+
+        return this;
+    }
+
+    /**
+     * Adds a boolean field to the record.
+     *
+     * @param value The value of the field.
+     * @return This record writer.
+     */
+    public RecordWriter field(boolean value)
+    {
+        separate ();
+        buffer.append (value);
+
+        return this;
+    }
+
+    /**
+     * Ends the current record and writes it, followed by an end of line and a
+     * line return, to the writer.
+     */
+    public void endRecord() throws IOException
+    {
+        buffer.append (END_OF_LINE).append (Utility.LINE_RETURN);
+        int length = buffer.length ();
+        if (chars.length < length)
+        {
+            chars = new char[Math.max (length, chars.length * 2)];
+        }
+        buffer.getChars (0, length, chars, 0);
+        out.write (chars, 0, length);
+        reset ();
+    }
+
+    /**
+     * Retrieves the current record, without an end of line, and starts a new
+     * one.
+     *
+     * @return The record.
+     */
+    public String takeRecord()
+    {
+        String record = buffer.toString ();
+        reset ();
+
+        return record;
+    }
+
+    /**
+     * Appends a separator to the record unless the next field is its first.
+     */
+    private void separate()
+    {
+        if (firstField)
+        {
+            firstField = false;
+        }
+        else
+        {
+            buffer.append (SEPARATOR);
+        }
+    }
+
+    /**
+     * Clears the buffer for the next record.
+     */
+    private void reset()
+    {
+        buffer.setLength (0);
+        firstField = true;
+    }
+}
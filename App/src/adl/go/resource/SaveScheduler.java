@@ -0,0 +1,660 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.gui.Domain;
+import adl.go.gui.ViewPanel;
+import adl.go.types.Course;
+import adl.go.types.EventYear;
+import java.lang.reflect.InvocationTargetException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.swing.SwingUtilities;
+
+/**
+ * The thread which saves changes to the data files when it is notified that
+ * they have been made. Each changed file is queued once, and it is not written
+ * until it has gone unchanged for the length of the coalescing window, so a
+ * burst of edits results in a single write per file. While nothing is queued,
+ * the thread sleeps until midnight, when it refreshes today's date.
+ *
+ * @author Alex Laird
+ */
+public class SaveScheduler extends Thread
+{
+    /**
+     * The save target for the preferences file.
+     */
+    public static final String PREFERENCES = "preferences";
+    /**
+     * The save target for the user details file.
+     */
+    public static final String USER_DETAILS = "userDetails";
+    /**
+     * The save target for the terms, courses, types, instructors, and
+     * textbooks files.
+     */
+    public static final String COURSES_AND_TERMS = "coursesAndTerms";
+    /**
+     * The save target for the binary snapshot of the data files, which is
+     * queued whenever data files are written and only taken once nothing else
+     * is waiting to be saved.
+     */
+    public static final String SNAPSHOT = "snapshot";
+    /**
+     * The save target for the automatic backup, which is queued whenever
+     * anything is written and taken at most once per AUTO_BACKUP_INTERVAL,
+     * once nothing else is waiting to be saved.
+     */
+    public static final String AUTO_BACKUP = "autoBackup";
+    /**
+     * The shortest time between automatic backups, in milliseconds.
+     */
+    public static final long AUTO_BACKUP_INTERVAL = AutoBackup.HOUR;
+    /**
+     * The default length of the coalescing window, in milliseconds.
+     */
+    public static final long DEFAULT_WINDOW = 500;
+    /**
+     * The number of windows a file that keeps changing may wait before it is
+     * written regardless.
+     */
+    private static final int MAX_WINDOWS = 10;
+    /**
+     * The main frame of the application.
+     */
+    private ViewPanel viewPanel;
+    /**
+     * The domain for the main frame.
+     */
+    private Domain domain;
+    /**
+     * Only one save may run at a time, whether from this thread or from a
+     * flush.
+     */
+    private final Object saveLock = new Object ();
+    /**
+     * The length of the coalescing window, in milliseconds.
+     */
+    private long window = DEFAULT_WINDOW;
+    /**
+     * The time (system clock in ms) each queued target was first changed since
+     * it was last saved, in the order the targets were queued.
+     */
+    private LinkedHashMap<Object, Long> firstChanged = new LinkedHashMap<Object, Long> ();
+    /**
+     * The time (system clock in ms) each queued target was last changed.
+     */
+    private LinkedHashMap<Object, Long> lastChanged = new LinkedHashMap<Object, Long> ();
+    /**
+     * The time (system clock in ms) of the next midnight, when today's date
+     * must be refreshed.
+     */
+    private long nextMidnight = getNextMidnight ();
+    /**
+     * Check if the thread should quit.
+     */
+    private boolean wantToQuit = false;
+    /**
+     * True if a save is allowed, false otherwise.
+     */
+    private boolean allowSave = false;
+    /**
+     * The number of files written.
+     */
+    private long saveCount = 0;
+    /**
+     * The total time between files first being changed and being written, in
+     * milliseconds.
+     */
+    private long totalSaveLatency = 0;
+    /**
+     * The time between the most recently written file first being changed and
+     * being written, in milliseconds.
+     */
+    private long lastSaveLatency = 0;
+    /**
+     * The time spent writing the most recently written file, in milliseconds.
+     */
+    private long lastWriteTime = 0;
+    /**
+     * The time (system clock in ms) of the most recent automatic backup, or -1
+     * if it has not been looked up yet.
+     */
+    private long lastAutoBackup = -1;
+
+    /**
+     * Constructs the save scheduler with a reference to the main frame and a
+     * reference to the domain.
+     *
+     * @param viewPanel A reference to the main frame of the application.
+     * @param domain The domain for the main frame.
+     */
+    public SaveScheduler(ViewPanel viewPanel, Domain domain)
+    {
+        super ("SaveScheduler");
+        this.viewPanel = viewPanel;
+        this.domain = domain;
+    }
+
+    /**
+     * Queues the given target to be saved once it has gone unchanged for the
+     * length of the coalescing window.
+     *
+     * @param target PREFERENCES, USER_DETAILS, COURSES_AND_TERMS, SNAPSHOT,
+     * AUTO_BACKUP, or the course or event year whose file has changed.
+     */
+    public synchronized void scheduleSave(Object target)
+    {
+        if (isSnapshotData (target) && domain.utility != null)
+        {
+            // the snapshot no longer matches what is in memory
+            domain.utility.invalidateSnapshot ();
+        }
+
+        long now = System.currentTimeMillis ();
+        if (!firstChanged.containsKey (target))
+        {
+            firstChanged.put (target, now);
+        }
+        lastChanged.put (target, now);
+        notifyAll ();
+    }
+
+    /**
+     * Sets the quit state of the thread to true, so it will stop once any save
+     * in progress finishes. Anything still queued is left for flush().
+     */
+    public synchronized void stopRunning()
+    {
+        wantToQuit = true;
+        notifyAll ();
+    }
+
+    /**
+     * Sets whether queued targets may be saved. While saves are not allowed,
+     * changes are still queued, and they are saved once saves are allowed
+     * again.
+     *
+     * @param allowSave Set the state of the allow save flag.
+     */
+    public synchronized void setAllowSave(boolean allowSave)
+    {
+        this.allowSave = allowSave;
+        notifyAll ();
+    }
+
+    /**
+     * Sets the length of the coalescing window.
+     *
+     * @param window The number of milliseconds a target must go unchanged
+     * before it is saved.
+     */
+    public synchronized void setWindow(long window)
+    {
+        this.window = window;
+        notifyAll ();
+    }
+
+    /**
+     * Retrieves the length of the coalescing window.
+     *
+     * @return The number of milliseconds a target must go unchanged before it
+     * is saved.
+     */
+    public synchronized long getWindow()
+    {
+        return window;
+    }
+
+    /**
+     * Retrieves the number of targets waiting to be saved.
+     *
+     * @return The number of queued targets.
+     */
+    public synchronized int getQueueDepth()
+    {
+        return firstChanged.size ();
+    }
+
+    /**
+     * Checks if the given target is waiting to be saved.
+     *
+     * @param target The target.
+     * @return True if the target is queued, false otherwise.
+     */
+    public synchronized boolean isQueued(Object target)
+    {
+        return firstChanged.containsKey (target);
+    }
+
+    /**
+     * Retrieves the number of files written since the application started.
+     *
+     * @return The number of files written.
+     */
+    public synchronized long getSaveCount()
+    {
+        return saveCount;
+    }
+
+    /**
+     * Retrieves the time between the most recently written file first being
+     * changed and being written.
+     *
+     * @return The latency of the last save, in milliseconds.
+     */
+    public synchronized long getLastSaveLatency()
+    {
+        return lastSaveLatency;
+    }
+
+    /**
+     * Retrieves the average time between files first being changed and being
+     * written.
+     *
+     * @return The average save latency, in milliseconds.
+     */
+    public synchronized long getAverageSaveLatency()
+    {
+        if (saveCount == 0)
+        {
+            return 0;
+        }
+        return totalSaveLatency / saveCount;
+    }
+
+    /**
+     * Retrieves the time spent writing the most recently written file.
+     *
+     * @return The duration of the last write, in milliseconds.
+     */
+    public synchronized long getLastWriteTime()
+    {
+        return lastWriteTime;
+    }
+
+    /**
+     * Waits for queued targets to come due and saves them, until the thread is
+     * stopped.
+     */
+    @Override
+    public void run()
+    {
+        ArrayList<Object> due = waitForDueTargets ();
+        while (due != null)
+        {
+            save (due);
+
+            due = waitForDueTargets ();
+        }
+    }
+
+    /**
+     * Immediately saves everything that is queued, regardless of the
+     * coalescing window or whether saves are allowed. This waits for any save
+     * already in progress to finish first. The automatic backup is the
+     * exception: it is only taken if AUTO_BACKUP_INTERVAL has passed since the
+     * last one, and otherwise it is left queued.
+     */
+    public void flush()
+    {
+        ArrayList<Object> queued;
+        synchronized (this)
+        {
+            queued = new ArrayList<Object> (firstChanged.keySet ());
+            if (System.currentTimeMillis () < getLastAutoBackup () + AUTO_BACKUP_INTERVAL)
+            {
+                queued.remove (AUTO_BACKUP);
+            }
+        }
+        save (queued);
+
+        // writing the data files queues the snapshot, which can now be taken
+        synchronized (this)
+        {
+            if (!firstChanged.containsKey (SNAPSHOT))
+            {
+                return;
+            }
+        }
+        queued.clear ();
+        queued.add (SNAPSHOT);
+        save (queued);
+    }
+
+    /**
+     * Blocks until at least one queued target has gone unchanged for the
+     * length of the coalescing window, or until midnight passes.
+     *
+     * @return The targets that are due to be saved, which is empty if only
+     * midnight has passed, or null if the thread has been stopped.
+     */
+    private synchronized ArrayList<Object> waitForDueTargets()
+    {
+        while (!wantToQuit)
+        {
+            long now = System.currentTimeMillis ();
+            if (now >= nextMidnight)
+            {
+                nextMidnight = getNextMidnight ();
+                return new ArrayList<Object> ();
+            }
+
+            long wakeAt = nextMidnight;
+            if (allowSave && !viewPanel.initLoading)
+            {
+                ArrayList<Object> due = new ArrayList<Object> ();
+                Iterator<Map.Entry<Object, Long>> iterator = firstChanged.entrySet ().iterator ();
+                while (iterator.hasNext ())
+                {
+                    Map.Entry<Object, Long> entry = iterator.next ();
+                    // a target that keeps changing is still written after a bounded delay
+                    long dueAt = Math.min (lastChanged.get (entry.getKey ()) + window, entry.getValue () + window * MAX_WINDOWS);
+                    if (entry.getKey () == AUTO_BACKUP)
+                    {
+                        dueAt = Math.max (dueAt, getLastAutoBackup () + AUTO_BACKUP_INTERVAL);
+                    }
+                    if (dueAt <= now)
+                    {
+                        due.add (entry.getKey ());
+                    }
+                    else
+                    {
+                        wakeAt = Math.min (wakeAt, dueAt);
+                    }
+                }
+                if (!due.isEmpty ())
+                {
+                    return due;
+                }
+            }
+            else if (!firstChanged.isEmpty ())
+            {
+                // initial loading does not notify when it finishes, so check back
+                wakeAt = Math.min (wakeAt, now + window);
+            }
+
+            try
+            {
+                wait (Math.max (1, wakeAt - now));
+            }
+            catch (InterruptedException ex)
+            {
+                Domain.LOGGER.add (ex);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Writes the given targets, then refreshes today's date. Targets changed
+     * again while being written are queued again.
+     *
+     * @param targets The targets to save.
+     */
+    private void save(ArrayList<Object> targets)
+    {
+        // the backup snapshot is taken first, without holding the save lock,
+        // as a flush on the event dispatch thread may be waiting for it
+        BackupSnapshot backupSnapshot = null;
+        if (targets.contains (AUTO_BACKUP))
+        {
+            backupSnapshot = takeBackupSnapshot ();
+        }
+
+        synchronized (saveLock)
+        {
+            boolean wroteData = false;
+            boolean wroteAny = false;
+            for (int i = 0; i < targets.size (); ++i)
+            {
+                Object target = targets.get (i);
+                Long changedAt;
+                synchronized (this)
+                {
+                    changedAt = firstChanged.remove (target);
+                    lastChanged.remove (target);
+                }
+                if (changedAt == null)
+                {
+                    continue;
+                }
+
+                long start = System.currentTimeMillis ();
+                write (target, backupSnapshot);
+                long end = System.currentTimeMillis ();
+                wroteData = wroteData || isSnapshotData (target);
+                wroteAny = wroteAny || (target != SNAPSHOT && target != AUTO_BACKUP);
+                synchronized (this)
+                {
+                    ++saveCount;
+                    lastSaveLatency = end - changedAt;
+                    totalSaveLatency += lastSaveLatency;
+                    lastWriteTime = end - start;
+                }
+            }
+
+            if (wroteData)
+            {
+                scheduleSave (SNAPSHOT);
+            }
+            if (wroteAny)
+            {
+                scheduleSave (AUTO_BACKUP);
+            }
+
+            refreshToday ();
+        }
+    }
+
+    /**
+     * Checks if the given target is held in the snapshot.
+     *
+     * @param target The target.
+     * @return True if the target is COURSES_AND_TERMS, a course, or an event
+     * year, false otherwise.
+     */
+    private static boolean isSnapshotData(Object target)
+    {
+        return target == COURSES_AND_TERMS || target instanceof Course || target instanceof EventYear;
+    }
+
+    /**
+     * Checks if any target held in the snapshot is still waiting to be saved.
+     *
+     * @return True if a target held in the snapshot is queued, false
+     * otherwise.
+     */
+    private synchronized boolean isSnapshotDataQueued()
+    {
+        Iterator<Object> iterator = firstChanged.keySet ().iterator ();
+        while (iterator.hasNext ())
+        {
+            if (isSnapshotData (iterator.next ()))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Takes the snapshot for an automatic backup on the event dispatch thread,
+     * waiting for it if this is called from another thread.
+     *
+     * @return The snapshot, or null if it could not be taken.
+     */
+    private BackupSnapshot takeBackupSnapshot()
+    {
+        if (SwingUtilities.isEventDispatchThread ())
+        {
+            return domain.utility.takeBackupSnapshot ();
+        }
+
+        final BackupSnapshot[] snapshot = new BackupSnapshot[1];
+        try
+        {
+            SwingUtilities.invokeAndWait (new Runnable ()
+            {
+                @Override
+                public void run()
+                {
+                    snapshot[0] = domain.utility.takeBackupSnapshot ();
+                }
+            });
+        }
+        catch (InterruptedException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+        catch (InvocationTargetException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+
+        return snapshot[0];
+    }
+
+    /**
+     * Writes the file or files for the given target.
+     *
+     * @param target The target to save.
+     * @param backupSnapshot The snapshot to write if the target is the
+     * automatic backup, or null if it could not be taken.
+     */
+    private void write(Object target, BackupSnapshot backupSnapshot)
+    {
+        if (target == PREFERENCES)
+        {
+            domain.savePreferences ();
+        }
+        else if (target == USER_DETAILS)
+        {
+            domain.saveUserDetails ();
+        }
+        else if (target == COURSES_AND_TERMS)
+        {
+            domain.needsCoursesAndTermsSave = false;
+            domain.saveSettings ();
+        }
+        else if (target instanceof Course)
+        {
+            domain.saveAssignments ((Course) target);
+        }
+        else if (target instanceof EventYear)
+        {
+            domain.saveEvents ((EventYear) target);
+        }
+        else if (target == SNAPSHOT)
+        {
+            // a snapshot taken with changes still unsaved would not match the
+            // data files; it is queued again once they are written
+            if (!isSnapshotDataQueued ())
+            {
+                domain.utility.saveSnapshot ();
+            }
+        }
+        else if (target == AUTO_BACKUP)
+        {
+            // like the snapshot, the backup waits until everything is written
+            if (isSnapshotDataQueued ())
+            {
+                scheduleSave (AUTO_BACKUP);
+            }
+            else if (backupSnapshot != null)
+            {
+                domain.utility.saveAutoBackup (backupSnapshot);
+                synchronized (this)
+                {
+                    lastAutoBackup = System.currentTimeMillis ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the time of the most recent automatic backup, looking it up
+     * from the backups the first time.
+     *
+     * @return The time (system clock in ms) of the most recent automatic
+     * backup, or 0 if there is none.
+     */
+    private synchronized long getLastAutoBackup()
+    {
+        if (lastAutoBackup == -1)
+        {
+            lastAutoBackup = domain.utility.getAutoBackup ().getLastBackupTime ();
+        }
+
+        return lastAutoBackup;
+    }
+
+    /**
+     * Refreshes today's date, redrawing the views if the day has changed.
+     */
+    private void refreshToday()
+    {
+        String prevDate = Domain.DATE_FORMAT.format (domain.today);
+        try
+        {
+            domain.today = Domain.DATE_FORMAT.parse (Domain.DATE_FORMAT.format (new Date ()));
+        }
+        catch (ParseException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+        if (!prevDate.equals (Domain.DATE_FORMAT.format (domain.today)))
+        {
+            SwingUtilities.invokeLater (new Runnable ()
+            {
+                @Override
+                public void run()
+                {
+                    viewPanel.refindToday ();
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the time of the next midnight.
+     *
+     * @return The system clock time, in ms, of the next midnight.
+     */
+    private static long getNextMidnight()
+    {
+        Calendar cal = Calendar.getInstance ();
+        cal.set (Calendar.HOUR_OF_DAY, 0);
+        cal.set (Calendar.MINUTE, 0);
+        cal.set (Calendar.SECOND, 0);
+        cal.set (Calendar.MILLISECOND, 0);
+        cal.add (Calendar.DATE, 1);
+        return cal.getTimeInMillis ();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A writer of the text of a backup, which is split into named sections. Within
+ * a section, the text of each course's assignments and each year's events is
+ * marked off as a chunk, for writers that store chunks on their own.
+ *
+ * @author Alex Laird
+ */
+public abstract class SectionWriter extends Writer
+{
+    /**
+     * Ends the current section, if any, and starts a new one.
+     *
+     * @param name The name of the section.
+     */
+    public abstract void startSection(String name) throws IOException;
+
+    /**
+     * Ends the current chunk of the current section. Text written after this
+     * starts a new chunk. By default, chunks are not kept apart.
+     */
+    public void endChunk() throws IOException
+    {
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.gui.Domain;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a snapshot written by SnapshotWriter. The file is mapped into memory
+ * and its checksum verified before anything is read from it, and each record
+ * is handed out as a RecordTokenizer, so the model is built by the same
+ * constructors that read the data files.
+ *
+ * @author Alex Laird
+ */
+public class SnapshotReader
+{
+    /**
+     * The size of the header, in bytes.
+     */
+    private static final int HEADER_SIZE = 28;
+    /**
+     * The mapped body of the snapshot.
+     */
+    private ByteBuffer body;
+    /**
+     * The string table.
+     */
+    private String[] strings;
+
+    /**
+     * Constructs a reader for the given mapped body.
+     *
+     * @param body The body, positioned after the header.
+     */
+    private SnapshotReader(ByteBuffer body)
+    {
+        this.body = body;
+    }
+
+    /**
+     * Opens the given snapshot, if it exists and was written by this version,
+     * from the data files with the given fingerprint, and is intact.
+     *
+     * @param file The snapshot file.
+     * @param fingerprint The fingerprint of the data files as they are now.
+     * @return The reader, or null if the snapshot cannot be used.
+     */
+    public static SnapshotReader open(File file, long fingerprint)
+    {
+        if (!file.exists () || file.length () < HEADER_SIZE)
+        {
+            return null;
+        }
+
+        try
+        {
+            RandomAccessFile in = new RandomAccessFile (file, "r");
+            try
+            {
+                FileChannel channel = in.getChannel ();
+                ByteBuffer buffer = channel.map (FileChannel.MapMode.READ_ONLY, 0, channel.size ());
+                if (buffer.getInt () != SnapshotWriter.MAGIC
+                    || buffer.getInt () != SnapshotWriter.VERSION
+                    || buffer.getLong () != fingerprint)
+                {
+                    return null;
+                }
+                long checksum = buffer.getLong ();
+                int length = buffer.getInt ();
+                if (length != buffer.remaining ())
+                {
+                    return null;
+                }
+
+                ByteBuffer body = buffer.slice ();
+                CRC32 crc = new CRC32 ();
+                byte[] chunk = new byte[64 * 1024];
+                while (buffer.hasRemaining ())
+                {
+                    int count = Math.min (chunk.length, buffer.remaining ());
+                    buffer.get (chunk, 0, count);
+                    crc.update (chunk, 0, count);
+                }
+                if (crc.getValue () != checksum)
+                {
+                    return null;
+                }
+
+                SnapshotReader reader = new SnapshotReader (body);
+                reader.readStrings ();
+                return reader;
+            }
+            finally
+            {
+                // the mapping stays valid after the file is closed
+                in.close ();
+            }
+        }
+        catch (IOException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+        catch (BufferUnderflowException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the next count from the body.
+     *
+     * @return The count.
+     */
+    public int count()
+    {
+        return body.getInt ();
+    }
+
+    /**
+     * Reads the next record from the body.
+     *
+     * @return The fields of the record.
+     */
+    public RecordTokenizer nextRecord()
+    {
+        return new SnapshotRecord ();
+    }
+
+    /**
+     * Decodes the string table at the start of the body.
+     */
+    private void readStrings() throws IOException
+    {
+        strings = new String[body.getInt ()];
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < strings.length; ++i)
+        {
+            int length = body.getInt ();
+            if (bytes.length < length)
+            {
+                bytes = new byte[Math.max (length, bytes.length * 2)];
+            }
+            body.get (bytes, 0, length);
+            strings[i] = new String (bytes, 0, length, "UTF-8");
+        }
+    }
+
+    /**
+     * The fields of a single record in the snapshot, read the same way
+     * RecordTokenizer reads them from a data file. The whole record is read
+     * from the body up front, so a constructor that reads fewer fields than
+     * the record has does not affect the next record.
+     */
+    private class SnapshotRecord extends RecordTokenizer
+    {
+        /**
+         * The tag of each field.
+         */
+        private byte[] tags = new byte[32];
+        /**
+         * The value of each field: the string index of a text field, the
+         * value of a numeric field, or the epoch day of a date field.
+         */
+        private long[] values = new long[32];
+        /**
+         * The number of fields in the record.
+         */
+        private int count = 0;
+        /**
+         * The index of the next field.
+         */
+        private int index = 0;
+
+        /**
+         * Reads the next record from the body.
+         */
+        private SnapshotRecord()
+        {
+            byte tag = body.get ();
+            while (tag != SnapshotWriter.END)
+            {
+                if (count == tags.length)
+                {
+                    byte[] newTags = new byte[count * 2];
+                    System.arraycopy (tags, 0, newTags, 0, count);
+                    tags = newTags;
+                    long[] newValues = new long[count * 2];
+                    System.arraycopy (values, 0, newValues, 0, count);
+                    values = newValues;
+                }
+                tags[count] = tag;
+                if (tag == SnapshotWriter.TEXT || tag == SnapshotWriter.DAY)
+                {
+                    values[count] = body.getInt ();
+                }
+                else if (tag == SnapshotWriter.LONG)
+                {
+                    values[count] = body.getLong ();
+                }
+                ++count;
+
+                tag = body.get ();
+            }
+        }
+
+        /**
+         * Checks if the record has another field.
+         *
+         * @return True if there is another field, false otherwise.
+         */
+        @Override
+        public boolean hasNext()
+        {
+            return index < count;
+        }
+
+        /**
+         * Reads the next field as text.
+         *
+         * @return The next field.
+         */
+        @Override
+        public String next()
+        {
+            check ();
+            String field;
+            switch (tags[index])
+            {
+                case SnapshotWriter.TEXT:
+                    field = strings[(int) values[index]];
+                    break;
+                case SnapshotWriter.LONG:
+                    field = Long.toString (values[index]);
+                    break;
+                case SnapshotWriter.TRUE:
+                    field = "true";
+                    break;
+                case SnapshotWriter.FALSE:
+                    field = "false";
+                    break;
+                default:
+                    field = DateUtility.formatDate (values[index]);
+                    break;
+            }
+            ++index;
+
+            return field;
+        }
+
+        /**
+         * Reads the next field as a long.
+         *
+         * @return The next field.
+         */
+        @Override
+        public long nextLong()
+        {
+            check ();
+            long value;
+            if (tags[index] == SnapshotWriter.LONG)
+            {
+                value = values[index];
+            }
+            else if (tags[index] == SnapshotWriter.TEXT)
+            {
+                String text = strings[(int) values[index]];
+                value = RecordTokenizer.parseLong (text, 0, text.length ());
+            }
+            else
+            {
+                throw new InputMismatchException ();
+            }
+            ++index;
+
+            return value;
+        }
+
+        /**
+         * Reads the next field as an int.
+         *
+         * @return The next field.
+         */
+        @Override
+        public int nextInt()
+        {
+            check ();
+            int start = index;
+            long value = nextLong ();
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+            {
+                index = start;
+                throw new InputMismatchException ();
+            }
+
+            return (int) value;
+        }
+
+        /**
+         * Reads the next field as a boolean, ignoring case.
+         *
+         * @return The next field.
+         */
+        @Override
+        public boolean nextBoolean()
+        {
+            check ();
+            boolean value;
+            if (tags[index] == SnapshotWriter.TRUE || tags[index] == SnapshotWriter.FALSE)
+            {
+                value = tags[index] == SnapshotWriter.TRUE;
+            }
+            else if (tags[index] == SnapshotWriter.TEXT && strings[(int) values[index]].equalsIgnoreCase ("true"))
+            {
+                value = true;
+            }
+            else if (tags[index] == SnapshotWriter.TEXT && strings[(int) values[index]].equalsIgnoreCase ("false"))
+            {
+                value = false;
+            }
+            else
+            {
+                throw new InputMismatchException ();
+            }
+            ++index;
+
+            return value;
+        }
+
+        /**
+         * Ensures there is another field to read.
+         */
+        private void check()
+        {
+            if (!hasNext ())
+            {
+                throw new NoSuchElementException ();
+            }
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Builds the binary snapshot of the data files, which SnapshotReader maps back
+ * in at startup. Records are written through the same writeTo() methods as
+ * the data files, but each field is stored in binary: numbers and booleans at
+ * a fixed width, dates as epoch days, and text as an index into a table that
+ * holds each distinct string once. A field reads back as exactly what
+ * RecordTokenizer would have read from the data file.
+ *
+ * The file is a header (magic number, format version, fingerprint of the data
+ * files, checksum and length of the body) followed by the body (the string
+ * table, then the counts and records in the order they were written).
+ *
+ * @author Alex Laird
+ */
+public class SnapshotWriter extends RecordWriter
+{
+    /**
+     * The number every snapshot file starts with.
+     */
+    static final int MAGIC = 0x474F5331;
+    /**
+     * The version of the snapshot format, which must be increased whenever the
+     * format or the fields of any record change.
+     */
+    static final int VERSION = 1;
+    /**
+     * The tag that ends a record.
+     */
+    static final byte END = 0;
+    /**
+     * The tag of a text field, followed by its index in the string table.
+     */
+    static final byte TEXT = 1;
+    /**
+     * The tag of a numeric field, followed by its eight-byte value.
+     */
+    static final byte LONG = 2;
+    /**
+     * The tag of a true boolean field.
+     */
+    static final byte TRUE = 3;
+    /**
+     * The tag of a false boolean field.
+     */
+    static final byte FALSE = 4;
+    /**
+     * The tag of a date field, followed by its four-byte epoch day.
+     */
+    static final byte DAY = 5;
+    /**
+     * The body, apart from the string table.
+     */
+    private ByteArrayOutputStream records = new ByteArrayOutputStream (64 * 1024);
+    /**
+     * The stream the body is written through.
+     */
+    private DataOutputStream out = new DataOutputStream (records);
+    /**
+     * Each distinct string, in the order it was first written.
+     */
+    private ArrayList<String> strings = new ArrayList<String> ();
+    /**
+     * The index of each string in the string table.
+     */
+    private HashMap<String, Integer> stringIndexes = new HashMap<String, Integer> ();
+
+    /**
+     * Writes a count, such as the number of records that follow, to the body.
+     *
+     * @param value The count.
+     */
+    public void count(int value)
+    {
+        writeInt (value);
+    }
+
+    /**
+     * Adds a text field to the record.
+     *
+     * @param value The text of the field.
+     * @return This snapshot writer.
+     */
+    @Override
+    public RecordWriter text(String value)
+    {
+        writeText (value);
+
+        return this;
+    }
+
+    /**
+     * Adds a text field that may span several lines to the record. Line
+     * returns are stored as the marker the data files use, as that is how the
+     * field reads back from a data file.
+     *
+     * @param value The text of the field.
+     * @return This snapshot writer.
+     */
+    @Override
+    public RecordWriter multilineText(String value)
+    {
+        writeText (RecordTokenizer.replace (value, Utility.LINE_RETURN, "\\<br />"));
+
+        return this;
+    }
+
+    /**
+     * Adds a field written as is to the record. A date is stored as an epoch
+     * day; a value containing separators is split into the fields it would be
+     * read back as.
+     *
+     * @param value The value of the field.
+     * @return This snapshot writer.
+     */
+    @Override
+    public RecordWriter field(String value)
+    {
+        String text = String.valueOf (value);
+        if (text.indexOf (Utility.SEPARATOR) != -1 || text.indexOf (Utility.END_OF_LINE) != -1 || text.indexOf ('\\') != -1)
+        {
+            RecordTokenizer scan = new RecordTokenizer (text + Utility.SEPARATOR);
+            while (scan.hasNext ())
+            {
+                writeText (scan.next ());
+            }
+        }
+        else
+        {
+            long day = DateUtility.parseDate (text);
+            if (day != Long.MIN_VALUE)
+            {
+                writeTag (DAY);
+                writeInt ((int) day);
+            }
+            else
+            {
+                writeText (text);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a numeric field to the record.
+     *
+     * @param value The value of the field.
+     * @return This snapshot writer.
+     */
+    @Override
+    public RecordWriter field(long value)
+    {
+        writeTag (LONG);
+        try
+        {
+            out.writeLong (value);
+        }
+        catch (IOException ex)
+        {
+            // writing to memory does not fail
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a boolean field to the record.
+     *
+     * @param value The value of the field.
+     * @return This snapshot writer.
+     */
+    @Override
+    public RecordWriter field(boolean value)
+    {
+        writeTag (value ? TRUE : FALSE);
+
+        return this;
+    }
+
+    /**
+     * Ends the current record.
+     */
+    @Override
+    public void endRecord()
+    {
+        writeTag (END);
+    }
+
+    /**
+     * Writes the snapshot to the given file.
+     *
+     * @param file The file to write to.
+     * @param fingerprint The fingerprint of the data files the snapshot was
+     * taken from.
+     */
+    public void write(File file, long fingerprint) throws IOException
+    {
+        ByteArrayOutputStream table = new ByteArrayOutputStream (strings.size () * 16 + 4);
+        DataOutputStream tableOut = new DataOutputStream (table);
+        tableOut.writeInt (strings.size ());
+        for (int i = 0; i < strings.size (); ++i)
+        {
+            byte[] bytes = strings.get (i).getBytes ("UTF-8");
+            tableOut.writeInt (bytes.length);
+            tableOut.write (bytes);
+        }
+        tableOut.flush ();
+        out.flush ();
+
+        CRC32 crc = new CRC32 ();
+        byte[] tableBytes = table.toByteArray ();
+        byte[] recordBytes = records.toByteArray ();
+        crc.update (tableBytes);
+        crc.update (recordBytes);
+
+        DataOutputStream fileOut = new DataOutputStream (new BufferedOutputStream (new FileOutputStream (file)));
+        try
+        {
+            fileOut.writeInt (MAGIC);
+            fileOut.writeInt (VERSION);
+            fileOut.writeLong (fingerprint);
+            fileOut.writeLong (crc.getValue ());
+            fileOut.writeInt (tableBytes.length + recordBytes.length);
+            fileOut.write (tableBytes);
+            fileOut.write (recordBytes);
+            fileOut.flush ();
+        }
+        finally
+        {
+            fileOut.close ();
+        }
+    }
+
+    /**
+     * Writes a text field.
+     *
+     * @param value The text of the field.
+     */
+    private void writeText(String value)
+    {
+        Integer index = stringIndexes.get (value);
+        if (index == null)
+        {
+            index = strings.size ();
+            strings.add (value);
+            stringIndexes.put (value, index);
+        }
+        writeTag (TEXT);
+        writeInt (index);
+    }
+
+    /**
+     * Writes the tag of a field.
+     *
+     * @param tag The tag.
+     */
+    private void writeTag(byte tag)
+    {
+        try
+        {
+            out.writeByte (tag);
+        }
+        catch (IOException ex)
+        {
+            // writing to memory does not fail
+        }
+    }
+
+    /**
+     * Writes a four-byte value.
+     *
+     * @param value The value.
+     */
+    private void writeInt(int value)
+    {
+        try
+        {
+            out.writeInt (value);
+        }
+        catch (IOException ex)
+        {
+            // writing to memory does not fail
+        }
+    }
+}
@@ -0,0 +1,1367 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import adl.go.gui.Domain;
+import adl.go.gui.ViewPanel;
+import adl.go.types.Assignment;
+import adl.go.types.AssignmentType;
+import adl.go.types.Course;
+import adl.go.types.Event;
+import adl.go.types.EventYear;
+import adl.go.types.Instructor;
+import adl.go.types.Term;
+import adl.go.types.Textbook;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.swing.JDialog;
+import javax.swing.JOptionPane;
+
+/**
+ * A utility that keeps the terms, courses, types, instructors, textbooks,
+ * assignments, and events in an embedded, file-based SQL database in the data
+ * folder instead of the data files. Each item is a row in the table for its
+ * kind, with its unique ID as the primary key, the course (or term, or year)
+ * it belongs to and its due date in indexed columns, and the item itself in
+ * the same record format the data files use, so it is read back by the same
+ * constructors.
+ *
+ * Saves compare each item to the row last written for it and update only the
+ * rows that changed, in one transaction per save. The first time the database
+ * is opened, the data files already in the data folder are imported into it.
+ * Preferences and user details stay in their own data files.
+ *
+ * The database engine is found at runtime through JDBC. H2 is bundled with
+ * the application, but another driver and database may be named instead. If
+ * the database cannot be opened, the user is told, and this utility falls
+ * back to the data files.
+ *
+ * @author Alex Laird
+ */
+public class SqlUtility extends LocalUtility
+{
+    /**
+     * The system property that selects the SQL storage when set to "sql".
+     */
+    public static final String STORAGE_PROPERTY = "go.storage";
+    /**
+     * The system property that names the JDBC driver class.
+     */
+    public static final String DRIVER_PROPERTY = "go.jdbc.driver";
+    /**
+     * The system property that gives the JDBC URL of the database, which
+     * otherwise is kept in the data folder.
+     */
+    public static final String URL_PROPERTY = "go.jdbc.url";
+    /**
+     * The JDBC driver used if none is named.
+     */
+    private static final String DEFAULT_DRIVER = "org.h2.Driver";
+    /**
+     * The version of the schema, which must be increased whenever the tables
+     * change.
+     */
+    private static final int SCHEMA_VERSION = 2;
+    /**
+     * The table of terms.
+     */
+    private static final Table TERMS = new Table ("go_terms", null, true, false);
+    /**
+     * The table of courses.
+     */
+    private static final Table COURSES = new Table ("go_courses", "term_id", true, false);
+    /**
+     * The table of assignment types.
+     */
+    private static final Table TYPES = new Table ("go_types", "course_id", true, false);
+    /**
+     * The table of instructors.
+     */
+    private static final Table INSTRUCTORS = new Table ("go_instructors", "course_id", true, false);
+    /**
+     * The table of textbooks.
+     */
+    private static final Table TEXTBOOKS = new Table ("go_textbooks", "course_id", true, false);
+    /**
+     * The table of assignments.
+     */
+    private static final Table ASSIGNMENTS = new Table ("go_assignments", "course_id", false, true);
+    /**
+     * The table of events.
+     */
+    private static final Table EVENTS = new Table ("go_events", "event_year", false, true);
+    /**
+     * Every table, in the order they are created.
+     */
+    private static final Table[] TABLES =
+    {
+        TERMS, COURSES, TYPES, INSTRUCTORS, TEXTBOOKS, ASSIGNMENTS, EVENTS
+    };
+    /**
+     * The connection to the database, or null if the data files are used.
+     */
+    private Connection connection;
+    /**
+     * Guards the connection, which is used by the loading and saving threads.
+     */
+    private final Object connectionLock = new Object ();
+    /**
+     * The rows as they were last written to the database, keyed by unique ID,
+     * for each table (and, for assignments and events, each course and year).
+     */
+    private Map<String, Map<Long, Row>> storedRows = new HashMap<String, Map<Long, Row>> ();
+
+    /**
+     * Checks if the SQL storage was selected for this run.
+     *
+     * @return True if the SQL storage should be used, false otherwise.
+     */
+    public static boolean isSelected()
+    {
+        return "sql".equalsIgnoreCase (System.getProperty (STORAGE_PROPERTY));
+    }
+
+    /**
+     * Performs a load operation, filling all the data vectors from the
+     * database. If the database has not been filled yet, the data files are
+     * loaded and imported into it; if it cannot be opened, the data files are
+     * used instead.
+     */
+    @Override
+    public void load()
+    {
+        synchronized (connectionLock)
+        {
+            connection = connect ();
+        }
+        if (connection == null)
+        {
+            showDatabaseUnavailable ();
+            super.load ();
+            return;
+        }
+
+        if (!isImported ())
+        {
+            importDataFolder ();
+            return;
+        }
+
+        loadTerms ();
+        loadCourses ();
+        loadTypes ();
+        loadInstructors ();
+        loadTextbooks ();
+        loadAssignmentsAndEvents ();
+
+        refreshReferences ();
+    }
+
+    /**
+     * Loads the term vector with values from the database.
+     */
+    @Override
+    public void loadTerms()
+    {
+        if (connection == null)
+        {
+            super.loadTerms ();
+            return;
+        }
+
+        terms.clear ();
+        ArrayList<Row> rows = readRows (TERMS);
+        for (int i = 0; i < rows.size (); ++i)
+        {
+            terms.add (new Term (rows.get (i).toParse (), this));
+        }
+    }
+
+    /**
+     * Saves all term data in the vector to the database.
+     */
+    @Override
+    public void saveTerms()
+    {
+        if (connection == null)
+        {
+            super.saveTerms ();
+            return;
+        }
+
+        ArrayList<Row> rows = new ArrayList<Row> ();
+        for (int i = 0; i < terms.size (); ++i)
+        {
+            Term term = terms.get (i);
+            rows.add (new Row (term.getUniqueID (), i, 0, Long.MIN_VALUE, term.out ()));
+        }
+        writeRows (TERMS, TERMS.name, -1, rows, null);
+    }
+
+    /**
+     * Loads the course vector with values from the database.
+     */
+    @Override
+    public void loadCourses()
+    {
+        if (connection == null)
+        {
+            super.loadCourses ();
+            return;
+        }
+
+        courses.clear ();
+        ArrayList<Row> rows = readRows (COURSES);
+        for (int i = 0; i < rows.size (); ++i)
+        {
+            courses.add (new Course (rows.get (i).toParse (), this));
+        }
+    }
+
+    /**
+     * Saves all course data in the vector to the database. The assignments of
+     * courses that no longer exist are removed in the same transaction.
+     */
+    @Override
+    public void saveCourses()
+    {
+        if (connection == null)
+        {
+            super.saveCourses ();
+            return;
+        }
+
+        ArrayList<Row> rows = new ArrayList<Row> ();
+        for (int i = 0; i < courses.size (); ++i)
+        {
+            Course course = courses.get (i);
+            rows.add (new Row (course.getUniqueID (), i, course.getTerm ().getUniqueID (), Long.MIN_VALUE, course.out ()));
+        }
+        if (writeRows (COURSES, COURSES.name, -1, rows,
+                       "DELETE FROM " + ASSIGNMENTS.name + " WHERE course_id NOT IN (SELECT id FROM " + COURSES.name + ")"))
+        {
+            synchronized (connectionLock)
+            {
+                Iterator<String> keys = storedRows.keySet ().iterator ();
+                while (keys.hasNext ())
+                {
+                    String key = keys.next ();
+                    if (key.startsWith (ASSIGNMENTS.name + "/")
+                        && courses.getByID (Long.parseLong (key.substring (ASSIGNMENTS.name.length () + 1))) == null)
+                    {
+                        keys.remove ();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the type vector with values from the database.
+     */
+    @Override
+    public void loadTypes()
+    {
+        if (connection == null)
+        {
+            super.loadTypes ();
+            return;
+        }
+
+        types.clear ();
+        ArrayList<Row> rows = readRows (TYPES);
+        for (int i = 0; i < rows.size (); ++i)
+        {
+            types.add (new AssignmentType (rows.get (i).toParse (), this));
+        }
+    }
+
+    /**
+     * Saves all type data in the vector to the database.
+     */
+    @Override
+    public void saveTypes()
+    {
+        if (connection == null)
+        {
+            super.saveTypes ();
+            return;
+        }
+
+        ArrayList<Row> rows = new ArrayList<Row> ();
+        for (int i = 0; i < types.size (); ++i)
+        {
+            AssignmentType type = types.get (i);
+            rows.add (new Row (type.getUniqueID (), i, type.getCourse ().getUniqueID (), Long.MIN_VALUE, type.out ()));
+        }
+        writeRows (TYPES, TYPES.name, -1, rows, null);
+    }
+
+    /**
+     * Loads the instructor vector with values from the database.
+     */
+    @Override
+    public void loadInstructors()
+    {
+        if (connection == null)
+        {
+            super.loadInstructors ();
+            return;
+        }
+
+        instructors.clear ();
+        ArrayList<Row> rows = readRows (INSTRUCTORS);
+        for (int i = 0; i < rows.size (); ++i)
+        {
+            instructors.add (new Instructor (rows.get (i).toParse (), this));
+        }
+    }
+
+    /**
+     * Saves all instructor data in the vector to the database.
+     */
+    @Override
+    public void saveInstructors()
+    {
+        if (connection == null)
+        {
+            super.saveInstructors ();
+            return;
+        }
+
+        ArrayList<Row> rows = new ArrayList<Row> ();
+        for (int i = 0; i < instructors.size (); ++i)
+        {
+            Instructor instructor = instructors.get (i);
+            rows.add (new Row (instructor.getUniqueID (), i, instructor.getCourse ().getUniqueID (), Long.MIN_VALUE, instructor.out ()));
+        }
+        writeRows (INSTRUCTORS, INSTRUCTORS.name, -1, rows, null);
+    }
+
+    /**
+     * Loads the textbook vector with values from the database.
+     */
+    @Override
+    public void loadTextbooks()
+    {
+        if (connection == null)
+        {
+            super.loadTextbooks ();
+            return;
+        }
+
+        textbooks.clear ();
+        ArrayList<Row> rows = readRows (TEXTBOOKS);
+        for (int i = 0; i < rows.size (); ++i)
+        {
+            textbooks.add (new Textbook (rows.get (i).toParse (), this));
+        }
+    }
+
+    /**
+     * Saves all textbook data in the vector to the database.
+     */
+    @Override
+    public void saveTextbooks()
+    {
+        if (connection == null)
+        {
+            super.saveTextbooks ();
+            return;
+        }
+
+        ArrayList<Row> rows = new ArrayList<Row> ();
+        for (int i = 0; i < textbooks.size (); ++i)
+        {
+            Textbook textbook = textbooks.get (i);
+            rows.add (new Row (textbook.getUniqueID (), i, textbook.getCourse ().getUniqueID (), Long.MIN_VALUE, textbook.out ()));
+        }
+        writeRows (TEXTBOOKS, TEXTBOOKS.name, -1, rows, null);
+    }
+
+    /**
+     * Loads the assignment vector with values from the database.
+     */
+    @Override
+    public void loadAssignments()
+    {
+        if (connection == null)
+        {
+            super.loadAssignments ();
+            return;
+        }
+
+        assignmentsAndEvents.clear ();
+        readAssignments ();
+    }
+
+    /**
+     * Loads the events vector with values from the database. Every event year
+     * is loaded.
+     */
+    @Override
+    public void loadEvents()
+    {
+        if (connection == null)
+        {
+            super.loadEvents ();
+            return;
+        }
+
+        readEvents ();
+    }
+
+    /**
+     * Loads the assignments and events vector with values from the database.
+     */
+    @Override
+    public void loadAssignmentsAndEvents()
+    {
+        if (connection == null)
+        {
+            super.loadAssignmentsAndEvents ();
+            return;
+        }
+
+        assignmentsAndEvents.clear ();
+        readAssignments ();
+        readEvents ();
+    }
+
+    /**
+     * Every event year is loaded from the database at startup, so an event
+     * year that is not loaded has no events in it and is simply marked loaded.
+     *
+     * @param eventYear The event year to load.
+     */
+    @Override
+    public void loadEventYear(EventYear eventYear)
+    {
+        if (connection == null)
+        {
+            super.loadEventYear (eventYear);
+            return;
+        }
+
+        eventYear.setLoaded (true);
+    }
+
+    /**
+     * Every event year is in memory when the database is used, so there is
+     * nothing to load in the background and nothing is dropped from memory.
+     *
+     * @param firstDay The first epoch day of the range, inclusive.
+     * @param lastDay The last epoch day of the range, inclusive.
+     */
+    @Override
+    public void requestEventYears(long firstDay, long lastDay)
+    {
+        if (connection == null)
+        {
+            super.requestEventYears (firstDay, lastDay);
+        }
+    }
+
+    /**
+     * Saves the changed assignments of the given course to the database.
+     *
+     * @param course The course to save assignments for.
+     */
+    @Override
+    public void saveAssignments(Course course)
+    {
+        if (connection == null)
+        {
+            super.saveAssignments (course);
+            return;
+        }
+
+        ArrayList<Row> rows = new ArrayList<Row> ();
+        for (int i = 0; i < course.getAssignmentCount (); ++i)
+        {
+            Assignment assignment = course.getAssignment (i);
+            rows.add (new Row (assignment.getUniqueID (), -1, course.getUniqueID (), DateUtility.parseDate (assignment.getDueDate ()), assignment.out ()));
+        }
+        writeRows (ASSIGNMENTS, ASSIGNMENTS.name + "/" + course.getUniqueID (), course.getUniqueID (), rows, null);
+    }
+
+    /**
+     * Saves the changed events of the given event year to the database.
+     *
+     * @param eventYear The event year to save events for.
+     */
+    @Override
+    public void saveEvents(EventYear eventYear)
+    {
+        if (connection == null)
+        {
+            super.saveEvents (eventYear);
+            return;
+        }
+
+        long year = Long.parseLong (eventYear.getYear ());
+        ArrayList<Row> rows = new ArrayList<Row> ();
+        for (int i = 0; i < eventYear.getEventCount (); ++i)
+        {
+            Event event = eventYear.getEvent (i);
+            rows.add (new Row (event.getUniqueID (), -1, year, DateUtility.parseDate (event.getDueDate ()), event.out ()));
+        }
+        writeRows (EVENTS, EVENTS.name + "/" + year, year, rows, null);
+    }
+
+    /**
+     * Restores from the given backup file. The assignments and events in the
+     * database are cleared, and every course and event year is marked to be
+     * saved, so what is restored replaces them.
+     *
+     * @param file The backup file to restore from.
+     * @return True if the restore was successful, false otherwise.
+     */
+    @Override
+    public boolean restoreFromBackup(File file)
+    {
+        if (!super.restoreFromBackup (file))
+        {
+            return false;
+        }
+
+        if (connection != null)
+        {
+            clearRows (ASSIGNMENTS, EVENTS);
+            for (int i = 0; i < courses.size (); ++i)
+            {
+                courses.get (i).markChanged ();
+            }
+            for (int i = 0; i < eventYears.size (); ++i)
+            {
+                eventYears.get (i).markChanged ();
+            }
+            domain.markCoursesAndTermsChanged ();
+        }
+
+        return true;
+    }
+
+    /**
+     * The database holds every change as it is saved, so no snapshot is taken
+     * unless the data files are used.
+     */
+    @Override
+    public void saveSnapshot()
+    {
+        if (connection == null)
+        {
+            super.saveSnapshot ();
+        }
+    }
+
+    /**
+     * Opens the database, creating its tables and indexes if they do not
+     * exist yet.
+     *
+     * @return The connection, or null if the database could not be opened.
+     */
+    private Connection connect()
+    {
+        String url = System.getProperty (URL_PROPERTY);
+        if (url == null)
+        {
+            getDataFolder ().mkdirs ();
+            url = "jdbc:h2:" + new File (getDataFolder (), Domain.NAME).getAbsolutePath ();
+        }
+
+        try
+        {
+            Class.forName (System.getProperty (DRIVER_PROPERTY, DEFAULT_DRIVER));
+            Connection newConnection = DriverManager.getConnection (url);
+            try
+            {
+                createTables (newConnection);
+                return newConnection;
+            }
+            catch (SQLException ex)
+            {
+                newConnection.close ();
+                throw ex;
+            }
+        }
+        catch (ClassNotFoundException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+        catch (SQLException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates the tables and indexes, unless the schema table shows they
+     * already exist, and upgrades the tables of an older schema.
+     *
+     * @param newConnection The connection to the database.
+     */
+    private void createTables(Connection newConnection) throws SQLException
+    {
+        Statement statement = newConnection.createStatement ();
+        try
+        {
+            int version = 0;
+            try
+            {
+                ResultSet result = statement.executeQuery ("SELECT version FROM go_schema");
+                if (result.next ())
+                {
+                    version = result.getInt (1);
+                }
+                result.close ();
+            }
+            catch (SQLException ex)
+            {
+                // the schema has not been created yet
+            }
+            if (version == SCHEMA_VERSION)
+            {
+                return;
+            }
+
+            newConnection.setAutoCommit (false);
+            if (version != 0)
+            {
+                // the first schema kept each item in a VARCHAR, which a long
+                // description or note could overflow
+                for (int i = 0; i < TABLES.length; ++i)
+                {
+                    statement.executeUpdate ("ALTER TABLE " + TABLES[i].name + " ALTER COLUMN data CLOB NOT NULL");
+                }
+                statement.executeUpdate ("UPDATE go_schema SET version = " + SCHEMA_VERSION);
+                newConnection.commit ();
+                return;
+            }
+
+            for (int i = 0; i < TABLES.length; ++i)
+            {
+                Table table = TABLES[i];
+                statement.executeUpdate ("CREATE TABLE " + table.name + " ("
+                                         + "id BIGINT NOT NULL PRIMARY KEY, "
+                                         + (table.ordered ? "list_index INT NOT NULL, " : "")
+                                         + (table.ownerColumn != null ? table.ownerColumn + " BIGINT NOT NULL, " : "")
+                                         + (table.dated ? "due_day INT, " : "")
+                                         + "data CLOB NOT NULL)");
+                if (table.ownerColumn != null)
+                {
+                    statement.executeUpdate ("CREATE INDEX " + table.name + "_" + table.ownerColumn + " ON " + table.name + " (" + table.ownerColumn + ")");
+                }
+                if (table.dated)
+                {
+                    statement.executeUpdate ("CREATE INDEX " + table.name + "_due_day ON " + table.name + " (due_day)");
+                }
+            }
+            statement.executeUpdate ("CREATE TABLE go_schema (version INT NOT NULL, imported INT NOT NULL)");
+            statement.executeUpdate ("INSERT INTO go_schema (version, imported) VALUES (" + SCHEMA_VERSION + ", 0)");
+            newConnection.commit ();
+        }
+        catch (SQLException ex)
+        {
+            newConnection.rollback ();
+            throw ex;
+        }
+        finally
+        {
+            newConnection.setAutoCommit (true);
+            statement.close ();
+        }
+    }
+
+    /**
+     * Checks if the data files have been imported into the database.
+     *
+     * @return True if they have, false otherwise.
+     */
+    private boolean isImported()
+    {
+        synchronized (connectionLock)
+        {
+            try
+            {
+                Statement statement = connection.createStatement ();
+                try
+                {
+                    ResultSet result = statement.executeQuery ("SELECT imported FROM go_schema");
+                    return result.next () && result.getInt (1) != 0;
+                }
+                finally
+                {
+                    statement.close ();
+                }
+            }
+            catch (SQLException ex)
+            {
+                Domain.LOGGER.add (ex);
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Loads everything from the data files, every event year included, and
+     * writes it to the database. The database is only marked as imported once
+     * everything is written, so an import that is interrupted is repeated.
+     * If the import fails, the data files continue to be used.
+     */
+    private void importDataFolder()
+    {
+        // load through the data files, every event year included
+        Connection importConnection = connection;
+        connection = null;
+        super.load ();
+        loadEventYears (Long.MIN_VALUE, Long.MAX_VALUE);
+        connection = importConnection;
+
+        boolean written = saveTermsAndCourses ();
+        for (int i = 0; i < courses.size (); ++i)
+        {
+            written = written && writeAssignments (courses.get (i));
+        }
+        for (int i = 0; i < eventYears.size (); ++i)
+        {
+            written = written && writeEvents (eventYears.get (i));
+        }
+
+        synchronized (connectionLock)
+        {
+            try
+            {
+                if (written)
+                {
+                    Statement statement = connection.createStatement ();
+                    try
+                    {
+                        statement.executeUpdate ("UPDATE go_schema SET imported = 1");
+                        return;
+                    }
+                    finally
+                    {
+                        statement.close ();
+                    }
+                }
+            }
+            catch (SQLException ex)
+            {
+                Domain.LOGGER.add (ex);
+            }
+
+            close ();
+        }
+        showDatabaseUnavailable ();
+    }
+
+    /**
+     * Tells the user that the database could not be used, so the data files
+     * are used instead.
+     */
+    private void showDatabaseUnavailable()
+    {
+        ViewPanel.OPTION_PANE.setOptions (viewPanel.OK_CHOICE);
+        ViewPanel.OPTION_PANE.setMessage (viewPanel.domain.language.getString ("databaseUnavailableText"));
+        ViewPanel.OPTION_PANE.setMessageType (JOptionPane.WARNING_MESSAGE);
+        JDialog optionDialog = ViewPanel.OPTION_PANE.createDialog (viewPanel, viewPanel.domain.language.getString ("databaseIssues"));
+        optionDialog.setVisible (true);
+    }
+
+    /**
+     * Writes the terms, courses, types, instructors, and textbooks to the
+     * database during the import.
+     *
+     * @return True if they were written, false otherwise.
+     */
+    private boolean saveTermsAndCourses()
+    {
+        save ();
+
+        synchronized (connectionLock)
+        {
+            return storedRows.containsKey (TERMS.name) && storedRows.containsKey (COURSES.name)
+                   && storedRows.containsKey (TYPES.name) && storedRows.containsKey (INSTRUCTORS.name)
+                   && storedRows.containsKey (TEXTBOOKS.name);
+        }
+    }
+
+    /**
+     * Writes the assignments of the given course to the database during the
+     * import.
+     *
+     * @param course The course.
+     * @return True if they were written, false otherwise.
+     */
+    private boolean writeAssignments(Course course)
+    {
+        saveAssignments (course);
+
+        synchronized (connectionLock)
+        {
+            return storedRows.containsKey (ASSIGNMENTS.name + "/" + course.getUniqueID ());
+        }
+    }
+
+    /**
+     * Writes the events of the given event year to the database during the
+     * import.
+     *
+     * @param eventYear The event year.
+     * @return True if they were written, false otherwise.
+     */
+    private boolean writeEvents(EventYear eventYear)
+    {
+        // an event year whose data file failed to load cannot be imported
+        if (!eventYear.isLoaded ())
+        {
+            return false;
+        }
+
+        saveEvents (eventYear);
+
+        synchronized (connectionLock)
+        {
+            return storedRows.containsKey (EVENTS.name + "/" + eventYear.getYear ());
+        }
+    }
+
+    /**
+     * Closes the connection, so the data files are used from now on.
+     */
+    private void close()
+    {
+        synchronized (connectionLock)
+        {
+            try
+            {
+                connection.close ();
+            }
+            catch (SQLException ex)
+            {
+                Domain.LOGGER.add (ex);
+            }
+            connection = null;
+            storedRows.clear ();
+        }
+    }
+
+    /**
+     * Reads the assignments from the database into the assignments and events
+     * vector.
+     */
+    private void readAssignments()
+    {
+        ArrayList<Row> rows = readRows (ASSIGNMENTS);
+        for (int i = 0; i < rows.size (); ++i)
+        {
+            assignmentsAndEvents.add (new Assignment (rows.get (i).toParse (), this));
+        }
+    }
+
+    /**
+     * Reads the events from the database into the assignments and events
+     * vector, creating an event year, already loaded, for each year that has
+     * events.
+     */
+    private void readEvents()
+    {
+        ArrayList<Row> rows = readRows (EVENTS);
+        for (int i = 0; i < rows.size (); ++i)
+        {
+            Row row = rows.get (i);
+            if (eventYears.getByID (row.owner) == null)
+            {
+                EventYear eventYear = new EventYear (Long.toString (row.owner), this);
+                eventYear.setLoaded (true);
+                eventYears.add (eventYear);
+            }
+
+            Event event = new Event (row.toParse (), this);
+            assignmentsAndEvents.add (event);
+            if (event.getRepeating ().getID () != -1)
+            {
+                repeatingEvents.add (event);
+            }
+        }
+    }
+
+    /**
+     * Reads every row of the given table, in order, and remembers them as the
+     * rows last written.
+     *
+     * @param table The table to read.
+     * @return The rows.
+     */
+    private ArrayList<Row> readRows(Table table)
+    {
+        ArrayList<Row> rows = new ArrayList<Row> ();
+        synchronized (connectionLock)
+        {
+            try
+            {
+                Statement statement = connection.createStatement ();
+                try
+                {
+                    ResultSet result = statement.executeQuery ("SELECT id, "
+                                                               + (table.ordered ? "list_index" : "-1") + ", "
+                                                               + (table.ownerColumn != null ? table.ownerColumn : "0") + ", "
+                                                               + (table.dated ? "due_day" : "NULL") + ", data FROM " + table.name
+                                                               + " ORDER BY " + (table.ordered ? "list_index" : "id"));
+                    while (result.next ())
+                    {
+                        long day = result.getLong (4);
+                        if (result.wasNull ())
+                        {
+                            day = Long.MIN_VALUE;
+                        }
+                        Row row = new Row (result.getLong (1), result.getInt (2), result.getLong (3), day, result.getString (5));
+                        rows.add (row);
+
+                        String key = table.dated ? table.name + "/" + row.owner : table.name;
+                        Map<Long, Row> stored = storedRows.get (key);
+                        if (stored == null)
+                        {
+                            stored = new HashMap<Long, Row> ();
+                            storedRows.put (key, stored);
+                        }
+                        stored.put (row.id, row);
+                    }
+                }
+                finally
+                {
+                    statement.close ();
+                }
+            }
+            catch (SQLException ex)
+            {
+                Domain.LOGGER.add (ex);
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * Writes the given rows to the given table in a single transaction. Only
+     * rows that differ from those last written are updated or inserted, and
+     * rows that were last written but are no longer given are deleted. A row
+     * is updated in place even if it now belongs to another course or year,
+     * so an event moved between years is never in the table twice.
+     *
+     * @param table The table to write to.
+     * @param key The key the rows last written are kept under.
+     * @param scope The course or year the rows belong to, or -1 if the rows
+     * are the whole table.
+     * @param rows The rows as they are now.
+     * @param cleanup A statement to execute in the same transaction, or null.
+     * @return True if the rows were written, false otherwise.
+     */
+    private boolean writeRows(Table table, String key, long scope, ArrayList<Row> rows, String cleanup)
+    {
+        synchronized (connectionLock)
+        {
+            if (connection == null)
+            {
+                return false;
+            }
+
+            Map<Long, Row> stored = storedRows.get (key);
+            if (stored == null)
+            {
+                stored = new HashMap<Long, Row> ();
+            }
+            Map<Long, Row> written = new LinkedHashMap<Long, Row> ();
+            for (int i = 0; i < rows.size (); ++i)
+            {
+                written.put (rows.get (i).id, rows.get (i));
+            }
+
+            try
+            {
+                connection.setAutoCommit (false);
+                PreparedStatement update = connection.prepareStatement (table.update);
+                PreparedStatement insert = connection.prepareStatement (table.insert);
+                PreparedStatement delete = connection.prepareStatement (scope != -1 ? table.delete + " AND " + table.ownerColumn + " = ?" : table.delete);
+                try
+                {
+                    Iterator<Row> iterator = written.values ().iterator ();
+                    while (iterator.hasNext ())
+                    {
+                        Row row = iterator.next ();
+                        if (!row.equals (stored.get (row.id)))
+                        {
+                            table.bind (update, row);
+                            if (update.executeUpdate () == 0)
+                            {
+                                table.bind (insert, row);
+                                insert.executeUpdate ();
+                            }
+                        }
+                    }
+                    iterator = stored.values ().iterator ();
+                    while (iterator.hasNext ())
+                    {
+                        Row row = iterator.next ();
+                        if (!written.containsKey (row.id))
+                        {
+                            delete.setLong (1, row.id);
+                            if (scope != -1)
+                            {
+                                delete.setLong (2, scope);
+                            }
+                            delete.executeUpdate ();
+                        }
+                    }
+                    if (cleanup != null)
+                    {
+                        Statement statement = connection.createStatement ();
+                        try
+                        {
+                            statement.executeUpdate (cleanup);
+                        }
+                        finally
+                        {
+                            statement.close ();
+                        }
+                    }
+
+                    connection.commit ();
+                    storedRows.put (key, written);
+                    return true;
+                }
+                finally
+                {
+                    update.close ();
+                    insert.close ();
+                    delete.close ();
+                }
+            }
+            catch (SQLException ex)
+            {
+                Domain.LOGGER.add (ex);
+                rollback ();
+            }
+            finally
+            {
+                try
+                {
+                    connection.setAutoCommit (true);
+                }
+                catch (SQLException ex)
+                {
+                    Domain.LOGGER.add (ex);
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Deletes every row of the given tables in a single transaction.
+     *
+     * @param tables The tables to clear.
+     */
+    private void clearRows(Table... tables)
+    {
+        synchronized (connectionLock)
+        {
+            try
+            {
+                connection.setAutoCommit (false);
+                Statement statement = connection.createStatement ();
+                try
+                {
+                    for (int i = 0; i < tables.length; ++i)
+                    {
+                        statement.executeUpdate ("DELETE FROM " + tables[i].name);
+                    }
+                    connection.commit ();
+                }
+                finally
+                {
+                    statement.close ();
+                }
+
+                Iterator<String> keys = storedRows.keySet ().iterator ();
+                while (keys.hasNext ())
+                {
+                    String key = keys.next ();
+                    for (int i = 0; i < tables.length; ++i)
+                    {
+                        if (key.startsWith (tables[i].name + "/"))
+                        {
+                            keys.remove ();
+                            break;
+                        }
+                    }
+                }
+            }
+            catch (SQLException ex)
+            {
+                Domain.LOGGER.add (ex);
+                rollback ();
+            }
+            finally
+            {
+                try
+                {
+                    connection.setAutoCommit (true);
+                }
+                catch (SQLException ex)
+                {
+                    Domain.LOGGER.add (ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rolls back the current transaction after a failure.
+     */
+    private void rollback()
+    {
+        try
+        {
+            connection.rollback ();
+        }
+        catch (SQLException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+    }
+
+    /**
+     * A table of one kind of item, and the statements that write a row of it.
+     */
+    private static class Table
+    {
+        /**
+         * The name of the table.
+         */
+        private final String name;
+        /**
+         * The column that holds the unique ID of the term, course, or year the
+         * item belongs to, or null if there is none.
+         */
+        private final String ownerColumn;
+        /**
+         * True if the table keeps the order of the items.
+         */
+        private final boolean ordered;
+        /**
+         * True if the table keeps the due date of the items.
+         */
+        private final boolean dated;
+        /**
+         * The statement that updates a row by its unique ID.
+         */
+        private final String update;
+        /**
+         * The statement that inserts a row.
+         */
+        private final String insert;
+        /**
+         * The statement that deletes a row by its unique ID.
+         */
+        private final String delete;
+
+        /**
+         * Constructs the table.
+         *
+         * @param name The name of the table.
+         * @param ownerColumn The column of the owner's unique ID, or null.
+         * @param ordered True if the table keeps the order of the items.
+         * @param dated True if the table keeps the due date of the items.
+         */
+        private Table(String name, String ownerColumn, boolean ordered, boolean dated)
+        {
+            this.name = name;
+            this.ownerColumn = ownerColumn;
+            this.ordered = ordered;
+            this.dated = dated;
+
+            StringBuilder columns = new StringBuilder ();
+            StringBuilder assignments = new StringBuilder ();
+            if (ordered)
+            {
+                columns.append ("list_index, ");
+                assignments.append ("list_index = ?, ");
+            }
+            if (ownerColumn != null)
+            {
+                columns.append (ownerColumn).append (", ");
+                assignments.append (ownerColumn).append (" = ?, ");
+            }
+            if (dated)
+            {
+                columns.append ("due_day, ");
+                assignments.append ("due_day = ?, ");
+            }
+            columns.append ("data, id");
+            assignments.append ("data = ?");
+
+            StringBuilder values = new StringBuilder ("?");
+            for (int i = 1; i < columns.toString ().split (",").length; ++i)
+            {
+                values.append (", ?");
+            }
+
+            update = "UPDATE " + name + " SET " + assignments + " WHERE id = ?";
+            insert = "INSERT INTO " + name + " (" + columns + ") VALUES (" + values + ")";
+            delete = "DELETE FROM " + name + " WHERE id = ?";
+        }
+
+        /**
+         * Binds the given row to an update or insert statement of this table,
+         * both of which take the columns in the same order.
+         *
+         * @param statement The statement.
+         * @param row The row.
+         */
+        private void bind(PreparedStatement statement, Row row) throws SQLException
+        {
+            int index = 1;
+            if (ordered)
+            {
+                statement.setInt (index++, row.index);
+            }
+            if (ownerColumn != null)
+            {
+                statement.setLong (index++, row.owner);
+            }
+            if (dated)
+            {
+                if (row.day != Long.MIN_VALUE)
+                {
+                    statement.setInt (index++, (int) row.day);
+                }
+                else
+                {
+                    statement.setNull (index++, Types.INTEGER);
+                }
+            }
+            statement.setString (index++, row.data);
+            statement.setLong (index, row.id);
+        }
+    }
+
+    /**
+     * A single row, as it is written to or read from a table.
+     */
+    private static class Row
+    {
+        /**
+         * The unique ID of the item.
+         */
+        private final long id;
+        /**
+         * The position of the item in its list, or -1 if the table does not
+         * keep it.
+         */
+        private final int index;
+        /**
+         * The unique ID of the term, course, or year the item belongs to.
+         */
+        private final long owner;
+        /**
+         * The epoch day the item is due, or Long.MIN_VALUE if there is none.
+         */
+        private final long day;
+        /**
+         * The item, in the data files' record format.
+         */
+        private final String data;
+
+        /**
+         * Constructs a row.
+         *
+         * @param id The unique ID of the item.
+         * @param index The position of the item, or -1.
+         * @param owner The unique ID of the item's owner.
+         * @param day The epoch day the item is due, or Long.MIN_VALUE.
+         * @param data The item, in the data files' record format.
+         */
+        private Row(long id, int index, long owner, long day, String data)
+        {
+            this.id = id;
+            this.index = index;
+            this.owner = owner;
+            this.day = day;
+            this.data = data;
+        }
+
+        /**
+         * Retrieves the item as a line of a data file, to be parsed by the
+         * item's constructor.
+         *
+         * @return The parse string.
+         */
+        private String toParse()
+        {
+            return data + END_OF_LINE;
+        }
+
+        /**
+         * Checks if the given object is a row with the same values.
+         *
+         * @param object The object to compare to.
+         * @return True if the rows are equal, false otherwise.
+         */
+        @Override
+        public boolean equals(Object object)
+        {
+            if (!(object instanceof Row))
+            {
+                return false;
+            }
+            Row row = (Row) object;
+            return id == row.id && index == row.index && owner == row.owner && day == row.day && data.equals (row.data);
+        }
+
+        /**
+         * Retrieves the hash code of this row.
+         *
+         * @return The hash code.
+         */
+        @Override
+        public int hashCode()
+        {
+            return (int) (id ^ (id >>> 32)) * 31 + data.hashCode ();
+        }
+    }
+}
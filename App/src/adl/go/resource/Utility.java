@@ -32,11 +32,13 @@ import adl.go.types.Event;
 import adl.go.types.EventYear;
 import adl.go.types.Instructor;
 import adl.go.types.ListItem;
+import adl.go.types.Repeating;
 import adl.go.types.Term;
 import adl.go.types.Textbook;
 import java.awt.Color;
-import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JDialog;
 import javax.swing.JOptionPane;
@@ -74,35 +76,52 @@ public abstract class Utility
     /**
      * The list of all terms.
      */
-    public ArrayList<Term> terms = new ArrayList<Term> ();
+    public IndexedList<Term> terms = new IndexedList<Term> ();
     /**
      * The list of all courses.
      */
-    public ArrayList<Course> courses = new ArrayList<Course> ();
+    public IndexedList<Course> courses = new IndexedList<Course> ();
     /**
      * The list of all event years.
      */
-    public ArrayList<EventYear> eventYears = new ArrayList<EventYear> ();
+    public IndexedList<EventYear> eventYears = new IndexedList<EventYear> ();
     /**
      * The list of all types.
      */
-    public ArrayList<AssignmentType> types = new ArrayList<AssignmentType> ();
+    public IndexedList<AssignmentType> types = new IndexedList<AssignmentType> ();
     /**
      * The list of all instructors.
      */
-    public ArrayList<Instructor> instructors = new ArrayList<Instructor> ();
+    public IndexedList<Instructor> instructors = new IndexedList<Instructor> ();
     /**
      * The list of all textbooks.
      */
-    public ArrayList<Textbook> textbooks = new ArrayList<Textbook> ();
+    public IndexedList<Textbook> textbooks = new IndexedList<Textbook> ();
+    /**
+     * The index of all assignments and events by due date.
+     */
+    public DayIndex dayIndex = new DayIndex ();
     /**
      * The list of all assignments and events.
      */
-    public ArrayList<ListItem> assignmentsAndEvents = new ArrayList<ListItem> ();
+    public IndexedList<ListItem> assignmentsAndEvents = new IndexedList<ListItem> ()
+    {
+        @Override
+        protected void elementAdded(ListItem item)
+        {
+            dayIndex.add (item);
+        }
+
+        @Override
+        protected void elementRemoved(ListItem item)
+        {
+            dayIndex.remove (item);
+        }
+    };
     /**
      * The list of all repeating events.
      */
-    public ArrayList<Event> repeatingEvents = new ArrayList<Event> ();
+    public IndexedList<Event> repeatingEvents = new IndexedList<Event> ();
     /**
      * The list of themes available.
      */
@@ -227,40 +246,25 @@ public abstract class Utility
      */
     public Object getByID(long id)
     {
-        if (getTermByID (id) != null)
+        Object object = terms.getByID (id);
+        if (object == null)
         {
-            return getTermByID (id);
+            object = courses.getByID (id);
         }
-        else
+        if (object == null)
         {
-            if (getCourseByID (id) != null)
-            {
-                return getCourseByID (id);
-            }
-            else
-            {
-                if (getTypeByID (id) != null)
-                {
-                    return getTypeByID (id);
-                }
-                else
-                {
-                    if (getTextbookByID (id) != null)
-                    {
-                        return getTextbookByID (id);
-                    }
-                    else
-                    {
-                        if (getAssignmentOrEventByID (id) != null)
-                        {
-                            return getAssignmentOrEventByID (id);
-                        }
-                    }
-                }
-            }
+            object = types.getByID (id);
+        }
+        if (object == null)
+        {
+            object = textbooks.getByID (id);
+        }
+        if (object == null)
+        {
+            object = assignmentsAndEvents.getByID (id);
         }
 
-        return null;
+        return object;
     }
 
     /**
@@ -272,15 +276,7 @@ public abstract class Utility
      */
     public Term getTermByID(long id)
     {
-        for (int i = 0; i < terms.size (); ++i)
-        {
-            if (terms.get (i).getUniqueID () == id)
-            {
-                return terms.get (i);
-            }
-        }
-
-        return null;
+        return terms.getByID (id);
     }
 
     /**
@@ -291,15 +287,7 @@ public abstract class Utility
      */
     public int getTermIndex(Term term)
     {
-        for (int i = 0; i < terms.size (); ++i)
-        {
-            if (terms.get (i) == term)
-            {
-                return i;
-            }
-        }
-
-        return -1;
+        return terms.indexOf (term);
     }
 
     /**
@@ -310,15 +298,7 @@ public abstract class Utility
      */
     public int getCourseIndex(Course course)
     {
-        for (int i = 0; i < courses.size (); ++i)
-        {
-            if (courses.get (i) == course)
-            {
-                return i;
-            }
-        }
-
-        return -1;
+        return courses.indexOf (course);
     }
 
     /**
@@ -330,15 +310,7 @@ public abstract class Utility
      */
     public Course getCourseByID(long id)
     {
-        for (int i = 0; i < courses.size (); ++i)
-        {
-            if (courses.get (i).getUniqueID () == id)
-            {
-                return courses.get (i);
-            }
-        }
-
-        return null;
+        return courses.getByID (id);
     }
 
     /**
@@ -350,15 +322,7 @@ public abstract class Utility
      */
     public AssignmentType getTypeByID(long id)
     {
-        for (int i = 0; i < types.size (); ++i)
-        {
-            if (types.get (i).getUniqueID () == id)
-            {
-                return types.get (i);
-            }
-        }
-
-        return null;
+        return types.getByID (id);
     }
 
     /**
@@ -370,15 +334,7 @@ public abstract class Utility
      */
     public Textbook getTextbookByID(long id)
     {
-        for (int i = 0; i < textbooks.size (); ++i)
-        {
-            if (textbooks.get (i).getUniqueID () == id)
-            {
-                return textbooks.get (i);
-            }
-        }
-
-        return null;
+        return textbooks.getByID (id);
     }
 
     /**
@@ -389,17 +345,19 @@ public abstract class Utility
      */
     public EventYear getEventYear(String year)
     {
-        for (int i = 0; i < eventYears.size (); ++i)
+        EventYear eventYear = eventYears.getByID (Long.parseLong (year));
+        if (eventYear == null)
         {
-            if (eventYears.get (i).getYear ().equals (year))
-            {
-                return eventYears.get (i);
-            }
+            eventYear = new EventYear (year, this);
+            eventYears.add (eventYear);
+            eventYear.markChanged ();
+        }
+        // an event year must be complete before anything is added to it, or
+        // saving it would drop the events still on disk
+        if (!eventYear.isLoaded ())
+        {
+            loadEventYear (eventYear);
         }
-
-        EventYear eventYear = new EventYear (year, this);
-        eventYears.add (eventYear);
-        eventYear.markChanged ();
 
         return eventYear;
     }
@@ -452,15 +410,7 @@ public abstract class Utility
      */
     public ListItem getAssignmentOrEventByID(long id)
     {
-        for (int i = 0; i < assignmentsAndEvents.size (); ++i)
-        {
-            if (assignmentsAndEvents.get (i).getUniqueID () == id)
-            {
-                return assignmentsAndEvents.get (i);
-            }
-        }
-
-        return null;
+        return assignmentsAndEvents.getByID (id);
     }
 
     /**
@@ -471,15 +421,62 @@ public abstract class Utility
      */
     public int getAssignmentOrEventIndexByID(long id)
     {
-        for (int i = 0; i < assignmentsAndEvents.size (); ++i)
+        return assignmentsAndEvents.indexOfID (id);
+    }
+
+    /**
+     * Retrieves all assignments and events due within the given range of
+     * days, in the order they appear in the assignmentsAndEvents list.
+     *
+     * @param firstDay The first epoch day, inclusive.
+     * @param lastDay The last epoch day, inclusive.
+     * @return The assignments and events due within the range.
+     */
+    public ArrayList<ListItem> getAssignmentsAndEventsBetween(long firstDay, long lastDay)
+    {
+        ArrayList<ListItem> items = dayIndex.getItems (firstDay, lastDay);
+        Collections.sort (items, new Comparator<ListItem> ()
+        {
+            @Override
+            public int compare(ListItem first, ListItem second)
+            {
+                return assignmentsAndEvents.indexOf (first) - assignmentsAndEvents.indexOf (second);
+            }
+        });
+
+        return items;
+    }
+
+    /**
+     * Retrieves every instance of the given repeating series.
+     *
+     * @param id The unique ID of the repeating series.
+     * @return The instances of the series, in the order they appear in the
+     * repeatingEvents list.
+     */
+    public ArrayList<Event> getRepeatingSeries(long id)
+    {
+        // instances of the series may be in event years that are not loaded
+        for (int i = 0; i < repeatingEvents.size (); ++i)
         {
-            if (assignmentsAndEvents.get (i).getUniqueID () == id)
+            Repeating repeating = repeatingEvents.get (i).getRepeating ();
+            if (repeating.getID () == id)
             {
-                return i;
+                loadEventYears (repeating.getStartDay (), repeating.getEndDay ());
+                break;
             }
         }
 
-        return -1;
+        ArrayList<Event> series = new ArrayList<Event> ();
+        for (int i = 0; i < repeatingEvents.size (); ++i)
+        {
+            if (repeatingEvents.get (i).getRepeating ().getID () == id)
+            {
+                series.add (repeatingEvents.get (i));
+            }
+        }
+
+        return series;
     }
 
     /**
@@ -494,13 +491,7 @@ public abstract class Utility
     {
         if (id != -1)
         {
-            for (int i = 0; i < viewPanel.assignmentsTableModel.getRowCount (); ++i)
-            {
-                if (Long.parseLong (viewPanel.assignmentsTableModel.getValueAt (i, 6).toString ()) == id)
-                {
-                    return i;
-                }
-            }
+            return viewPanel.assignmentsTableModel.getRowIndexByID (id);
         }
 
         return -1;
@@ -796,38 +787,48 @@ public abstract class Utility
             }
             else
             {
-                Event event = (Event) item;
-                Category category = getCategoryByName (event.getCategoryName ());
-                if (category == null)
-                {
-                    category = new Category (event.getCategoryName (), new Color (0, 0, 0));
-                    preferences.categories.add (category);
-                    viewPanel.settingsDialog.categoryTableModel.addRow (new Object[]
-                            {
-                                event.getCategoryName (), "0-0-0"
-                            });
-                    viewPanel.categoryComboModel.addElement (event.getCategoryName ());
-                    domain.needsPreferencesSave = true;
-                    savePreferences ();
-                }
-                event.setCategory (category);
-                if (!category.hasEvent (event))
-                {
-                    category.addEvent (event);
-                }
+                refreshEventReferences ((Event) item);
+            }
+        }
+    }
 
-                event.setEventYear (getEventYear (event.getDueDate ().split ("/")[2]));
-                if (!event.getEventYear ().hasEvent (event))
-                {
-                    event.getEventYear ().addEvent (event);
-                }
+    /**
+     * Refresh the category and event year references of the given event,
+     * creating its category if it does not exist yet.
+     *
+     * @param event The event to refresh references for.
+     */
+    public void refreshEventReferences(Event event)
+    {
+        Category category = getCategoryByName (event.getCategoryName ());
+        if (category == null)
+        {
+            category = new Category (event.getCategoryName (), new Color (0, 0, 0));
+            preferences.categories.add (category);
+            viewPanel.settingsDialog.categoryTableModel.addRow (new Object[]
+                    {
+                        event.getCategoryName (), "0-0-0"
+                    });
+            viewPanel.categoryComboModel.addElement (event.getCategoryName ());
+            domain.markPreferencesChanged ();
+            savePreferences ();
+        }
+        event.setCategory (category);
+        if (!category.hasEvent (event))
+        {
+            category.addEvent (event);
+        }
 
-                if (event.needsImmediateSaveNeeded ())
-                {
-                    event.resetNeedsImmediateSaveNeeded ();
-                    event.getEventYear ().markChanged ();
-                }
-            }
+        event.setEventYear (getEventYear (Integer.toString (DateUtility.getYear (event.getDueDay ()))));
+        if (!event.getEventYear ().hasEvent (event))
+        {
+            event.getEventYear ().addEvent (event);
+        }
+
+        if (event.needsImmediateSaveNeeded ())
+        {
+            event.resetNeedsImmediateSaveNeeded ();
+            event.getEventYear ().markChanged ();
         }
     }
 
@@ -890,12 +891,12 @@ public abstract class Utility
     }
 
     /**
-     * It is NOT recommended that you use this function. Set a change variable
-     * and allow the thread to save automatically.
+     * It is NOT recommended that you use this function. Mark a change and
+     * allow the save scheduler to save it.
      */
     public void forceSave()
     {
-        domain.workerThread.save ();
+        domain.saveScheduler.flush ();
     }
 
     /**
@@ -912,7 +913,8 @@ public abstract class Utility
         viewPanel.assignmentsTableModel.setColumnName (3, viewPanel.domain.language.getString ("course") + viewPanel.domain.language.getString ("category"));
         viewPanel.assignmentsTableModel.setColumnName (4, viewPanel.domain.language.getString ("dueDate"));
         viewPanel.assignmentsTableModel.setColumnName (5, viewPanel.domain.language.getString ("grade"));
-        viewPanel.assignmentsTableModel.removeAllRows ();
+        ArrayList<Object[]> rows = new ArrayList<Object[]> ();
+        long today = DateUtility.today ();
         for (int i = 0; i < assignmentsAndEvents.size (); ++i)
         {
             ListItem item = assignmentsAndEvents.get (i);
@@ -928,7 +930,7 @@ public abstract class Utility
                 }
                 if (add)
                 {
-                    viewPanel.assignmentsTableModel.addRow (((Assignment) item).getRowObject ());
+                    rows.add (((Assignment) item).getRowObject ());
                 }
             }
             else
@@ -936,26 +938,20 @@ public abstract class Utility
                 if (!item.isAssignment () && (preferences.filter1Index == 0 || preferences.filter1Index == 2))
                 {
                     boolean add = true;
-                    try
+                    if (!isWithinFilteredScope (i)
+                        || ((preferences.filter2Index == 1 || preferences.filter2Index == 3) && item.getDueDay () > today)
+                        || (preferences.filter2Index == 2 && item.getDueDay () < today))
                     {
-                        if (!isWithinFilteredScope (i)
-                            || ((preferences.filter2Index == 1 || preferences.filter2Index == 3) && Domain.DATE_FORMAT.parse (((Event) item).getDueDate ()).after (domain.today))
-                            || (preferences.filter2Index == 2 && Domain.DATE_FORMAT.parse (((Event) item).getDueDate ()).before (domain.today)))
-                        {
-                            add = false;
-                        }
-                    }
-                    catch (ParseException ex)
-                    {
-                        Domain.LOGGER.add (ex);
+                        add = false;
                     }
                     if (add)
                     {
-                        viewPanel.assignmentsTableModel.addRow (((Event) item).getRowObject ());
+                        rows.add (((Event) item).getRowObject ());
                     }
                 }
             }
         }
+        viewPanel.assignmentsTableModel.replaceAll (rows);
         try
         {
             if (refreshTable)
@@ -1202,10 +1198,8 @@ public abstract class Utility
      * Remove all events from a given category.
      *
      * @param category The category to empty of all events.
-     * @param month The month currently displayed.
-     * @param year The year currently displayed.
      */
-    public void removeEventsAttachedTo(Category category, int month, int year)
+    public void removeEventsAttachedTo(Category category)
     {
         domain.assignmentOrEventLoading.push (true);
         int count = category.getEventCount ();
@@ -1216,39 +1210,7 @@ public abstract class Utility
             viewPanel.assignmentsTableModel.removeRow (index);
             assignmentsAndEvents.remove (event.getEventYear ().removeEvent (category.removeEvent (event)));
             event.getEventYear ().markChanged ();
-            if (viewPanel.middleTabbedPane.getSelectedIndex () == 1)
-            {
-                if (Integer.parseInt (event.getDueDate ().split ("/")[0]) - month - 1 == 0 && Integer.parseInt (event.getDueDate ().split ("/")[2]) - year == 0)
-                {
-                    viewPanel.daysAssignmentsAndEvents[Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1].remove (event);
-                    viewPanel.daysAssignmentsAndEvents[Integer.parseInt (event.getDueDate ().split ("/")[1]) - 1].invalidate ();
-                }
-                else if (Integer.parseInt (event.getDueDate ().split ("/")[0]) - month == 0)
-                {
-                    try
-                    {
-                        viewPanel.daysOutsideMonth[viewPanel.lastMonthLast - Integer.parseInt (event.getDueDate ().split ("/")[1])].remove (event);
-                        viewPanel.daysOutsideMonth[viewPanel.lastMonthLast - Integer.parseInt (event.getDueDate ().split ("/")[1])].invalidate ();
-                    }
-                    // if the event was not found in this month or the outter-month panels, ignore
-                    catch (ArrayIndexOutOfBoundsException ex)
-                    {
-                    }
-                }
-                else
-                {
-                    try
-                    {
-                        viewPanel.daysOutsideMonth[Integer.parseInt (event.getDueDate ().split ("/")[1]) + viewPanel.lastMonthLast - viewPanel.lastMonthFirst].remove (event);
-                        viewPanel.daysOutsideMonth[Integer.parseInt (event.getDueDate ().split ("/")[1]) + viewPanel.lastMonthLast - viewPanel.lastMonthFirst].invalidate ();
-                    }
-                    // if the event was not found in this month or the outter-month panels, ignore
-                    catch (ArrayIndexOutOfBoundsException ex)
-                    {
-                    }
-
-                }
-            }
+            viewPanel.VIEW_POOL.release (event);
         }
         viewPanel.assignmentsTable.refreshTable ();
         viewPanel.assignmentsTableRowSelected (null);
@@ -1270,18 +1232,7 @@ public abstract class Utility
             int index = getAssignmentOrEventIndexByID (assignment.getUniqueID ());
             viewPanel.assignmentsTableModel.removeRow (index);
             assignmentsAndEvents.remove (course.removeAssignment (assignment));
-            if (viewPanel.middleTabbedPane.getSelectedIndex () == 1)
-            {
-                try
-                {
-                    viewPanel.daysAssignmentsAndEvents[Integer.parseInt (assignment.getDueDate ().split ("/")[1]) - 1].remove (assignment);
-                    viewPanel.daysAssignmentsAndEvents[Integer.parseInt (assignment.getDueDate ().split ("/")[1]) - 1].invalidate ();
-                }
-                // if this exception is caught, it only means the assignment is in a month not displayed, so it should be ignored
-                catch (ArrayIndexOutOfBoundsException ex)
-                {
-                }
-            }
+            viewPanel.VIEW_POOL.release (assignment);
         }
         viewPanel.assignmentsTable.refreshTable ();
         viewPanel.assignmentsTableRowSelected (null);
@@ -1459,6 +1410,23 @@ public abstract class Utility
      */
     public abstract void loadEvents();
 
+    /**
+     * Load the events of the given event year to the data vector, if they are
+     * not loaded already.
+     *
+     * @param eventYear The event year to load.
+     */
+    public abstract void loadEventYear(EventYear eventYear);
+
+    /**
+     * Load the events of every event year with events in the given range of
+     * days to the data vector, if they are not loaded already.
+     *
+     * @param firstDay The first epoch day of the range, inclusive.
+     * @param lastDay The last epoch day of the range, inclusive.
+     */
+    public abstract void loadEventYears(long firstDay, long lastDay);
+
     /**
      * Load themes to the data vector.
      */
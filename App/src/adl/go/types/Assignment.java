@@ -21,12 +21,13 @@
 package adl.go.types;
 
 import adl.go.gui.Domain;
+import adl.go.resource.DateUtility;
 import adl.go.resource.LocalUtility;
+import adl.go.resource.RecordTokenizer;
+import adl.go.resource.RecordWriter;
 import adl.go.resource.Utility;
-import java.text.ParseException;
-import java.util.Date;
+import java.awt.Color;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
 
 /**
  * An assignment is owned by a course and can be attached to a type or textbook
@@ -37,12 +38,33 @@ import java.util.Scanner;
  *
  * @author Alex Laird
  */
-public class Assignment extends ExtendedJPanelForAssignment implements ListItem
+public class Assignment implements ListItem
 {
+    /**
+     * The character marking a line return.
+     */
+    private static final String LINE_RETURN = LocalUtility.getLineReturn ();
     /**
      * A reference to the utility is needed for coloring.
      */
     private Utility utility;
+    /**
+     * The name of the assignment.
+     */
+    private String name = "";
+    /**
+     * The unique ID of the assignment.
+     */
+    private long id = -1;
+    /**
+     * The view showing this assignment in Calendar View, or null if it is not
+     * on screen.
+     */
+    private ItemView view;
+    /**
+     * True if the assignment is shown as selected.
+     */
+    private boolean shownAsSelected = false;
     /**
      * A reference to the containing course.
      */
@@ -56,21 +78,13 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
      */
     private AssignmentType type;
     /**
-     * The due date for the assignment.
-     */
-    private String dueDate = Domain.DATE_FORMAT.format (new Date ());
-    /**
-     * The due hour for the assignment.
+     * The due date for the assignment, as an epoch day.
      */
-    private String hr = "12";
+    private long dueDay = DateUtility.today ();
     /**
-     * The due minute for the assignment.
+     * The due time for the assignment, as the minute of the day.
      */
-    private String min = "00";
-    /**
-     * The due meridian for the assignment.
-     */
-    private String m = "PM";
+    private int dueMinute = 12 * 60;
     /**
      * The grade for the assignment.
      */
@@ -122,11 +136,17 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
      */
     public Assignment(String name, long id, Course course, LocalUtility utility)
     {
-        super (name, id, utility);
+        this.name = name;
+        this.id = id;
         setCourse (course);
-        hr = course.getStartTime (0);
-        min = course.getStartTime (1);
-        m = course.getStartTime (2);
+        try
+        {
+            dueMinute = DateUtility.toMinuteOfDay (course.getStartTime (0), course.getStartTime (1), course.getStartTime (2));
+        }
+        catch (NumberFormatException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
         this.utility = utility;
         refreshRowObject ();
         refreshText ();
@@ -142,9 +162,19 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
      */
     public Assignment(String parse, LocalUtility utility)
     {
-        super ("", -1, utility);
+        this (new RecordTokenizer (parse), utility);
+    }
+
+    /**
+     * Reads every attribute's initial state for this object from the fields
+     * of a single record, whether from a data file or the snapshot.
+     *
+     * @param scan The fields of the record.
+     * @param utility A reference to the utility is needed for coloring.
+     */
+    public Assignment(RecordTokenizer scan, LocalUtility utility)
+    {
         this.utility = utility;
-        Scanner scan = new Scanner (parse).useDelimiter ("(?<!\\\\)" + SEPARATOR + "|" + "(?<!\\\\)" + END_OF_LINE);
         // throw away the true saying this is an assignment
         String throwAway = null;
         try
@@ -159,7 +189,7 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
         {
             if (throwAway != null && (throwAway.equals ("true") || throwAway.equals ("false")))
             {
-                setItemName (scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE));
+                setItemName (scan.next ());
             }
             else
             {
@@ -212,12 +242,16 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
         }
         try
         {
-            dueDate = scan.next ();
+            dueDay = DateUtility.toEpochDay (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
             immediateSaveNeeded = true;
         }
+        catch (NumberFormatException ex)
+        {
+            immediateSaveNeeded = true;
+        }
         try
         {
             grade = scan.next ();
@@ -228,7 +262,7 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
         }
         try
         {
-            comments = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE).replaceAll ("\\\\<br />", LINE_RETURN);
+            comments = RecordTokenizer.replace (scan.next (), "\\<br />", LINE_RETURN);
         }
         catch (NoSuchElementException ex)
         {
@@ -246,6 +280,9 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
         {
             immediateSaveNeeded = true;
         }
+        String hr = "12";
+        String min = "00";
+        String m = "PM";
         try
         {
             hr = scan.next ();
@@ -280,7 +317,14 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
                 immediateSaveNeeded = true;
             }
         }
-        scan.close ();
+        try
+        {
+            dueMinute = DateUtility.toMinuteOfDay (hr, min, m);
+        }
+        catch (NumberFormatException ex)
+        {
+            immediateSaveNeeded = true;
+        }
     }
 
     /**
@@ -336,152 +380,92 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
      */
     @Override
     public final void refreshText()
+    {
+        if (view != null)
+        {
+            view.refresh ();
+        }
+    }
+
+    /**
+     * Retrieves the color the name of this assignment is shown in within
+     * Calendar View.
+     *
+     * @return The color for the current coloring preference.
+     */
+    @Override
+    public Color getCalendarColor()
     {
         switch (utility.preferences.colorByIndex)
         {
             // color by due date
             case 0:
             {
-                String[] assignmentDate = getDueDate ().split ("/");
-                String[] currentDate = Domain.DATE_FORMAT.format (new Date ()).split ("/");
-                try
-                {
-                    if (!isDone () && ((new Date ()).before (Domain.DATE_FORMAT.parse (getDueDate ()))
-                                       || (Domain.DATE_FORMAT.format (new Date ()).equals (getDueDate ())))
-                        && (Integer.parseInt (assignmentDate[2]) - Integer.parseInt (currentDate[2]) == 0
-                            && Integer.parseInt (assignmentDate[0]) - Integer.parseInt (currentDate[0]) == 0))
-                    {
-                        if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 3)
-                        {
-                            getLabel ().setForeground (utility.preferences.dueDateColors[5]);
-                        }
-                        else if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 2)
-                        {
-                            getLabel ().setForeground (utility.preferences.dueDateColors[4]);
-                        }
-                        else
-                        {
-                            if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 1)
-                            {
-                                getLabel ().setForeground (utility.preferences.dueDateColors[3]);
-                            }
-                            else
-                            {
-                                if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 0)
-                                {
-                                    getLabel ().setForeground (utility.preferences.dueDateColors[2]);
-                                }
-                                else
-                                {
-                                    getLabel ().setForeground (utility.preferences.dueDateColors[0]);
-                                }
-                            }
-                        }
-                        getLabel ().setFont (utility.currentTheme.fontPlain11);
-                    }
-                    else
-                    {
-                        if (!isDone () && (new Date ()).after (Domain.DATE_FORMAT.parse (getDueDate ())))
-                        {
-                            getLabel ().setForeground (utility.preferences.dueDateColors[1]);
-                            getLabel ().setFont (utility.currentTheme.fontItalic11);
-                        }
-                        else
-                        {
-                            getLabel ().setForeground (utility.preferences.dueDateColors[6]);
-                            getLabel ().setFont (utility.currentTheme.fontPlain11);
-                        }
-                    }
-                }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
-                }
-
-                break;
+                return utility.preferences.dueDateColors[getDueDateColorIndex (DateUtility.today ())];
             }
             // color by course
             case 1:
             {
-                getLabel ().setForeground (getCourse ().getColor ());
-                try
-                {
-                    if (!isDone () && (new Date ()).after (Domain.DATE_FORMAT.parse (getDueDate ())))
-                    {
-                        getLabel ().setFont (utility.currentTheme.fontItalic11);
-                    }
-                    else
-                    {
-                        getLabel ().setFont (utility.currentTheme.fontPlain11);
-                    }
-                }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
-                }
-
-                break;
+                return getCourse ().getColor ();
             }
             // color by priority
             case 2:
+            default:
             {
-                try
+                switch (priority)
                 {
-                    switch (priority)
+                    case 5:
                     {
-                        case 5:
-                        {
-                            getLabel ().setForeground (utility.preferences.priorityColors[4]);
-                            break;
-                        }
-                        case 4:
-                        {
-                            getLabel ().setForeground (utility.preferences.priorityColors[3]);
-                            break;
-                        }
-                        case 2:
-                        {
-                            getLabel ().setForeground (utility.preferences.priorityColors[1]);
-                            break;
-                        }
-                        case 1:
-                        {
-                            getLabel ().setForeground (utility.preferences.priorityColors[0]);
-                            break;
-                        }
-                        case 3:
-                        default:
-                        {
-                            getLabel ().setForeground (utility.preferences.priorityColors[2]);
-                            break;
-                        }
+                        return utility.preferences.priorityColors[4];
                     }
-
-                    if (!isDone () && (new Date ()).after (Domain.DATE_FORMAT.parse (getDueDate ())))
+                    case 4:
                     {
-                        getLabel ().setFont (utility.currentTheme.fontItalic11);
+                        return utility.preferences.priorityColors[3];
                     }
-                    else
+                    case 2:
                     {
-                        getLabel ().setFont (utility.currentTheme.fontPlain11);
+                        return utility.preferences.priorityColors[1];
+                    }
+                    case 1:
+                    {
+                        return utility.preferences.priorityColors[0];
+                    }
+                    case 3:
+                    default:
+                    {
+                        return utility.preferences.priorityColors[2];
                     }
                 }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
-                }
-                break;
             }
         }
+    }
 
-        if (isDone)
-        {
-            getLabel ().setText ("<html><strike>" + getItemName () + "</strike></html>");
-        }
-        else
+    /**
+     * Checks if the name of this assignment is shown emphasized in Calendar
+     * View, which it is when the assignment is not done and is due today or
+     * earlier.
+     *
+     * @return True if the name should be italicized, false otherwise.
+     */
+    public boolean isCalendarEmphasized()
+    {
+        if (utility.preferences.colorByIndex == 0)
         {
-            getLabel ().setText ("<html>" + getItemName () + "</html>");
+            return getDueDateColorIndex (DateUtility.today ()) == 1;
         }
+        return !isDone () && dueDay <= DateUtility.today ();
+    }
+
+    /**
+     * Retrieves the text shown for this assignment in Calendar View, which is
+     * struck through there once the assignment is done.
+     *
+     * @return The plain text of this assignment in Calendar View.
+     */
+    @Override
+    public String getCalendarText()
+    {
+        return getItemName ();
     }
 
     /**
@@ -498,64 +482,17 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
             // color by due date
             case 0:
             {
-                String[] assignmentDate = getDueDate ().split ("/");
-                String[] currentDate = Domain.DATE_FORMAT.format (new Date ()).split ("/");
-                try
+                int colorIndex = getDueDateColorIndex (DateUtility.today ());
+                String fontTag = "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[colorIndex].getRGB () & 0x00FFFFFF) + "\">";
+                if (colorIndex == 1)
                 {
-                    if (!isDone () && ((new Date ()).before (Domain.DATE_FORMAT.parse (getDueDate ()))
-                                       || (Domain.DATE_FORMAT.format (new Date ()).equals (getDueDate ())))
-                        && (Integer.parseInt (assignmentDate[2]) - Integer.parseInt (currentDate[2]) == 0
-                            && Integer.parseInt (assignmentDate[0]) - Integer.parseInt (currentDate[0]) == 0))
-                    {
-                        if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 3)
-                        {
-                            openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[5].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font>" + closeTags;
-                        }
-                        else if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 2)
-                        {
-                            openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[4].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font>" + closeTags;
-                        }
-                        else
-                        {
-                            if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 1)
-                            {
-                                openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[3].getRGB () & 0x00FFFFFF) + "\">";
-                                closeTags = "</font>" + closeTags;
-                            }
-                            else
-                            {
-                                if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 0)
-                                {
-                                    openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[2].getRGB () & 0x00FFFFFF) + "\">";
-                                    closeTags = "</font>" + closeTags;
-                                }
-                                else
-                                {
-                                    openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[0].getRGB () & 0x00FFFFFF) + "\">";
-                                    closeTags = "</font>" + closeTags;
-                                }
-                            }
-                        }
-                    }
-                    else
-                    {
-                        if (!isDone () && (new Date ()).after (Domain.DATE_FORMAT.parse (getDueDate ())))
-                        {
-                            openTags += "<em><font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[1].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font></em>" + closeTags;
-                        }
-                        else
-                        {
-                            openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[6].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font>" + closeTags;
-                        }
-                    }
+                    openTags += "<em>" + fontTag;
+                    closeTags = "</font></em>" + closeTags;
                 }
-                catch (ParseException ex)
+                else
                 {
-                    Domain.LOGGER.add (ex);
+                    openTags += fontTag;
+                    closeTags = "</font>" + closeTags;
                 }
                 if (isDone)
                 {
@@ -569,17 +506,10 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
             {
                 String openEmTags = "";
                 String closeEmTags = "";
-                try
-                {
-                    if (!isDone () && (new Date ()).after (Domain.DATE_FORMAT.parse (getDueDate ())))
-                    {
-                        openEmTags += "<em>";
-                        closeEmTags += "</em>";
-                    }
-                }
-                catch (ParseException ex)
+                if (!isDone () && dueDay <= DateUtility.today ())
                 {
-                    Domain.LOGGER.add (ex);
+                    openEmTags += "<em>";
+                    closeEmTags += "</em>";
                 }
                 String rgb = Integer.toHexString (getCourse ().getColor ().getRGB ());
                 openTags += openEmTags + "<font color=\"#" + rgb.substring (2, rgb.length ()) + "\">";
@@ -596,52 +526,45 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
             {
                 String openEmTags = "";
                 String closeEmTags = "";
-                try
+                if (!isDone () && dueDay <= DateUtility.today ())
                 {
-                    if (!isDone () && (new Date ()).after (Domain.DATE_FORMAT.parse (getDueDate ())))
+                    openEmTags += "<em>";
+                    closeEmTags += "</em>";
+                }
+
+                switch (priority)
+                {
+                    case 5:
                     {
-                        openEmTags += "<em>";
-                        closeEmTags += "</em>";
+                        openTags += openEmTags + "<font color=\"#" + Integer.toHexString (utility.preferences.priorityColors[4].getRGB () & 0x00FFFFFF) + "\">";
+                        closeTags = "</font>" + closeEmTags + closeTags;
+                        break;
                     }
-
-                    switch (priority)
+                    case 4:
                     {
-                        case 5:
-                        {
-                            openTags += openEmTags + "<font color=\"#" + Integer.toHexString (utility.preferences.priorityColors[4].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font>" + closeEmTags + closeTags;
-                            break;
-                        }
-                        case 4:
-                        {
-                            openTags += openEmTags + "<font color=\"#" + Integer.toHexString (utility.preferences.priorityColors[3].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font>" + closeEmTags + closeTags;
-                            break;
-                        }
-                        case 2:
-                        {
-                            openTags += openEmTags + "<font color=\"#" + Integer.toHexString (utility.preferences.priorityColors[1].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font>" + closeEmTags + closeTags;
-                            break;
-                        }
-                        case 1:
-                        {
-                            openTags += openEmTags + "<font color=\"#" + Integer.toHexString (utility.preferences.priorityColors[0].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font>" + closeEmTags + closeTags;
-                            break;
-                        }
-                        case 3:
-                        default:
-                        {
-                            openTags += openEmTags + "<font color=\"#" + Integer.toHexString (utility.preferences.priorityColors[2].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font>" + closeEmTags + closeTags;
-                            break;
-                        }
+                        openTags += openEmTags + "<font color=\"#" + Integer.toHexString (utility.preferences.priorityColors[3].getRGB () & 0x00FFFFFF) + "\">";
+                        closeTags = "</font>" + closeEmTags + closeTags;
+                        break;
+                    }
+                    case 2:
+                    {
+                        openTags += openEmTags + "<font color=\"#" + Integer.toHexString (utility.preferences.priorityColors[1].getRGB () & 0x00FFFFFF) + "\">";
+                        closeTags = "</font>" + closeEmTags + closeTags;
+                        break;
+                    }
+                    case 1:
+                    {
+                        openTags += openEmTags + "<font color=\"#" + Integer.toHexString (utility.preferences.priorityColors[0].getRGB () & 0x00FFFFFF) + "\">";
+                        closeTags = "</font>" + closeEmTags + closeTags;
+                        break;
+                    }
+                    case 3:
+                    default:
+                    {
+                        openTags += openEmTags + "<font color=\"#" + Integer.toHexString (utility.preferences.priorityColors[2].getRGB () & 0x00FFFFFF) + "\">";
+                        closeTags = "</font>" + closeEmTags + closeTags;
+                        break;
                     }
-                }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
                 }
                 if (isDone)
                 {
@@ -702,22 +625,34 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
      */
     public boolean isOverdue()
     {
-        boolean overdue = false;
+        return !isDone && dueDay < DateUtility.today ();
+    }
 
-        try
+    /**
+     * Retrieves the index of the due date color this assignment is shown in:
+     * 2 through 5 if it is due from today through three days from now, 0 if it
+     * is due later in the month, 1 if it is overdue, and 6 otherwise.
+     *
+     * @param today The epoch day of today's date.
+     * @return The index into the due date colors.
+     */
+    private int getDueDateColorIndex(long today)
+    {
+        if (!isDone && dueDay >= today)
         {
-            if (!isDone
-                && Domain.DATE_FORMAT.parse (dueDate).before (utility.domain.today))
+            int[] due = DateUtility.toYearMonthDay (dueDay);
+            int[] now = DateUtility.toYearMonthDay (today);
+            if (due[0] == now[0] && due[1] == now[1])
             {
-                overdue = true;
+                return dueDay - today <= 3 ? (int) (dueDay - today) + 2 : 0;
             }
         }
-        catch (ParseException ex)
+        else if (!isDone)
         {
-            Domain.LOGGER.add (ex);
+            return 1;
         }
 
-        return overdue;
+        return 6;
     }
 
     /**
@@ -727,7 +662,7 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
      */
     public String getDueTime()
     {
-        return hr + ":" + min + " " + m;
+        return DateUtility.formatTime (dueMinute);
     }
 
     /**
@@ -739,27 +674,7 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
      */
     public String getDueTime(int index)
     {
-        String time = "";
-
-        switch (index)
-        {
-            case 0:
-            {
-                time = hr;
-                break;
-            }
-            case 1:
-            {
-                time = min;
-                break;
-            }
-            case 2:
-            {
-                time = m;
-                break;
-            }
-        }
-        return time;
+        return DateUtility.formatTime (dueMinute, index);
     }
 
     /**
@@ -770,24 +685,18 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
      */
     public void setDueTime(int index, String time)
     {
-        switch (index)
-        {
-            case 0:
-            {
-                hr = time;
-                break;
-            }
-            case 1:
-            {
-                min = time;
-                break;
-            }
-            case 2:
-            {
-                m = time;
-                break;
-            }
-        }
+        dueMinute = DateUtility.setTimeField (dueMinute, index, time);
+    }
+
+    /**
+     * Retrieve the due time as the minute of the day.
+     *
+     * @return The number of minutes past midnight.
+     */
+    @Override
+    public int getDueMinute()
+    {
+        return dueMinute;
     }
 
     /**
@@ -799,7 +708,7 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
     public final void setIsDone(boolean isDone)
     {
         this.isDone = isDone;
-        getCheckBox ().setSelected (isDone);
+        refreshText ();
     }
 
     /**
@@ -830,7 +739,7 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
     @Override
     public String getDueDate()
     {
-        return dueDate;
+        return DateUtility.formatDate (dueDay);
     }
 
     /**
@@ -840,7 +749,29 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
      */
     public void setDueDate(String dueDate)
     {
-        this.dueDate = dueDate;
+        setDueDay (DateUtility.toEpochDay (dueDate));
+    }
+
+    /**
+     * Retrieve the due date as an epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    @Override
+    public long getDueDay()
+    {
+        return dueDay;
+    }
+
+    /**
+     * Set the due date from an epoch day.
+     *
+     * @param dueDay The number of days since January 1, 1970.
+     */
+    public void setDueDay(long dueDay)
+    {
+        this.dueDay = dueDay;
+        utility.dayIndex.update (this);
     }
 
     /**
@@ -943,6 +874,115 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
         this.type = type;
     }
 
+    /**
+     * Retrieve the name of the assignment.
+     *
+     * @return The name of the assignment.
+     */
+    @Override
+    public String getItemName()
+    {
+        return name;
+    }
+
+    /**
+     * Set the name of the assignment.
+     *
+     * @param name The name of the assignment to be set.
+     */
+    public final void setItemName(String name)
+    {
+        this.name = name;
+        refreshText ();
+    }
+
+    /**
+     * Retrieve the unique ID of the assignment.
+     *
+     * @return The unique ID.
+     */
+    @Override
+    public long getUniqueID()
+    {
+        return id;
+    }
+
+    /**
+     * Warning: this method is implemented only for specific use in forcing a
+     * unique ID to a type after creation, necessary during the load from the
+     * data files. This method should never be used otherwise, because conflicts
+     * may arise. If it is used, ensure that it is used on a guaranteed unique
+     * ID such as System.currentTimeMillis().
+     *
+     * @param id The unique ID to be set.
+     */
+    @Override
+    public void setUniqueID(long id)
+    {
+        this.id = id;
+    }
+
+    /**
+     * Set the state of the assignment, whether it is shown as selected or not
+     * in the UI.
+     *
+     * @param state The state to be set for the UI selection.
+     */
+    @Override
+    public void showAsSelected(boolean state)
+    {
+        shownAsSelected = state;
+        if (view != null)
+        {
+            view.showAsSelected (state);
+        }
+    }
+
+    /**
+     * Checks if the assignment is shown as selected in the UI.
+     *
+     * @return True if the assignment is shown as selected, false otherwise.
+     */
+    @Override
+    public boolean isShownAsSelected()
+    {
+        return shownAsSelected;
+    }
+
+    /**
+     * Retrieves the view showing this assignment in Calendar View.
+     *
+     * @return The view, or null if the assignment is not on screen.
+     */
+    @Override
+    public ItemView getView()
+    {
+        return view;
+    }
+
+    /**
+     * Sets the view showing this assignment in Calendar View. This should only
+     * be called by the view as it is bound or unbound.
+     *
+     * @param view The view, or null if the assignment is no longer on screen.
+     */
+    @Override
+    public void setView(ItemView view)
+    {
+        this.view = view;
+    }
+
+    /**
+     * The string representation of the assignment for display.
+     *
+     * @return The name of the assignment.
+     */
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+
     /**
      * Always returns true, because this is an assignment type.
      *
@@ -954,6 +994,31 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
         return true;
     }
 
+    /**
+     * Writes all components in this object to the given record, in the order
+     * the file reader/writer expects them.
+     *
+     * @param record The record to write to.
+     */
+    @Override
+    public void writeTo(RecordWriter record)
+    {
+        record.field (isAssignment ());
+        record.text (getItemName ());
+        record.field (getUniqueID ());
+        record.field (getCourse ().getUniqueID ());
+        record.field (type != null ? type.getUniqueID () : -1);
+        record.field (textbook != null ? textbook.getUniqueID () : -1);
+        record.field (isDone);
+        record.field (getDueDate ());
+        record.field (grade);
+        record.multilineText (comments);
+        record.field (priority);
+        record.field (getDueTime (0));
+        record.field (getDueTime (1));
+        record.field (getDueTime (2));
+    }
+
     /**
      * Returns a string of all components in this object that is formatted that
      * the file reader/writer will cooperate with it.
@@ -963,29 +1028,8 @@ public class Assignment extends ExtendedJPanelForAssignment implements ListItem
     @Override
     public String out()
     {
-        String typeSeg = "-1";
-        if (type != null)
-        {
-            typeSeg = type.getUniqueID () + "";
-        }
-        String textbookSeg = "-1";
-        if (textbook != null)
-        {
-            textbookSeg = textbook.getUniqueID () + "";
-        }
-        return isAssignment () + SEPARATOR
-               + getItemName ().replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + getUniqueID () + SEPARATOR
-               + getCourse ().getUniqueID () + SEPARATOR
-               + typeSeg + SEPARATOR
-               + textbookSeg + SEPARATOR
-               + isDone + SEPARATOR
-               + dueDate + SEPARATOR
-               + grade + SEPARATOR
-               + comments.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE).replaceAll (LINE_RETURN, "\\\\<br />") + SEPARATOR
-               + priority + SEPARATOR
-               + hr + SEPARATOR
-               + min + SEPARATOR
-               + m;
+        RecordWriter record = new RecordWriter ();
+        writeTo (record);
+        return record.takeRecord ();
     }
 }
@@ -21,8 +21,9 @@
 package adl.go.types;
 
 import adl.go.resource.LocalUtility;
+import adl.go.resource.RecordTokenizer;
+import adl.go.resource.RecordWriter;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
 
 /**
  * A type is tied directly to a course and can be tired indirectly to individual
@@ -77,16 +78,27 @@ public class AssignmentType extends ExtendedTreeNode
      * @param utility The reference to the utility.
      */
     public AssignmentType(String parse, LocalUtility utility)
+    {
+        this (new RecordTokenizer (parse), utility);
+    }
+
+    /**
+     * Reads every attribute's initial state for this object from the fields
+     * of a single record, whether from a data file or the snapshot.
+     *
+     * @param scan The fields of the record.
+     * @param utility The reference to the utility.
+     */
+    public AssignmentType(RecordTokenizer scan, LocalUtility utility)
     {
         super ("", -1, utility);
-        Scanner scan = new Scanner (parse).useDelimiter ("(?<!\\\\)" + SEPARATOR + "|" + "(?<!\\\\)" + END_OF_LINE);
         try
         {
-            setTypeName (scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE));
+            setTypeName (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -94,7 +106,7 @@ public class AssignmentType extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -102,17 +114,16 @@ public class AssignmentType extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            weight = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            weight = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
-        scan.close ();
     }
 
     /**
@@ -206,6 +217,20 @@ public class AssignmentType extends ExtendedTreeNode
         gradeCount = 0;
     }
 
+    /**
+     * Writes all components in this object to the given record, in the order
+     * the file reader/writer expects them.
+     *
+     * @param record The record to write to.
+     */
+    public void writeTo(RecordWriter record)
+    {
+        record.text (getTypeName ());
+        record.field (getUniqueID ());
+        record.field (getCourse ().getUniqueID ());
+        record.text (weight);
+    }
+
     /**
      * Returns a string of all components in this object that is formatted that
      * the file reader/writer will cooperate with it.
@@ -214,8 +239,8 @@ public class AssignmentType extends ExtendedTreeNode
      */
     public String out()
     {
-        return getTypeName ().replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + getUniqueID () + SEPARATOR + getCourse ().getUniqueID () + SEPARATOR
-               + weight.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE);
+        RecordWriter record = new RecordWriter ();
+        writeTo (record);
+        return record.takeRecord ();
     }
 }
@@ -22,6 +22,7 @@ package adl.go.types;
 
 import java.awt.Color;
 import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * A category is used soley for the purpose of coloring events so they may
@@ -118,6 +119,25 @@ public class Category
         return event;
     }
 
+    /**
+     * Removes all of the given events from this category at once.
+     *
+     * @param toRemove The events to be removed, which should be a set so each
+     * lookup is fast.
+     */
+    public void removeEvents(Collection<Event> toRemove)
+    {
+        ArrayList<Event> kept = new ArrayList<Event> (events.size ());
+        for (int i = 0; i < events.size (); ++i)
+        {
+            if (!toRemove.contains (events.get (i)))
+            {
+                kept.add (events.get (i));
+            }
+        }
+        events = kept;
+    }
+
     /**
      * Retrieves the name of the category.
      *
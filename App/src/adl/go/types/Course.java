@@ -20,22 +20,21 @@
 
 package adl.go.types;
 
-import adl.go.gui.Domain;
+import adl.go.resource.ChangeJournal;
+import adl.go.resource.DateUtility;
+import adl.go.resource.KeyedSort;
 import adl.go.resource.LocalUtility;
+import adl.go.resource.RecordTokenizer;
+import adl.go.resource.RecordWriter;
 import adl.go.resource.Utility;
 import java.awt.Color;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.NoSuchElementException;
 import java.util.ResourceBundle;
-import java.util.Scanner;
 
 /**
  * A course may contain textbooks, assignmentsAndEvents, and assignment types
@@ -67,13 +66,13 @@ public class Course extends ExtendedTreeNode
      */
     private ArrayList<Instructor> instructors = new ArrayList<Instructor> ();
     /**
-     * The start date of the term.
+     * The start date of the course, as an epoch day.
      */
-    private String startDate = Domain.DATE_FORMAT.format (new Date ());
+    private long startDay = DateUtility.today ();
     /**
-     * The end date of the term.
+     * The end date of the course, as an epoch day.
      */
-    private String endDate = Domain.DATE_FORMAT.format (new Date ());
+    private long endDay = DateUtility.today ();
     /**
      * The room this course is in.
      */
@@ -143,13 +142,13 @@ public class Course extends ExtendedTreeNode
      */
     private String labRoomLocation = "";
     /**
-     * The start date of the course's lab.
+     * The start date of the course's lab, as an epoch day.
      */
-    private String labStartDate = Domain.DATE_FORMAT.format (new Date ());
+    private long labStartDay = DateUtility.today ();
     /**
-     * The end date of the course's lab.
+     * The end date of the course's lab, as an epoch day.
      */
-    private String labEndDate = Domain.DATE_FORMAT.format (new Date ());
+    private long labEndDay = DateUtility.today ();
     /**
      * The start hour of the course's lab.
      */
@@ -236,9 +235,9 @@ public class Course extends ExtendedTreeNode
     private File assignmentsFile;
     private File oldAssignmentsFile;
     /**
-     * The assignments data file writer.
+     * The journal that assignment saves are appended to.
      */
-    private BufferedWriter outAssignment;
+    private ChangeJournal journal;
     /**
      * The assignments data file reader.
      */
@@ -256,16 +255,17 @@ public class Course extends ExtendedTreeNode
     {
         super (name, id, (LocalUtility) utility);
         assignmentsFile = new File (((LocalUtility) utility).getDataFolder (), "a" + id + ".dat");
+        journal = new ChangeJournal (assignmentsFile);
         if (((LocalUtility) utility).getAppDataFolder () != null)
         {
             oldAssignmentsFile = new File (((LocalUtility) utility).getAppDataFolder (), "a" + id + ".dat");
         }
         setTerm (term);
         // tie the start and end dates of the course and lab to that of the parent term
-        setStartDate (term.getStartDate ());
-        setEndDate (term.getEndDate ());
-        setLabStartDate (term.getStartDate ());
-        setLabEndDate (term.getEndDate ());
+        setStartDay (term.getStartDay ());
+        setEndDay (term.getEndDay ());
+        setLabStartDay (term.getStartDay ());
+        setLabEndDay (term.getEndDay ());
         setColor (utility.nextColor ());
     }
 
@@ -278,22 +278,34 @@ public class Course extends ExtendedTreeNode
      * @param utility The reference to the utility resource.
      */
     public Course(String parse, LocalUtility utility)
+    {
+        this (new RecordTokenizer (parse), utility);
+    }
+
+    /**
+     * Reads every attribute's initial state for this object from the fields
+     * of a single record, whether from a data file or the snapshot.
+     *
+     * @param scan The fields of the record.
+     * @param utility The reference to the utility resource.
+     */
+    public Course(RecordTokenizer scan, LocalUtility utility)
     {
         super ("", -1, utility);
-        Scanner scan = new Scanner (parse).useDelimiter ("(?<!\\\\)" + SEPARATOR + "|" + "(?<!\\\\)" + END_OF_LINE);
         try
         {
-            setTypeName (scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE));
+            setTypeName (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
             long tempId = scan.nextLong ();
             setUniqueID (tempId);
             assignmentsFile = new File (utility.getDataFolder (), "a" + tempId + ".dat");
+            journal = new ChangeJournal (assignmentsFile);
             if (((LocalUtility) utility).getAppDataFolder () != null)
             {
                 oldAssignmentsFile = new File (utility.getAppDataFolder (), "a" + tempId + ".dat");
@@ -301,23 +313,31 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            startDate = scan.next ();
+            startDay = DateUtility.toEpochDay (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
+        }
+        catch (NumberFormatException ex)
+        {
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            endDate = scan.next ();
+            endDay = DateUtility.toEpochDay (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
+        }
+        catch (NumberFormatException ex)
+        {
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -325,7 +345,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -333,7 +353,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -341,7 +361,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -349,7 +369,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -357,7 +377,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -365,7 +385,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -373,7 +393,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -381,47 +401,47 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            roomLocation = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            roomLocation = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            instructorName = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            instructorName = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            instructorEmail = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            instructorEmail = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            officeHours = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            officeHours = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            officeLocation = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            officeLocation = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -429,7 +449,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -437,7 +457,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -445,15 +465,15 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            instructorPhone = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            instructorPhone = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -461,7 +481,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -470,11 +490,11 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         catch (NumberFormatException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -482,7 +502,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -490,31 +510,39 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            labRoomLocation = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            labRoomLocation = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            labStartDate = scan.next ();
+            labStartDay = DateUtility.toEpochDay (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
+        }
+        catch (NumberFormatException ex)
+        {
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            labEndDate = scan.next ();
+            labEndDay = DateUtility.toEpochDay (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
+        }
+        catch (NumberFormatException ex)
+        {
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -522,7 +550,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -530,7 +558,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -538,7 +566,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
 
         if (startHr.contains (":"))
@@ -546,7 +574,7 @@ public class Course extends ExtendedTreeNode
             startMin = startHr.split (":")[1].split (" ")[0];
             startM = startHr.split (":")[1].split (" ")[1];
             startHr = startHr.split (":")[0];
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         else
         {
@@ -556,7 +584,7 @@ public class Course extends ExtendedTreeNode
             }
             catch (NoSuchElementException ex)
             {
-                utility.domain.needsCoursesAndTermsSave = true;
+                utility.domain.markCoursesAndTermsChanged ();
             }
             try
             {
@@ -564,7 +592,7 @@ public class Course extends ExtendedTreeNode
             }
             catch (NoSuchElementException ex)
             {
-                utility.domain.needsCoursesAndTermsSave = true;
+                utility.domain.markCoursesAndTermsChanged ();
             }
         }
         if (endHr.contains (":"))
@@ -572,7 +600,7 @@ public class Course extends ExtendedTreeNode
             endMin = endHr.split (":")[1].split (" ")[0];
             endM = endHr.split (":")[1].split (" ")[1];
             endHr = endHr.split (":")[0];
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         else
         {
@@ -582,7 +610,7 @@ public class Course extends ExtendedTreeNode
             }
             catch (NoSuchElementException ex)
             {
-                utility.domain.needsCoursesAndTermsSave = true;
+                utility.domain.markCoursesAndTermsChanged ();
             }
             try
             {
@@ -590,7 +618,7 @@ public class Course extends ExtendedTreeNode
             }
             catch (NoSuchElementException ex)
             {
-                utility.domain.needsCoursesAndTermsSave = true;
+                utility.domain.markCoursesAndTermsChanged ();
             }
         }
         if (labStartHr.contains (":"))
@@ -598,7 +626,7 @@ public class Course extends ExtendedTreeNode
             labStartMin = labStartHr.split (":")[1].split (" ")[0];
             labStartM = labStartHr.split (":")[1].split (" ")[1];
             labStartHr = labStartHr.split (":")[0];
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         else
         {
@@ -608,7 +636,7 @@ public class Course extends ExtendedTreeNode
             }
             catch (NoSuchElementException ex)
             {
-                utility.domain.needsCoursesAndTermsSave = true;
+                utility.domain.markCoursesAndTermsChanged ();
             }
             try
             {
@@ -616,7 +644,7 @@ public class Course extends ExtendedTreeNode
             }
             catch (NoSuchElementException ex)
             {
-                utility.domain.needsCoursesAndTermsSave = true;
+                utility.domain.markCoursesAndTermsChanged ();
             }
         }
         if (labEndHr.contains (":"))
@@ -624,7 +652,7 @@ public class Course extends ExtendedTreeNode
             labEndMin = labEndHr.split (":")[1].split (" ")[0];
             labEndM = labEndHr.split (":")[1].split (" ")[1];
             labEndHr = labEndHr.split (":")[0];
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         else
         {
@@ -634,7 +662,7 @@ public class Course extends ExtendedTreeNode
             }
             catch (NoSuchElementException ex)
             {
-                utility.domain.needsCoursesAndTermsSave = true;
+                utility.domain.markCoursesAndTermsChanged ();
             }
             try
             {
@@ -642,7 +670,7 @@ public class Course extends ExtendedTreeNode
             }
             catch (NoSuchElementException ex)
             {
-                utility.domain.needsCoursesAndTermsSave = true;
+                utility.domain.markCoursesAndTermsChanged ();
             }
         }
         try
@@ -651,7 +679,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -659,7 +687,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -667,7 +695,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -675,7 +703,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -683,7 +711,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -691,7 +719,7 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -699,42 +727,40 @@ public class Course extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            courseNumber = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            courseNumber = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            labNumber = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            labNumber = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            courseWebsite = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            courseWebsite = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            labWebsite = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            labWebsite = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
-
-        scan.close ();
     }
 
     /**
@@ -761,6 +787,10 @@ public class Course extends ExtendedTreeNode
     public void markChanged()
     {
         assignmentChanged = true;
+        if (getUtility () != null && getUtility ().domain != null)
+        {
+            getUtility ().domain.scheduleSave (this);
+        }
     }
 
     /**
@@ -768,7 +798,7 @@ public class Course extends ExtendedTreeNode
      */
     public void markForDeletion()
     {
-        assignmentsFile.delete ();
+        journal.delete ();
     }
 
     /**
@@ -782,57 +812,26 @@ public class Course extends ExtendedTreeNode
     }
 
     /**
-     * Opens the assignments file writer.
-     *
-     * @return The newly opened writer.
-     */
-    public BufferedWriter openWriter() throws IOException
-    {
-        if (inAssignment != null)
-        {
-            closeReader ();
-        }
-        if (outAssignment != null)
-        {
-            closeWriter ();
-        }
-        outAssignment = new BufferedWriter (new FileWriter (assignmentsFile));
-        return outAssignment;
-    }
-
-    /**
-     * Create an assignments file for the given course.
+     * Retrieves the journal that assignment saves for this course are written
+     * through.
      *
-     * @param utility A reference to the utility class.
+     * @return The assignments journal.
      */
-    private void createAssignmentsFile(LocalUtility utility)
+    public ChangeJournal getJournal()
     {
-        utility.getDataFolder ().mkdir ();
-        try
-        {
-            outAssignment = new BufferedWriter (new FileWriter (assignmentsFile));
-
-            closeWriter ();
-        }
-        catch (IOException ex)
-        {
-            Domain.LOGGER.add (ex);
-        }
+        return journal;
     }
 
     /**
-     * Load the assignment's in this course's assignment data file.
+     * Load the assignment's in this course's assignment data file. This does
+     * not modify any shared lists, so courses may be loaded in parallel.
      *
      * @param utility A reference to the utility class.
+     * @return The loaded assignments, in file order.
      */
-    public void loadAssignments(LocalUtility utility) throws IOException
+    public ArrayList<Assignment> loadAssignments(LocalUtility utility) throws IOException
     {
-        // if the types file does not exist, create it with default values
-        if (!assignmentsFile.exists ())
-        {
-            createAssignmentsFile (utility);
-        }
-
+        ArrayList<Assignment> loaded = new ArrayList<Assignment> ();
         // clear all old assignments and events data and load in terms from the data file
         if (oldAssignmentsFile != null && oldAssignmentsFile.exists ())
         {
@@ -842,7 +841,7 @@ public class Course extends ExtendedTreeNode
             {
                 if (line.startsWith ("true"))
                 {
-                    utility.assignmentsAndEvents.add (new Assignment (line, utility));
+                    loaded.add (new Assignment (line, utility));
                 }
 
                 line = inAssignment.readLine ();
@@ -851,30 +850,17 @@ public class Course extends ExtendedTreeNode
             oldAssignmentsFile.delete ();
         }
 
-        inAssignment = openReader (assignmentsFile);
-        String line = inAssignment.readLine ();
-        while (line != null)
+        // the journal replays any changes appended since the last compaction
+        ArrayList<String> records = journal.load ();
+        for (int i = 0; i < records.size (); ++i)
         {
-            if (line.startsWith ("true"))
+            if (records.get (i).startsWith ("true"))
             {
-                utility.assignmentsAndEvents.add (new Assignment (line, utility));
+                loaded.add (new Assignment (records.get (i) + END_OF_LINE, utility));
             }
-
-            line = inAssignment.readLine ();
         }
-        closeReader ();
-    }
 
-    /**
-     * Closes the assignments file writer.
-     */
-    public void closeWriter() throws IOException
-    {
-        if (outAssignment != null)
-        {
-            outAssignment.close ();
-            outAssignment = null;
-        }
+        return loaded;
     }
 
     /**
@@ -888,10 +874,6 @@ public class Course extends ExtendedTreeNode
         {
             closeReader ();
         }
-        if (outAssignment != null)
-        {
-            closeWriter ();
-        }
         inAssignment = new BufferedReader (new FileReader (file));
         return inAssignment;
     }
@@ -1001,7 +983,8 @@ public class Course extends ExtendedTreeNode
      *
      * @param grade
      * @param type
-     * @param time
+     * @param time The due date and time of the graded assignment, in minutes
+     * since January 1, 1970.
      */
     public void addGrade(double grade, AssignmentType type, long time)
     {
@@ -1017,24 +1000,14 @@ public class Course extends ExtendedTreeNode
      */
     public void sortGradesListByTime()
     {
-        boolean swapped = true;
-        while (swapped)
+        long[] keys = new long[gradesListTimes.size ()];
+        for (int i = 0; i < keys.length; ++i)
         {
-            swapped = false;
-            for (int i = 0; i < gradesListTimes.size () - 1; ++i)
-            {
-                if (gradesListTimes.get (i) > gradesListTimes.get (i + 1))
-                {
-                    long tempL = gradesListTimes.get (i);
-                    gradesListTimes.set (i, gradesListTimes.get (i + 1));
-                    gradesListTimes.set (i + 1, tempL);
-                    Object[] tempD = gradesList.get (i);
-                    gradesList.set (i, gradesList.get (i + 1));
-                    gradesList.set (i + 1, tempD);
-                    swapped = true;
-                }
-            }
+            keys[i] = gradesListTimes.get (i);
         }
+        int[] order = KeyedSort.order (keys, true);
+        KeyedSort.apply (gradesListTimes, order);
+        KeyedSort.apply (gradesList, order);
     }
 
     /**
@@ -1045,9 +1018,9 @@ public class Course extends ExtendedTreeNode
      * @return The number of days in the given assignment is from the beginning
      * of this course's term.
      */
-    public long getDayNumAtPoint(int j) throws ParseException
+    public long getDayNumAtPoint(int j)
     {
-        return (gradesListTimes.get (j) - Domain.DATE_FORMAT.parse (getStartDate ()).getTime ()) / (24 * 60 * 60 * 1000);
+        return (gradesListTimes.get (j) - startDay * DateUtility.MINUTES_PER_DAY) / DateUtility.MINUTES_PER_DAY;
     }
 
     /**
@@ -1493,7 +1466,7 @@ public class Course extends ExtendedTreeNode
      */
     public String getStartDate()
     {
-        return startDate;
+        return DateUtility.formatDate (startDay);
     }
 
     /**
@@ -1503,7 +1476,27 @@ public class Course extends ExtendedTreeNode
      */
     public final void setStartDate(String startDate)
     {
-        this.startDate = startDate;
+        startDay = DateUtility.toEpochDay (startDate);
+    }
+
+    /**
+     * Retrieves the start date for the course as an epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    public long getStartDay()
+    {
+        return startDay;
+    }
+
+    /**
+     * Sets the start date for the course from an epoch day.
+     *
+     * @param startDay The number of days since January 1, 1970.
+     */
+    public final void setStartDay(long startDay)
+    {
+        this.startDay = startDay;
     }
 
     /**
@@ -1513,7 +1506,7 @@ public class Course extends ExtendedTreeNode
      */
     public String getEndDate()
     {
-        return endDate;
+        return DateUtility.formatDate (endDay);
     }
 
     /**
@@ -1523,7 +1516,27 @@ public class Course extends ExtendedTreeNode
      */
     public final void setEndDate(String endDate)
     {
-        this.endDate = endDate;
+        endDay = DateUtility.toEpochDay (endDate);
+    }
+
+    /**
+     * Retrieves the end date for the course as an epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    public long getEndDay()
+    {
+        return endDay;
+    }
+
+    /**
+     * Sets the end date for the course from an epoch day.
+     *
+     * @param endDay The number of days since January 1, 1970.
+     */
+    public final void setEndDay(long endDay)
+    {
+        this.endDay = endDay;
     }
 
     /**
@@ -1533,7 +1546,27 @@ public class Course extends ExtendedTreeNode
      */
     public final void setLabStartDate(String labStartDate)
     {
-        this.labStartDate = labStartDate;
+        labStartDay = DateUtility.toEpochDay (labStartDate);
+    }
+
+    /**
+     * Retrieves the start date for the lab as an epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    public long getLabStartDay()
+    {
+        return labStartDay;
+    }
+
+    /**
+     * Sets the start date for the lab from an epoch day.
+     *
+     * @param labStartDay The number of days since January 1, 1970.
+     */
+    public final void setLabStartDay(long labStartDay)
+    {
+        this.labStartDay = labStartDay;
     }
 
     /**
@@ -1543,7 +1576,7 @@ public class Course extends ExtendedTreeNode
      */
     public String getLabStartDate()
     {
-        return labStartDate;
+        return DateUtility.formatDate (labStartDay);
     }
 
     /**
@@ -1553,7 +1586,27 @@ public class Course extends ExtendedTreeNode
      */
     public final void setLabEndDate(String labEndDate)
     {
-        this.labEndDate = labEndDate;
+        labEndDay = DateUtility.toEpochDay (labEndDate);
+    }
+
+    /**
+     * Retrieves the end date for the lab as an epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    public long getLabEndDay()
+    {
+        return labEndDay;
+    }
+
+    /**
+     * Sets the end date for the lab from an epoch day.
+     *
+     * @param labEndDay The number of days since January 1, 1970.
+     */
+    public final void setLabEndDay(long labEndDay)
+    {
+        this.labEndDay = labEndDay;
     }
 
     /**
@@ -1563,7 +1616,7 @@ public class Course extends ExtendedTreeNode
      */
     public String getLabEndDate()
     {
-        return labEndDate;
+        return DateUtility.formatDate (labEndDay);
     }
 
     /**
@@ -2305,6 +2358,66 @@ public class Course extends ExtendedTreeNode
         textbooks.set (second, temp);
     }
 
+    /**
+     * Writes all components in this object to the given record, in the order
+     * the file reader/writer expects them.
+     *
+     * @param record The record to write to.
+     */
+    public void writeTo(RecordWriter record)
+    {
+        record.text (getTypeName ());
+        record.field (getUniqueID ());
+        record.field (getStartDate ());
+        record.field (getEndDate ());
+        record.field (getTerm ().getUniqueID ());
+        record.field (daysOfWeek[0]);
+        record.field (daysOfWeek[1]);
+        record.field (daysOfWeek[2]);
+        record.field (daysOfWeek[3]);
+        record.field (daysOfWeek[4]);
+        record.field (daysOfWeek[5]);
+        record.field (daysOfWeek[6]);
+        record.text (roomLocation);
+        record.text (instructorName);
+        record.text (instructorEmail);
+        record.text (officeHours);
+        record.text (officeLocation);
+        record.field (credits);
+        record.field (startHr);
+        record.field (endHr);
+        record.text (instructorPhone);
+        record.field (isOnline);
+        record.field (color.getRed () + "-" + color.getGreen () + "-" + color.getBlue ());
+        record.field (hasLab);
+        record.field (labIsOnline);
+        record.text (labRoomLocation);
+        record.field (getLabStartDate ());
+        record.field (getLabEndDate ());
+        record.field (labStartHr);
+        record.field (labEndHr);
+        record.field (labCredits);
+        record.field (startMin);
+        record.field (startM);
+        record.field (endMin);
+        record.field (endM);
+        record.field (labStartMin);
+        record.field (labStartM);
+        record.field (labEndMin);
+        record.field (labEndM);
+        record.field (labDaysOfWeek[0]);
+        record.field (labDaysOfWeek[1]);
+        record.field (labDaysOfWeek[2]);
+        record.field (labDaysOfWeek[3]);
+        record.field (labDaysOfWeek[4]);
+        record.field (labDaysOfWeek[5]);
+        record.field (labDaysOfWeek[6]);
+        record.text (courseNumber);
+        record.text (labNumber);
+        record.text (courseWebsite);
+        record.text (labWebsite);
+    }
+
     /**
      * Returns a string of all components in this object that is formatted that
      * the file reader/writer will cooperate with it.
@@ -2313,55 +2426,8 @@ public class Course extends ExtendedTreeNode
      */
     public String out()
     {
-        return getTypeName ().replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + getUniqueID () + SEPARATOR
-               + startDate + SEPARATOR
-               + endDate + SEPARATOR
-               + getTerm ().getUniqueID () + SEPARATOR
-               + daysOfWeek[0] + SEPARATOR
-               + daysOfWeek[1] + SEPARATOR
-               + daysOfWeek[2] + SEPARATOR
-               + daysOfWeek[3] + SEPARATOR
-               + daysOfWeek[4] + SEPARATOR
-               + daysOfWeek[5] + SEPARATOR
-               + daysOfWeek[6] + SEPARATOR
-               + roomLocation.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + instructorName.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + instructorEmail.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + officeHours.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + officeLocation.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + credits + SEPARATOR
-               + startHr + SEPARATOR
-               + endHr + SEPARATOR
-               + instructorPhone.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + isOnline + SEPARATOR
-               + color.getRed () + "-" + color.getGreen () + "-" + color.getBlue () + SEPARATOR
-               + hasLab + SEPARATOR
-               + labIsOnline + SEPARATOR
-               + labRoomLocation.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + labStartDate + SEPARATOR
-               + labEndDate + SEPARATOR
-               + labStartHr + SEPARATOR
-               + labEndHr + SEPARATOR
-               + labCredits + SEPARATOR
-               + startMin + SEPARATOR
-               + startM + SEPARATOR
-               + endMin + SEPARATOR
-               + endM + SEPARATOR
-               + labStartMin + SEPARATOR
-               + labStartM + SEPARATOR
-               + labEndMin + SEPARATOR
-               + labEndM + SEPARATOR
-               + labDaysOfWeek[0] + SEPARATOR
-               + labDaysOfWeek[1] + SEPARATOR
-               + labDaysOfWeek[2] + SEPARATOR
-               + labDaysOfWeek[3] + SEPARATOR
-               + labDaysOfWeek[4] + SEPARATOR
-               + labDaysOfWeek[5] + SEPARATOR
-               + labDaysOfWeek[6] + SEPARATOR
-               + courseNumber.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + labNumber.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + courseWebsite.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + labWebsite.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE);
+        RecordWriter record = new RecordWriter ();
+        writeTo (record);
+        return record.takeRecord ();
     }
 }
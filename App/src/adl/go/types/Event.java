@@ -20,13 +20,13 @@
 
 package adl.go.types;
 
-import adl.go.gui.Domain;
+import adl.go.resource.DateUtility;
 import adl.go.resource.LocalUtility;
+import adl.go.resource.RecordTokenizer;
+import adl.go.resource.RecordWriter;
 import adl.go.resource.Utility;
-import java.text.ParseException;
-import java.util.Date;
+import java.awt.Color;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
 
 /**
  * An event has no owner and simply requires a start date, end date, and event
@@ -34,52 +34,57 @@ import java.util.Scanner;
  *
  * @author Alex Laird
  */
-public class Event extends ExtendedJPanelForEvent implements ListItem
+public class Event implements ListItem
 {
+    /**
+     * The character marking a line return.
+     */
+    private static final String LINE_RETURN = LocalUtility.getLineReturn ();
     /**
      * The reference to the utility for coloring.
      */
     private Utility utility;
     /**
-     * The object for the year to which this event belongs.
+     * The name of the event.
      */
-    private EventYear eventYear;
+    private String name = "";
     /**
-     * The unique name of the category.
+     * The unique ID of the event.
      */
-    private String categoryName;
+    private long id = -1;
     /**
-     * The category of the event.
+     * The view showing this event in Calendar View, or null if it is not on
+     * screen.
      */
-    private Category category;
+    private ItemView view;
     /**
-     * The date of the event.
+     * True if the event is shown as selected.
      */
-    private String date = Domain.DATE_FORMAT.format (new Date ());
+    private boolean shownAsSelected = false;
     /**
-     * The start hour of the event.
+     * The object for the year to which this event belongs.
      */
-    private String startHr = "12";
+    private EventYear eventYear;
     /**
-     * The start minute of the event.
+     * The unique name of the category.
      */
-    private String startMin = "00";
+    private String categoryName;
     /**
-     * The start meridian of the event.
+     * The category of the event.
      */
-    private String startM = "PM";
+    private Category category;
     /**
-     * The end hour of the event.
+     * The date of the event, as an epoch day.
      */
-    private String endHr = "12";
+    private long day = DateUtility.today ();
     /**
-     * The end minute of the event.
+     * The start time of the event, as the minute of the day.
      */
-    private String endMin = "00";
+    private int startMinute = 12 * 60;
     /**
-     * The end meridian of the event.
+     * The end time of the event, as the minute of the day.
      */
-    private String endM = "PM";
+    private int endMinute = 12 * 60;
     /**
      * The location of the event.
      */
@@ -107,6 +112,11 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
      * True if an immediate save is needed after application startup.
      */
     private boolean immediateSaveNeeded = false;
+    /**
+     * True if the event is an occurrence of a repeating series produced from
+     * the series' rule, which is not saved unless it is changed on its own.
+     */
+    private boolean generated = false;
 
     /**
      * Constructs an event with a given name, unique ID, and reference to its
@@ -118,7 +128,8 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
      */
     public Event(String name, long id, LocalUtility utility, EventYear eventYear)
     {
-        super (name, id, utility);
+        this.name = name;
+        this.id = id;
         this.utility = utility;
         this.eventYear = eventYear;
         category = utility.preferences.categories.get (0);
@@ -135,9 +146,19 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
      */
     public Event(String parse, LocalUtility utility)
     {
-        super ("", -1, utility);
+        this (new RecordTokenizer (parse), utility);
+    }
+
+    /**
+     * Reads every attribute's initial state for this object from the fields
+     * of a single record, whether from a data file or the snapshot.
+     *
+     * @param scan The fields of the record.
+     * @param utility A reference to the utility is needed for coloring.
+     */
+    public Event(RecordTokenizer scan, LocalUtility utility)
+    {
         this.utility = utility;
-        Scanner scan = new Scanner (parse).useDelimiter ("(?<!\\\\)" + SEPARATOR + "|" + "(?<!\\\\)" + END_OF_LINE);
         // throw away the false saying this is an event
         String throwAway = null;
         try
@@ -152,7 +173,7 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
         {
             if (throwAway != null && (throwAway.equals ("true") || throwAway.equals ("false")))
             {
-                setItemName (scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE));
+                setItemName (scan.next ());
             }
             else
             {
@@ -173,12 +194,22 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
         }
         try
         {
-            date = scan.next ();
+            day = DateUtility.toEpochDay (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
             immediateSaveNeeded = true;
         }
+        catch (NumberFormatException ex)
+        {
+            immediateSaveNeeded = true;
+        }
+        String startHr = "12";
+        String startMin = "00";
+        String startM = "PM";
+        String endHr = "12";
+        String endMin = "00";
+        String endM = "PM";
         try
         {
             startHr = scan.next ();
@@ -205,7 +236,7 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
         }
         try
         {
-            location = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            location = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
@@ -213,7 +244,7 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
         }
         try
         {
-            description = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE).replaceAll ("\\\\<br />", LINE_RETURN);
+            description = RecordTokenizer.replace (scan.next (), "\\<br />", LINE_RETURN);
         }
         catch (NoSuchElementException ex)
         {
@@ -221,7 +252,7 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
         }
         try
         {
-            categoryName = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            categoryName = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
@@ -296,8 +327,15 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
                 immediateSaveNeeded = true;
             }
         }
-
-        scan.close ();
+        try
+        {
+            startMinute = DateUtility.toMinuteOfDay (startHr, startMin, startM);
+            endMinute = DateUtility.toMinuteOfDay (endHr, endMin, endM);
+        }
+        catch (NumberFormatException ex)
+        {
+            immediateSaveNeeded = true;
+        }
     }
 
     /**
@@ -320,6 +358,28 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
         this.eventYear = eventYear;
     }
 
+    /**
+     * Check if the event is an occurrence of a repeating series produced from
+     * the series' rule, which is not saved.
+     *
+     * @return True if the event is generated, false if it is saved.
+     */
+    public boolean isGenerated()
+    {
+        return generated;
+    }
+
+    /**
+     * Set whether the event is an occurrence of a repeating series produced
+     * from the series' rule, which is not saved.
+     *
+     * @param generated True if the event is generated, false if it is saved.
+     */
+    public void setGenerated(boolean generated)
+    {
+        this.generated = generated;
+    }
+
     /**
      * Check if the event needs an immediate save after startup.
      *
@@ -344,74 +404,46 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
     @Override
     public void refreshText()
     {
-        switch (utility.preferences.colorByIndex)
+        if (view != null)
         {
-            // color by due date
-            case 0:
-            {
-                String[] eventDate = getDueDate ().split ("/");
-                String[] currentDate = Domain.DATE_FORMAT.format (new Date ()).split ("/");
-                try
-                {
-                    if (((new Date ()).before (Domain.DATE_FORMAT.parse (getDueDate ()))
-                         || (Domain.DATE_FORMAT.format (new Date ()).equals (getDueDate ())))
-                        && (Integer.parseInt (eventDate[2]) - Integer.parseInt (currentDate[2]) == 0
-                            && Integer.parseInt (eventDate[0]) - Integer.parseInt (currentDate[0]) == 0))
-                    {
-                        if (Integer.parseInt (eventDate[1]) - Integer.parseInt (currentDate[1]) == 3)
-                        {
-                            getLabel ().setForeground (utility.preferences.dueDateColors[5]);
-                        }
-                        else if (Integer.parseInt (eventDate[1]) - Integer.parseInt (currentDate[1]) == 2)
-                        {
-                            getLabel ().setForeground (utility.preferences.dueDateColors[4]);
-                        }
-                        else
-                        {
-                            if (Integer.parseInt (eventDate[1]) - Integer.parseInt (currentDate[1]) == 1)
-                            {
-                                getLabel ().setForeground (utility.preferences.dueDateColors[3]);
-                            }
-                            else
-                            {
-                                if (Integer.parseInt (eventDate[1]) - Integer.parseInt (currentDate[1]) == 0)
-                                {
-                                    getLabel ().setForeground (utility.preferences.dueDateColors[2]);
-                                }
-                                else
-                                {
-                                    getLabel ().setForeground (utility.preferences.dueDateColors[0]);
-                                }
-                            }
-                        }
-                    }
-                    else
-                    {
-                        getLabel ().setForeground (utility.preferences.dueDateColors[0]);
-                    }
-                }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
-                }
+            view.refresh ();
+        }
+    }
 
-                break;
-            }
-            // color by category
-            case 1:
-            {
-                getLabel ().setForeground (getCategory ().getColor ());
-                break;
-            }
-            // color by priority
-            case 2:
-            {
-                getLabel ().setForeground (getCategory ().getColor ());
-                break;
-            }
+    /**
+     * Retrieves the color the name of this event is shown in within Calendar
+     * View.
+     *
+     * @return The color for the current coloring preference.
+     */
+    @Override
+    public Color getCalendarColor()
+    {
+        // events have no priority, so coloring by priority uses the category
+        if (utility.preferences.colorByIndex == 0)
+        {
+            return utility.preferences.dueDateColors[getDueDateColorIndex (DateUtility.today ())];
         }
+        return getCategory ().getColor ();
+    }
 
-        setItemName (getItemName ());
+    /**
+     * Retrieves the text shown for this event in Calendar View, which leads
+     * with the start time unless the event is all day.
+     *
+     * @return The plain text of this event in Calendar View.
+     */
+    @Override
+    public String getCalendarText()
+    {
+        if (!isAllDay ())
+        {
+            return "(" + DateUtility.formatTime (startMinute) + ") " + name;
+        }
+        else
+        {
+            return name;
+        }
     }
 
     /**
@@ -461,57 +493,8 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
             // color by due date
             case 0:
             {
-                String[] assignmentDate = getDueDate ().split ("/");
-                String[] currentDate = Domain.DATE_FORMAT.format (new Date ()).split ("/");
-                try
-                {
-                    if (((new Date ()).before (Domain.DATE_FORMAT.parse (getDueDate ()))
-                         || (Domain.DATE_FORMAT.format (new Date ()).equals (getDueDate ())))
-                        && (Integer.parseInt (assignmentDate[2]) - Integer.parseInt (currentDate[2]) == 0
-                            && Integer.parseInt (assignmentDate[0]) - Integer.parseInt (currentDate[0]) == 0))
-                    {
-                        if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 3)
-                        {
-                            openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[5].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font>" + closeTags;
-                        }
-                        else if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 2)
-                        {
-                            openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[4].getRGB () & 0x00FFFFFF) + "\">";
-                            closeTags = "</font>" + closeTags;
-                        }
-                        else
-                        {
-                            if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 1)
-                            {
-                                openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[3].getRGB () & 0x00FFFFFF) + "\">";
-                                closeTags = "</font>" + closeTags;
-                            }
-                            else
-                            {
-                                if (Integer.parseInt (assignmentDate[1]) - Integer.parseInt (currentDate[1]) == 0)
-                                {
-                                    openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[2].getRGB () & 0x00FFFFFF) + "\">";
-                                    closeTags = "</font>" + closeTags;
-                                }
-                                else
-                                {
-                                    openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[0].getRGB () & 0x00FFFFFF) + "\">";
-                                    closeTags = "</font>" + closeTags;
-                                }
-                            }
-                        }
-                    }
-                    else
-                    {
-                        openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[0].getRGB () & 0x00FFFFFF) + "\">";
-                        closeTags = "</font>" + closeTags;
-                    }
-                }
-                catch (ParseException ex)
-                {
-                    Domain.LOGGER.add (ex);
-                }
+                openTags += "<font color=\"#" + Integer.toHexString (utility.preferences.dueDateColors[getDueDateColorIndex (DateUtility.today ())].getRGB () & 0x00FFFFFF) + "\">";
+                closeTags = "</font>" + closeTags;
 
                 break;
             }
@@ -534,7 +517,7 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
         }
         if (!isAllDay ())
         {
-            rowObject[1] = openTags + "(" + startHr + ":" + startMin + " " + startM + ") " + getItemName () + closeTags;
+            rowObject[1] = openTags + "(" + DateUtility.formatTime (startMinute) + ") " + getItemName () + closeTags;
         }
         else
         {
@@ -547,25 +530,115 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
         rowObject[6] = getUniqueID ();
     }
 
+    /**
+     * Retrieve the name of the event.
+     *
+     * @return The name of the event.
+     */
+    @Override
+    public String getItemName()
+    {
+        return name;
+    }
+
     /**
      * Set the name of the event with the given name.
      *
      * @param name The name to set the event with.
      */
-    @Override
     public final void setItemName(String name)
     {
-        super.setItemName (name);
-        if (!isAllDay ())
-        {
-            getLabel ().setText ("<html>(" + startHr + ":" + startMin + " " + startM + ") " + name + "</html>");
-        }
-        else
+        this.name = name;
+        refreshText ();
+    }
+
+    /**
+     * Retrieve the unique ID of the event.
+     *
+     * @return The unique ID.
+     */
+    @Override
+    public long getUniqueID()
+    {
+        return id;
+    }
+
+    /**
+     * Warning: this method is implemented only for specific use in forcing a
+     * unique ID to a type after creation, necessary during the load from the
+     * data files. This method should never be used otherwise, because conflicts
+     * may arise. If it is used, ensure that it is used on a guaranteed unique
+     * ID such as System.currentTimeMillis().
+     *
+     * @param id The unique ID to be set.
+     */
+    @Override
+    public void setUniqueID(long id)
+    {
+        this.id = id;
+    }
+
+    /**
+     * Set the state of the event, whether it is shown as selected or not in
+     * the UI.
+     *
+     * @param state The state to be set for the UI selection.
+     */
+    @Override
+    public void showAsSelected(boolean state)
+    {
+        shownAsSelected = state;
+        if (view != null)
         {
-            getLabel ().setText ("<html>" + name + "</html>");
+            view.showAsSelected (state);
         }
     }
 
+    /**
+     * Checks if the event is shown as selected in the UI.
+     *
+     * @return True if the event is shown as selected, false otherwise.
+     */
+    @Override
+    public boolean isShownAsSelected()
+    {
+        return shownAsSelected;
+    }
+
+    /**
+     * Retrieves the view showing this event in Calendar View.
+     *
+     * @return The view, or null if the event is not on screen.
+     */
+    @Override
+    public ItemView getView()
+    {
+        return view;
+    }
+
+    /**
+     * Sets the view showing this event in Calendar View. This should only be
+     * called by the view as it is bound or unbound.
+     *
+     * @param view The view, or null if the event is no longer on screen.
+     */
+    @Override
+    public void setView(ItemView view)
+    {
+        this.view = view;
+    }
+
+    /**
+     * The string representation of this event for display.
+     *
+     * @return The name of the event.
+     */
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+
     /**
      * Retrieves the row object for use in the assignmentsAndEvents table.
      *
@@ -578,6 +651,29 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
         return rowObject;
     }
 
+    /**
+     * Retrieves the index of the due date color this event is shown in: 2
+     * through 5 if it falls from today through three days from now within this
+     * month, and 0 otherwise.
+     *
+     * @param today The epoch day of today's date.
+     * @return The index into the due date colors.
+     */
+    private int getDueDateColorIndex(long today)
+    {
+        if (day >= today && day - today <= 3)
+        {
+            int[] due = DateUtility.toYearMonthDay (day);
+            int[] now = DateUtility.toYearMonthDay (today);
+            if (due[0] == now[0] && due[1] == now[1])
+            {
+                return (int) (day - today) + 2;
+            }
+        }
+
+        return 0;
+    }
+
     /**
      * Retrieve the date.
      *
@@ -586,7 +682,40 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
     @Override
     public String getDueDate()
     {
-        return date;
+        return DateUtility.formatDate (day);
+    }
+
+    /**
+     * Retrieve the date as an epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    @Override
+    public long getDueDay()
+    {
+        return day;
+    }
+
+    /**
+     * Retrieve the start time as the minute of the day, or midnight if the
+     * event is all day.
+     *
+     * @return The number of minutes past midnight.
+     */
+    @Override
+    public int getDueMinute()
+    {
+        return isAllDay ? 0 : startMinute;
+    }
+
+    /**
+     * Retrieve the end time as the minute of the day.
+     *
+     * @return The number of minutes past midnight.
+     */
+    public int getEndMinute()
+    {
+        return endMinute;
     }
 
     /**
@@ -618,7 +747,9 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
     {
         if (!repeatingString.equals (""))
         {
-            String[] split = repeatingString.split ("-");
+            // trailing empty fields are kept, so a series with no exceptions
+            // still has its twelfth field
+            String[] split = repeatingString.split ("-", -1);
             repeating.repeatsIndex = Integer.parseInt (split[0]);
             repeating.repeatsEveryIndex = Integer.parseInt (split[1]);
             repeating.sunday = Boolean.valueOf (split[2]);
@@ -628,8 +759,12 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
             repeating.thursday = Boolean.valueOf (split[6]);
             repeating.friday = Boolean.valueOf (split[7]);
             repeating.saturday = Boolean.valueOf (split[8]);
-            repeating.startDate = split[9];
-            repeating.endDate = split[10];
+            repeating.startDay = DateUtility.toEpochDay (split[9]);
+            repeating.endDay = DateUtility.toEpochDay (split[10]);
+            // series created before occurrences were produced from the rule
+            // have no exceptions field, and every instance of them is saved
+            repeating.savedInFull = split.length <= 11;
+            repeating.setExceptions (repeating.savedInFull ? "" : split[11]);
         }
     }
 
@@ -650,8 +785,20 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
      */
     public void setDate(String date, LocalUtility utility)
     {
-        this.date = date;
-        setEventYear (utility.getEventYear (date.split ("/")[2]));
+        setDay (DateUtility.toEpochDay (date), utility);
+    }
+
+    /**
+     * Set the date from an epoch day.
+     *
+     * @param day The number of days since January 1, 1970.
+     * @param utility A reference to the utility, for the event year.
+     */
+    public void setDay(long day, LocalUtility utility)
+    {
+        this.day = day;
+        setEventYear (utility.getEventYear (Integer.toString (DateUtility.toYearMonthDay (day)[0])));
+        utility.dayIndex.update (this);
     }
 
     /**
@@ -663,24 +810,7 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
      */
     public final void setStartTime(int index, String time)
     {
-        switch (index)
-        {
-            case 0:
-            {
-                startHr = time;
-                break;
-            }
-            case 1:
-            {
-                startMin = time;
-                break;
-            }
-            case 2:
-            {
-                startM = time;
-                break;
-            }
-        }
+        startMinute = DateUtility.setTimeField (startMinute, index, time);
         refreshText ();
     }
 
@@ -693,27 +823,7 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
      */
     public String getStartTime(int index)
     {
-        String time = "";
-
-        switch (index)
-        {
-            case 0:
-            {
-                time = startHr;
-                break;
-            }
-            case 1:
-            {
-                time = startMin;
-                break;
-            }
-            case 2:
-            {
-                time = startM;
-                break;
-            }
-        }
-        return time;
+        return DateUtility.formatTime (startMinute, index);
     }
 
     /**
@@ -725,24 +835,7 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
      */
     public final void setEndTime(int index, String time)
     {
-        switch (index)
-        {
-            case 0:
-            {
-                endHr = time;
-                break;
-            }
-            case 1:
-            {
-                endMin = time;
-                break;
-            }
-            case 2:
-            {
-                endM = time;
-                break;
-            }
-        }
+        endMinute = DateUtility.setTimeField (endMinute, index, time);
     }
 
     /**
@@ -754,27 +847,7 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
      */
     public String getEndTime(int index)
     {
-        String time = "";
-
-        switch (index)
-        {
-            case 0:
-            {
-                time = endHr;
-                break;
-            }
-            case 1:
-            {
-                time = endMin;
-                break;
-            }
-            case 2:
-            {
-                time = endM;
-                break;
-            }
-        }
-        return time;
+        return DateUtility.formatTime (endMinute, index);
     }
 
     /**
@@ -828,6 +901,33 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
         return false;
     }
 
+    /**
+     * Writes all components in this object to the given record, in the order
+     * the file reader/writer expects them.
+     *
+     * @param record The record to write to.
+     */
+    @Override
+    public void writeTo(RecordWriter record)
+    {
+        record.field (isAssignment ());
+        record.text (getItemName ());
+        record.field (getUniqueID ());
+        record.field (getDueDate ());
+        record.field (getStartTime (0));
+        record.field (getEndTime (0));
+        record.field (isAllDay);
+        record.text (location);
+        record.multilineText (description);
+        record.text (getCategory ().getName ());
+        record.field (repeating.id);
+        record.field (repeating.toString ());
+        record.field (getStartTime (1));
+        record.field (getStartTime (2));
+        record.field (getEndTime (1));
+        record.field (getEndTime (2));
+    }
+
     /**
      * Returns a string of all components in this object that is formatted that
      * the file reader/writer will cooperate with it.
@@ -837,21 +937,8 @@ public class Event extends ExtendedJPanelForEvent implements ListItem
     @Override
     public String out()
     {
-        return isAssignment () + SEPARATOR
-               + getItemName ().replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + getUniqueID () + SEPARATOR
-               + date + SEPARATOR
-               + startHr + SEPARATOR
-               + endHr + SEPARATOR
-               + isAllDay + SEPARATOR
-               + location.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + description.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE).replaceAll (LINE_RETURN, "\\\\<br />") + SEPARATOR
-               + getCategory ().getName ().replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + repeating.id + SEPARATOR
-               + repeating + SEPARATOR
-               + startMin + SEPARATOR
-               + startM + SEPARATOR
-               + endMin + SEPARATOR
-               + endM;
+        RecordWriter record = new RecordWriter ();
+        writeTo (record);
+        return record.takeRecord ();
     }
 }
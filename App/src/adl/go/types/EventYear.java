@@ -21,7 +21,10 @@
 package adl.go.types;
 
 import adl.go.gui.Domain;
+import adl.go.resource.ChangeJournal;
 import adl.go.resource.LocalUtility;
+import adl.go.resource.RecordTokenizer;
+import adl.go.resource.RecordWriter;
 import adl.go.resource.Utility;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
@@ -30,14 +33,23 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * This object contains all events within a specific year.
+ * This object contains all events within a specific year. The events of a
+ * year are only loaded once they are needed; until then, a small summary of
+ * the year's data file says which days its events fall on.
  *
  * @author Alex Laird
  */
 public class EventYear
 {
+    /**
+     * The summary value of a day that is not known.
+     */
+    private static final long NO_DAY = Long.MIN_VALUE;
     /**
      * The year of this object.
      */
@@ -47,22 +59,63 @@ public class EventYear
      */
     private ArrayList<Event> events = new ArrayList<Event> ();
     /**
-     * True if this event year has event changes, false otherwise.
+     * The number of times events in this event year have been changed. It is
+     * counted rather than flagged so a change made while a save is being
+     * written is not mistaken for one the save has written.
      */
-    private boolean eventChanged = false;
+    private final AtomicLong changeCount = new AtomicLong ();
+    /**
+     * The change count as of the start of the most recent save.
+     */
+    private volatile long savedChangeCount = 0;
     /**
      * The events data file.
      */
     private File eventsFile;
     private File oldEventsFile;
     /**
-     * The events data file writer.
+     * The journal that event saves are appended to.
      */
-    private BufferedWriter outEvent;
+    private ChangeJournal journal;
     /**
      * The events data file reader.
      */
     private BufferedReader inEvent;
+    /**
+     * A reference to the utility.
+     */
+    private Utility utility;
+    /**
+     * The summary file for the events data file.
+     */
+    private File summaryFile;
+    /**
+     * True if the events in the data file are in memory, false if only the
+     * summary is.
+     */
+    private boolean loaded = true;
+    /**
+     * The number of events in the data file, as of the last summary, or -1 if
+     * no summary has been read or written.
+     */
+    private int summaryCount = -1;
+    /**
+     * The epoch day of the earliest event, as of the last summary.
+     */
+    private long firstDay = NO_DAY;
+    /**
+     * The epoch day of the latest event, as of the last summary.
+     */
+    private long lastDay = NO_DAY;
+    /**
+     * The last epoch day of any repeating series with an event in this year,
+     * as of the last summary.
+     */
+    private long seriesEnd = NO_DAY;
+    /**
+     * The last time the events of this year were needed.
+     */
+    private long lastUsed = 0;
 
     /**
      * Construct a new event year object with the given year.
@@ -73,21 +126,30 @@ public class EventYear
     public EventYear(String year, Utility utility)
     {
         this.year = year;
+        this.utility = utility;
         if (utility instanceof LocalUtility)
         {
             eventsFile = new File (((LocalUtility) utility).getDataFolder (), "e" + year + ".dat");
+            journal = new ChangeJournal (eventsFile);
             oldEventsFile = new File (((LocalUtility) utility).getAppDataFolder (), "e" + year + ".dat");
+            summaryFile = new File (((LocalUtility) utility).getDataFolder (), "e" + year + ".idx");
+            // a year with nothing on disk yet has nothing left to load
+            loaded = !journal.exists ();
         }
     }
 
     /**
-     * Add the given event to this event year.
+     * Add the given event to this event year. Occurrences produced from a
+     * repeating series' rule are not saved, so they are not added.
      *
      * @param event The event to be added.
      */
     public void addEvent(Event event)
     {
-        events.add (event);
+        if (!event.isGenerated ())
+        {
+            events.add (event);
+        }
     }
 
     /**
@@ -118,14 +180,36 @@ public class EventYear
      */
     public Event removeEvent(Event event)
     {
-        events.remove (event);
-        if (events.isEmpty ())
+        if (events.remove (event) && events.isEmpty ())
         {
             markForDeletion (true);
         }
         return event;
     }
 
+    /**
+     * Removes all of the given events from this event year at once.
+     *
+     * @param toRemove The events to be removed, which should be a set so each
+     * lookup is fast.
+     */
+    public void removeEvents(Collection<Event> toRemove)
+    {
+        ArrayList<Event> kept = new ArrayList<Event> (events.size ());
+        for (int i = 0; i < events.size (); ++i)
+        {
+            if (!toRemove.contains (events.get (i)))
+            {
+                kept.add (events.get (i));
+            }
+        }
+        events = kept;
+        if (events.isEmpty ())
+        {
+            markForDeletion (true);
+        }
+    }
+
     /**
      * Delete the associated assignments file for this course.
      *
@@ -136,7 +220,8 @@ public class EventYear
     {
         if (delNew)
         {
-            eventsFile.delete ();
+            journal.delete ();
+            summaryFile.delete ();
         }
         else
         {
@@ -158,11 +243,27 @@ public class EventYear
     }
 
     /**
-     * Events have now been saved, so set changed flag back.
+     * Retrieves the number of times events in this event year have been
+     * changed, which should be taken before a save begins writing and passed
+     * to saved() once it is written.
+     *
+     * @return The change count.
+     */
+    public long getChangeCount()
+    {
+        return changeCount.get ();
+    }
+
+    /**
+     * Events have now been saved as of the given change count, so any changes
+     * made since it was taken are still unsaved.
+     *
+     * @param savedChangeCount The change count taken before the save began
+     * writing.
      */
-    public void saved()
+    public void saved(long savedChangeCount)
     {
-        eventChanged = false;
+        this.savedChangeCount = savedChangeCount;
     }
 
     /**
@@ -170,7 +271,11 @@ public class EventYear
      */
     public void markChanged()
     {
-        eventChanged = true;
+        changeCount.incrementAndGet ();
+        if (utility != null && utility.domain != null)
+        {
+            utility.domain.scheduleSave (this);
+        }
     }
 
     /**
@@ -180,7 +285,7 @@ public class EventYear
      */
     public boolean isChanged()
     {
-        return eventChanged;
+        return changeCount.get () != savedChangeCount;
     }
 
     /**
@@ -205,37 +310,195 @@ public class EventYear
     }
 
     /**
-     * Opens the events file writer.
+     * Check if the events of this event year are in memory.
      *
-     * @return The newly opened writer.
+     * @return True if the events are loaded, false if only the summary is.
      */
-    public BufferedWriter openWriter() throws IOException
+    public boolean isLoaded()
     {
-        if (inEvent != null)
-        {
-            closeReader ();
-        }
-        if (outEvent != null)
+        return loaded;
+    }
+
+    /**
+     * Set whether the events of this event year are in memory. This should
+     * only be set to true once every event in the data file has been added to
+     * the utility.
+     *
+     * @param loaded True if the events are loaded, false otherwise.
+     */
+    public void setLoaded(boolean loaded)
+    {
+        this.loaded = loaded;
+    }
+
+    /**
+     * Drops the events of this event year from memory, leaving only the
+     * summary. This should only be called once the events have been saved and
+     * removed from the utility.
+     */
+    public void unload()
+    {
+        events.clear ();
+        journal.release ();
+        loaded = false;
+    }
+
+    /**
+     * Check if any event in this event year, or any occurrence of a repeating
+     * series with an event in this event year, falls within the given range of
+     * days, according to the last summary. Without a summary, any event may.
+     *
+     * @param first The first epoch day of the range, inclusive.
+     * @param last The last epoch day of the range, inclusive.
+     * @return True if any event may fall within the range, false otherwise.
+     */
+    public boolean overlaps(long first, long last)
+    {
+        if (summaryCount < 0)
         {
-            closeWriter ();
+            return true;
         }
-        outEvent = new BufferedWriter (new FileWriter (eventsFile));
-        return outEvent;
+
+        return summaryCount > 0 && firstDay <= last && (lastDay >= first || seriesEnd >= first);
     }
 
     /**
-     * Create an event file for this event year.
+     * Check if any repeating series with an event in this event year runs
+     * through the given day or later, according to the last summary. The
+     * occurrences of such a series are produced from the event that holds its
+     * rule.
      *
-     * @param utility A reference to the utility class.
+     * @param day The epoch day.
+     * @return True if a series is still running on the given day, false
+     * otherwise.
+     */
+    public boolean hasSeriesRunningThrough(long day)
+    {
+        return seriesEnd >= day;
+    }
+
+    /**
+     * Marks the events of this event year as just having been needed.
+     */
+    public void touch()
+    {
+        lastUsed = System.currentTimeMillis ();
+    }
+
+    /**
+     * Retrieves the last time the events of this event year were needed.
+     *
+     * @return The time, in milliseconds.
+     */
+    public long getLastUsed()
+    {
+        return lastUsed;
+    }
+
+    /**
+     * Reads the summary of this event year's data file, if it was written for
+     * the data file as it is now. The summary records the length and last
+     * modification time the data file had when it was written, since file
+     * times are too coarse to tell on their own which was written last.
+     *
+     * @return True if an up-to-date summary was read, false otherwise.
      */
-    private void createEventsFile(LocalUtility utility)
+    public boolean readSummary()
     {
-        utility.getDataFolder ().mkdir ();
+        if (summaryFile == null || !summaryFile.exists ())
+        {
+            return false;
+        }
+
         try
         {
-            outEvent = new BufferedWriter (new FileWriter (eventsFile));
+            BufferedReader in = new BufferedReader (new FileReader (summaryFile));
+            try
+            {
+                String line = in.readLine ();
+                if (line == null)
+                {
+                    return false;
+                }
+                RecordTokenizer scan = new RecordTokenizer (line);
+                int count = scan.nextInt ();
+                long first = scan.nextLong ();
+                long last = scan.nextLong ();
+                long end = scan.nextLong ();
+                if (scan.nextLong () != journal.length () || scan.nextLong () != journal.lastModified ())
+                {
+                    return false;
+                }
+                summaryCount = count;
+                firstDay = first;
+                lastDay = last;
+                seriesEnd = end;
+                return true;
+            }
+            finally
+            {
+                in.close ();
+            }
+        }
+        catch (NoSuchElementException ex)
+        {
+            return false;
+        }
+        catch (IOException ex)
+        {
+            Domain.LOGGER.add (ex);
+        }
+
+        return false;
+    }
+
+    /**
+     * Summarizes the events currently in this event year and writes the
+     * summary beside the data file. If an event's dates cannot be read, the
+     * summary is removed instead, so the year is always loaded in full.
+     */
+    public void writeSummary()
+    {
+        if (summaryFile == null)
+        {
+            return;
+        }
+
+        long first = NO_DAY;
+        long last = NO_DAY;
+        long end = NO_DAY;
+        for (int i = 0; i < events.size (); ++i)
+        {
+            Event event = events.get (i);
+            long day = event.getDueDay ();
+            if (first == NO_DAY || day < first)
+            {
+                first = day;
+            }
+            last = Math.max (last, day);
+            if (event.getRepeating ().getID () != -1)
+            {
+                end = Math.max (end, event.getRepeating ().getEndDay ());
+            }
+        }
+        summaryCount = events.size ();
+        firstDay = first;
+        lastDay = last;
+        seriesEnd = end;
 
-            closeWriter ();
+        try
+        {
+            BufferedWriter out = new BufferedWriter (new FileWriter (summaryFile));
+            try
+            {
+                RecordWriter record = new RecordWriter (out);
+                record.field (summaryCount).field (firstDay).field (lastDay).field (seriesEnd);
+                record.field (journal.length ()).field (journal.lastModified ()).endRecord ();
+            }
+            finally
+            {
+                out.close ();
+            }
         }
         catch (IOException ex)
         {
@@ -244,56 +507,59 @@ public class EventYear
     }
 
     /**
-     * Load all events attached to this event years file.
+     * Retrieves the journal that event saves for this event year are written
+     * through.
+     *
+     * @return The events journal.
+     */
+    public ChangeJournal getJournal()
+    {
+        return journal;
+    }
+
+    /**
+     * Load all events attached to this event years file. This does not modify
+     * any shared lists, so event years may be loaded in parallel.
      *
      * @param utility A reference to the utility class.
      * @param useNew False to use old data file path, true to use new.
+     * @return The loaded events, in file order.
      */
-    public void loadEvents(LocalUtility utility, boolean useNew) throws IOException
+    public synchronized ArrayList<Event> loadEvents(LocalUtility utility, boolean useNew) throws IOException
     {
-        // if the types file does not exist, create it with default values
-        if (!eventsFile.exists ())
-        {
-            createEventsFile (utility);
-        }
-
         // clear all old events and events data and load in terms from the data file
+        ArrayList<String> lines = new ArrayList<String> ();
         if (useNew)
         {
-            inEvent = openReader (eventsFile);
+            // the journal replays any changes appended since the last compaction
+            ArrayList<String> records = journal.load ();
+            for (int i = 0; i < records.size (); ++i)
+            {
+                lines.add (records.get (i) + Utility.getEndOfLine ());
+            }
         }
         else
         {
             inEvent = openReader (oldEventsFile);
+            String line = inEvent.readLine ();
+            while (line != null)
+            {
+                lines.add (line);
+
+                line = inEvent.readLine ();
+            }
+            closeReader ();
         }
-        String line = inEvent.readLine ();
-        while (line != null)
+        ArrayList<Event> loaded = new ArrayList<Event> ();
+        for (int i = 0; i < lines.size (); ++i)
         {
-            if (line.startsWith ("false"))
+            if (lines.get (i).startsWith ("false"))
             {
-                Event newEvent = new Event (line, utility);
-                utility.assignmentsAndEvents.add (newEvent);
-                if (newEvent.getRepeating ().getID () != -1)
-                {
-                    utility.repeatingEvents.add (newEvent);
-                }
+                loaded.add (new Event (lines.get (i), utility));
             }
-
-            line = inEvent.readLine ();
         }
-        closeReader ();
-    }
 
-    /**
-     * Closes the events file writer.
-     */
-    public void closeWriter() throws IOException
-    {
-        if (outEvent != null)
-        {
-            outEvent.close ();
-            outEvent = null;
-        }
+        return loaded;
     }
 
     /**
@@ -308,10 +574,6 @@ public class EventYear
         {
             closeReader ();
         }
-        if (outEvent != null)
-        {
-            closeWriter ();
-        }
         inEvent = new BufferedReader (new FileReader (file));
         return inEvent;
     }
@@ -103,6 +103,16 @@ public class ExtendedTreeNode extends DefaultMutableTreeNode
         return id;
     }
 
+    /**
+     * Retrieve the reference to the utility.
+     *
+     * @return The reference to the utility.
+     */
+    protected LocalUtility getUtility()
+    {
+        return utility;
+    }
+
     /**
      * Warning: this method is implemented only for specific use in forcing a
      * unique ID to a type after creation, necessary during the load from the
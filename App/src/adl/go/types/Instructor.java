@@ -21,9 +21,10 @@
 package adl.go.types;
 
 import adl.go.resource.LocalUtility;
+import adl.go.resource.RecordTokenizer;
+import adl.go.resource.RecordWriter;
 import adl.go.resource.Utility;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
 
 /**
  * An instructor is attached to a course.
@@ -84,16 +85,27 @@ public class Instructor extends ExtendedTreeNode
      * @param utility The reference to the utility.
      */
     public Instructor(String parse, LocalUtility utility)
+    {
+        this (new RecordTokenizer (parse), utility);
+    }
+
+    /**
+     * Reads every attribute's initial state for this object from the fields
+     * of a single record, whether from a data file or the snapshot.
+     *
+     * @param scan The fields of the record.
+     * @param utility The reference to the utility.
+     */
+    public Instructor(RecordTokenizer scan, LocalUtility utility)
     {
         super ("", -1, utility);
-        Scanner scan = new Scanner (parse).useDelimiter ("(?<!\\\\)" + SEPARATOR + "|" + "(?<!\\\\)" + END_OF_LINE);
         try
         {
-            setTypeName (scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE));
+            setTypeName (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -101,7 +113,7 @@ public class Instructor extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -109,39 +121,39 @@ public class Instructor extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            instructorEmail = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            instructorEmail = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            officeHours = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            officeHours = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            officeLocation = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            officeLocation = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            instructorPhone = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            instructorPhone = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -149,9 +161,8 @@ public class Instructor extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
-        scan.close ();
     }
 
     /**
@@ -282,6 +293,24 @@ public class Instructor extends ExtendedTreeNode
         this.officeHours = officeHours;
     }
 
+    /**
+     * Writes all components in this object to the given record, in the order
+     * the file reader/writer expects them.
+     *
+     * @param record The record to write to.
+     */
+    public void writeTo(RecordWriter record)
+    {
+        record.text (getTypeName ());
+        record.field (getUniqueID ());
+        record.field (getCourse ().getUniqueID ());
+        record.text (instructorEmail);
+        record.text (officeHours);
+        record.text (officeLocation);
+        record.text (instructorPhone);
+        record.field (lectureLab);
+    }
+
     /**
      * Returns a string of all components in this object that is formatted that
      * the file reader/writer will cooperate with it.
@@ -290,12 +319,8 @@ public class Instructor extends ExtendedTreeNode
      */
     public String out()
     {
-        return getTypeName ().replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + getUniqueID () + SEPARATOR + getCourse ().getUniqueID () + SEPARATOR
-               + instructorEmail.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + officeHours.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + officeLocation.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + instructorPhone.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + lectureLab;
+        RecordWriter record = new RecordWriter ();
+        writeTo (record);
+        return record.takeRecord ();
     }
 }
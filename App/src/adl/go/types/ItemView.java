@@ -0,0 +1,52 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.types;
+
+/**
+ * The view an assignment or event is shown with in Calendar View while it is
+ * on screen. Assignments and events hold no components of their own; views
+ * are taken from a pool and bound to an item when the calendar shows it, then
+ * unbound and returned when the calendar moves on, so the item only needs to
+ * tell its view, if it has one, when it has changed.
+ *
+ * @author Alex Laird
+ */
+public interface ItemView
+{
+    /**
+     * Retrieves the item this view is bound to.
+     *
+     * @return The bound item, or null if the view is not bound.
+     */
+    public ListItem getItem();
+
+    /**
+     * Updates the view from the current state of its item.
+     */
+    public void refresh();
+
+    /**
+     * Sets the viewable selected state of the view.
+     *
+     * @param state True shows the item as selected, false does not.
+     */
+    public void showAsSelected(boolean state);
+}
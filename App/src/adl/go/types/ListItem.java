@@ -20,6 +20,9 @@
 
 package adl.go.types;
 
+import adl.go.resource.RecordWriter;
+import java.awt.Color;
+
 /**
  * A list item is either an assignment or an event. By default, it is assumed
  * the list item is an assignment unless otherwise specified. One can call
@@ -65,6 +68,22 @@ public interface ListItem
      */
     public String getDueDate();
 
+    /**
+     * Retrieves the due date (or start date) of the assignment or event as an
+     * epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    public long getDueDay();
+
+    /**
+     * Retrieves the due time (or start time) of the assignment or event as the
+     * minute of the day. All-day events start at midnight.
+     *
+     * @return The number of minutes past midnight.
+     */
+    public int getDueMinute();
+
     /**
      * Retrieves the table row object for this item.
      *
@@ -81,10 +100,54 @@ public interface ListItem
     public void showAsSelected(boolean state);
 
     /**
-     * Refreshes the text of the component that is shown in Calendar View.
+     * Checks if the item is shown as selected in the UI.
+     *
+     * @return True if the item is shown as selected, false otherwise.
+     */
+    public boolean isShownAsSelected();
+
+    /**
+     * Retrieves the view showing this item in Calendar View.
+     *
+     * @return The view, or null if the item is not on screen.
+     */
+    public ItemView getView();
+
+    /**
+     * Sets the view showing this item in Calendar View. This should only be
+     * called by the view as it is bound or unbound.
+     *
+     * @param view The view, or null if the item is no longer on screen.
+     */
+    public void setView(ItemView view);
+
+    /**
+     * Refreshes the component that shows this item in Calendar View, if it is
+     * on screen.
      */
     public void refreshText();
 
+    /**
+     * Retrieves the color this item is shown in within Calendar View.
+     *
+     * @return The color for the current coloring preference.
+     */
+    public Color getCalendarColor();
+
+    /**
+     * Retrieves the text shown for this item in Calendar View.
+     *
+     * @return The plain text of this item in Calendar View.
+     */
+    public String getCalendarText();
+
+    /**
+     * Writes the fields for the data file to the given record.
+     *
+     * @param record The record to write to.
+     */
+    public void writeTo(RecordWriter record);
+
     /**
      * Returns the output string for the data file.
      *
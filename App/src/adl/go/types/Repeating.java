@@ -20,8 +20,10 @@
 
 package adl.go.types;
 
-import adl.go.gui.Domain;
-import java.util.Date;
+import adl.go.resource.DateUtility;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.TreeSet;
 
 /**
  * This object contains information pertaining to the repetition of an event.
@@ -30,6 +32,30 @@ import java.util.Date;
  */
 public class Repeating
 {
+    /**
+     * The value returned when there are no further occurrences.
+     */
+    public static final long NO_OCCURRENCE = Long.MAX_VALUE;
+    /**
+     * The separator between the exception dates of the series.
+     */
+    private static final String EXCEPTION_SEPARATOR = " ";
+    /**
+     * The repeats index for repeating daily.
+     */
+    private static final int DAILY = 1;
+    /**
+     * The repeats index for repeating weekly.
+     */
+    private static final int WEEKLY = 2;
+    /**
+     * The repeats index for repeating monthly.
+     */
+    private static final int MONTHLY = 3;
+    /**
+     * The repeats index for repeating yearly.
+     */
+    private static final int YEARLY = 4;
     /**
      * The unique ID for the repeating event.
      */
@@ -71,13 +97,24 @@ public class Repeating
      */
     protected boolean saturday = false;
     /**
-     * The start date for repeating.
+     * The start date for repeating, as an epoch day.
+     */
+    protected long startDay = DateUtility.today ();
+    /**
+     * The end date for repeating, as an epoch day.
+     */
+    protected long endDay = DateUtility.today ();
+    /**
+     * True if every instance of the series is saved, as it was for series
+     * created before occurrences were produced from the rule. No occurrences
+     * are produced for such a series.
      */
-    protected String startDate = Domain.DATE_FORMAT.format (new Date ());
+    protected boolean savedInFull = true;
     /**
-     * The end date for repeating.
+     * The epoch days the rule falls on that have no occurrence, because the
+     * instance on that day was removed or taken out of the series.
      */
-    protected String endDate = Domain.DATE_FORMAT.format (new Date ());
+    protected TreeSet<Long> exceptions = new TreeSet<Long> ();
 
     /**
      * Retrieve the unique ID for the repetition of the event.
@@ -196,7 +233,7 @@ public class Repeating
      */
     public String getStartDate()
     {
-        return startDate;
+        return DateUtility.formatDate (startDay);
     }
 
     /**
@@ -205,7 +242,17 @@ public class Repeating
      */
     public void setStartDate(String startDate)
     {
-        this.startDate = startDate;
+        startDay = DateUtility.toEpochDay (startDate);
+    }
+
+    /**
+     * Retrieve the start date of the repetition as an epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    public long getStartDay()
+    {
+        return startDay;
     }
 
     /**
@@ -215,7 +262,7 @@ public class Repeating
      */
     public String getEndDate()
     {
-        return endDate;
+        return DateUtility.formatDate (endDay);
     }
 
     /**
@@ -224,12 +271,342 @@ public class Repeating
      */
     public void setEndDate(String endDate)
     {
-        this.endDate = endDate;
+        endDay = DateUtility.toEpochDay (endDate);
+    }
+
+    /**
+     * Set the end date of the repetition from an epoch day.
+     *
+     * @param endDay The number of days since January 1, 1970.
+     */
+    public void setEndDay(long endDay)
+    {
+        this.endDay = endDay;
+    }
+
+    /**
+     * Retrieve the end date of the repetition as an epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    public long getEndDay()
+    {
+        return endDay;
+    }
+
+    /**
+     * Set the start date of the repetition from an epoch day.
+     *
+     * @param startDay The number of days since January 1, 1970.
+     */
+    public void setStartDay(long startDay)
+    {
+        this.startDay = startDay;
+    }
+
+    /**
+     * Check if every instance of the series is saved, as it was for series
+     * created before occurrences were produced from the rule.
+     *
+     * @return True if the series is saved in full, false if its occurrences
+     * are produced from the rule.
+     */
+    public boolean isSavedInFull()
+    {
+        return savedInFull;
+    }
+
+    /**
+     * Marks the series as one whose occurrences are produced from the rule,
+     * so only the instances that hold the rule or have been changed on their
+     * own are saved.
+     */
+    public void startFromRule()
+    {
+        savedInFull = false;
+    }
+
+    /**
+     * Check if the rule falls on the given day but the series has no
+     * occurrence there.
+     *
+     * @param day The epoch day.
+     * @return True if the day is an exception, false otherwise.
+     */
+    public boolean isException(long day)
+    {
+        return exceptions.contains (day);
+    }
+
+    /**
+     * Adds the given day to the exceptions of the series, so no occurrence is
+     * produced on it.
+     *
+     * @param day The epoch day.
+     */
+    public void addException(long day)
+    {
+        exceptions.add (day);
+    }
+
+    /**
+     * Removes the given day from the exceptions of the series, so an
+     * occurrence is produced on it again.
+     *
+     * @param day The epoch day.
+     */
+    public void removeException(long day)
+    {
+        exceptions.remove (day);
+    }
+
+    /**
+     * Retrieve the exceptions of the series as a string of dates.
+     *
+     * @return The exception dates, separated by EXCEPTION_SEPARATOR.
+     */
+    public String getExceptions()
+    {
+        StringBuilder string = new StringBuilder ();
+        Iterator<Long> iterator = exceptions.iterator ();
+        while (iterator.hasNext ())
+        {
+            if (string.length () > 0)
+            {
+                string.append (EXCEPTION_SEPARATOR);
+            }
+            string.append (DateUtility.formatDate (iterator.next ()));
+        }
+
+        return string.toString ();
+    }
+
+    /**
+     * Set the exceptions of the series from a string of dates.
+     *
+     * @param exceptions The exception dates, separated by
+     * EXCEPTION_SEPARATOR.
+     */
+    public void setExceptions(String exceptions)
+    {
+        this.exceptions.clear ();
+        String[] dates = exceptions.split (EXCEPTION_SEPARATOR);
+        for (int i = 0; i < dates.length; ++i)
+        {
+            if (!dates[i].equals (""))
+            {
+                this.exceptions.add (DateUtility.toEpochDay (dates[i]));
+            }
+        }
+    }
+
+    /**
+     * Retrieve the days of every occurrence from the first given day through
+     * the last given day. The start date is an occurrence, since the event the
+     * repetition was created from falls on it. Exceptions are skipped.
+     *
+     * @param firstDay The first epoch day to include, inclusive.
+     * @param lastDay The last epoch day to include, inclusive.
+     * @return The epoch days of the occurrences, in order.
+     */
+    public ArrayList<Long> getOccurrences(long firstDay, long lastDay)
+    {
+        ArrayList<Long> occurrences = new ArrayList<Long> ();
+        long day;
+        if (firstDay <= startDay)
+        {
+            day = startDay <= endDay && !isException (startDay) ? startDay : getNextOccurrence (startDay);
+        }
+        else
+        {
+            day = getNextOccurrence (firstDay - 1);
+        }
+        while (day != NO_OCCURRENCE && day <= lastDay)
+        {
+            occurrences.add (day);
+            day = getNextOccurrence (day);
+        }
+
+        return occurrences;
+    }
+
+    /**
+     * Retrieve the first occurrence after the given day that is not an
+     * exception.
+     *
+     * @param after The epoch day to find the next occurrence after.
+     * @return The epoch day of the next occurrence, or NO_OCCURRENCE if the
+     * repetition ends first.
+     */
+    public long getNextOccurrence(long after)
+    {
+        long day = getNextRuleOccurrence (after);
+        while (day != NO_OCCURRENCE && isException (day))
+        {
+            day = getNextRuleOccurrence (day);
+        }
+
+        return day;
+    }
+
+    /**
+     * Retrieve the first day after the given day that the rule falls on,
+     * jumping straight to it rather than stepping through the days in between.
+     *
+     * @param after The epoch day to find the next occurrence after.
+     * @return The epoch day of the next occurrence, or NO_OCCURRENCE if the
+     * repetition ends first.
+     */
+    private long getNextRuleOccurrence(long after)
+    {
+        long start = startDay;
+        long end = endDay;
+        long interval = repeatsEveryIndex + 1;
+        long from = Math.max (after, start) + 1;
+        if (from > end)
+        {
+            return NO_OCCURRENCE;
+        }
+
+        long day = NO_OCCURRENCE;
+        switch (repeatsIndex)
+        {
+            case DAILY:
+            {
+                day = start + (from - start + interval - 1) / interval * interval;
+                break;
+            }
+            case WEEKLY:
+            {
+                day = getNextWeeklyOccurrence (start, end, from, interval);
+                break;
+            }
+            case MONTHLY:
+            {
+                day = getNextMonthlyOccurrence (start, end, from, interval);
+                break;
+            }
+            case YEARLY:
+            {
+                day = getNextMonthlyOccurrence (start, end, from, interval * 12);
+                break;
+            }
+        }
+
+        return day <= end ? day : NO_OCCURRENCE;
+    }
+
+    /**
+     * Retrieve the next day on or after the given day that falls on one of the
+     * selected days of the week, in a week (counted from the start date) that
+     * the interval lands on.
+     *
+     * @param start The epoch day of the start date.
+     * @param end The epoch day of the end date.
+     * @param from The first epoch day to consider.
+     * @param interval The number of weeks between repetitions.
+     * @return The epoch day of the next occurrence, or NO_OCCURRENCE.
+     */
+    private long getNextWeeklyOccurrence(long start, long end, long from, long interval)
+    {
+        if (!sunday && !monday && !tuesday && !wednesday && !thursday && !friday && !saturday)
+        {
+            return NO_OCCURRENCE;
+        }
+
+        long day = from;
+        while (day <= end)
+        {
+            long week = (day - start) / 7;
+            if (week % interval != 0)
+            {
+                // skip to the first day of the next week the interval lands on
+                day = start + (week + interval - week % interval) * 7;
+                continue;
+            }
+            if (isRepeatingOn (DateUtility.getDayOfWeek (day)))
+            {
+                return day;
+            }
+            ++day;
+        }
+
+        return NO_OCCURRENCE;
+    }
+
+    /**
+     * Retrieve the next day on or after the given day that falls on the start
+     * date's day of the month, in a month the interval lands on. Months that
+     * are too short to contain that day are skipped.
+     *
+     * @param start The epoch day of the start date.
+     * @param end The epoch day of the end date.
+     * @param from The first epoch day to consider.
+     * @param interval The number of months between repetitions.
+     * @return The epoch day of the next occurrence, or NO_OCCURRENCE.
+     */
+    private long getNextMonthlyOccurrence(long start, long end, long from, long interval)
+    {
+        int[] startDay = DateUtility.toYearMonthDay (start);
+        int[] fromDay = DateUtility.toYearMonthDay (from);
+        long startMonth = startDay[0] * 12L + startDay[1] - 1;
+        long months = (fromDay[0] * 12L + fromDay[1] - 1) - startMonth;
+        long month = startMonth + months / interval * interval;
+        while (true)
+        {
+            int year = (int) (month / 12);
+            int monthOfYear = (int) (month % 12) + 1;
+            if (startDay[2] <= DateUtility.getDaysInMonth (year, monthOfYear))
+            {
+                long day = DateUtility.toEpochDay (year, monthOfYear, startDay[2]);
+                if (day > end)
+                {
+                    return NO_OCCURRENCE;
+                }
+                if (day >= from)
+                {
+                    return day;
+                }
+            }
+            else if (DateUtility.toEpochDay (year, monthOfYear, 1) > end)
+            {
+                return NO_OCCURRENCE;
+            }
+            month += interval;
+        }
+    }
+
+    /**
+     * Checks if the repetition falls on the given day of the week.
+     *
+     * @param dayOfWeek The day of the week, numbered like Calendar.DAY_OF_WEEK.
+     * @return True if the repetition falls on the day, false otherwise.
+     */
+    private boolean isRepeatingOn(int dayOfWeek)
+    {
+        switch (dayOfWeek)
+        {
+            case 1:
+                return sunday;
+            case 2:
+                return monday;
+            case 3:
+                return tuesday;
+            case 4:
+                return wednesday;
+            case 5:
+                return thursday;
+            case 6:
+                return friday;
+            default:
+                return saturday;
+        }
     }
 
     /**
      * A string representation of the repetition of the event. Does not include
-     * the unique ID.
+     * the unique ID. A series whose occurrences are produced from the rule has
+     * a twelfth field, holding its exceptions, even when there are none.
      *
      * @return The string of the repetition of the event.
      */
@@ -245,7 +622,8 @@ public class Repeating
                + thursday + "-"
                + friday + "-"
                + saturday + "-"
-               + startDate + "-"
-               + endDate;
+               + getStartDate () + "-"
+               + getEndDate ()
+               + (savedInFull ? "" : "-" + getExceptions ());
     }
 }
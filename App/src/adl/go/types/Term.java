@@ -20,13 +20,12 @@
 
 package adl.go.types;
 
-import adl.go.gui.Domain;
+import adl.go.resource.DateUtility;
 import adl.go.resource.LocalUtility;
+import adl.go.resource.RecordTokenizer;
+import adl.go.resource.RecordWriter;
 import adl.go.resource.Utility;
-import java.text.ParseException;
-import java.util.Date;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
 
 /**
  * A term spans a specific amount of time and contains references to all courses
@@ -41,13 +40,13 @@ import java.util.Scanner;
 public class Term extends ExtendedTreeNode
 {
     /**
-     * The start date of the term.
+     * The start date of the term, as an epoch day.
      */
-    private String startDate = Domain.DATE_FORMAT.format (new Date ());
+    private long startDay = DateUtility.today ();
     /**
-     * The end date of the term.
+     * The end date of the term, as an epoch day.
      */
-    private String endDate = Domain.DATE_FORMAT.format (new Date ());
+    private long endDay = DateUtility.today ();
 
     /**
      * Constructs a term with a name and a unique ID.
@@ -70,16 +69,27 @@ public class Term extends ExtendedTreeNode
      * @param utility The reference to the utility.
      */
     public Term(String parse, LocalUtility utility)
+    {
+        this (new RecordTokenizer (parse), utility);
+    }
+
+    /**
+     * Reads every attribute's initial state for this object from the fields
+     * of a single record, whether from a data file or the snapshot.
+     *
+     * @param scan The fields of the record.
+     * @param utility The reference to the utility.
+     */
+    public Term(RecordTokenizer scan, LocalUtility utility)
     {
         super ("", -1, utility);
-        Scanner scan = new Scanner (parse).useDelimiter ("(?<!\\\\)" + SEPARATOR + "|" + "(?<!\\\\)" + END_OF_LINE);
         try
         {
-            setTypeName (scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE));
+            setTypeName (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -87,7 +97,7 @@ public class Term extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -95,7 +105,11 @@ public class Term extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
+        }
+        catch (NumberFormatException ex)
+        {
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -103,9 +117,12 @@ public class Term extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
+        }
+        catch (NumberFormatException ex)
+        {
+            utility.domain.markCoursesAndTermsChanged ();
         }
-        scan.close ();
     }
 
     /**
@@ -113,9 +130,9 @@ public class Term extends ExtendedTreeNode
      *
      * @return The number of days in the term.
      */
-    public long getDayCount() throws ParseException
+    public long getDayCount()
     {
-        return ((Domain.DATE_FORMAT.parse (getEndDate ()).getTime () - Domain.DATE_FORMAT.parse (getStartDate ()).getTime ()) / (24 * 60 * 60 * 1000));
+        return endDay - startDay;
     }
 
     /**
@@ -305,7 +322,7 @@ public class Term extends ExtendedTreeNode
      */
     public String getStartDate()
     {
-        return startDate;
+        return DateUtility.formatDate (startDay);
     }
 
     /**
@@ -315,7 +332,27 @@ public class Term extends ExtendedTreeNode
      */
     public final void setStartDate(String startDate)
     {
-        this.startDate = startDate;
+        startDay = DateUtility.toEpochDay (startDate);
+    }
+
+    /**
+     * Retrieves the start date for the term as an epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    public long getStartDay()
+    {
+        return startDay;
+    }
+
+    /**
+     * Sets the start date for the term from an epoch day.
+     *
+     * @param startDay The number of days since January 1, 1970.
+     */
+    public final void setStartDay(long startDay)
+    {
+        this.startDay = startDay;
     }
 
     /**
@@ -325,7 +362,7 @@ public class Term extends ExtendedTreeNode
      */
     public String getEndDate()
     {
-        return endDate;
+        return DateUtility.formatDate (endDay);
     }
 
     /**
@@ -335,7 +372,27 @@ public class Term extends ExtendedTreeNode
      */
     public final void setEndDate(String endDate)
     {
-        this.endDate = endDate;
+        endDay = DateUtility.toEpochDay (endDate);
+    }
+
+    /**
+     * Retrieves the end date for the term as an epoch day.
+     *
+     * @return The number of days since January 1, 1970.
+     */
+    public long getEndDay()
+    {
+        return endDay;
+    }
+
+    /**
+     * Sets the end date for the term from an epoch day.
+     *
+     * @param endDay The number of days since January 1, 1970.
+     */
+    public final void setEndDay(long endDay)
+    {
+        this.endDay = endDay;
     }
 
     /**
@@ -349,6 +406,20 @@ public class Term extends ExtendedTreeNode
         insert ((Course) getChildAt (second), first);
     }
 
+    /**
+     * Writes all components in this object to the given record, in the order
+     * the file reader/writer expects them.
+     *
+     * @param record The record to write to.
+     */
+    public void writeTo(RecordWriter record)
+    {
+        record.text (getTypeName ());
+        record.field (getUniqueID ());
+        record.field (getStartDate ());
+        record.field (getEndDate ());
+    }
+
     /**
      * Returns a string of all components in this object that is formatted that
      * the file reader/writer will cooperate with it.
@@ -357,9 +428,8 @@ public class Term extends ExtendedTreeNode
      */
     public String out()
     {
-        return getTypeName ().replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + getUniqueID () + SEPARATOR
-               + startDate + SEPARATOR
-               + endDate;
+        RecordWriter record = new RecordWriter ();
+        writeTo (record);
+        return record.takeRecord ();
     }
 }
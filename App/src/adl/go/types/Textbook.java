@@ -21,8 +21,9 @@
 package adl.go.types;
 
 import adl.go.resource.LocalUtility;
+import adl.go.resource.RecordTokenizer;
+import adl.go.resource.RecordWriter;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
 
 /**
  * Textbooks are tied directly to a course and indirectly to individual
@@ -101,16 +102,27 @@ public class Textbook extends ExtendedTreeNode
      * @param utility The reference to the utility resource.
      */
     public Textbook(String parse, LocalUtility utility)
+    {
+        this (new RecordTokenizer (parse), utility);
+    }
+
+    /**
+     * Reads every attribute's initial state for this object from the fields
+     * of a single record, whether from a data file or the snapshot.
+     *
+     * @param scan The fields of the record.
+     * @param utility The reference to the utility resource.
+     */
+    public Textbook(RecordTokenizer scan, LocalUtility utility)
     {
         super ("", -1, utility);
-        Scanner scan = new Scanner (parse).useDelimiter ("(?<!\\\\)" + SEPARATOR + "|" + "(?<!\\\\)" + END_OF_LINE);
         try
         {
-            setTypeName (scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE));
+            setTypeName (scan.next ());
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -118,7 +130,7 @@ public class Textbook extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -126,63 +138,63 @@ public class Textbook extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            author = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            author = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            publisher = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            publisher = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            isbn = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            isbn = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            source = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            source = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            price = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            price = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            condition = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            condition = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
-            email = scan.next ().replaceAll ("\\\\" + SEPARATOR, SEPARATOR).replaceAll ("\\\\" + END_OF_LINE, END_OF_LINE);
+            email = scan.next ();
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -190,7 +202,7 @@ public class Textbook extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
         try
         {
@@ -198,9 +210,8 @@ public class Textbook extends ExtendedTreeNode
         }
         catch (NoSuchElementException ex)
         {
-            utility.domain.needsCoursesAndTermsSave = true;
+            utility.domain.markCoursesAndTermsChanged ();
         }
-        scan.close ();
     }
 
     /**
@@ -413,6 +424,28 @@ public class Textbook extends ExtendedTreeNode
         this.condition = condition;
     }
 
+    /**
+     * Writes all components in this object to the given record, in the order
+     * the file reader/writer expects them.
+     *
+     * @param record The record to write to.
+     */
+    public void writeTo(RecordWriter record)
+    {
+        record.text (getTypeName ());
+        record.field (getUniqueID ());
+        record.field (getCourse ().getUniqueID ());
+        record.text (author);
+        record.text (publisher);
+        record.text (isbn);
+        record.text (source);
+        record.text (price);
+        record.text (condition);
+        record.text (email);
+        record.field (isOrdered);
+        record.field (isReceived);
+    }
+
     /**
      * Returns a string of all components in this object that is formatted that
      * the file reader/writer will cooperate with it.
@@ -421,17 +454,8 @@ public class Textbook extends ExtendedTreeNode
      */
     public String out()
     {
-        return getTypeName ().replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + getUniqueID () + SEPARATOR
-               + getCourse ().getUniqueID () + SEPARATOR
-               + author.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + publisher.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + isbn.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + source.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + price.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + condition.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + email.replaceAll (SEPARATOR, "\\\\" + SEPARATOR).replaceAll (END_OF_LINE, "\\\\" + END_OF_LINE) + SEPARATOR
-               + isOrdered + SEPARATOR
-               + isReceived;
+        RecordWriter record = new RecordWriter ();
+        writeTo (record);
+        return record.takeRecord ();
     }
 }
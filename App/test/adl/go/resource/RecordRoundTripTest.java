@@ -0,0 +1,348 @@
+/*
+ * Get Organized - Organize your schedule, course assignments, and grades
+ * Copyright © 2012 Alex Laird
+ * getorganized@alexlaird.com
+ * alexlaird.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package adl.go.resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests that records written by RecordWriter are read back unchanged by
+ * RecordTokenizer, and that RecordTokenizer splits and unescapes every record
+ * as the Scanner and regular expressions it replaced did, with the edge cases
+ * of the data format: escaped separators and ends of line, backslashes that
+ * escape nothing, empty and trailing empty fields, and multiline text written
+ * with line return markers.
+ *
+ * The one difference allowed is a record that begins with an empty field. A
+ * Scanner skips a delimiter at the very start of its input, so the old reader
+ * dropped that field and read every field after it one place early;
+ * RecordTokenizer reads the empty field, as it was written.
+ *
+ * @author Alex Laird
+ */
+public class RecordRoundTripTest
+{
+    /**
+     * The marker a line return within a multiline field is written as.
+     */
+    private static final String ESCAPED_LINE_RETURN = "\\<br />";
+    /**
+     * The text fields each case is written with, one case per row.
+     */
+    private static final String[][] TEXT_CASES =
+    {
+        {"Homework 1", "plain"},
+        {"a, b, and c", "commas, in, every, field"},
+        {"ends with a separator,", "ends with an end of line;"},
+        {",", ";"},
+        {"mixed ;, and ,;", ";;,,"},
+        {"C:\\path\\to\\file", "backslash \\ alone"},
+        {"escaped looking \\, text", "\\;"},
+        {"", ""},
+        {"middle empty", "", "last"},
+        {"trailing empty", ""},
+        {"trailing empties", "", ""}
+    };
+    /**
+     * The multiline fields each case is written with.
+     */
+    private static final String[] MULTILINE_CASES =
+    {
+        "one line",
+        "first line" + Utility.LINE_RETURN + "second line",
+        Utility.LINE_RETURN + "starts and ends with a line return" + Utility.LINE_RETURN,
+        "line one, with a comma;" + Utility.LINE_RETURN + Utility.LINE_RETURN + "line three",
+        Utility.LINE_RETURN,
+        ""
+    };
+    /**
+     * Tests that text fields are read back unchanged.
+     */
+    @Test
+    public void testTextRecords()
+    {
+        for (int i = 0; i < TEXT_CASES.length; ++i)
+        {
+            checkTextRecord (TEXT_CASES[i]);
+        }
+    }
+
+    /**
+     * Tests that multiline fields are read back unchanged.
+     */
+    @Test
+    public void testMultilineRecords()
+    {
+        for (int i = 0; i < MULTILINE_CASES.length; ++i)
+        {
+            checkMultilineRecord (MULTILINE_CASES[i]);
+        }
+    }
+
+    /**
+     * Writes the given values as text fields, then checks they are read back
+     * unchanged, both with and without the end of line a data file has.
+     *
+     * @param values The text of each field.
+     */
+    private static void checkTextRecord(String[] values)
+    {
+        RecordWriter writer = new RecordWriter ();
+        for (int i = 0; i < values.length; ++i)
+        {
+            writer.text (values[i]);
+        }
+        String record = writer.takeRecord ();
+
+        // as written to a data file, the record ends with an end of line, and
+        // every field is read back
+        String line = record + Utility.END_OF_LINE;
+        check (line, Arrays.asList (values), readAll (line));
+        checkLegacy (line, readAll (line));
+
+        // without the end of line, an empty last field is not read by either
+        // reader, which the parse constructors already default for
+        ArrayList<String> expected = new ArrayList<String> (Arrays.asList (values));
+        if (expected.get (expected.size () - 1).length () == 0)
+        {
+            expected.remove (expected.size () - 1);
+        }
+        check (record, expected, readAll (record));
+        checkLegacy (record, readAll (record));
+    }
+
+    /**
+     * Writes the given value as a multiline field between two other fields,
+     * then checks it is read back unchanged.
+     *
+     * @param value The text of the multiline field.
+     */
+    private static void checkMultilineRecord(String value)
+    {
+        RecordWriter writer = new RecordWriter ();
+        writer.text ("before").multilineText (value).field (42);
+        String record = writer.takeRecord () + Utility.END_OF_LINE;
+
+        assertTrue ("The record spans more than one line: [" + record + "]", record.indexOf (Utility.LINE_RETURN) == -1);
+
+        RecordTokenizer scan = new RecordTokenizer (record);
+        ArrayList<String> actual = new ArrayList<String> ();
+        actual.add (scan.next ());
+        actual.add (RecordTokenizer.replace (scan.next (), ESCAPED_LINE_RETURN, Utility.LINE_RETURN));
+        actual.add (String.valueOf (scan.nextLong ()));
+        if (scan.hasNext ())
+        {
+            actual.add (scan.next ());
+        }
+
+        ArrayList<String> legacy = readLegacy (record);
+        legacy.set (1, legacy.get (1).replaceAll ("\\\\<br />", Utility.LINE_RETURN));
+
+        check (record, Arrays.asList ("before", value, "42"), actual);
+        check (record, legacy, actual);
+    }
+
+    /**
+     * Tests that a record with every kind of field is read back by the typed
+     * reads as it was written, and as the typed reads of a Scanner read it.
+     */
+    @Test
+    public void testTypedRecord()
+    {
+        RecordWriter writer = new RecordWriter ();
+        writer.field (true).text ("name, with; both").field (-1).field (Long.MAX_VALUE).field (Long.MIN_VALUE).field (false).field ("12/31/2012").field (3);
+        String record = writer.takeRecord () + Utility.END_OF_LINE;
+
+        RecordTokenizer scan = new RecordTokenizer (record);
+        Scanner legacy = legacyScanner (record);
+        ArrayList<String> actual = new ArrayList<String> ();
+        ArrayList<String> expected = new ArrayList<String> ();
+        actual.add (String.valueOf (scan.nextBoolean ()));
+        expected.add (String.valueOf (legacy.nextBoolean ()));
+        actual.add (scan.next ());
+        expected.add (unescapeLegacy (legacy.next ()));
+        actual.add (String.valueOf (scan.nextLong ()));
+        expected.add (String.valueOf (legacy.nextLong ()));
+        actual.add (String.valueOf (scan.nextLong ()));
+        expected.add (String.valueOf (legacy.nextLong ()));
+        actual.add (String.valueOf (scan.nextLong ()));
+        expected.add (String.valueOf (legacy.nextLong ()));
+        actual.add (String.valueOf (scan.nextBoolean ()));
+        expected.add (String.valueOf (legacy.nextBoolean ()));
+        actual.add (scan.next ());
+        expected.add (legacy.next ());
+        actual.add (String.valueOf (scan.nextInt ()));
+        expected.add (String.valueOf (legacy.nextInt ()));
+        actual.add (String.valueOf (scan.hasNext ()));
+        expected.add (String.valueOf (legacy.hasNext ()));
+        legacy.close ();
+
+        check (record, Arrays.asList ("true", "name, with; both", "-1", String.valueOf (Long.MAX_VALUE), String.valueOf (Long.MIN_VALUE), "false", "12/31/2012", "3", "false"), actual);
+        check (record, expected, actual);
+    }
+
+    /**
+     * Tests records as they may be found in older data files, written by
+     * hand or by earlier versions, against the legacy reader.
+     */
+    @Test
+    public void testRawRecords()
+    {
+        String[] records =
+        {
+            "a,b,c;",
+            "a,,c;",
+            "a,b,;",
+            "a;b;c",
+            ",leading empty;",
+            ",,two leading empties;",
+            ";",
+            "a\\,b,c;",
+            "a\\;b;c;",
+            "a\\\\,b;",
+            "back\\slash,\\x;",
+            "ends with a backslash\\",
+            "a\\<br />b,c;"
+        };
+        for (int i = 0; i < records.length; ++i)
+        {
+            checkLegacy (records[i], readAll (records[i]));
+        }
+    }
+
+    /**
+     * Asserts that the fields RecordTokenizer read from a record are the ones
+     * the old reader read, allowing for the leading empty field
+     * the old reader dropped.
+     *
+     * @param record The record the fields were read from.
+     * @param actual The fields RecordTokenizer read.
+     */
+    private static void checkLegacy(String record, List<String> actual)
+    {
+        ArrayList<String> expected = readLegacy (record);
+        if (record.startsWith (Utility.SEPARATOR) || record.startsWith (Utility.END_OF_LINE))
+        {
+            expected.add (0, "");
+        }
+        check (record, expected, actual);
+    }
+
+    /**
+     * Reads every field of the given record as text with RecordTokenizer.
+     *
+     * @param record The record.
+     * @return The fields.
+     */
+    private static ArrayList<String> readAll(String record)
+    {
+        ArrayList<String> fields = new ArrayList<String> ();
+        RecordTokenizer scan = new RecordTokenizer (record);
+        while (scan.hasNext ())
+        {
+            fields.add (scan.next ());
+        }
+
+        return fields;
+    }
+
+    /**
+     * Reads every field of the given record as text the way the parse
+     * constructors did before RecordTokenizer.
+     *
+     * @param record The record.
+     * @return The fields.
+     */
+    private static ArrayList<String> readLegacy(String record)
+    {
+        ArrayList<String> fields = new ArrayList<String> ();
+        Scanner scan = legacyScanner (record);
+        while (scan.hasNext ())
+        {
+            fields.add (unescapeLegacy (scan.next ()));
+        }
+        scan.close ();
+
+        return fields;
+    }
+
+    /**
+     * Constructs a Scanner with the delimiter the parse constructors used
+     * before RecordTokenizer.
+     *
+     * @param record The record.
+     * @return The Scanner.
+     */
+    private static Scanner legacyScanner(String record)
+    {
+        return new Scanner (record).useDelimiter ("(?<!\\\\)" + Utility.SEPARATOR + "|" + "(?<!\\\\)" + Utility.END_OF_LINE);
+    }
+
+    /**
+     * Unescapes a text field the way the parse constructors did before
+     * RecordTokenizer.
+     *
+     * @param field The field as split from the record.
+     * @return The unescaped field.
+     */
+    private static String unescapeLegacy(String field)
+    {
+        return field.replaceAll ("\\\\" + Utility.SEPARATOR, Utility.SEPARATOR).replaceAll ("\\\\" + Utility.END_OF_LINE, Utility.END_OF_LINE);
+    }
+
+    /**
+     * Asserts that the fields read from a record are the ones expected.
+     *
+     * @param record The record the fields were read from.
+     * @param expected The fields expected.
+     * @param actual The fields read.
+     */
+    private static void check(String record, List<String> expected, List<String> actual)
+    {
+        assertEquals ("[" + record + "]", describe (expected), describe (actual));
+    }
+
+    /**
+     * Describes the given fields with each one quoted, so empty fields show.
+     *
+     * @param fields The fields.
+     * @return The description.
+     */
+    private static String describe(List<String> fields)
+    {
+        StringBuilder description = new StringBuilder ("[");
+        for (int i = 0; i < fields.size (); ++i)
+        {
+            if (i > 0)
+            {
+                description.append (", ");
+            }
+            description.append ('"').append (fields.get (i)).append ('"');
+        }
+
+        return description.append ("]").toString ();
+    }
+}